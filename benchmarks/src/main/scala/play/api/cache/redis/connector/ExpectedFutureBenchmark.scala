@@ -0,0 +1,37 @@
+package play.api.cache.redis.connector
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.{ExecutionContext, Future}
+
+/**
+  * Overhead of the response handling of a single command. The futures are
+  * already completed and the callbacks run on the calling thread, thus only
+  * the library itself is measured.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class ExpectedFutureBenchmark {
+
+  implicit private val context: ExecutionContext = ExecutionContext.parasitic
+
+  private val response: Future[Option[String]] = Future.successful(Some("value"))
+
+  @Benchmark
+  def expects(): Future[Option[String]] =
+    response executing "GET" withKey "key" expects { case value =>
+      value
+    }
+
+  @Benchmark
+  def logging(): Future[Option[String]] =
+    response executing "GET" withKey "key" logging { case _ =>
+      ()
+    }
+
+}
@@ -0,0 +1,84 @@
+package play.api.cache.redis.connector
+
+import org.apache.pekko.actor.ActorSystem
+import org.openjdk.jmh.annotations._
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisBatching
+import play.api.cache.redis.impl.LazyInvocation
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{ExecutorService, ForkJoinPool, TimeUnit}
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext}
+
+/**
+  * Throughput of concurrent GET commands coalesced into MGET compared with
+  * the GET commands sent one by one. The commands are stubbed, thus it
+  * measures the overhead of the batching itself, i.e., the enqueueing, the
+  * window, and the distribution of the responses.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+class GetBatcherBenchmark {
+  import GetBatcherBenchmark._
+
+  /** window of the batch in microseconds, zero flushes it as soon as possible */
+  @Param(Array("0", "100"))
+  var window: Long = _
+
+  private var system: ActorSystem = _
+
+  private var pool: ExecutorService = _
+
+  private var batcher: GetBatcher = _
+
+  private var batched: RedisConnector = _
+
+  private var direct: RedisConnector = _
+
+  private val threads = new AtomicInteger(0)
+
+  /** each thread reads its own key, thus the batches contain distinct keys */
+  private val key: ThreadLocal[String] = ThreadLocal.withInitial(() => s"key-${threads.getAndIncrement() % Keys + 1}")
+
+  @Setup
+  def setup(): Unit = {
+    system = ActorSystem("benchmark")
+    pool = new ForkJoinPool(Runtime.getRuntime.availableProcessors)
+    implicit val context: ExecutionContext = ExecutionContext.fromExecutorService(pool)
+    implicit val runtime: RedisRuntime = play.api.cache.redis.impl.RedisRuntime("benchmark", 1.second, context, new LogAndDefaultPolicy, LazyInvocation)
+    val serializer = new PekkoSerializerImpl(system)
+    val routing = CommandRouting.single(StubRedisCommands((1 to Keys).map(index => s"key-$index" -> serializer.encode(s"value-$index").get).toMap))
+    batcher = GetBatcher(RedisBatching(enabled = true, window = window.micros, maxBatch = 128), routing)
+    batched = new RedisConnectorImpl(serializer, routing, batcher = Some(batcher))
+    direct = new RedisConnectorImpl(serializer, routing)
+  }
+
+  @TearDown
+  def tearDown(): Unit = {
+    batcher.close()
+    pool.shutdown()
+    Await.result(system.terminate(), 10.seconds)
+  }
+
+  @Benchmark
+  def batchedGet(): Option[String] =
+    Await.result(batched.get[String](key.get), 1.second)
+
+  @Benchmark
+  def directGet(): Option[String] =
+    Await.result(direct.get[String](key.get), 1.second)
+
+}
+
+private object GetBatcherBenchmark {
+
+  /** number of distinct keys */
+  private val Keys = 32
+
+}
@@ -0,0 +1,81 @@
+package play.api.cache.redis.connector
+
+import org.apache.pekko.actor.ActorSystem
+import org.openjdk.jmh.annotations._
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisNearCache
+import play.api.cache.redis.impl.LazyInvocation
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{ExecutorService, ForkJoinPool, TimeUnit}
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext}
+
+/**
+  * Throughput of concurrent reads of hot keys served by the near cache
+  * compared with the plain reads. The commands are stubbed, thus the plain
+  * read measures the decoding and the response handling without a network.
+  * The near cache is sized to be split into segments, the threads read
+  * distinct keys, thus it measures the contention of the hits.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+class NearCacheBenchmark {
+  import NearCacheBenchmark._
+
+  private var system: ActorSystem = _
+
+  private var pool: ExecutorService = _
+
+  private var nearCached: RedisConnector = _
+
+  private var direct: RedisConnector = _
+
+  private val threads = new AtomicInteger(0)
+
+  /** each thread reads its own key */
+  private val key: ThreadLocal[String] = ThreadLocal.withInitial(() => s"key-${threads.getAndIncrement() % Keys + 1}")
+
+  @Setup
+  def setup(): Unit = {
+    system = ActorSystem("benchmark")
+    pool = new ForkJoinPool(Runtime.getRuntime.availableProcessors)
+    implicit val context: ExecutionContext = ExecutionContext.fromExecutorService(pool)
+    implicit val runtime: RedisRuntime = play.api.cache.redis.impl.RedisRuntime("benchmark", 1.second, context, new LogAndDefaultPolicy, LazyInvocation)
+    val serializer = new PekkoSerializerImpl(system)
+    val routing = CommandRouting.single(StubRedisCommands((1 to Keys).map(index => s"key-$index" -> serializer.encode(s"value-$index").get).toMap))
+    val nearCache = NearCache(RedisNearCache(enabled = true, maxEntries = 10000, maxBytes = 16L * 1024 * 1024, ttl = 1.hour))
+    nearCache.resume()
+    nearCached = new RedisConnectorImpl(serializer, routing, nearCache = nearCache)
+    direct = new RedisConnectorImpl(serializer, routing)
+    // populate the near cache
+    (1 to Keys).foreach(index => Await.result(nearCached.get[String](s"key-$index"), 1.second))
+  }
+
+  @TearDown
+  def tearDown(): Unit = {
+    pool.shutdown()
+    Await.result(system.terminate(), 10.seconds)
+  }
+
+  @Benchmark
+  def nearCachedGet(): Option[String] =
+    Await.result(nearCached.get[String](key.get), 1.second)
+
+  @Benchmark
+  def directGet(): Option[String] =
+    Await.result(direct.get[String](key.get), 1.second)
+
+}
+
+private object NearCacheBenchmark {
+
+  /** number of distinct keys */
+  private val Keys = 32
+
+}
@@ -0,0 +1,121 @@
+package play.api.cache.redis.connector
+
+import org.apache.pekko.actor.ActorSystem
+import org.openjdk.jmh.annotations._
+import play.api.libs.json.{Format, Json}
+
+import java.io.{ByteArrayInputStream, ByteArrayOutputStream, DataInputStream, DataOutputStream}
+import java.util.concurrent.TimeUnit
+import scala.concurrent.Await
+import scala.concurrent.duration._
+import scala.reflect.ClassTag
+import scala.util.Try
+
+/**
+  * Encoding and decoding of values by the Pekko serializer and by the value
+  * codecs, run with `-prof gc` to see the allocations per operation. The
+  * codecs are registered for the case class only, the other payloads measure
+  * the lookup of the codec and the fallback to the Pekko serializer.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class SerializerBenchmark {
+  import SerializerBenchmark._
+
+  /** the kind of the payload */
+  @Param(Array("int", "string", "case-class", "blob"))
+  var payload: String = _
+
+  /** either 'string' or 'binary' */
+  @Param(Array("string", "binary"))
+  var encoding: String = _
+
+  /** either 'pekko', or the 'json' or 'binary' value codec of the case class */
+  @Param(Array("pekko", "json", "binary"))
+  var codec: String = _
+
+  private var system: ActorSystem = _
+
+  private var serializer: PekkoSerializer = _
+
+  private var value: Any = _
+
+  private var encoded: String = _
+
+  private var decoder: String => Try[Any] = _
+
+  @Setup
+  def setup(): Unit = {
+    system = ActorSystem("benchmark")
+    val pekko = encoding match {
+      case "binary" => new PekkoBinarySerializerImpl(system)
+      case _        => new PekkoSerializerImpl(system)
+    }
+    serializer = codec match {
+      case "json"   => new ValueCodecSerializer(registryOf(JsonCodec), pekko, RedisValueEncoding(encoding))
+      case "binary" => new ValueCodecSerializer(registryOf(BinaryCodec), pekko, RedisValueEncoding(encoding))
+      case _        => pekko
+    }
+    payload match {
+      case "int"        => prepare(Int.MaxValue)
+      case "string"     => prepare("some reasonably long cached value")
+      case "case-class" => prepare(Payload("key", 42, List("a", "b", "c")))
+      case _            => prepare(Array.tabulate[Byte](1024 * 1024)(_.toByte))
+    }
+  }
+
+  private def prepare[T: ClassTag](sample: T): Unit = {
+    value = sample
+    encoded = serializer.encode(sample).get
+    decoder = serializer.decode[T](_)
+  }
+
+  @TearDown
+  def tearDown(): Unit =
+    Await.result(system.terminate(), 10.seconds)
+
+  @Benchmark
+  def encode(): Try[String] = serializer.encode(value)
+
+  @Benchmark
+  def decode(): Try[Any] = decoder(encoded)
+
+}
+
+object SerializerBenchmark {
+
+  @SerialVersionUID(1L)
+  final case class Payload(key: String, value: Int, tags: List[String])
+
+  private val JsonCodec: ValueCodec[Payload] = {
+    implicit val format: Format[Payload] = Json.format[Payload]
+    ValueCodec.json[Payload]
+  }
+
+  /** hand-written compact encoding, like the one produced by Kryo or FST */
+  private val BinaryCodec: ValueCodec[Payload] = ValueCodec.binary[Payload](
+    payload => {
+      val bytes = new ByteArrayOutputStream()
+      val out = new DataOutputStream(bytes)
+      out.writeUTF(payload.key)
+      out.writeInt(payload.value)
+      out.writeInt(payload.tags.size)
+      payload.tags.foreach(out.writeUTF)
+      out.flush()
+      bytes.toByteArray
+    },
+    bytes => {
+      val in = new DataInputStream(new ByteArrayInputStream(bytes))
+      Payload(in.readUTF(), in.readInt(), List.fill(in.readInt())(in.readUTF()))
+    },
+  )
+
+  private def registryOf(codec: ValueCodec[Payload]): ValueCodecRegistry = new ValueCodecRegistry {
+    override val codecs: Seq[ValueCodec[?]] = Seq(codec)
+  }
+
+}
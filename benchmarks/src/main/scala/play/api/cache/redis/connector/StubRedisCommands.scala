@@ -0,0 +1,66 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands
+import io.lettuce.core.{KeyValue, RedisFuture}
+import play.api.cache.redis._
+
+import java.lang.reflect.{InvocationHandler, Method, Proxy}
+import java.util.concurrent.{CompletableFuture, TimeUnit}
+import scala.jdk.CollectionConverters._
+
+/**
+  * In-memory replacement of the Lettuce commands answering immediately with
+  * already completed futures. It supports only the commands used by the
+  * benchmarks, thus the measured time is the cost of the library itself
+  * without any network.
+  */
+object StubRedisCommands {
+
+  /** creates the commands answering from the given encoded values */
+  def apply(values: Map[String, String]): RedisClusterAsyncCommands[String, String] =
+    Proxy
+      .newProxyInstance(
+        getClass.getClassLoader,
+        Array(classOf[RedisClusterAsyncCommands[?, ?]]),
+        new Handler(values),
+      )
+      .asInstanceOf[RedisClusterAsyncCommands[String, String]]
+
+  private class Handler(values: Map[String, String]) extends InvocationHandler {
+
+    override def invoke(proxy: Any, method: Method, args: Array[AnyRef]): AnyRef = method.getName match {
+      case "get"  => completed(values.get(args(0).toString).orNull)
+      case "mget" => completed(keysOf(args).map(key => KeyValue.fromNullable(key, values.get(key).orNull)).asJava)
+      case "set"  => completed("OK")
+      case "mset" => completed("OK")
+      case "del"  => completed(java.lang.Long.valueOf(keysOf(args).size.toLong))
+      case other  => throw new UnsupportedOperationException(s"Command '$other' is not stubbed.")
+    }
+
+    private def keysOf(args: Array[AnyRef]): Seq[String] = args.toSeq.flatMap {
+      case keys: Array[?] => keys.toSeq.map(_.toString)
+      case key            => Seq(key.toString)
+    }
+
+  }
+
+  private def completed[T](value: T): RedisFuture[T] = {
+    val future = new CompletedRedisFuture[T]
+    future.complete(value)
+    future
+  }
+
+  final private class CompletedRedisFuture[T] extends CompletableFuture[T] with RedisFuture[T] {
+    override def getError: String = null
+    override def await(timeout: Long, unit: TimeUnit): Boolean = true
+  }
+
+}
+
+/** Builds the connector over the stubbed commands */
+object BenchmarkConnector {
+
+  def apply(serializer: PekkoSerializer, commands: RedisClusterAsyncCommands[String, String])(implicit runtime: RedisRuntime): RedisConnector =
+    new RedisConnectorImpl(serializer, CommandRouting.single(commands))
+
+}
@@ -0,0 +1,71 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.ActorSystem
+import org.openjdk.jmh.annotations._
+import play.api.cache.redis._
+import play.api.cache.redis.connector.{BenchmarkConnector, PekkoSerializerImpl, StubRedisCommands}
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext, Future}
+
+/**
+  * The whole path of the cache API from the prefixing through the connector,
+  * the serializer, and the recovery down to the Lettuce commands, which are
+  * stubbed and answer immediately. The callbacks run on the calling thread.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class CacheBenchmark {
+
+  /** number of keys requested by `getAll` and stored by `setAll` */
+  @Param(Array("10", "500"))
+  var batch: Int = _
+
+  private var system: ActorSystem = _
+
+  private var cache: AsyncRedis = _
+
+  private var keys: Seq[String] = _
+
+  private var keyValues: Seq[(String, Any)] = _
+
+  @Setup
+  def setup(): Unit = {
+    system = ActorSystem("benchmark")
+    implicit val runtime: RedisRuntime = RedisRuntime("benchmark", 1.second, ExecutionContext.parasitic, new LogAndDefaultPolicy, LazyInvocation, new RedisPrefixImpl("benchmark"))
+    val serializer = new PekkoSerializerImpl(system)
+    keys = (1 to batch).map(i => s"key-$i")
+    keyValues = keys.map(key => key -> s"value of $key")
+    // every other key is a hit
+    val values = keys.zipWithIndex.collect { case (key, i) if i % 2 === 0 => s"benchmark:$key" -> serializer.encode(s"value-$i").get }.toMap
+    cache = new AsyncRedisImpl(BenchmarkConnector(serializer, StubRedisCommands(values)))
+  }
+
+  @TearDown
+  def tearDown(): Unit =
+    Await.result(system.terminate(), 10.seconds)
+
+  @Benchmark
+  def getHit(): Future[Option[String]] = cache.get[String]("key-1")
+
+  @Benchmark
+  def getMiss(): Future[Option[String]] = cache.get[String]("key-2")
+
+  @Benchmark
+  def getAll(): Future[Seq[Option[String]]] = cache.getAll[String](keys)
+
+  @Benchmark
+  def setAll(): Future[Done] = cache.setAll(keyValues: _*)
+
+  @Benchmark
+  def getOrElseHit(): Future[String] = cache.getOrElse[String]("key-1")("computed")
+
+  @Benchmark
+  def getOrElseMiss(): Future[String] = cache.getOrElse[String]("key-2")("computed")
+
+}
@@ -0,0 +1,38 @@
+package play.api.cache.redis.impl
+
+import org.openjdk.jmh.annotations._
+
+import java.util.concurrent.TimeUnit
+
+/** Prefixing of batches of keys, e.g., in `getAll` or `removeAll` */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.AverageTime))
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+class PrefixBenchmark {
+
+  /** number of keys in the batch */
+  @Param(Array("1", "10", "100"))
+  var size: Int = _
+
+  private val prefix: RedisPrefix = new RedisPrefixImpl("my-application")
+
+  private var keys: Seq[String] = _
+
+  private var prefixedKeys: Seq[String] = _
+
+  @Setup
+  def setup(): Unit = {
+    keys = (1 to size).map(i => s"key-$i")
+    prefixedKeys = prefix.prefixed(keys)
+  }
+
+  @Benchmark
+  def prefixed(): Seq[String] = prefix.prefixed(keys)
+
+  @Benchmark
+  def unprefixed(): Seq[String] = prefix.unprefixed(prefixedKeys)
+
+}
@@ -0,0 +1,77 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.ActorSystem
+import org.openjdk.jmh.annotations._
+import play.api.cache.redis._
+import play.api.cache.redis.connector.{BenchmarkConnector, PekkoSerializerImpl, StubRedisCommands}
+
+import java.util.concurrent.{ExecutorService, ForkJoinPool, TimeUnit}
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext}
+
+/**
+  * Throughput of the synchronous API under concurrent load. The callbacks run
+  * on the dispatcher, thus the callers actually wait for the results. It
+  * compares `SyncRedis` with Play's `DefaultSyncCacheApi` awaiting the
+  * asynchronous API, which is the previous synchronous path.
+  *
+  * The virtual threads require JDK 21, run them by
+  * `-p dispatcher=virtual-threads`.
+  */
+@State(Scope.Benchmark)
+@BenchmarkMode(Array(Mode.Throughput))
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+class SyncBenchmark {
+
+  /** execution context of the callbacks, `fork-join` or `virtual-threads` */
+  @Param(Array("fork-join"))
+  var dispatcher: String = _
+
+  private var system: ActorSystem = _
+
+  private var pool: Option[ExecutorService] = None
+
+  private var sync: CacheApi = _
+
+  private var await: play.api.cache.SyncCacheApi = _
+
+  @Setup
+  def setup(): Unit = {
+    system = ActorSystem("benchmark")
+    val context = dispatcher match {
+      case VirtualThreads.Dispatcher => VirtualThreads.executionContext
+      case _                         =>
+        val forkJoin = new ForkJoinPool(Runtime.getRuntime.availableProcessors)
+        pool = Some(forkJoin)
+        ExecutionContext.fromExecutorService(forkJoin)
+    }
+    implicit val runtime: RedisRuntime = RedisRuntime("benchmark", 1.second, context, new LogAndDefaultPolicy, LazyInvocation, new RedisPrefixImpl("benchmark"))
+    val serializer = new PekkoSerializerImpl(system)
+    val connector = BenchmarkConnector(serializer, StubRedisCommands(Map("benchmark:key-1" -> serializer.encode("value").get)))
+    sync = new SyncRedis(connector)
+    await = new play.api.cache.DefaultSyncCacheApi(new AsyncRedisImpl(connector))
+  }
+
+  @TearDown
+  def tearDown(): Unit = {
+    pool.foreach(_.shutdown())
+    Await.result(system.terminate(), 10.seconds)
+  }
+
+  @Benchmark
+  def syncGet(): Option[String] = sync.get[String]("key-1")
+
+  @Benchmark
+  def awaitGet(): Option[String] = await.get[String]("key-1")
+
+  @Benchmark
+  def syncGetOrElse(): String = sync.getOrElse[String]("key-2")("computed")
+
+  @Benchmark
+  def awaitGetOrElse(): String = await.getOrElseUpdate[String]("key-2")("computed")
+
+}
@@ -58,6 +58,34 @@ public interface AsyncCacheApi extends play.cache.AsyncCacheApi {
      */
     <T> CompletionStage<T> getOrElse(String key, Callable<T> block, int expiration);
 
+    /**
+     * Retrieve a value from the cache, or set it from a default Callable function. The value
+     * is refreshed in the background ahead of its expiration with growing probability as the
+     * expiration approaches (XFetch). The stale value is served while it is being refreshed
+     * up to the configured grace period.
+     *
+     * @param <T>        the type of the value
+     * @param key        Item key.
+     * @param block      block returning value to set if key does not exist or is to be refreshed
+     * @param expiration logical expiration period in seconds.
+     * @return a CompletionStage containing the value
+     */
+    <T> CompletionStage<T> getOrElseWithRefresh(String key, Callable<T> block, int expiration);
+
+    /**
+     * Retrieve a value from the cache, or set it from a default asynchronous Callable function.
+     * The value is refreshed in the background ahead of its expiration with growing probability
+     * as the expiration approaches (XFetch). The stale value is served while it is being
+     * refreshed up to the configured grace period.
+     *
+     * @param <T>        the type of the value
+     * @param key        Item key.
+     * @param block      block returning value to set if key does not exist or is to be refreshed
+     * @param expiration logical expiration period in seconds.
+     * @return a CompletionStage containing the value
+     */
+    <T> CompletionStage<T> getOrElseUpdateWithRefresh(String key, Callable<CompletionStage<T>> block, int expiration);
+
     /**
      * Determines whether value exists in cache.
      *
@@ -67,11 +95,12 @@ public interface AsyncCacheApi extends play.cache.AsyncCacheApi {
     CompletionStage<Boolean> exists(String key);
 
     /**
-     * Retrieves all keys matching the given pattern. This method invokes KEYS command
+     * Retrieves all keys matching the given pattern. The keys are iterated by SCAN command,
+     * thus the server is not blocked, however, all matching keys are loaded into the memory.
      * <p>
      * '''Warning:''' complexity is O(n) where n are all keys in the database
      *
-     * @param pattern valid KEYS pattern with wildcards
+     * @param pattern valid SCAN pattern with wildcards
      * @return list of matching keys
      */
     CompletionStage<List<String>> matching(String pattern);
@@ -200,11 +229,11 @@ public interface AsyncCacheApi extends play.cache.AsyncCacheApi {
 
     /**
      * <p>Removes all keys matching the given pattern. This command has no direct support
-     * in Redis, it is combination of KEYS and DEL commands.</p>
+     * in Redis, it is combination of SCAN and UNLINK commands.</p>
      *
      * <ol>
-     * <li>`KEYS pattern` command finds all keys matching the given pattern</li>
-     * <li>`DEL keys` expires all of them</li>
+     * <li>`SCAN cursor MATCH pattern` command iterates all keys matching the given pattern</li>
+     * <li>`UNLINK keys` removes them in bounded batches as they are found</li>
      * </ol>
      *
      * <p>This is usable in scenarios when multiple keys contains same part of the key, such as
@@ -217,7 +246,7 @@ public interface AsyncCacheApi extends play.cache.AsyncCacheApi {
      *
      * <p>* '''Warning:''' complexity is O(n) where n are all keys in the database</p>
      *
-     * @param pattern this must be valid KEYS pattern
+     * @param pattern this must be valid SCAN pattern
      * @return nothing
      */
     CompletionStage<Done> removeMatching(String pattern);
@@ -290,4 +319,13 @@ public interface AsyncCacheApi extends play.cache.AsyncCacheApi {
      * @return Scala wrapper
      */
     <T> AsyncRedisMap<T> map(String key, Class<T> classTag);
+
+    /**
+     * Scala wrapper around Redis sorted-set-related commands. This simplifies use of the sorted sets.
+     *
+     * @param key      the key storing the sorted set
+     * @param classTag class to be parsed from the redis
+     * @return Scala wrapper
+     */
+    <T> AsyncRedisSortedSet<T> zset(String key, Class<T> classTag);
 }
@@ -1,5 +1,8 @@
 package play.cache.redis;
 
+import org.apache.pekko.NotUsed;
+import org.apache.pekko.stream.javadsl.Source;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
@@ -108,6 +111,55 @@ public interface AsyncRedisList<Elem> {
      */
     CompletionStage<Optional<Elem>> headPop();
 
+    /**
+     * Removes and returns up to count elements from the head of the list
+     * stored at key by a single command. It requires Redis 6.2 or newer.
+     * <p>
+     * Time complexity: O(N) where N is the number of returned elements
+     *
+     * @param count maximal number of the popped elements
+     * @return the popped elements, empty if the list is empty
+     */
+    CompletionStage<List<Elem>> headPop(long count);
+
+    /**
+     * Removes and returns up to count elements from the tail of the list
+     * stored at key by a single command, the last element first. It requires
+     * Redis 6.2 or newer.
+     * <p>
+     * Time complexity: O(N) where N is the number of returned elements
+     *
+     * @param count maximal number of the popped elements
+     * @return the popped elements, empty if the list is empty
+     */
+    CompletionStage<List<Elem>> lastPop(long count);
+
+    /**
+     * Consumes the list as a work queue. It streams the elements popped from
+     * the head in batches by BLMPOP, which blocks until the list is non-empty,
+     * thus the idle consumers do not poll. Each consumer holds its own
+     * connection.
+     * <p>
+     * <strong>Warning:</strong> the stream is infinite and it pops the elements
+     * only on demand, yet the elements of the batches in flight are lost when
+     * the stream is cancelled. The recovery policy is not applied.
+     *
+     * @param batchSize   maximal number of elements popped by a single command
+     * @param concurrency number of consumers, i.e., the blocking commands in flight
+     * @return the infinite source of the popped elements
+     */
+    Source<Elem, NotUsed> consume(int batchSize, int concurrency);
+
+    /**
+     * Consumes the list as a work queue by a single consumer popping up to 100
+     * elements at once, see {@link #consume(int, int)}.
+     *
+     * @return the infinite source of the popped elements
+     */
+    default Source<Elem, NotUsed> consume() {
+        return consume(100, 1);
+    }
+
     /**
      * @return last element of the collection or an exception
      */
@@ -1,5 +1,8 @@
 package play.cache.redis;
 
+import org.apache.pekko.NotUsed;
+import org.apache.pekko.stream.javadsl.Source;
+
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -25,6 +28,36 @@ public interface AsyncRedisMap<Elem> {
      */
     CompletionStage<AsyncRedisMap<Elem>> add(String field, Elem value);
 
+    /**
+     * Inserts all values at the given keys into the map. Large batches are split into chunks
+     * of multi-field HSET commands, which are encoded in parallel and pipelined.
+     *
+     * @param fieldValues keys and inserted values
+     * @return the map for the chaining calls
+     */
+    CompletionStage<AsyncRedisMap<Elem>> addAll(Map<String, Elem> fieldValues);
+
+    /**
+     * Inserts all values at the given keys into the map, the inserted fields expire individually.
+     * The expiration requires Redis 7.4 or newer. The fields are inserted first and their expiration
+     * is set afterwards, the whole operation is not atomic.
+     *
+     * @param fieldValues keys and inserted values
+     * @param expiration  expiration of the inserted fields in seconds
+     * @return the map for the chaining calls
+     */
+    CompletionStage<AsyncRedisMap<Elem>> addAll(Map<String, Elem> fieldValues, int expiration);
+
+    /**
+     * Sets the expiration of the given keys in the map, the fields are removed when they expire.
+     * It requires Redis 7.4 or newer, older servers fail with UnsupportedOperationException.
+     *
+     * @param expiration expiration of the fields in seconds
+     * @param fields     keys to expire
+     * @return the map for the chaining calls
+     */
+    CompletionStage<AsyncRedisMap<Elem>> expireFields(int expiration, String... fields);
+
     /**
      * Returns the value at the given key into the map
      *
@@ -90,4 +123,24 @@ public interface AsyncRedisMap<Elem> {
      * @return all stored values
      */
     CompletionStage<Set<Elem>> values();
+
+    /**
+     * <p>Streams all fields and values in the map. The map is iterated by HSCAN in pages as the stream
+     * is consumed, thus neither the server is blocked nor the whole map is loaded into the memory.</p>
+     * <p><strong>Warning:</strong> when the map changes during the iteration, a field may be emitted
+     * more than once. The recovery policy is not applied, the stream fails when redis fails.</p>
+     *
+     * @param count hint of the number of fields fetched in a single page
+     * @return source of the fields and the values
+     */
+    Source<Map.Entry<String, Elem>, NotUsed> scan(long count);
+
+    /**
+     * <p>Streams all fields and values in the map, see {@link #scan(long)}.</p>
+     *
+     * @return source of the fields and the values
+     */
+    default Source<Map.Entry<String, Elem>, NotUsed> scan() {
+        return scan(100L);
+    }
 }
@@ -1,5 +1,9 @@
 package play.cache.redis;
 
+import org.apache.pekko.NotUsed;
+import org.apache.pekko.stream.javadsl.Source;
+
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 
@@ -26,6 +30,16 @@ public interface AsyncRedisSet<Elem> {
     @SuppressWarnings("unchecked")
     CompletionStage<AsyncRedisSet<Elem>> add(Elem... element);
 
+    /**
+     * <p>Add all the specified members to the set stored at key. Large batches are split into chunks
+     * of SADD commands, which are encoded in parallel and pipelined.</p>
+     *
+     * @param elements elements to be added
+     * @return the set for chaining calls
+     * @note <strong>Time complexity:</strong> O(N) to add N elements.
+     */
+    CompletionStage<AsyncRedisSet<Elem>> addAll(Collection<Elem> elements);
+
     /**
      * <p>Tests if the element is contained in the set. Returns true if exists, otherwise returns false</p>
      *
@@ -53,4 +67,24 @@ public interface AsyncRedisSet<Elem> {
      * @note <strong>Time complexity:</strong> O(N) where N is the set cardinality.
      */
     CompletionStage<Set<Elem>> toSet();
+
+    /**
+     * <p>Streams all elements in the set. The set is iterated by SSCAN in pages as the stream is
+     * consumed, thus neither the server is blocked nor the whole set is loaded into the memory.</p>
+     * <p><strong>Warning:</strong> when the set changes during the iteration, an element may be emitted
+     * more than once. The recovery policy is not applied, the stream fails when redis fails.</p>
+     *
+     * @param count hint of the number of elements fetched in a single page
+     * @return source of the elements
+     */
+    Source<Elem, NotUsed> scan(long count);
+
+    /**
+     * <p>Streams all elements in the set, see {@link #scan(long)}.</p>
+     *
+     * @return source of the elements
+     */
+    default Source<Elem, NotUsed> scan() {
+        return scan(100L);
+    }
 }
@@ -0,0 +1,172 @@
+package play.cache.redis;
+
+import org.apache.pekko.NotUsed;
+import org.apache.pekko.stream.javadsl.Source;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Redis Sorted Sets are sets of objects ordered by their scores. The ranges by score and by
+ * lexicographical order are evaluated by the server, thus only the requested slice is transferred.
+ *
+ * <strong>The score bounds are inclusive, the infinite scores are open bounds.</strong>
+ */
+public interface AsyncRedisSortedSet<Elem> {
+
+    /**
+     * <p>Adds the specified member with the specified score to the sorted set stored at key. If the member
+     * already exists, its score is updated.</p>
+     *
+     * @param score   score of the element
+     * @param element element to be added
+     * @return the sorted set for chaining calls
+     * @note An error is returned when the value stored at key is not a sorted set.
+     * @note <strong>Time complexity:</strong> O(log(N)) where N is the number of elements in the sorted set.
+     */
+    CompletionStage<AsyncRedisSortedSet<Elem>> add(double score, Elem element);
+
+    /**
+     * <p>Tests if the element is contained in the sorted set. Returns true if exists, otherwise returns false</p>
+     *
+     * @param element tested element
+     * @return true if exists in the set, otherwise false
+     * @note <strong>Time complexity:</strong> O(1)
+     */
+    CompletionStage<Boolean> contains(Elem element);
+
+    /**
+     * <p>Removes the specified members from the sorted set stored at key. Non existing members are ignored.</p>
+     *
+     * @param element elements to be removed
+     * @return the sorted set for chaining calls
+     * @note <strong>Time complexity:</strong> O(M*log(N)) with N being the number of elements in the sorted set
+     * and M the number of elements to be removed.
+     */
+    @SuppressWarnings("unchecked")
+    CompletionStage<AsyncRedisSortedSet<Elem>> remove(Elem... element);
+
+    /**
+     * <p>Returns the specified range of elements ordered from the lowest to the highest score.</p>
+     *
+     * @param start the start index of the range
+     * @param stop  the stop index of the range
+     * @return elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N)+M) with M being the number of elements returned.
+     */
+    CompletionStage<List<Elem>> range(long start, long stop);
+
+    /**
+     * <p>Returns the specified range of elements ordered from the highest to the lowest score.</p>
+     *
+     * @param start the start index of the range
+     * @param stop  the stop index of the range
+     * @return elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N)+M) with M being the number of elements returned.
+     */
+    CompletionStage<List<Elem>> reverseRange(long start, long stop);
+
+    /**
+     * <p>Returns the elements with the score between min and max ordered from the lowest to the highest
+     * score. It skips <code>offset</code> elements and returns at most <code>count</code> elements, negative
+     * count returns all remaining elements.</p>
+     *
+     * @param min    the lower bound of the scores
+     * @param max    the upper bound of the scores
+     * @param offset number of skipped elements
+     * @param count  maximal number of returned elements
+     * @return elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N)+M) with M being the number of elements returned.
+     */
+    CompletionStage<List<Elem>> rangeByScore(double min, double max, long offset, long count);
+
+    /**
+     * <p>Returns all elements with the score between min and max, see {@link #rangeByScore(double, double, long, long)}.</p>
+     *
+     * @param min the lower bound of the scores
+     * @param max the upper bound of the scores
+     * @return elements in the range
+     */
+    default CompletionStage<List<Elem>> rangeByScore(double min, double max) {
+        return rangeByScore(min, max, 0L, -1L);
+    }
+
+    /**
+     * <p>Returns the elements with the score between min and max ordered from the highest to the lowest
+     * score, see {@link #rangeByScore(double, double, long, long)}.</p>
+     *
+     * @param min    the lower bound of the scores
+     * @param max    the upper bound of the scores
+     * @param offset number of skipped elements
+     * @param count  maximal number of returned elements
+     * @return elements in the range
+     */
+    CompletionStage<List<Elem>> reverseRangeByScore(double min, double max, long offset, long count);
+
+    /**
+     * <p>Returns the elements with the score between min and max along with their scores, see
+     * {@link #rangeByScore(double, double, long, long)}.</p>
+     *
+     * @param min    the lower bound of the scores
+     * @param max    the upper bound of the scores
+     * @param offset number of skipped elements
+     * @param count  maximal number of returned elements
+     * @return elements and their scores in the range
+     */
+    CompletionStage<List<Map.Entry<Elem, Double>>> rangeByScoreWithScores(double min, double max, long offset, long count);
+
+    /**
+     * <p>Returns the elements between min and max in the lexicographical order. It is meaningful only
+     * when all the elements have the same score. The bounds are inclusive, <code>null</code> is an open
+     * bound.</p>
+     *
+     * @param min    the lower bound of the elements
+     * @param max    the upper bound of the elements
+     * @param offset number of skipped elements
+     * @param count  maximal number of returned elements, negative returns all remaining elements
+     * @return elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N)+M) with M being the number of elements returned.
+     */
+    CompletionStage<List<Elem>> rangeByLex(Elem min, Elem max, long offset, long count);
+
+    /**
+     * <p>Returns the number of elements with the score between min and max.</p>
+     *
+     * @param min the lower bound of the scores
+     * @param max the upper bound of the scores
+     * @return the number of elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N))
+     */
+    CompletionStage<Long> countByScore(double min, double max);
+
+    /**
+     * <p>Returns the number of elements between min and max in the lexicographical order, see
+     * {@link #rangeByLex(Object, Object, long, long)}.</p>
+     *
+     * @param min the lower bound of the elements
+     * @param max the upper bound of the elements
+     * @return the number of elements in the range
+     * @note <strong>Time complexity:</strong> O(log(N))
+     */
+    CompletionStage<Long> countByLex(Elem min, Elem max);
+
+    /**
+     * <p>Returns the number of elements in the sorted set.</p>
+     *
+     * @return the cardinality of the sorted set
+     * @note <strong>Time complexity:</strong> O(1)
+     */
+    CompletionStage<Long> size();
+
+    /**
+     * <p>Streams all elements in the sorted set along with their scores. The set is iterated by ZSCAN in
+     * pages as the stream is consumed, the elements are not ordered by their scores.</p>
+     * <p><strong>Warning:</strong> when the set changes during the iteration, an element may be emitted
+     * more than once. The recovery policy is not applied, the stream fails when redis fails.</p>
+     *
+     * @param count hint of the number of elements fetched in a single page
+     * @return source of the elements and their scores
+     */
+    Source<Map.Entry<Elem, Double>, NotUsed> scan(long count);
+}
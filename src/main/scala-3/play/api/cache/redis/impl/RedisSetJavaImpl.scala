@@ -1,5 +1,7 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.javadsl.Source
 import play.api.cache.redis.RedisSet
 import play.cache.redis.AsyncRedisSet
 
@@ -13,6 +15,11 @@ class RedisSetJavaImpl[Elem](internal: RedisSet[Elem, Future])(implicit runtime:
       internal.add(elements.toSeq: _*).map(_ => this)
     }
 
+  override def addAll(elements: java.util.Collection[Elem]): CompletionStage[AsyncRedisSet[Elem]] =
+    async { implicit context =>
+      internal.addAll(elements.asScala.toSeq).map(_ => this)
+    }
+
   override def contains(element: Elem): CompletionStage[java.lang.Boolean] =
     async { implicit context =>
       internal.contains(element).map(Boolean.box)
@@ -28,4 +35,7 @@ class RedisSetJavaImpl[Elem](internal: RedisSet[Elem, Future])(implicit runtime:
       internal.toSet.map(_.asJava)
     }
 
+  override def scan(count: Long): Source[Elem, NotUsed] =
+    internal.scan(count).asJava
+
 }
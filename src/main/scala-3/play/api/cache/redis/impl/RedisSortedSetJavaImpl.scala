@@ -0,0 +1,83 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.javadsl.Source
+import play.api.cache.redis.RedisSortedSet
+import play.cache.redis.AsyncRedisSortedSet
+
+import scala.concurrent.Future
+
+class RedisSortedSetJavaImpl[Elem](internal: RedisSortedSet[Elem, Future])(implicit runtime: RedisRuntime) extends AsyncRedisSortedSet[Elem] {
+  import JavaCompatibility.*
+
+  override def add(score: Double, element: Elem): CompletionStage[AsyncRedisSortedSet[Elem]] =
+    async { implicit context =>
+      internal.add(score -> element).map(_ => this)
+    }
+
+  override def contains(element: Elem): CompletionStage[java.lang.Boolean] =
+    async { implicit context =>
+      internal.contains(element).map(Boolean.box)
+    }
+
+  override def remove(elements: Array[? <: Elem]): CompletionStage[AsyncRedisSortedSet[Elem]] =
+    async { implicit context =>
+      internal.remove(elements.toSeq: _*).map(_ => this)
+    }
+
+  override def range(start: Long, stop: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.range(start, stop).map(_.asJava)
+    }
+
+  override def reverseRange(start: Long, stop: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.range(start, stop, isReverse = true).map(_.asJava)
+    }
+
+  override def rangeByScore(min: Double, max: Double, offset: Long, count: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.rangeByScore(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max), Some(RedisSortedSet.Limit(offset, count))).map(_.asJava)
+    }
+
+  override def reverseRangeByScore(min: Double, max: Double, offset: Long, count: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.rangeByScore(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max), Some(RedisSortedSet.Limit(offset, count)), isReverse = true).map(_.asJava)
+    }
+
+  override def rangeByScoreWithScores(min: Double, max: Double, offset: Long, count: Long): CompletionStage[JavaList[java.util.Map.Entry[Elem, java.lang.Double]]] =
+    async { implicit context =>
+      internal.rangeByScoreWithScores(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max), Some(RedisSortedSet.Limit(offset, count))).map(_.map(entryOf).asJava)
+    }
+
+  override def rangeByLex(min: Elem, max: Elem, offset: Long, count: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.rangeByLex(boundOf(min), boundOf(max), Some(RedisSortedSet.Limit(offset, count))).map(_.asJava)
+    }
+
+  override def countByScore(min: Double, max: Double): CompletionStage[java.lang.Long] =
+    async { implicit context =>
+      internal.countByScore(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max)).map(Long.box)
+    }
+
+  override def countByLex(min: Elem, max: Elem): CompletionStage[java.lang.Long] =
+    async { implicit context =>
+      internal.countByLex(boundOf(min), boundOf(max)).map(Long.box)
+    }
+
+  override def size(): CompletionStage[java.lang.Long] =
+    async { implicit context =>
+      internal.size.map(Long.box)
+    }
+
+  override def scan(count: Long): Source[java.util.Map.Entry[Elem, java.lang.Double], NotUsed] =
+    internal.scan(count).map(entryOf).asJava
+
+  /** null is an open bound */
+  private def boundOf(value: Elem): RedisSortedSet.Bound[Elem] =
+    Option(value).fold[RedisSortedSet.Bound[Elem]](RedisSortedSet.Bound.Unbounded)(RedisSortedSet.Bound.Inclusive(_))
+
+  private def entryOf(scored: (Double, Elem)): java.util.Map.Entry[Elem, java.lang.Double] =
+    new java.util.AbstractMap.SimpleImmutableEntry(scored._2, Double.box(scored._1))
+
+}
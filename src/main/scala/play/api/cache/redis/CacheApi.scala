@@ -1,7 +1,10 @@
 package play.api.cache.redis
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+
 import scala.concurrent.Future
-import scala.concurrent.duration.Duration
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 
 /**
@@ -87,6 +90,54 @@ private[redis] trait AbstractCacheApi[Result[_]] {
     */
   def getOrFuture[T: ClassTag](key: String, expiration: Duration = Duration.Inf)(orElse: => Future[T]): Future[T]
 
+  /**
+    * Retrieve a value from the cache. If is missing, set default value with
+    * given expiration and return the value. Unlike [[getOrElse]], the value
+    * is refreshed ahead of its expiration.
+    *
+    * Next to the value, it stores how long its computation took and when it
+    * logically expires. As the expiration approaches, each hit may trigger the
+    * refresh of the value in the background with growing probability
+    * (XFetch). The value is kept for a configured grace period after the
+    * logical expiration and the stale value is served while it is being
+    * refreshed. On miss, it behaves as [[getOrElse]].
+    *
+    * @param key
+    *   cache storage key
+    * @param expiration
+    *   logical expiration of the value
+    * @param orElse
+    *   The default function to invoke if the value was not found in cache or
+    *   is to be refreshed.
+    * @return
+    *   stored or default record
+    */
+  def getOrElseWithRefresh[T: ClassTag](key: String, expiration: FiniteDuration)(orElse: => T): Result[T]
+
+  /**
+    * Retrieve a value from the cache. If is missing, set default value with
+    * given expiration and return the value. Unlike [[getOrFuture]], the value
+    * is refreshed ahead of its expiration.
+    *
+    * Next to the value, it stores how long its computation took and when it
+    * logically expires. As the expiration approaches, each hit may trigger the
+    * refresh of the value in the background with growing probability
+    * (XFetch). The value is kept for a configured grace period after the
+    * logical expiration and the stale value is served while it is being
+    * refreshed. On miss, it behaves as [[getOrFuture]].
+    *
+    * @param key
+    *   cache storage key
+    * @param expiration
+    *   logical expiration of the value
+    * @param orElse
+    *   The default function to invoke if the value was not found in cache or
+    *   is to be refreshed.
+    * @return
+    *   stored or default record
+    */
+  def getOrFutureWithRefresh[T: ClassTag](key: String, expiration: FiniteDuration)(orElse: => Future[T]): Future[T]
+
   /**
     * Determines whether value exists in cache.
     *
@@ -98,13 +149,15 @@ private[redis] trait AbstractCacheApi[Result[_]] {
   def exists(key: String): Result[Boolean]
 
   /**
-    * Retrieves all keys matching the given pattern. This method invokes KEYS
-    * command
+    * Retrieves all keys matching the given pattern. The keys are iterated by
+    * SCAN command, thus the server is not blocked, however, all matching keys
+    * are loaded into the memory. Consider
+    * [[CacheAsyncApi.scanMatching]] to stream them instead.
     *
     * '''Warning:''' complexity is O(n) where n are all keys in the database
     *
     * @param pattern
-    *   valid KEYS pattern with wildcards
+    *   valid SCAN pattern with wildcards
     * @return
     *   list of matching keys
     */
@@ -257,10 +310,11 @@ private[redis] trait AbstractCacheApi[Result[_]] {
 
   /**
     * <p>Removes all keys matching the given pattern. This command has no direct
-    * support in Redis, it is combination of KEYS and DEL commands.</p>
+    * support in Redis, it is combination of SCAN and UNLINK commands.</p>
     *
-    * <ol> <li>`KEYS pattern` command finds all keys matching the given
-    * pattern</li> <li>`DEL keys` expires all of them</li> </ol>
+    * <ol> <li>`SCAN cursor MATCH pattern` command iterates all keys matching
+    * the given pattern</li> <li>`UNLINK keys` removes them in bounded batches
+    * as they are found</li> </ol>
     *
     * <p>This is usable in scenarios when multiple keys contains same part of
     * the key, such as record identification, user identification, etc. For
@@ -276,7 +330,7 @@ private[redis] trait AbstractCacheApi[Result[_]] {
     * database</p>
     *
     * @param pattern
-    *   this must be valid KEYS pattern
+    *   this must be valid SCAN pattern
     * @return
     *   nothing
     */
@@ -374,10 +428,88 @@ private[redis] trait AbstractCacheApi[Result[_]] {
   * Synchronous and blocking implementation of the connection to the redis
   * database
   */
-trait CacheApi extends AbstractCacheApi[SynchronousResult]
+trait CacheApi extends AbstractCacheApi[SynchronousResult] {
+
+  /**
+    * The same cache with the reads served with the given consistency,
+    * including the reads of the collections obtained from it. The writes are
+    * always served by the master. See [[ReadConsistency]].
+    *
+    * @param consistency
+    *   consistency of the reads
+    * @return
+    *   view of the cache with the reads routed accordingly
+    */
+  def withReadConsistency(consistency: ReadConsistency): CacheApi
+}
 
 /**
   * Asynchronous non-blocking implementation of the connection to the redis
   * database
   */
-trait CacheAsyncApi extends AbstractCacheApi[AsynchronousResult]
+trait CacheAsyncApi extends AbstractCacheApi[AsynchronousResult] {
+
+  /**
+    * The same cache with the reads served with the given consistency,
+    * including the reads of the collections obtained from it. The writes are
+    * always served by the master. See [[ReadConsistency]].
+    *
+    * @param consistency
+    *   consistency of the reads
+    * @return
+    *   view of the cache with the reads routed accordingly
+    */
+  def withReadConsistency(consistency: ReadConsistency): CacheAsyncApi
+
+  /**
+    * Streams all keys matching the given pattern. The keys are iterated by SCAN
+    * command in pages as the stream is consumed, thus neither the server is
+    * blocked nor all keys are loaded into the memory. In cluster mode, all
+    * master nodes are iterated.
+    *
+    * '''Warning:''' when the keyspace changes during the iteration, a key may
+    * be emitted more than once. The recovery policy is not applied, the
+    * stream fails when redis fails.
+    *
+    * @param pattern
+    *   valid SCAN pattern with wildcards
+    * @return
+    *   source of matching keys
+    */
+  def scanMatching(pattern: String): Source[String, NotUsed]
+
+  /**
+    * Loads the script into the script cache of the server. It is optional,
+    * [[evalScript]] loads the script on its first use anyway, however,
+    * loading it in advance saves transferring the source later.
+    *
+    * @param script
+    *   Lua script to be loaded
+    * @return
+    *   promise
+    */
+  def loadScript(script: RedisScript): AsynchronousResult[Done]
+
+  /**
+    * Evaluates the Lua script atomically on the server. The script is invoked
+    * by its digest and its source is sent only when the server does not know
+    * it yet. The keys are prefixed as any other keys, the arguments are passed
+    * as they are, they are not serialized.
+    *
+    * '''Warning:''' the recovery policy is not applied, the future fails when
+    * redis or the script fails. In cluster mode, all keys must belong to the
+    * same hash slot.
+    *
+    * @param script
+    *   Lua script to be evaluated
+    * @param keys
+    *   keys accessed by the script, available as KEYS in the script
+    * @param args
+    *   additional arguments, available as ARGV in the script
+    * @tparam T
+    *   type of the reply, see [[RedisScript.Output]]
+    * @return
+    *   the reply of the script
+    */
+  def evalScript[T: RedisScript.Output](script: RedisScript, keys: Seq[String], args: Seq[String] = Seq.empty): AsynchronousResult[T]
+}
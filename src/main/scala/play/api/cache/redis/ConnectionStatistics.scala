@@ -0,0 +1,23 @@
+package play.api.cache.redis
+
+/**
+  * Load of the connections of a single named cache. The counters are tracked
+  * only with more than one connection, i.e., when the striping is enabled.
+  */
+trait ConnectionStatistics {
+
+  /**
+    * number of commands in flight on each connection, the dedicated bulk
+    * connection, if enabled, is the last one
+    */
+  def inFlight: Seq[Long]
+}
+
+object ConnectionStatistics {
+
+  /** statistics of a single connection, which is not tracked */
+  val Untracked: ConnectionStatistics = new ConnectionStatistics {
+    override def inFlight: Seq[Long] = Seq.empty
+  }
+
+}
@@ -0,0 +1,28 @@
+package play.api.cache.redis
+
+/**
+  * Hedged reads of a single named cache, see
+  * [[play.api.cache.redis.configuration.RedisHedging]].
+  */
+trait HedgingStatistics {
+
+  /** number of hedges sent because the read did not complete in time */
+  def fired: Long
+
+  /** number of hedges that responded before the original read */
+  def won: Long
+
+  /** current delay of the hedge in nanoseconds */
+  def delayNanos: Long
+}
+
+object HedgingStatistics {
+
+  /** statistics of a cache without hedging */
+  val Disabled: HedgingStatistics = new HedgingStatistics {
+    override def fired: Long = 0L
+    override def won: Long = 0L
+    override def delayNanos: Long = 0L
+  }
+
+}
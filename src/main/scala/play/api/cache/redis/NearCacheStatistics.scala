@@ -0,0 +1,26 @@
+package play.api.cache.redis
+
+/**
+  * Counters of the in-process near cache of a single named cache. When the
+  * near cache is disabled, all counters remain zero.
+  */
+trait NearCacheStatistics {
+
+  /** number of lookups served directly by the near cache */
+  def hits: Long
+
+  /** number of lookups not found in the near cache, forwarded to redis */
+  def misses: Long
+
+  /** number of entries evicted due to the entry or byte limits or expired */
+  def evictions: Long
+
+  /** number of entries invalidated either by redis or by local writes */
+  def invalidations: Long
+
+  /** current number of entries */
+  def size: Int
+
+  /** current approximate size of all entries in bytes */
+  def bytes: Long
+}
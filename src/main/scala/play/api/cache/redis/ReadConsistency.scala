@@ -0,0 +1,20 @@
+package play.api.cache.redis
+
+/**
+  * Consistency hint of the reads. It matters only to the instances with
+  * replicas, i.e., cluster, sentinel, and master-slaves, a standalone instance
+  * serves all reads equally.
+  */
+sealed abstract class ReadConsistency(val name: String)
+
+object ReadConsistency {
+
+  /** the reads are served by the master, they observe all preceding writes */
+  case object Strong extends ReadConsistency("strong")
+
+  /**
+    * the reads are routed by the `read-from` setting, usually to replicas,
+    * thus they scale out but they may miss the most recent writes
+    */
+  case object Relaxed extends ReadConsistency("relaxed")
+}
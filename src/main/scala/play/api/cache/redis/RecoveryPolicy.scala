@@ -3,8 +3,11 @@ package play.api.cache.redis
 import play.api.Logger
 import play.api.inject._
 
+import java.util.concurrent.atomic.{AtomicReference, LongAdder}
 import javax.inject.Inject
-import scala.concurrent.Future
+import scala.concurrent.duration._
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success}
 
 /**
   * Recovery policy triggers when a request fails. Based on the implementation,
@@ -32,6 +35,20 @@ trait RecoveryPolicy {
     */
   def recoverFrom[T](rerun: => Future[T], default: => Future[T], failure: RedisException): Future[T]
 
+  /**
+    * Invokes the request. It may reject the request without reaching redis,
+    * e.g., while redis is known to be unavailable. The rejection is a
+    * [[RedisException]] and it is recovered as any other failure.
+    *
+    * @param request
+    *   request (cache operation) to invoke
+    * @tparam T
+    *   expected result type
+    * @return
+    *   result of the request or the rejection
+    */
+  def invoke[T](request: => Future[T]): Future[T] = request
+
   // $COVERAGE-OFF$
   /** name of the policy used for internal purposes */
   def name: String = this.getClass.getSimpleName
@@ -57,6 +74,7 @@ trait Reports extends RecoveryPolicy {
       case ExecutionFailedException(None, command, _, _)      => s"Command $command failed."
       case UnexpectedResponseException(Some(key), command)    => s"Command $command for key '$key' returned unexpected response."
       case UnexpectedResponseException(None, command)         => s"Command $command returned unexpected response."
+      case CircuitOpenException(_)                            => "Command was rejected, the circuit breaker is open."
     }
 
   protected def doLog(message: String, cause: Option[Throwable]): Unit
@@ -67,8 +85,11 @@ trait Reports extends RecoveryPolicy {
     doLog(message(failure), Option(failure.getCause))
 
   abstract override def recoverFrom[T](rerun: => Future[T], default: => Future[T], failure: RedisException): Future[T] = {
-    // log it and let through
-    report(failure)
+    // log it and let through, the rejections are reported by the circuit breaker
+    failure match {
+      case CircuitOpenException(_) => ()
+      case other                   => report(other)
+    }
     // dive into
     super.recoverFrom(rerun, default, failure)
   }
@@ -112,6 +133,171 @@ trait RecoverWithDefault extends RecoveryPolicy {
 
 }
 
+/**
+  * Fails fast while redis is unhealthy instead of waiting for each request to
+  * fail or time out. It counts the failures and timeouts of the requests
+  * within a window and once their ratio reaches the threshold, it opens the
+  * circuit. The requests are then rejected immediately by
+  * [[CircuitOpenException]], which is recovered as any other failure, e.g.,
+  * with a default value. After the open timeout, the circuit turns half-open
+  * and redis is probed by a PING. When it succeeds, the circuit closes,
+  * otherwise it opens again. Without the probe, the first request after the
+  * open timeout is the probe.
+  *
+  * The state is held by the policy, thus each redis instance needs its own
+  * policy instance. The transitions are recorded into the metrics of the
+  * instance. Mix it in last, e.g., `RecoverWithDefault with CondensedReports
+  * with CircuitBreaking`.
+  */
+trait CircuitBreaking extends RecoveryPolicy {
+  import CircuitBreaking._
+
+  /** minimal ratio of the failed requests within the window opening the circuit */
+  protected def failureRateThreshold: Double = 0.5
+
+  /** minimal number of requests within the window to evaluate the ratio */
+  protected def minimumRequests: Int = 20
+
+  /** length of the window the requests are counted within */
+  protected def window: FiniteDuration = 10.seconds
+
+  /** how long the circuit remains open before redis is probed */
+  protected def openTimeout: FiniteDuration = 5.seconds
+
+  private val breakerLog: Logger = Logger("play.api.cache.redis")
+
+  @volatile private var instance: String = "redis"
+
+  @volatile private var ping: Option[() => Future[Unit]] = None
+
+  @volatile private var metrics: RedisMetrics = RedisMetrics.Disabled
+
+  private val current: AtomicReference[State] = new AtomicReference(Closed)
+
+  private val counters: AtomicReference[Counters] = new AtomicReference(new Counters(System.nanoTime()))
+
+  /** current state of the circuit, either `closed`, `open`, or `half-open` */
+  def circuitState: String = current.get.name
+
+  /** binds the breaker to the named instance probed by the PING */
+  private[redis] def attach(name: String, ping: () => Future[Unit], metrics: RedisMetrics): Unit = {
+    this.instance = name
+    this.ping = Some(ping)
+    this.metrics = metrics
+  }
+
+  override def invoke[T](request: => Future[T]): Future[T] = current.get match {
+    case Closed                                     => track(request)
+    case rejecting: Rejecting if elapsed(rejecting) =>
+      val probing = HalfOpen(rejecting.cause, System.nanoTime())
+      if (transition(rejecting, probing)) probe(probing, request)
+      else Future.failed(CircuitOpenException(rejecting.cause))
+    case rejecting: Rejecting                       => Future.failed(CircuitOpenException(rejecting.cause))
+  }
+
+  /**
+    * probes redis by the PING while the request is rejected, without the PING
+    * the request itself is the probe
+    */
+  private def probe[T](probing: HalfOpen, request: => Future[T]): Future[T] =
+    ping match {
+      case Some(send) =>
+        settle(probing, send())
+        Future.failed(CircuitOpenException(probing.cause))
+      case None       =>
+        val trial = request
+        settle(probing, trial.map(_ => ())(ExecutionContext.parasitic))
+        trial
+    }
+
+  private def track[T](request: Future[T]): Future[T] = {
+    request.onComplete {
+      case Failure(failure @ (_: TimeoutException | _: ExecutionFailedException)) => failed(failure)
+      case _                                                                        => currentCounters().successes.increment()
+    }(ExecutionContext.parasitic)
+    request
+  }
+
+  /** counts the failure and opens the circuit when the ratio is reached */
+  private def failed(cause: Throwable): Unit = {
+    val counters = currentCounters()
+    counters.failures.increment()
+    val failures = counters.failures.sum
+    val total = failures + counters.successes.sum
+    if (total >= minimumRequests && failures.toDouble >= failureRateThreshold * total.toDouble) {
+      val _ = transition(Closed, Open(cause, System.nanoTime()))
+    }
+  }
+
+  /** counters of the current window, a new window starts when it elapses */
+  private def currentCounters(): Counters = {
+    val counters = this.counters.get
+    if (System.nanoTime() - counters.start < window.toNanos) counters
+    else {
+      val next = new Counters(System.nanoTime())
+      if (this.counters.compareAndSet(counters, next)) next else this.counters.get
+    }
+  }
+
+  /**
+    * whether the circuit is open for the open timeout, the probe in flight is
+    * abandoned after the open timeout as well
+    */
+  private def elapsed(rejecting: Rejecting): Boolean =
+    System.nanoTime() - rejecting.since >= openTimeout.toNanos
+
+  /** closes the circuit or opens it again based on the probe */
+  private def settle(probing: HalfOpen, probe: Future[Unit]): Unit =
+    probe.onComplete {
+      case Success(_)  =>
+        counters.set(new Counters(System.nanoTime()))
+        val _ = transition(probing, Closed)
+      case Failure(ex) =>
+        val _ = transition(probing, Open(ex, System.nanoTime()))
+    }(ExecutionContext.parasitic)
+
+  private def transition(from: State, to: State): Boolean = {
+    val changed = current.compareAndSet(from, to)
+    if (changed) {
+      to match {
+        case Open(cause, _) => breakerLog.warn(s"Circuit breaker of '$instance' is open for $openTimeout, the commands are rejected: ${cause.getMessage}")
+        case HalfOpen(_, _) => breakerLog.info(s"Circuit breaker of '$instance' is half-open, probing the instance.")
+        case Closed         => breakerLog.info(s"Circuit breaker of '$instance' is closed.")
+      }
+      metrics.recordCircuitTransition(to.name)
+    }
+    changed
+  }
+
+}
+
+object CircuitBreaking {
+
+  sealed abstract private[redis] class State(val name: String) extends Product with Serializable
+
+  /** the requests are executed and their failures counted */
+  private[redis] case object Closed extends State("closed")
+
+  /** the requests are rejected since the given time due to the cause */
+  sealed abstract private[redis] class Rejecting(name: String) extends State(name) {
+    def cause: Throwable
+    def since: Long
+  }
+
+  /** the requests are rejected until the open timeout elapses */
+  final private[redis] case class Open(cause: Throwable, since: Long) extends Rejecting("open")
+
+  /** the requests are rejected while the probe is in flight */
+  final private[redis] case class HalfOpen(cause: Throwable, since: Long) extends Rejecting("half-open")
+
+  /** outcomes of the requests within a single window */
+  final private[redis] class Counters(val start: Long) {
+    val successes = new LongAdder
+    val failures = new LongAdder
+  }
+
+}
+
 /**
   * When the command fails, it logs the failure and fails the whole operation.
   */
@@ -142,6 +328,20 @@ private[redis] class LogCondensedAndDefaultPolicy @Inject() extends RecoverWithD
   */
 private[redis] class LogCondensedAndFailPolicy @Inject() extends FailThrough with CondensedReports
 
+/**
+  * While redis is unhealthy, the commands are rejected immediately and
+  * recovered with default value. The failures are logged in the condensed
+  * form, the rejections are not logged at all.
+  */
+private[redis] class CircuitBreakerAndDefaultPolicy @Inject() extends RecoverWithDefault with CondensedReports with CircuitBreaking
+
+/**
+  * While redis is unhealthy, the commands are rejected immediately and they
+  * fail. The failures are logged in the condensed form, the rejections are not
+  * logged at all.
+  */
+private[redis] class CircuitBreakerAndFailPolicy @Inject() extends FailThrough with CondensedReports with CircuitBreaking
+
 /**
   * This resolver represents an abstraction over translation of the policy name
   * into the instance. It has two subclasses, one for guice and the other for
@@ -156,10 +356,12 @@ trait RecoveryPolicyResolver {
 class RecoveryPolicyResolverImpl extends RecoveryPolicyResolver {
 
   override val resolve: PartialFunction[String, RecoveryPolicy] = {
-    case "log-and-fail"              => new LogAndFailPolicy
-    case "log-and-default"           => new LogAndDefaultPolicy
-    case "log-condensed-and-fail"    => new LogCondensedAndFailPolicy
-    case "log-condensed-and-default" => new LogCondensedAndDefaultPolicy
+    case "log-and-fail"                => new LogAndFailPolicy
+    case "log-and-default"             => new LogAndDefaultPolicy
+    case "log-condensed-and-fail"      => new LogCondensedAndFailPolicy
+    case "log-condensed-and-default"   => new LogCondensedAndDefaultPolicy
+    case "circuit-breaker-and-fail"    => new CircuitBreakerAndFailPolicy
+    case "circuit-breaker-and-default" => new CircuitBreakerAndDefaultPolicy
   }
 
 }
@@ -171,6 +373,8 @@ object RecoveryPolicyResolver {
     bind[RecoveryPolicy].qualifiedWith("log-and-default").to[LogAndDefaultPolicy],
     bind[RecoveryPolicy].qualifiedWith("log-condensed-and-fail").to[LogCondensedAndFailPolicy],
     bind[RecoveryPolicy].qualifiedWith("log-condensed-and-default").to[LogCondensedAndDefaultPolicy],
+    bind[RecoveryPolicy].qualifiedWith("circuit-breaker-and-fail").to[CircuitBreakerAndFailPolicy],
+    bind[RecoveryPolicy].qualifiedWith("circuit-breaker-and-default").to[CircuitBreakerAndDefaultPolicy],
     // finally bind the resolver
     bind[RecoveryPolicyResolver].to[RecoveryPolicyResolverGuice],
   )
@@ -3,6 +3,8 @@ package play.api.cache.redis
 import play.api.inject.ApplicationLifecycle
 import play.api.{Configuration, Environment}
 
+import scala.collection.concurrent.TrieMap
+
 /**
   * <p>Components for compile-time dependency injection. It binds components
   * from configuration package</p>
@@ -34,7 +36,27 @@ trait RedisCacheComponents {
   /** translates the cache name into the configuration */
   private def redisInstance(name: String)(implicit resolver: RedisInstanceResolver): RedisInstance = manager.instanceOf(name).resolved(resolver)
 
-  private def cacheApi(instance: RedisInstance): impl.RedisCaches = new impl.RedisCachesProvider(instance, pekkoSerializer, environment).get
+  /** caches already created by their names, thus each cache connects once */
+  private lazy val caches = TrieMap.empty[String, impl.RedisCaches]
+
+  private def cacheApi(instance: RedisInstance): impl.RedisCaches =
+    caches.getOrElseUpdate(instance.name, new impl.RedisCachesProvider(instance, pekkoSerializer, environment).get)
 
   def cacheApi(name: String)(implicit resolver: RedisInstanceResolver): RedisCaches = cacheApi(redisInstance(name)(resolver))
+
+  private lazy val warmUp = play.api.cache.redis.configuration.RedisWarmUp.load(configuration.underlying, "play.cache.redis")(play.api.cache.redis.configuration.RedisWarmUp.requiredDefault)
+
+  /**
+    * readiness of all configured caches. When the warm-up is enabled, it
+    * starts once this is created, thus reference it when the components are
+    * constructed to warm up the caches when the application starts.
+    */
+  lazy val redisReadiness: RedisReadiness = {
+    val instances = manager.toSeq.map(_.resolved(redisInstanceResolver))
+    val readiness = new impl.RedisReadinessImpl(instances.map(instance => instance -> cacheApi(instance)), warmUp)
+    if (warmUp.enabled) {
+      val _ = readiness.ready
+    }
+    readiness
+  }
 }
@@ -31,9 +31,12 @@ class RedisCacheModule extends Module {
     val recovery = RecoveryPolicyResolver.bindings
     // default bindings
     val defaults = if (bindDefault) GuiceProvider.defaults(manager.defaultInstance) else Seq.empty
+    // readiness of all caches, eagerly warmed up when enabled
+    val warmUp = configuration.RedisWarmUp.load(config.underlying, "play.cache.redis")(configuration.RedisWarmUp.requiredDefault)
+    val readiness = GuiceProvider.readiness(manager, warmUp)
 
     // return all bindings
-    commons ++ caches ++ recovery ++ defaults
+    commons ++ caches ++ recovery ++ defaults :+ readiness
   }
 
 }
@@ -101,6 +104,11 @@ object GuiceProvider extends ProviderImplicits {
     )
   }
 
+  def readiness(manager: configuration.RedisInstanceManager, warmUp: configuration.RedisWarmUp): Binding[?] = {
+    val binding = bind[RedisReadiness].to(new GuiceRedisReadinessProvider(manager, warmUp))
+    if (warmUp.enabled) binding.eagerly() else binding
+  }
+
 }
 
 class GuiceRedisCacheProvider(instance: RedisInstanceProvider) extends Provider[RedisCaches] with GuiceProviderImplicits {
@@ -118,6 +126,25 @@ class GuiceRedisCacheProvider(instance: RedisInstanceProvider) extends Provider[
 
 }
 
+class GuiceRedisReadinessProvider(manager: configuration.RedisInstanceManager, warmUp: configuration.RedisWarmUp) extends Provider[RedisReadiness] with GuiceProviderImplicits {
+  @Inject() var injector: Injector = _
+
+  override lazy val get: RedisReadiness = {
+    val readiness = new impl.RedisReadinessImpl(manager.toSeq.map(warmed), warmUp)(bind[org.apache.pekko.actor.ActorSystem])
+    // the eager binding starts the warm-up when the application starts
+    if (warmUp.enabled) {
+      val _ = readiness.ready
+    }
+    readiness
+  }
+
+  private def warmed(instance: RedisInstanceProvider): (RedisInstance, RedisCaches) = {
+    val caches: RedisCaches = bind[RedisCaches].named(instance.name)
+    instance.resolved(bind[configuration.RedisInstanceResolver]) -> caches
+  }
+
+}
+
 class NamedCacheInstanceProvider[T](f: RedisCaches => T)(implicit name: CacheName) extends Provider[T] with GuiceProviderImplicits {
   @Inject() var injector: Injector = _
   override lazy val get: T = f(bind[RedisCaches].named(name))
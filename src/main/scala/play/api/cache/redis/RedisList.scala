@@ -1,5 +1,10 @@
 package play.api.cache.redis
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+
+import scala.concurrent.duration._
+
 /**
   * Redis Lists are simply lists of strings, sorted by insertion order. It is
   * possible to add elements to a Redis List pushing new elements on the head
@@ -185,6 +190,60 @@ trait RedisList[Elem, Result[_]] extends RedisCollection[List[Elem], Result] {
     */
   def headPop: Result[Option[Elem]]
 
+  /**
+    * Removes and returns up to `count` elements from the head of the list by
+    * a single command. It requires Redis 6.2 or newer.
+    *
+    * Time complexity: O(N) where N is the number of returned elements
+    *
+    * @param count
+    *   maximal number of the popped elements
+    * @return
+    *   the popped elements, empty if the list is empty
+    */
+  def headPop(count: Long): Result[Seq[Elem]]
+
+  /**
+    * Removes and returns up to `count` elements from the tail of the list by
+    * a single command, the last element first. It requires Redis 6.2 or
+    * newer.
+    *
+    * Time complexity: O(N) where N is the number of returned elements
+    *
+    * @param count
+    *   maximal number of the popped elements
+    * @return
+    *   the popped elements, empty if the list is empty
+    */
+  def lastPop(count: Long): Result[Seq[Elem]]
+
+  /**
+    * <p>Consumes the list as a work queue. It streams the elements popped from
+    * the head, thus the elements appended by the producers are consumed in
+    * the order of insertion. The elements are popped in batches by BLMPOP,
+    * which blocks until the list is non-empty, thus the idle consumers do not
+    * poll. Each consumer holds its own connection, the blocking commands
+    * would stall the other commands otherwise.</p>
+    *
+    * '''Warning:''' the stream is infinite and it pops the elements only on
+    * demand, yet the elements of the batches in flight are lost when the
+    * stream is cancelled. The recovery policy is not applied, the stream
+    * fails when redis fails. The batches of more than one element require
+    * Redis 7.0 or newer.
+    *
+    * @param batchSize
+    *   maximal number of elements popped by a single command
+    * @param concurrency
+    *   number of consumers, i.e., the blocking commands in flight
+    * @param poll
+    *   how long a single command blocks on the empty list. The dedicated
+    *   connections wait for the reply longer than the poll, yet the poll
+    *   must be shorter than the `redis-timeout`, if set
+    * @return
+    *   the infinite source of the popped elements
+    */
+  def consume(batchSize: Int = 100, concurrency: Int = 1, poll: FiniteDuration = 1.second): Source[Elem, NotUsed]
+
   /**
     * @return
     *   last element of the collection or an exception
@@ -1,5 +1,10 @@
 package play.api.cache.redis
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+
+import scala.concurrent.duration.{Duration, FiniteDuration}
+
 /**
   * Redis Hashes are simply hash maps with strings as keys. It is possible to
   * add elements to a Redis Hashes by adding new elements into the collection.
@@ -25,6 +30,44 @@ trait RedisMap[Elem, Result[_]] extends RedisCollection[Map[String, Elem], Resul
     */
   def add(field: String, value: Elem): Result[This]
 
+  /**
+    * Inserts all values at the given keys into the map. Large batches are
+    * split into chunks of multi-field HSET commands, which are encoded in
+    * parallel and pipelined.
+    *
+    * When the expiration is finite, the inserted fields expire individually
+    * by HPEXPIRE, which requires Redis 7.4 or newer. The fields are inserted
+    * first and their expiration is set afterwards, the whole operation is not
+    * atomic.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(N) where N is the number of the
+    *   inserted fields.
+    * @param fieldValues
+    *   keys and inserted values
+    * @param expiration
+    *   expiration of the inserted fields, infinite by default
+    * @return
+    *   the map for the chaining calls
+    */
+  def addAll(fieldValues: Iterable[(String, Elem)], expiration: Duration = Duration.Inf): Result[This]
+
+  /**
+    * Sets the expiration of the given keys in the map, the fields are removed
+    * when they expire. It uses HPEXPIRE, which requires Redis 7.4 or newer,
+    * older servers fail with UnsupportedOperationException.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(N) where N is the number of fields.
+    * @param expiration
+    *   expiration of the fields
+    * @param fields
+    *   keys to expire
+    * @return
+    *   the map for the chaining calls
+    */
+  def expireFields(expiration: FiniteDuration, fields: String*): Result[This]
+
   /**
     * Returns the value at the given key into the map
     *
@@ -124,4 +167,24 @@ trait RedisMap[Elem, Result[_]] extends RedisCollection[Map[String, Elem], Resul
     *   all stored values
     */
   def values: Result[Set[Elem]]
+
+  /**
+    * <p>Streams all fields and values in the map. Unlike [[toMap]], it does not
+    * materialize the map at once. The map is iterated by HSCAN in pages as the
+    * stream is consumed, thus neither the server is blocked nor the whole map
+    * is loaded into the memory.</p>
+    *
+    * '''Warning:''' when the map changes during the iteration, a field may
+    * be emitted more than once. The recovery policy is not applied, the
+    * stream fails when redis fails.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(1) for every page, O(N) for the
+    *   complete iteration.
+    * @param count
+    *   hint of the number of fields fetched in a single page
+    * @return
+    *   source of the fields and the values
+    */
+  def scan(count: Long = 100): Source[(String, Elem), NotUsed]
 }
@@ -0,0 +1,117 @@
+package play.api.cache.redis
+
+import scala.util.{Failure, Success, Try}
+
+/**
+  * Receives the measurements of a single named cache. The implementation is
+  * selected by the `metrics` property, the built-in ones are `jmx` and
+  * `micrometer`. A custom implementation is referred by its fully qualified
+  * name and it must have a public constructor accepting the name of the
+  * cache.
+  *
+  * The methods are invoked on the hot path, thus they are supposed to be
+  * cheap and non-blocking.
+  */
+trait RedisMetrics {
+
+  /** when disabled, no measurements are taken at all */
+  def enabled: Boolean = true
+
+  /**
+    * records the completion of a command
+    *
+    * @param command
+    *   name of the command, e.g., GET
+    * @param nanos
+    *   latency of the command in nanoseconds
+    * @param outcome
+    *   whether the command succeeded, failed, or timed out
+    */
+  def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit
+
+  /** records the number of keys found by `get` and `getAll` */
+  def recordHits(count: Int): Unit
+
+  /** records the number of keys missed by `get` and `getAll` */
+  def recordMisses(count: Int): Unit
+
+  /**
+    * records the size of an encoded value
+    *
+    * @param operation
+    *   either `read` or `write`
+    * @param bytes
+    *   length of the encoded value
+    */
+  def recordPayload(operation: String, bytes: Long): Unit
+
+  /**
+    * records the transition of the circuit breaker, see [[CircuitBreaking]]
+    *
+    * @param state
+    *   the new state, either `closed`, `open`, or `half-open`
+    */
+  def recordCircuitTransition(state: String): Unit = ()
+
+  /**
+    * records the hedged read, see [[configuration.RedisHedging]]
+    *
+    * @param outcome
+    *   either `fired` when the hedge was sent or `won` when it responded first
+    */
+  def recordHedge(outcome: String): Unit = ()
+
+  /** releases the resources, invoked when the cache stops */
+  def close(): Unit = ()
+}
+
+object RedisMetrics {
+
+  /** result of a command */
+  sealed abstract class Outcome(val name: String)
+
+  object Outcome {
+    case object Success extends Outcome("success")
+    case object Failure extends Outcome("failure")
+    case object Timeout extends Outcome("timeout")
+
+    /** classifies the result of the command */
+    def of(result: Try[?]): Outcome = result match {
+      case scala.util.Success(_)  => Success
+      case scala.util.Failure(ex) => if (isTimeout(ex)) Timeout else Failure
+    }
+
+    private def isTimeout(ex: Throwable): Boolean = ex match {
+      case null                                            => false
+      case _: TimeoutException                             => true
+      case _: java.util.concurrent.TimeoutException        => true
+      case _: io.lettuce.core.RedisCommandTimeoutException => true
+      case other                                           => (other.getCause ne other) && isTimeout(other.getCause)
+    }
+
+  }
+
+  /** no measurements are taken */
+  object Disabled extends RedisMetrics {
+    override val enabled: Boolean = false
+    override def recordCommand(command: String, nanos: Long, outcome: Outcome): Unit = ()
+    override def recordHits(count: Int): Unit = ()
+    override def recordMisses(count: Int): Unit = ()
+    override def recordPayload(operation: String, bytes: Long): Unit = ()
+  }
+
+  /** resolves the configured metrics of the named cache */
+  private[redis] def apply(metrics: String, name: String, classLoader: ClassLoader): RedisMetrics = metrics.trim match {
+    case "none"                                                      => Disabled
+    case "jmx"                                                       => new connector.JmxRedisMetrics(name)
+    case "micrometer" if !connector.MicrometerRedisMetrics.available => throw new IllegalArgumentException("Metrics 'micrometer' require 'io.micrometer:micrometer-core' on the classpath.")
+    case "micrometer"                                                => new connector.MicrometerRedisMetrics(name)
+    case className                                                   =>
+      Try(classLoader.loadClass(className).getConstructor(classOf[String]).newInstance(name)) match {
+        case Success(custom: RedisMetrics) => custom
+        case Success(_)                    => throw new IllegalArgumentException(s"Class '$className' does not implement RedisMetrics.")
+        case Failure(ex)                   => throw new IllegalArgumentException(s"Metrics '$className' cannot be instantiated. Valid values are 'none', 'jmx', 'micrometer', or a class name.", ex)
+      }
+  }
+
+}
@@ -0,0 +1,21 @@
+package play.api.cache.redis
+
+import scala.concurrent.Future
+
+/**
+  * Readiness of all named caches. The caches are ready once all their
+  * connections are established and each of them answered a PING. It serves,
+  * e.g., a health check gating the traffic until the caches are hot.
+  */
+trait RedisReadiness {
+
+  /**
+    * completes once all caches are connected, it starts the warm-up unless it
+    * already runs. When the warm-up fails, e.g., it times out, the future fails
+    * and the next call starts a new attempt.
+    */
+  def ready: Future[Done]
+
+  /** whether the warm-up already completed, it starts the warm-up as well */
+  def isReady: Boolean = ready.value.exists(_.isSuccess)
+}
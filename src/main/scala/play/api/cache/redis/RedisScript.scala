@@ -0,0 +1,66 @@
+package play.api.cache.redis
+
+import io.lettuce.core.ScriptOutputType
+
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import scala.jdk.CollectionConverters.ListHasAsScala
+
+/**
+  * Lua script executed atomically by the server. The script is loaded into the
+  * script cache of the server and then invoked by its SHA-1 digest (EVALSHA),
+  * thus the source is transferred only once. When the server does not know
+  * the script, e.g., after a restart or a failover, the script is evaluated
+  * with its source (EVAL) and thereby cached again.
+  *
+  * The keys the script accesses must be passed as KEYS, otherwise the script
+  * might fail in cluster mode. All keys of a single invocation must hash into
+  * the same slot.
+  *
+  * @param source
+  *   source code of the Lua script
+  */
+final case class RedisScript(source: String) {
+
+  /** SHA-1 digest identifying the script in the script cache */
+  lazy val sha1: String =
+    MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8)).map(byte => f"$byte%02x").mkString
+}
+
+object RedisScript {
+
+  /**
+    * Converts the reply of the script into the Scala type. The supported types
+    * are `Long` (integer reply), `Boolean` (integer reply 0 or 1, or nil),
+    * `Option[String]` (bulk string reply or nil), `Done` (status reply), and
+    * `Seq[String]` (array reply of bulk strings).
+    */
+  sealed abstract class Output[T](private[redis] val outputType: ScriptOutputType) {
+    private[redis] def convert(reply: Any): T
+  }
+
+  object Output {
+
+    implicit val long: Output[Long] = new Output[Long](ScriptOutputType.INTEGER) {
+      override private[redis] def convert(reply: Any): Long = reply.asInstanceOf[java.lang.Long].longValue
+    }
+
+    implicit val boolean: Output[Boolean] = new Output[Boolean](ScriptOutputType.BOOLEAN) {
+      override private[redis] def convert(reply: Any): Boolean = Option(reply.asInstanceOf[java.lang.Boolean]).exists(_.booleanValue)
+    }
+
+    implicit val string: Output[Option[String]] = new Output[Option[String]](ScriptOutputType.VALUE) {
+      override private[redis] def convert(reply: Any): Option[String] = Option(reply.asInstanceOf[String])
+    }
+
+    implicit val done: Output[Done] = new Output[Done](ScriptOutputType.STATUS) {
+      override private[redis] def convert(reply: Any): Done = Done
+    }
+
+    implicit val strings: Output[Seq[String]] = new Output[Seq[String]](ScriptOutputType.MULTI) {
+      override private[redis] def convert(reply: Any): Seq[String] = reply.asInstanceOf[java.util.List[String]].asScala.toSeq
+    }
+
+  }
+
+}
@@ -1,5 +1,8 @@
 package play.api.cache.redis
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+
 /**
   * Redis Sets are simply unsorted sets of objects. It is possible to add
   * elements to a Redis Set by adding new elements into the collection.
@@ -30,6 +33,20 @@ trait RedisSet[Elem, Result[_]] extends RedisCollection[Set[Elem], Result] {
     */
   def add(element: Elem*): Result[This]
 
+  /**
+    * <p>Add all the specified members to the set stored at key. Large batches
+    * are split into chunks of SADD commands, which are encoded in parallel
+    * and pipelined.</p>
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(N) to add N elements.
+    * @param elements
+    *   elements to be added
+    * @return
+    *   the set for chaining calls
+    */
+  def addAll(elements: Iterable[Elem]): Result[This]
+
   /**
     * <p>Tests if the element is contained in the set. Returns true if exists,
     * otherwise returns false</p>
@@ -67,4 +84,24 @@ trait RedisSet[Elem, Result[_]] extends RedisCollection[Set[Elem], Result] {
     *   all elements in the set
     */
   def toSet: Result[Set[Elem]]
+
+  /**
+    * <p>Streams all elements in the set. Unlike [[toSet]], it does not
+    * materialize the set at once. The set is iterated by SSCAN in pages as the
+    * stream is consumed, thus neither the server is blocked nor the whole set
+    * is loaded into the memory.</p>
+    *
+    * '''Warning:''' when the set changes during the iteration, an element may
+    * be emitted more than once. The recovery policy is not applied, the
+    * stream fails when redis fails.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(1) for every page, O(N) for the
+    *   complete iteration.
+    * @param count
+    *   hint of the number of elements fetched in a single page
+    * @return
+    *   source of the elements
+    */
+  def scan(count: Long = 100): Source[Elem, NotUsed]
 }
@@ -1,5 +1,8 @@
 package play.api.cache.redis
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+
 import scala.collection.immutable.TreeSet
 
 trait RedisSortedSet[Elem, Result[_]] extends RedisCollection[TreeSet[Elem], Result] {
@@ -27,6 +30,21 @@ trait RedisSortedSet[Elem, Result[_]] extends RedisCollection[TreeSet[Elem], Res
     */
   def add(scoreValues: (Double, Elem)*): Result[This]
 
+  /**
+    * Adds all the specified members with the specified scores to the sorted
+    * set stored at key. Large batches are split into chunks of ZADD commands,
+    * which are encoded in parallel and pipelined.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(M*log(N)) for M items added, where
+    *   N is the number of elements in the sorted set.
+    * @param scoreValues
+    *   values and corresponding scores to be added
+    * @return
+    *   the sorted set for chaining calls
+    */
+  def addAll(scoreValues: Iterable[(Double, Elem)]): Result[This]
+
   /**
     * <p>Tests if the element is contained in the sorted set. Returns true if
     * exists, otherwise returns false</p>
@@ -67,4 +85,162 @@ trait RedisSortedSet[Elem, Result[_]] extends RedisCollection[TreeSet[Elem], Res
     * @return
     */
   def range(start: Long, stop: Long, isReverse: Boolean = false): Result[Seq[Elem]]
+
+  /**
+    * Returns the specified range of elements in the sorted set stored at key
+    * along with their scores, which sorted in order specified by param
+    * `isReverse`.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)+M) with N being the number
+    *   of elements in the sorted set and M the number of elements returned.
+    * @param start
+    *   the start index of the range
+    * @param stop
+    *   the stop index of the range
+    * @param isReverse
+    *   whether sorted in descending order or not
+    * @return
+    *   scores and elements in the range
+    */
+  def rangeWithScores(start: Long, stop: Long, isReverse: Boolean = false): Result[Seq[(Double, Elem)]]
+
+  /**
+    * Returns the elements with the score between `min` and `max`. The range
+    * is evaluated by the server, thus only the requested slice is transferred.
+    * The elements are ordered by their scores, the elements with equal score
+    * are ordered lexicographically.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)+M) with N being the number
+    *   of elements in the sorted set and M the number of elements returned.
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @param limit
+    *   offset and count of the returned elements, all by default
+    * @param isReverse
+    *   whether sorted in descending order or not, the bounds remain the same
+    * @return
+    *   elements in the range
+    */
+  def rangeByScore(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[Elem]]
+
+  /**
+    * Returns the elements with the score between `min` and `max` along with
+    * their scores. Apart from the scores, it is similar to `rangeByScore`.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)+M) with N being the number
+    *   of elements in the sorted set and M the number of elements returned.
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @param limit
+    *   offset and count of the returned elements, all by default
+    * @param isReverse
+    *   whether sorted in descending order or not, the bounds remain the same
+    * @return
+    *   scores and elements in the range
+    */
+  def rangeByScoreWithScores(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[(Double, Elem)]]
+
+  /**
+    * Returns the elements between `min` and `max` in the lexicographical
+    * order. It is meaningful only when all the elements have the same score,
+    * otherwise the result is unspecified. The elements are compared in their
+    * encoded form, which is the value itself for strings.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)+M) with N being the number
+    *   of elements in the sorted set and M the number of elements returned.
+    * @param min
+    *   the lower bound of the elements
+    * @param max
+    *   the upper bound of the elements
+    * @param limit
+    *   offset and count of the returned elements, all by default
+    * @param isReverse
+    *   whether sorted in descending order or not, the bounds remain the same
+    * @return
+    *   elements in the range
+    */
+  def rangeByLex(min: RedisSortedSet.Bound[Elem], max: RedisSortedSet.Bound[Elem], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[Elem]]
+
+  /**
+    * Returns the number of elements with the score between `min` and `max`.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)) with N being the number of
+    *   elements in the sorted set.
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @return
+    *   the number of elements in the range
+    */
+  def countByScore(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double]): Result[Long]
+
+  /**
+    * Returns the number of elements between `min` and `max` in the
+    * lexicographical order, see `rangeByLex`.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(log(N)) with N being the number of
+    *   elements in the sorted set.
+    * @param min
+    *   the lower bound of the elements
+    * @param max
+    *   the upper bound of the elements
+    * @return
+    *   the number of elements in the range
+    */
+  def countByLex(min: RedisSortedSet.Bound[Elem], max: RedisSortedSet.Bound[Elem]): Result[Long]
+
+  /**
+    * <p>Streams all elements in the sorted set along with their scores. The set
+    * is iterated by ZSCAN in pages as the stream is consumed, thus neither the
+    * server is blocked nor the whole set is loaded into the memory. The
+    * elements are not ordered by their scores.</p>
+    *
+    * '''Warning:''' when the set changes during the iteration, an element may
+    * be emitted more than once. The recovery policy is not applied, the
+    * stream fails when redis fails.
+    *
+    * @note
+    *   <strong>Time complexity:</strong> O(1) for every page, O(N) for the
+    *   complete iteration.
+    * @param count
+    *   hint of the number of elements fetched in a single page
+    * @return
+    *   source of the scores and the elements
+    */
+  def scan(count: Long = 100): Source[(Double, Elem), NotUsed]
+}
+
+object RedisSortedSet {
+
+  /** boundary of the score or lexicographical range of the sorted set */
+  sealed abstract class Bound[+T] extends Product with Serializable
+
+  object Bound {
+
+    /** the range includes the value */
+    final case class Inclusive[+T](value: T) extends Bound[T]
+
+    /** the range excludes the value */
+    final case class Exclusive[+T](value: T) extends Bound[T]
+
+    /** the range is open, i.e., `-inf` or `+inf`, `-` or `+` respectively */
+    case object Unbounded extends Bound[Nothing]
+  }
+
+  /**
+    * pagination of the range, skips `offset` elements and returns at most
+    * `count` elements, negative `count` returns all remaining elements
+    */
+  final case class Limit(offset: Long, count: Long)
 }
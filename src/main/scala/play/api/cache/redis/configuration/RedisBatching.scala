@@ -0,0 +1,72 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the optional coalescing of concurrent GET commands into MGET.
+  * The keys are collected within a short window or until the batch is full
+  * and then requested by a single command.
+  */
+trait RedisBatching {
+
+  /** whether the coalescing is enabled */
+  def enabled: Boolean
+
+  /**
+    * maximal time the first key of the batch waits for others, zero flushes
+    * the batch as soon as the execution context gets to it
+    */
+  def window: FiniteDuration
+
+  /** maximal number of keys in a single batch, the full batch is flushed immediately */
+  def maxBatch: Int
+}
+
+final case class RedisBatchingImpl(
+  enabled: Boolean,
+  window: FiniteDuration,
+  maxBatch: Int,
+) extends RedisBatching {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisBatching => this.enabled === that.enabled && this.window === that.window && this.maxBatch === that.maxBatch
+    case _                   => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisBatching {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisBatching = new RedisBatching {
+    override def enabled: Boolean = false
+    override def window: FiniteDuration = 100.micros
+    override def maxBatch: Int = 128
+  }
+
+  @inline
+  def apply(enabled: Boolean, window: FiniteDuration, maxBatch: Int): RedisBatching =
+    RedisBatchingImpl(enabled, window, maxBatch)
+
+  def load(config: Config, path: String)(default: RedisBatching): RedisBatching = RedisBatching(
+    enabled = loadEnabled(config, path) getOrElse default.enabled,
+    window = loadWindow(config, path) getOrElse default.window,
+    maxBatch = loadMaxBatch(config, path) getOrElse default.maxBatch,
+  )
+
+  private def loadEnabled(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "batching" / "enabled", _.getBoolean)
+
+  private def loadWindow(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "batching" / "window", _.getDuration).map(duration => FiniteDuration(duration.toNanos, TimeUnit.NANOSECONDS))
+
+  private def loadMaxBatch(config: Config, path: String): Option[Int] =
+    config.getOption(path / "batching" / "max-batch", _.getInt)
+
+}
@@ -0,0 +1,57 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+/**
+  * Configures the optional compression of large values. Only the values whose
+  * encoded representation exceeds the threshold are compressed, the others
+  * are stored as they are.
+  */
+trait RedisCompression {
+
+  /** compression algorithm, either 'none', 'deflate', 'gzip', or 'lz4' */
+  def algorithm: String
+
+  /** minimal size of the encoded value in bytes to be compressed */
+  def threshold: Long
+}
+
+final case class RedisCompressionImpl(
+  algorithm: String,
+  threshold: Long,
+) extends RedisCompression {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisCompression => this.algorithm === that.algorithm && this.threshold === that.threshold
+    case _                      => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisCompression {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisCompression = new RedisCompression {
+    override def algorithm: String = "none"
+    override def threshold: Long = 16L * 1024
+  }
+
+  @inline
+  def apply(algorithm: String, threshold: Long): RedisCompression =
+    RedisCompressionImpl(algorithm, threshold)
+
+  def load(config: Config, path: String)(default: RedisCompression): RedisCompression = RedisCompression(
+    algorithm = loadAlgorithm(config, path) getOrElse default.algorithm,
+    threshold = loadThreshold(config, path) getOrElse default.threshold,
+  )
+
+  private def loadAlgorithm(config: Config, path: String): Option[String] =
+    config.getOption(path / "compression" / "algorithm", _.getString)
+
+  private def loadThreshold(config: Config, path: String): Option[Long] =
+    config.getOption(path / "compression" / "threshold", _.getBytes).map(_.longValue)
+
+}
@@ -0,0 +1,65 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the probabilistic early refresh of values cached by
+  * `getOrElseWithRefresh` and `getOrFutureWithRefresh`.
+  */
+trait RedisEarlyRefresh {
+
+  /**
+    * scales the probability of the early refresh, values greater than 1.0
+    * favor earlier refreshes, values lower than 1.0 favor later refreshes
+    */
+  def beta: Double
+
+  /**
+    * how long the value is kept after its logical expiration, the stale value
+    * is served while it is being refreshed
+    */
+  def grace: FiniteDuration
+}
+
+final case class RedisEarlyRefreshImpl(
+  beta: Double,
+  grace: FiniteDuration,
+) extends RedisEarlyRefresh {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisEarlyRefresh => this.beta === that.beta && this.grace === that.grace
+    case _                       => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisEarlyRefresh {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisEarlyRefresh = new RedisEarlyRefresh {
+    override def beta: Double = 1.0
+    override def grace: FiniteDuration = 10.seconds
+  }
+
+  @inline
+  def apply(beta: Double, grace: FiniteDuration): RedisEarlyRefresh =
+    RedisEarlyRefreshImpl(beta, grace)
+
+  def load(config: Config, path: String)(default: RedisEarlyRefresh): RedisEarlyRefresh = RedisEarlyRefresh(
+    beta = loadBeta(config, path) getOrElse default.beta,
+    grace = loadGrace(config, path) getOrElse default.grace,
+  )
+
+  private def loadBeta(config: Config, path: String): Option[Double] =
+    config.getOption(path / "early-refresh" / "beta", _.getDouble)
+
+  private def loadGrace(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "early-refresh" / "grace", _.getDuration).map(duration => FiniteDuration(duration.toMillis, TimeUnit.MILLISECONDS))
+
+}
@@ -0,0 +1,82 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the optional hedging of GET and MGET with relaxed consistency.
+  * When the read from a replica does not complete within the delay, the same
+  * read is sent to the master and the first response wins. It applies only to
+  * the instances with replicas, i.e., cluster, sentinel, and master-slaves.
+  */
+trait RedisHedging {
+
+  /** whether the hedging is enabled */
+  def enabled: Boolean
+
+  /**
+    * percentile of the recent read latencies the hedge is sent after, e.g.,
+    * 0.95 hedges the slowest 5 % of the reads
+    */
+  def percentile: Double
+
+  /** minimal delay of the hedge, it applies until enough reads are measured */
+  def minDelay: FiniteDuration
+
+  /** maximal ratio of the hedges to all reads, it caps the extra load */
+  def budget: Double
+}
+
+final case class RedisHedgingImpl(
+  enabled: Boolean,
+  percentile: Double,
+  minDelay: FiniteDuration,
+  budget: Double,
+) extends RedisHedging {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisHedging => this.enabled === that.enabled && this.percentile === that.percentile && this.minDelay === that.minDelay && this.budget === that.budget
+    case _                  => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisHedging {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisHedging = new RedisHedging {
+    override def enabled: Boolean = false
+    override def percentile: Double = 0.95
+    override def minDelay: FiniteDuration = 1.millis
+    override def budget: Double = 0.05
+  }
+
+  @inline
+  def apply(enabled: Boolean, percentile: Double, minDelay: FiniteDuration, budget: Double): RedisHedging =
+    RedisHedgingImpl(enabled, percentile, minDelay, budget)
+
+  def load(config: Config, path: String)(default: RedisHedging): RedisHedging = RedisHedging(
+    enabled = loadEnabled(config, path) getOrElse default.enabled,
+    percentile = loadPercentile(config, path) getOrElse default.percentile,
+    minDelay = loadMinDelay(config, path) getOrElse default.minDelay,
+    budget = loadBudget(config, path) getOrElse default.budget,
+  )
+
+  private def loadEnabled(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "hedging" / "enabled", _.getBoolean)
+
+  private def loadPercentile(config: Config, path: String): Option[Double] =
+    config.getOption(path / "hedging" / "percentile", _.getDouble)
+
+  private def loadMinDelay(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "hedging" / "min-delay", _.getDuration).map(duration => FiniteDuration(duration.toNanos, TimeUnit.NANOSECONDS))
+
+  private def loadBudget(config: Config, path: String): Option[Double] =
+    config.getOption(path / "hedging" / "budget", _.getDouble)
+
+}
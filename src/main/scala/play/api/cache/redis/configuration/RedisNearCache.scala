@@ -0,0 +1,81 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the optional in-process near cache (L1) in front of redis. The
+  * near cache keeps decoded values of recently read keys and relies on the
+  * server-assisted client side caching (CLIENT TRACKING) to invalidate them.
+  */
+trait RedisNearCache {
+
+  /** whether the near cache is enabled */
+  def enabled: Boolean
+
+  /** maximal number of entries kept in the near cache */
+  def maxEntries: Int
+
+  /** maximal total size of the kept entries in bytes */
+  def maxBytes: Long
+
+  /**
+    * maximal time an entry is kept, it bounds the staleness when an
+    * invalidation message is lost
+    */
+  def ttl: FiniteDuration
+}
+
+final case class RedisNearCacheImpl(
+  enabled: Boolean,
+  maxEntries: Int,
+  maxBytes: Long,
+  ttl: FiniteDuration,
+) extends RedisNearCache {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisNearCache => this.enabled === that.enabled && this.maxEntries === that.maxEntries && this.maxBytes === that.maxBytes && this.ttl === that.ttl
+    case _                    => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisNearCache {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisNearCache = new RedisNearCache {
+    override def enabled: Boolean = false
+    override def maxEntries: Int = 10000
+    override def maxBytes: Long = 16L * 1024 * 1024
+    override def ttl: FiniteDuration = 1.minute
+  }
+
+  @inline
+  def apply(enabled: Boolean, maxEntries: Int, maxBytes: Long, ttl: FiniteDuration = requiredDefault.ttl): RedisNearCache =
+    RedisNearCacheImpl(enabled, maxEntries, maxBytes, ttl)
+
+  def load(config: Config, path: String)(default: RedisNearCache): RedisNearCache = RedisNearCache(
+    enabled = loadEnabled(config, path) getOrElse default.enabled,
+    maxEntries = loadMaxEntries(config, path) getOrElse default.maxEntries,
+    maxBytes = loadMaxBytes(config, path) getOrElse default.maxBytes,
+    ttl = loadTtl(config, path) getOrElse default.ttl,
+  )
+
+  private def loadEnabled(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "near-cache" / "enabled", _.getBoolean)
+
+  private def loadMaxEntries(config: Config, path: String): Option[Int] =
+    config.getOption(path / "near-cache" / "max-entries", _.getInt)
+
+  private def loadMaxBytes(config: Config, path: String): Option[Long] =
+    config.getOption(path / "near-cache" / "max-bytes", _.getBytes).map(_.longValue)
+
+  private def loadTtl(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "near-cache" / "ttl", _.getDuration).map(duration => FiniteDuration(duration.toNanos, TimeUnit.NANOSECONDS))
+
+}
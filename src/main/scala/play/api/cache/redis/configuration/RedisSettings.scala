@@ -36,13 +36,46 @@ trait RedisSettings {
   /** ssl uri settings */
   def sslUriSettings: RedisUriSslSettings
 
+  /** encoding of values, either 'string' or 'binary' */
+  def valueEncoding: String
+
+  /** fully qualified name of the registry of value codecs, if any */
+  def valueCodecs: Option[String]
+
+  /** compression of large values */
+  def compression: RedisCompression
+
+  /** distribution of the commands over several connections */
+  def striping: RedisStriping
+
+  /** measurements of the commands, either 'none', 'jmx', 'micrometer', or a class name */
+  def metrics: String
+
+  /** routing of the reads with relaxed consistency, e.g., 'replica-preferred' */
+  def readFrom: String
+
+  /** in-process near cache */
+  def nearCache: RedisNearCache
+
+  /** coalescing of concurrent GET commands */
+  def batching: RedisBatching
+
+  /** protection against concurrent computations of the same missed key */
+  def stampedeProtection: RedisStampedeProtection
+
+  /** probabilistic early refresh of values cached with refresh */
+  def earlyRefresh: RedisEarlyRefresh
+
+  /** hedging of the reads with relaxed consistency */
+  def hedging: RedisHedging
+
   // $COVERAGE-OFF$
   /** trait-specific equals */
   override def equals(obj: scala.Any): Boolean = equalsAsSettings(obj)
 
   /** trait-specific equals, invokable from children */
   protected def equalsAsSettings(obj: scala.Any): Boolean = obj match {
-    case that: RedisSettings => Equals.check(this, that)(_.invocationContext, _.invocationPolicy, _.timeout, _.recovery, _.source, _.prefix, _.sslSettings, _.sslUriSettings)
+    case that: RedisSettings => Equals.check(this, that)(_.invocationContext, _.invocationPolicy, _.timeout, _.recovery, _.source, _.prefix, _.sslSettings, _.sslUriSettings, _.valueEncoding, _.valueCodecs, _.compression, _.striping, _.metrics, _.readFrom, _.nearCache, _.batching, _.stampedeProtection, _.earlyRefresh, _.hedging)
     case _                   => false
   }
   // $COVERAGE-ON$
@@ -62,6 +95,17 @@ object RedisSettings extends ConfigLoader[RedisSettings] {
     threadPool = loadThreadPool(config, path)(RedisThreadPools.requiredDefault),
     sslSettings = loadSslSettings(config, path),
     sslUriSettings = loadUriSslSettings(config, path)(RedisUriSslSettings.requiredDefault),
+    valueEncoding = loadValueEncoding(config, path).get,
+    valueCodecs = loadValueCodecs(config, path),
+    compression = loadCompression(config, path)(RedisCompression.requiredDefault),
+    striping = loadStriping(config, path)(RedisStriping.requiredDefault),
+    metrics = loadMetrics(config, path).get,
+    readFrom = loadReadFrom(config, path).get,
+    nearCache = loadNearCache(config, path)(RedisNearCache.requiredDefault),
+    batching = loadBatching(config, path)(RedisBatching.requiredDefault),
+    stampedeProtection = loadStampedeProtection(config, path)(RedisStampedeProtection.requiredDefault),
+    earlyRefresh = loadEarlyRefresh(config, path)(RedisEarlyRefresh.requiredDefault),
+    hedging = loadHedging(config, path)(RedisHedging.requiredDefault),
   )
 
   def withFallback(fallback: RedisSettings): ConfigLoader[RedisSettings] =
@@ -76,13 +120,24 @@ object RedisSettings extends ConfigLoader[RedisSettings] {
         threadPool = loadThreadPool(config, path)(fallback.threadPool),
         sslSettings = loadSslSettings(config, path) orElse fallback.sslSettings,
         sslUriSettings = loadUriSslSettings(config, path)(fallback.sslUriSettings),
+        valueEncoding = loadValueEncoding(config, path) getOrElse fallback.valueEncoding,
+        valueCodecs = loadValueCodecs(config, path) orElse fallback.valueCodecs,
+        compression = loadCompression(config, path)(fallback.compression),
+        striping = loadStriping(config, path)(fallback.striping),
+        metrics = loadMetrics(config, path) getOrElse fallback.metrics,
+        readFrom = loadReadFrom(config, path) getOrElse fallback.readFrom,
+        nearCache = loadNearCache(config, path)(fallback.nearCache),
+        batching = loadBatching(config, path)(fallback.batching),
+        stampedeProtection = loadStampedeProtection(config, path)(fallback.stampedeProtection),
+        earlyRefresh = loadEarlyRefresh(config, path)(fallback.earlyRefresh),
+        hedging = loadHedging(config, path)(fallback.hedging),
       )
 
-  def apply(dispatcher: String, invocationPolicy: String, timeout: RedisTimeouts, recovery: String, source: String, prefix: Option[String] = None, threadPool: RedisThreadPools, sslSettings: Option[RedisSslSettings] = None, sslUriSettings: RedisUriSslSettings): RedisSettings =
-    create(dispatcher, invocationPolicy, prefix, timeout, recovery, source, threadPool, sslSettings, sslUriSettings)
+  def apply(dispatcher: String, invocationPolicy: String, timeout: RedisTimeouts, recovery: String, source: String, prefix: Option[String] = None, threadPool: RedisThreadPools, sslSettings: Option[RedisSslSettings] = None, sslUriSettings: RedisUriSslSettings, valueEncoding: String = "string", valueCodecs: Option[String] = None, compression: RedisCompression = RedisCompression.requiredDefault, striping: RedisStriping = RedisStriping.requiredDefault, metrics: String = "none", readFrom: String = "replica-preferred", nearCache: RedisNearCache = RedisNearCache.requiredDefault, batching: RedisBatching = RedisBatching.requiredDefault, stampedeProtection: RedisStampedeProtection = RedisStampedeProtection.requiredDefault, earlyRefresh: RedisEarlyRefresh = RedisEarlyRefresh.requiredDefault, hedging: RedisHedging = RedisHedging.requiredDefault): RedisSettings =
+    create(dispatcher, invocationPolicy, prefix, timeout, recovery, source, threadPool, sslSettings, sslUriSettings, valueEncoding, valueCodecs, compression, striping, metrics, readFrom, nearCache, batching, stampedeProtection, earlyRefresh, hedging)
 
   @inline
-  private def create(_dispatcher: String, _invocation: String, _prefix: Option[String], _timeout: RedisTimeouts, _recovery: String, _source: String, _threadpool: RedisThreadPools, _sslSettings: Option[RedisSslSettings], _sslUriSettings: RedisUriSslSettings) = new RedisSettings {
+  private def create(_dispatcher: String, _invocation: String, _prefix: Option[String], _timeout: RedisTimeouts, _recovery: String, _source: String, _threadpool: RedisThreadPools, _sslSettings: Option[RedisSslSettings], _sslUriSettings: RedisUriSslSettings, _valueEncoding: String, _valueCodecs: Option[String], _compression: RedisCompression, _striping: RedisStriping, _metrics: String, _readFrom: String, _nearCache: RedisNearCache, _batching: RedisBatching, _stampedeProtection: RedisStampedeProtection, _earlyRefresh: RedisEarlyRefresh, _hedging: RedisHedging) = new RedisSettings {
     override val invocationContext: String = _dispatcher
     override val invocationPolicy: String = _invocation
     override val prefix: Option[String] = _prefix
@@ -92,6 +147,17 @@ object RedisSettings extends ConfigLoader[RedisSettings] {
     override val threadPool: RedisThreadPools = _threadpool
     override val sslSettings: Option[RedisSslSettings] = _sslSettings
     override val sslUriSettings: RedisUriSslSettings = _sslUriSettings
+    override val valueEncoding: String = _valueEncoding
+    override val valueCodecs: Option[String] = _valueCodecs
+    override val compression: RedisCompression = _compression
+    override val striping: RedisStriping = _striping
+    override val metrics: String = _metrics
+    override val readFrom: String = _readFrom
+    override val nearCache: RedisNearCache = _nearCache
+    override val batching: RedisBatching = _batching
+    override val stampedeProtection: RedisStampedeProtection = _stampedeProtection
+    override val earlyRefresh: RedisEarlyRefresh = _earlyRefresh
+    override val hedging: RedisHedging = _hedging
   }
 
   private def loadInvocationContext(config: Config, path: String): Option[String] =
@@ -109,12 +175,45 @@ object RedisSettings extends ConfigLoader[RedisSettings] {
   private def loadPrefix(config: Config, path: String): Option[String] =
     config.getOption(path / "prefix", _.getString)
 
+  private def loadValueEncoding(config: Config, path: String): Option[String] =
+    config.getOption(path / "value-encoding", _.getString)
+
+  private def loadValueCodecs(config: Config, path: String): Option[String] =
+    config.getOption(path / "value-codecs", _.getString)
+
+  private def loadMetrics(config: Config, path: String): Option[String] =
+    config.getOption(path / "metrics", _.getString)
+
+  private def loadReadFrom(config: Config, path: String): Option[String] =
+    config.getOption(path / "read-from", _.getString)
+
   private def loadTimeouts(config: Config, path: String)(defaults: RedisTimeouts): RedisTimeouts =
     RedisTimeouts.load(config, path)(defaults)
 
   private def loadThreadPool(config: Config, path: String)(defaults: RedisThreadPools): RedisThreadPools =
     RedisThreadPools.load(config, path)(defaults)
 
+  private def loadCompression(config: Config, path: String)(defaults: RedisCompression): RedisCompression =
+    RedisCompression.load(config, path)(defaults)
+
+  private def loadStriping(config: Config, path: String)(defaults: RedisStriping): RedisStriping =
+    RedisStriping.load(config, path)(defaults)
+
+  private def loadNearCache(config: Config, path: String)(defaults: RedisNearCache): RedisNearCache =
+    RedisNearCache.load(config, path)(defaults)
+
+  private def loadBatching(config: Config, path: String)(defaults: RedisBatching): RedisBatching =
+    RedisBatching.load(config, path)(defaults)
+
+  private def loadStampedeProtection(config: Config, path: String)(defaults: RedisStampedeProtection): RedisStampedeProtection =
+    RedisStampedeProtection.load(config, path)(defaults)
+
+  private def loadEarlyRefresh(config: Config, path: String)(defaults: RedisEarlyRefresh): RedisEarlyRefresh =
+    RedisEarlyRefresh.load(config, path)(defaults)
+
+  private def loadHedging(config: Config, path: String)(defaults: RedisHedging): RedisHedging =
+    RedisHedging.load(config, path)(defaults)
+
   private def loadSslSettings(config: Config, path: String): Option[RedisSslSettings] =
     RedisSslSettings.getOpt(config, path)
 
@@ -135,4 +234,15 @@ trait RedisDelegatingSettings extends RedisSettings {
   override def threadPool: RedisThreadPools = settings.threadPool
   override def sslSettings: Option[RedisSslSettings] = settings.sslSettings
   override def sslUriSettings: RedisUriSslSettings = settings.sslUriSettings
+  override def valueEncoding: String = settings.valueEncoding
+  override def valueCodecs: Option[String] = settings.valueCodecs
+  override def compression: RedisCompression = settings.compression
+  override def striping: RedisStriping = settings.striping
+  override def metrics: String = settings.metrics
+  override def readFrom: String = settings.readFrom
+  override def nearCache: RedisNearCache = settings.nearCache
+  override def batching: RedisBatching = settings.batching
+  override def stampedeProtection: RedisStampedeProtection = settings.stampedeProtection
+  override def earlyRefresh: RedisEarlyRefresh = settings.earlyRefresh
+  override def hedging: RedisHedging = settings.hedging
 }
@@ -0,0 +1,76 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the protection against cache stampedes in `getOrElse` and
+  * `getOrFuture`, i.e., when many concurrent misses of the same key compute the
+  * same value.
+  */
+trait RedisStampedeProtection {
+
+  /**
+    * either 'none', 'local' deduplicating concurrent computations within the
+    * JVM, or 'distributed' additionally guarding the computation by a lock key
+    * shared by all nodes
+    */
+  def mode: String
+
+  /**
+    * expiration of the lock key, it also limits how long other nodes wait for
+    * the computed value before they compute it themselves
+    */
+  def lockTimeout: FiniteDuration
+
+  /** interval of polling the computed value while the lock is held by other node */
+  def retryInterval: FiniteDuration
+}
+
+final case class RedisStampedeProtectionImpl(
+  mode: String,
+  lockTimeout: FiniteDuration,
+  retryInterval: FiniteDuration,
+) extends RedisStampedeProtection {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisStampedeProtection => this.mode === that.mode && this.lockTimeout === that.lockTimeout && this.retryInterval === that.retryInterval
+    case _                             => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisStampedeProtection {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisStampedeProtection = new RedisStampedeProtection {
+    override def mode: String = "none"
+    override def lockTimeout: FiniteDuration = 5.seconds
+    override def retryInterval: FiniteDuration = 50.millis
+  }
+
+  @inline
+  def apply(mode: String, lockTimeout: FiniteDuration, retryInterval: FiniteDuration): RedisStampedeProtection =
+    RedisStampedeProtectionImpl(mode, lockTimeout, retryInterval)
+
+  def load(config: Config, path: String)(default: RedisStampedeProtection): RedisStampedeProtection = RedisStampedeProtection(
+    mode = loadMode(config, path) getOrElse default.mode,
+    lockTimeout = loadLockTimeout(config, path) getOrElse default.lockTimeout,
+    retryInterval = loadRetryInterval(config, path) getOrElse default.retryInterval,
+  )
+
+  private def loadMode(config: Config, path: String): Option[String] =
+    config.getOption(path / "stampede-protection" / "mode", _.getString)
+
+  private def loadLockTimeout(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "stampede-protection" / "lock-timeout", _.getDuration).map(duration => FiniteDuration(duration.toMillis, TimeUnit.MILLISECONDS))
+
+  private def loadRetryInterval(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "stampede-protection" / "retry-interval", _.getDuration).map(duration => FiniteDuration(duration.toMillis, TimeUnit.MILLISECONDS))
+
+}
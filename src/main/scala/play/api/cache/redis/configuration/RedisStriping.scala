@@ -0,0 +1,70 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+/**
+  * Configures the number of connections of the instance. Commands are
+  * distributed over the connections, thus a large reply does not stall the
+  * small commands queued behind it on the same socket.
+  */
+trait RedisStriping {
+
+  /** number of connections the commands are distributed over */
+  def connections: Int
+
+  /**
+    * either 'key-hash' sending the commands on the same key over the same
+    * connection, or 'least-outstanding' choosing the connection with the
+    * fewest commands in flight
+    */
+  def strategy: String
+
+  /** whether reads of whole collections use an additional dedicated connection */
+  def bulkConnection: Boolean
+}
+
+final case class RedisStripingImpl(
+  connections: Int,
+  strategy: String,
+  bulkConnection: Boolean,
+) extends RedisStriping {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisStriping => this.connections === that.connections && this.strategy === that.strategy && this.bulkConnection === that.bulkConnection
+    case _                   => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisStriping {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisStriping = new RedisStriping {
+    override def connections: Int = 1
+    override def strategy: String = "key-hash"
+    override def bulkConnection: Boolean = false
+  }
+
+  @inline
+  def apply(connections: Int, strategy: String, bulkConnection: Boolean): RedisStriping =
+    RedisStripingImpl(connections, strategy, bulkConnection)
+
+  def load(config: Config, path: String)(default: RedisStriping): RedisStriping = RedisStriping(
+    connections = loadConnections(config, path) getOrElse default.connections,
+    strategy = loadStrategy(config, path) getOrElse default.strategy,
+    bulkConnection = loadBulkConnection(config, path) getOrElse default.bulkConnection,
+  )
+
+  private def loadConnections(config: Config, path: String): Option[Int] =
+    config.getOption(path / "striping" / "connections", _.getInt)
+
+  private def loadStrategy(config: Config, path: String): Option[String] =
+    config.getOption(path / "striping" / "strategy", _.getString)
+
+  private def loadBulkConnection(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "striping" / "bulk-connection", _.getBoolean)
+
+}
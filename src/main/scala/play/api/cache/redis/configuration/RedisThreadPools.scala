@@ -6,16 +6,23 @@ import play.api.cache.redis._
 trait RedisThreadPools {
   def ioSize: Int
   def computationSize: Int
+
+  /**
+    * whether the event loops and the timer are shared with the other instances
+    * with the same sizes of the pools
+    */
+  def shared: Boolean
 }
 
 final case class RedisThreadPoolsImpl(
   ioSize: Int,
   computationSize: Int,
+  shared: Boolean,
 ) extends RedisThreadPools {
 
   // $COVERAGE-OFF$
   override def equals(obj: scala.Any): Boolean = obj match {
-    case that: RedisThreadPools => this.ioSize === that.ioSize && this.computationSize === that.computationSize
+    case that: RedisThreadPools => this.ioSize === that.ioSize && this.computationSize === that.computationSize && this.shared === that.shared
     case _                      => false
   }
   // $COVERAGE-ON$
@@ -28,15 +35,17 @@ object RedisThreadPools {
   def requiredDefault: RedisThreadPools = new RedisThreadPools {
     override def ioSize: Int = 8
     override def computationSize: Int = 8
+    override def shared: Boolean = false
   }
 
   @inline
-  def apply(ioSize: Int, computationSize: Int): RedisThreadPools =
-    RedisThreadPoolsImpl(ioSize, computationSize)
+  def apply(ioSize: Int, computationSize: Int, shared: Boolean = false): RedisThreadPools =
+    RedisThreadPoolsImpl(ioSize, computationSize, shared)
 
   def load(config: Config, path: String)(default: RedisThreadPools): RedisThreadPools = RedisThreadPools(
     ioSize = loadIoSize(config, path) getOrElse default.ioSize,
     computationSize = loadComputationSize(config, path) getOrElse default.computationSize,
+    shared = loadShared(config, path) getOrElse default.shared,
   )
 
   private def loadIoSize(config: Config, path: String): Option[Int] =
@@ -45,4 +54,7 @@ object RedisThreadPools {
   private def loadComputationSize(config: Config, path: String): Option[Int] =
     config.getOption(path / "computation-thread-pool-size", _.getInt)
 
+  private def loadShared(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "shared-thread-pools", _.getBoolean)
+
 }
@@ -0,0 +1,72 @@
+package play.api.cache.redis.configuration
+
+import com.typesafe.config.Config
+import play.api.cache.redis._
+
+import java.util.concurrent.TimeUnit
+import scala.concurrent.duration._
+
+/**
+  * Configures the warm-up of all named caches. The connections are otherwise
+  * established lazily on the first use of each cache, thus the first requests
+  * pay for the DNS lookups, the handshakes, and the authentication.
+  */
+trait RedisWarmUp {
+
+  /**
+    * whether all caches are connected in parallel when the application starts,
+    * otherwise the warm-up starts on the first use of the readiness
+    */
+  def enabled: Boolean
+
+  /** whether the hostnames of all nodes are resolved ahead of the connections */
+  def resolveHosts: Boolean
+
+  /** how long the warm-up of all caches may take before it fails */
+  def timeout: FiniteDuration
+}
+
+final case class RedisWarmUpImpl(
+  enabled: Boolean,
+  resolveHosts: Boolean,
+  timeout: FiniteDuration,
+) extends RedisWarmUp {
+
+  // $COVERAGE-OFF$
+  override def equals(obj: scala.Any): Boolean = obj match {
+    case that: RedisWarmUp => this.enabled === that.enabled && this.resolveHosts === that.resolveHosts && this.timeout === that.timeout
+    case _                 => false
+  }
+  // $COVERAGE-ON$
+
+}
+
+object RedisWarmUp {
+  import RedisConfigLoader._
+
+  def requiredDefault: RedisWarmUp = new RedisWarmUp {
+    override def enabled: Boolean = false
+    override def resolveHosts: Boolean = true
+    override def timeout: FiniteDuration = 30.seconds
+  }
+
+  @inline
+  def apply(enabled: Boolean, resolveHosts: Boolean, timeout: FiniteDuration): RedisWarmUp =
+    RedisWarmUpImpl(enabled, resolveHosts, timeout)
+
+  def load(config: Config, path: String)(default: RedisWarmUp): RedisWarmUp = RedisWarmUp(
+    enabled = loadEnabled(config, path) getOrElse default.enabled,
+    resolveHosts = loadResolveHosts(config, path) getOrElse default.resolveHosts,
+    timeout = loadTimeout(config, path) getOrElse default.timeout,
+  )
+
+  private def loadEnabled(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "warm-up" / "enabled", _.getBoolean)
+
+  private def loadResolveHosts(config: Config, path: String): Option[Boolean] =
+    config.getOption(path / "warm-up" / "resolve-hosts", _.getBoolean)
+
+  private def loadTimeout(config: Config, path: String): Option[FiniteDuration] =
+    config.getOption(path / "warm-up" / "timeout", _.getDuration).map(duration => FiniteDuration(duration.toNanos, TimeUnit.NANOSECONDS))
+
+}
@@ -0,0 +1,90 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.RedisFuture
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands
+
+import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.FutureConverters.CompletionStageOps
+import scala.util.control.NonFatal
+
+/**
+  * Chooses the connection of each command. The connector names the key of
+  * the command explicitly, thus the choice needs no reflection. The chosen
+  * connection is released exactly once when the reply arrives, which lets
+  * the router track the commands in flight.
+  */
+private[connector] trait CommandRouting {
+
+  /** the connection of a command on the given key */
+  def byKey(key: String): Int
+
+  /** the connection of a command without any key */
+  def keyless: Int
+
+  /** the connection of a read of the whole collection at the given key */
+  def bulk(key: String): Int
+
+  /** the commands of the chosen connection */
+  def commands(connection: Int): RedisClusterAsyncCommands[String, String]
+
+  /** the reply of the command sent by the chosen connection has arrived */
+  def release(connection: Int): Unit
+}
+
+private[connector] object CommandRouting {
+
+  /** all commands share the single connection, nothing is tracked */
+  def single(redis: RedisClusterAsyncCommands[String, String]): CommandRouting = new SingleRouting(redis)
+
+  final private class SingleRouting(redis: RedisClusterAsyncCommands[String, String]) extends CommandRouting {
+    override def byKey(key: String): Int = 0
+    override def keyless: Int = 0
+    override def bulk(key: String): Int = 0
+    override def commands(connection: Int): RedisClusterAsyncCommands[String, String] = redis
+    override def release(connection: Int): Unit = ()
+  }
+
+  /**
+    * the command sent by the chosen connection, the connection is released
+    * within the conversion of the reply, thus it needs no extra stage
+    */
+  final class Routed[T](future: RedisFuture[T], routing: CommandRouting, connection: Int) {
+
+    def map[U](f: T => U)(implicit ec: ExecutionContext): Future[U] =
+      future.asScala.transform { reply =>
+        routing.release(connection)
+        reply.map(f)
+      }
+
+    def asScala(implicit ec: ExecutionContext): Future[T] = map(reply => reply)
+  }
+
+  implicit final class RoutedCommands(private val routing: CommandRouting) extends AnyVal {
+
+    /** sends the command on the key */
+    def on[T](key: String)(command: RedisClusterAsyncCommands[String, String] => RedisFuture[T]): Routed[T] =
+      send(routing.byKey(key), command)
+
+    /** sends the command without any key */
+    def onAny[T](command: RedisClusterAsyncCommands[String, String] => RedisFuture[T]): Routed[T] =
+      send(routing.keyless, command)
+
+    /** sends the read of the whole collection at the key */
+    def onBulk[T](key: String)(command: RedisClusterAsyncCommands[String, String] => RedisFuture[T]): Routed[T] =
+      send(routing.bulk(key), command)
+
+    /** sends the command on the first key, if any */
+    def onFirst[T](keys: Seq[String])(command: RedisClusterAsyncCommands[String, String] => RedisFuture[T]): Routed[T] =
+      send(keys.headOption.fold(routing.keyless)(routing.byKey), command)
+
+    private def send[T](connection: Int, command: RedisClusterAsyncCommands[String, String] => RedisFuture[T]): Routed[T] =
+      try new Routed(command(routing.commands(connection)), routing, connection)
+      catch {
+        case NonFatal(ex) =>
+          routing.release(connection)
+          throw ex
+      }
+
+  }
+
+}
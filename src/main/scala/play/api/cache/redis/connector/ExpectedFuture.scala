@@ -3,6 +3,8 @@ package play.api.cache.redis.connector
 import play.api.cache.redis._
 
 import scala.concurrent.{ExecutionContext, Future}
+import scala.util.control.NonFatal
+import scala.util.{Failure, Success, Try}
 
 /**
   * The extended future implements advanced response handling. It unifies
@@ -10,6 +12,11 @@ import scala.concurrent.{ExecutionContext, Future}
   */
 private[connector] trait ExpectedFuture[T] {
 
+  /**
+    * issues the command, it is evaluated exactly once when the response
+    * handling is set up, thus the latency is measured since the command is
+    * issued
+    */
   protected def future: Future[T]
 
   protected def cmd: String
@@ -20,30 +27,78 @@ private[connector] trait ExpectedFuture[T] {
   protected def onFailed(ex: Throwable): Nothing
 
   /** execution failed with an exception */
-  private def onException: PartialFunction[Throwable, Nothing] = {
+  private def onException(ex: Throwable): Nothing = ex match {
     case ex: RedisException => throw ex
     case ex                 => onFailed(ex)
   }
 
-  /** invokes logging statements when the expected future is completed */
-  def logging(doLogging: PartialFunction[T, Unit])(implicit context: ExecutionContext): Future[T] = {
-    future foreach doLogging
-    future recover onException
-  }
-
-  /** handles both expected and unexpected responses and failure recovery */
-  def expects[U](expected: PartialFunction[T, U])(implicit context: ExecutionContext): Future[U] =
-    future map (expected orElse onUnexpected) recover onException
+  /** evaluates the handler, its failures are reported the same way as failures of the command */
+  private def handled[U](handler: => U): Try[U] =
+    try Success(handler)
+    catch { case NonFatal(ex) => Try(onException(ex)) }
+
+  /**
+    * invokes logging statements when the expected future is completed. The
+    * statements are evaluated only on success and failures of the statements
+    * themselves do not affect the result.
+    */
+  def logging(doLogging: PartialFunction[T, Unit])(implicit context: ExecutionContext, metrics: RedisMetrics = RedisMetrics.Disabled): Future[T] =
+    measured {
+      future.transform {
+        case success @ Success(value) =>
+          try doLogging.applyOrElse(value, ExpectedFuture.Ignore)
+          catch { case NonFatal(ex) => context.reportFailure(ex) }
+          success
+        case Failure(ex)              => Try(onException(ex))
+      }
+    }
+
+  /**
+    * handles both expected and unexpected responses and failure recovery in a
+    * single transformation, the diagnostics are built only on failure
+    */
+  def expects[U](expected: PartialFunction[T, U])(implicit context: ExecutionContext, metrics: RedisMetrics = RedisMetrics.Disabled): Future[U] =
+    measured {
+      future.transform {
+        case Success(value) =>
+          handled {
+            expected.applyOrElse(value, ExpectedFuture.Unmatched) match {
+              case ExpectedFuture.Unmatched => onUnexpected(value)
+              case result                   => result.asInstanceOf[U]
+            }
+          }
+        case Failure(ex)    => Try(onException(ex))
+      }
+    }
+
+  /** records the latency and the outcome of the command, if enabled, the clock starts right before the command is issued */
+  private def measured[U](result: => Future[U])(implicit context: ExecutionContext, metrics: RedisMetrics): Future[U] =
+    if (metrics.enabled) {
+      val start = System.nanoTime()
+      val issued = result
+      issued.onComplete(outcome => metrics.recordCommand(cmd, System.nanoTime() - start, RedisMetrics.Outcome.of(outcome)))
+      issued
+    } else result
 
 }
 
 private[connector] object ExpectedFuture {
 
+  /** default of partial functions marking the unmatched response, it avoids allocations of `orElse` */
+  private object Unmatched extends (Any => Any) {
+    override def apply(any: Any): Any = this
+  }
+
+  /** default of logging statements not covering the response */
+  private val Ignore: Any => Unit = _ => ()
+
   /** converts future to Future[Unit] */
   @inline implicit def futureToUnit[T](future: Future[T])(implicit context: ExecutionContext): Future[Unit] = future.map(_ => ())
 }
 
-private[connector] class ExpectedFutureWithoutKey[T](protected val future: Future[T], protected val cmd: String) extends ExpectedFuture[T] {
+private[connector] class ExpectedFutureWithoutKey[T](issue: => Future[T], protected val cmd: String) extends ExpectedFuture[T] {
+
+  protected def future: Future[T] = issue
 
   protected def onUnexpected: PartialFunction[Any, Nothing] = { case _ =>
     unexpected(None, cmd)
@@ -54,12 +109,15 @@ private[connector] class ExpectedFutureWithoutKey[T](protected val future: Futur
 
   def withKey(key: String): ExpectedFutureWithKey[T] = new ExpectedFutureWithKey[T](future, cmd, key, s"$cmd $key")
 
-  def withKeys(keys: Iterable[String]): ExpectedFutureWithKey[T] = withKey(keys mkString " ")
+  /** the keys are joined only when the statement is needed, i.e., on failure */
+  def withKeys(keys: => Iterable[String]): ExpectedFutureWithKey[T] = new ExpectedFutureWithKey[T](future, cmd, keys mkString " ", s"$cmd ${keys mkString " "}")
 
   override def toString: String = s"ExpectedFuture($cmd)"
 }
 
-private[connector] class ExpectedFutureWithKey[T](protected val future: Future[T], protected val cmd: String, key: String, statement: => String) extends ExpectedFuture[T] {
+private[connector] class ExpectedFutureWithKey[T](issue: => Future[T], protected val cmd: String, key: => String, statement: => String) extends ExpectedFuture[T] {
+
+  protected def future: Future[T] = issue
 
   protected def onUnexpected: PartialFunction[Any, Nothing] = { case _ =>
     unexpected(Some(key), cmd)
@@ -81,9 +139,9 @@ private[connector] class ExpectedFutureWithKey[T](protected val future: Future[T
 
 /**
   * Constructs expected future from provided parameters, this serves as syntax
-  * sugar
+  * sugar. The command is not issued until the response handling is set up.
   */
-private[connector] class ExpectedFutureBuilder[T](val future: Future[T]) extends AnyVal {
+private[connector] class ExpectedFutureBuilder[T](future: => Future[T]) {
 
   def executing(cmd: String): ExpectedFutureWithoutKey[T] = new ExpectedFutureWithoutKey[T](future, cmd)
 }
@@ -0,0 +1,144 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisBatching
+import play.api.cache.redis.connector.CommandRouting.RoutedCommands
+
+import java.util.concurrent.{Executors, RejectedExecutionException, ScheduledExecutorService, TimeUnit}
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.jdk.CollectionConverters.{ListHasAsScala, SetHasAsScala}
+import scala.jdk.OptionConverters._
+import scala.util.{Failure, Success}
+
+/**
+  * Coalesces concurrent GET commands into MGET. The keys are collected until
+  * either the window elapses or the batch is full and then they are requested
+  * by a single MGET. Concurrent requests of the same key within the batch
+  * share the response. In cluster mode, the MGET is split by hash slots and
+  * dispatched to the particular nodes by the cluster connection.
+  */
+private[connector] trait GetBatcher {
+
+  /** enqueues the key into the current batch */
+  def get(key: String): Future[Option[String]]
+
+  /**
+    * stops the scheduler, the pending batch is still flushed and the keys
+    * requested later are flushed without waiting for the window
+    */
+  def close(): Unit
+}
+
+private[connector] object GetBatcher {
+
+  def apply(settings: RedisBatching, redis: CommandRouting)(implicit ec: ExecutionContext): GetBatcher =
+    new WindowedGetBatcher(settings.window.toNanos, settings.maxBatch, keys => redis.onFirst(keys)(_.mget(keys: _*)).map(_.asScala.map(_.optional().toScala).toSeq))
+
+}
+
+/**
+  * @param windowNanos
+  *   maximal time the first key of the batch waits for others
+  * @param maxBatch
+  *   maximal number of distinct keys in a batch
+  * @param mget
+  *   requests the values of the given keys in the same order
+  */
+final private[connector] class WindowedGetBatcher(
+  windowNanos: Long,
+  maxBatch: Int,
+  mget: Seq[String] => Future[Seq[Option[String]]],
+)(implicit
+  ec: ExecutionContext,
+) extends GetBatcher {
+  import WindowedGetBatcher._
+
+  /** single daemon thread triggering the window, the flush itself runs on the execution context */
+  private lazy val scheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor { (runnable: Runnable) =>
+    val thread = new Thread(runnable, "play-redis-batching")
+    thread.setDaemon(true)
+    thread
+  }
+
+  /** guards `pending` and `generation` */
+  private val lock = new Object
+
+  /** keys of the current batch in the order of arrival */
+  private var pending = new java.util.LinkedHashMap[String, Promise[Option[String]]]
+
+  /** identifies the current batch, a timer of already flushed batch is ignored */
+  private var generation = 0L
+
+  override def get(key: String): Future[Option[String]] = {
+    val (promise, trigger) = lock.synchronized {
+      val existing = pending.get(key)
+      if (existing ne null) existing -> Trigger.None
+      else {
+        val promise = Promise[Option[String]]()
+        pending.put(key, promise)
+        promise -> (if (pending.size >= maxBatch) Trigger.Full(swap()) else if (pending.size === 1) Trigger.Window(generation) else Trigger.None)
+      }
+    }
+    trigger match {
+      case Trigger.Full(batch)                         => flush(batch)
+      case Trigger.Window(expected) if windowNanos > 0 => schedule(expected)
+      case Trigger.Window(expected)                    => ec.execute(() => flushIf(expected))
+      case Trigger.None                                => ()
+    }
+    promise.future
+  }
+
+  /** flushes the batch once the window elapses, at once when the scheduler is already stopped */
+  private def schedule(expected: Long): Unit =
+    try {
+      val _ = scheduler.schedule((() => flushIf(expected)): Runnable, windowNanos, TimeUnit.NANOSECONDS)
+    } catch {
+      case _: RejectedExecutionException => flushIf(expected)
+    }
+
+  /** takes the current batch and starts a new one, invoked under the lock */
+  private def swap(): java.util.LinkedHashMap[String, Promise[Option[String]]] = {
+    val batch = pending
+    pending = new java.util.LinkedHashMap[String, Promise[Option[String]]]
+    generation += 1
+    batch
+  }
+
+  /** flushes the current batch unless it was already flushed due to its size */
+  private def flushIf(expected: Long): Unit =
+    lock.synchronized(if (generation === expected) Some(swap()) else None).foreach(flush)
+
+  private def flush(batch: java.util.LinkedHashMap[String, Promise[Option[String]]]): Unit = {
+    val keys = batch.keySet.asScala.toSeq
+    Future.delegate(mget(keys)).onComplete {
+      case Success(values) => keys.zip(values).foreach { case (key, value) => batch.get(key).success(value) }
+      case Failure(ex)     => batch.values.forEach(_.failure(ex))
+    }
+  }
+
+  override def close(): Unit =
+    scheduler.shutdown()
+
+  // $COVERAGE-OFF$
+  override def toString: String = s"GetBatcher(window=${windowNanos}ns, maxBatch=$maxBatch)"
+  // $COVERAGE-ON$
+}
+
+private object WindowedGetBatcher {
+
+  /** action to take after the key is enqueued */
+  sealed private trait Trigger
+
+  private object Trigger {
+
+    /** the batch is full and was taken, flush it */
+    final case class Full(batch: java.util.LinkedHashMap[String, Promise[Option[String]]]) extends Trigger
+
+    /** the key opened a new batch, start its window */
+    final case class Window(generation: Long) extends Trigger
+
+    /** the key joined a pending batch */
+    case object None extends Trigger
+  }
+
+}
@@ -0,0 +1,165 @@
+package play.api.cache.redis.connector
+
+import play.api.Logger
+import play.api.cache.redis._
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import javax.management._
+import scala.jdk.CollectionConverters._
+import scala.util.Try
+
+/** Measurements of a single command, the latencies are in nanoseconds */
+private[redis] class CommandMetrics {
+
+  val latency = new LatencyHistogram
+
+  val failures = new LongAdder
+
+  val timeouts = new LongAdder
+
+  def record(nanos: Long, outcome: RedisMetrics.Outcome): Unit = {
+    latency.record(nanos)
+    outcome match {
+      case RedisMetrics.Outcome.Success => ()
+      case RedisMetrics.Outcome.Failure => failures.increment()
+      case RedisMetrics.Outcome.Timeout => timeouts.increment()
+    }
+  }
+
+}
+
+/**
+  * Keeps the measurements in memory and exposes them as attributes of an MBean
+  * named `play.cache.redis:type=RedisMetrics,name=<instance>`. The attributes
+  * are the hit ratio, the payload sizes, and for each executed command its
+  * count, failures, timeouts, and the 50th, 99th, and 99.9th percentile of
+  * the latency in nanoseconds, e.g., `GET.p99`. The transitions of the circuit
+  * breaker are counted per state, e.g., `circuit.open.transitions`, and the
+  * hedged reads per outcome, e.g., `hedge.won`.
+  */
+private[redis] class JmxRedisMetrics(name: String) extends RedisMetrics {
+
+  private val log = Logger("play.api.cache.redis")
+
+  private val commands = new ConcurrentHashMap[String, CommandMetrics]()
+
+  private val hits = new LongAdder
+
+  private val misses = new LongAdder
+
+  private val payloadCount = new ConcurrentHashMap[String, LongAdder]()
+
+  private val payloadBytes = new ConcurrentHashMap[String, LongAdder]()
+
+  private val circuitTransitions = new ConcurrentHashMap[String, LongAdder]()
+
+  private val hedges = new ConcurrentHashMap[String, LongAdder]()
+
+  private[connector] val objectName = new ObjectName(s"play.cache.redis:type=RedisMetrics,name=${ObjectName.quote(name)}")
+
+  private val server = ManagementFactory.getPlatformMBeanServer
+
+  // the previous application might not have stopped, e.g., in dev mode
+  Try(if (server.isRegistered(objectName)) server.unregisterMBean(objectName))
+  server.registerMBean(new JmxRedisMetrics.Bean(name, () => attributes), objectName)
+
+  private[connector] def command(command: String): CommandMetrics =
+    commands.computeIfAbsent(command, _ => new CommandMetrics)
+
+  override def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit =
+    this.command(command).record(nanos, outcome)
+
+  override def recordHits(count: Int): Unit = hits.add(count.toLong)
+
+  override def recordMisses(count: Int): Unit = misses.add(count.toLong)
+
+  override def recordPayload(operation: String, bytes: Long): Unit = {
+    payloadCount.computeIfAbsent(operation, _ => new LongAdder).increment()
+    payloadBytes.computeIfAbsent(operation, _ => new LongAdder).add(bytes)
+  }
+
+  override def recordCircuitTransition(state: String): Unit =
+    circuitTransitions.computeIfAbsent(state, _ => new LongAdder).increment()
+
+  override def recordHedge(outcome: String): Unit =
+    hedges.computeIfAbsent(outcome, _ => new LongAdder).increment()
+
+  /** current values of all attributes */
+  private[connector] def attributes: Map[String, Any] = {
+    val hitCount = hits.sum
+    val lookups = hitCount + misses.sum
+    val general = Map[String, Any](
+      "hits"     -> hitCount,
+      "misses"   -> misses.sum,
+      "hitRatio" -> (if (lookups > 0) hitCount.toDouble / lookups.toDouble else 0d),
+    )
+    val payloads = payloadBytes.asScala.flatMap { case (operation, bytes) =>
+      Seq(s"payload.$operation.count" -> payloadCount.get(operation).sum, s"payload.$operation.bytes" -> bytes.sum)
+    }
+    val perCommand = commands.asScala.flatMap { case (command, metrics) =>
+      Seq(
+        s"$command.count"    -> metrics.latency.count,
+        s"$command.failures" -> metrics.failures.sum,
+        s"$command.timeouts" -> metrics.timeouts.sum,
+        s"$command.p50"      -> metrics.latency.percentile(0.5),
+        s"$command.p99"      -> metrics.latency.percentile(0.99),
+        s"$command.p999"     -> metrics.latency.percentile(0.999),
+      )
+    }
+    val circuit = circuitTransitions.asScala.map { case (state, transitions) =>
+      s"circuit.$state.transitions" -> transitions.sum
+    }
+    val hedged = hedges.asScala.map { case (outcome, count) =>
+      s"hedge.$outcome" -> count.sum
+    }
+    general ++ payloads ++ perCommand ++ circuit ++ hedged
+  }
+
+  override def close(): Unit =
+    Try(server.unregisterMBean(objectName)).failed.foreach(ex => log.debug(s"MBean $objectName of redis metrics is not registered.", ex))
+
+}
+
+private[redis] object JmxRedisMetrics {
+
+  /** read-only MBean exposing the attributes as they are at the moment */
+  final private class Bean(name: String, attributes: () => Map[String, Any]) extends DynamicMBean {
+
+    override def getAttribute(attribute: String): AnyRef =
+      attributes().get(attribute) match {
+        case Some(value) => value.asInstanceOf[AnyRef]
+        case None        => throw new AttributeNotFoundException(attribute)
+      }
+
+    override def getAttributes(names: Array[String]): AttributeList = {
+      val current = attributes()
+      val list = new AttributeList()
+      names.foreach(attribute => current.get(attribute).foreach(value => list.add(new Attribute(attribute, value.asInstanceOf[AnyRef]))))
+      list
+    }
+
+    override def setAttribute(attribute: Attribute): Unit =
+      throw new AttributeNotFoundException(s"Attribute ${attribute.getName} is read-only.")
+
+    override def setAttributes(attributes: AttributeList): AttributeList = new AttributeList()
+
+    override def invoke(actionName: String, params: Array[AnyRef], signature: Array[String]): AnyRef =
+      throw new ReflectionException(new NoSuchMethodException(actionName))
+
+    override def getMBeanInfo: MBeanInfo = {
+      val info = attributes().toSeq.sortBy(_._1).map { case (attribute, value) =>
+        new MBeanAttributeInfo(attribute, typeOf(value), attribute, true, false, false)
+      }
+      new MBeanInfo(classOf[JmxRedisMetrics].getName, s"Metrics of the redis cache '$name'", info.toArray, null, null, null)
+    }
+
+    private def typeOf(value: Any): String = value match {
+      case _: Double => "double"
+      case _         => "long"
+    }
+
+  }
+
+}
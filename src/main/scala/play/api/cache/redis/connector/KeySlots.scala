@@ -0,0 +1,61 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.cluster.SlotHash
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisCluster
+
+/**
+  * Groups the keys of multi-key commands by the hash slots. In cluster mode,
+  * a multi-key command is atomic only when all its keys belong to the same
+  * slot, thus the keys are split by their slots and each group is sent as a
+  * separate command. Related keys can be deliberately co-located in a single
+  * slot by hash tags, see [[play.api.cache.redis.impl.RedisPrefix.tagged]].
+  */
+sealed private[connector] trait KeySlots {
+
+  /**
+    * Groups the items by the slots of their keys, the order of the items
+    * within each group is preserved.
+    *
+    * @return
+    *   the slots and their items in the ascending order of the slots
+    */
+  def group[A](items: Seq[A])(key: A => String): Seq[(Int, Seq[A])]
+}
+
+private[connector] object KeySlots {
+
+  def apply(instance: RedisInstance): KeySlots = instance match {
+    case _: RedisCluster => BySlot
+    case _               => Single
+  }
+
+  /**
+    * all keys are served by a single node, thus they are sent at once, the
+    * slots are meaningless and not computed at all
+    */
+  object Single extends KeySlots {
+
+    /** the constant slot of the single group */
+    private val Slot: Int = 0
+
+    override def group[A](items: Seq[A])(key: A => String): Seq[(Int, Seq[A])] =
+      if (items.isEmpty) Seq.empty else Seq(Slot -> items)
+
+    // $COVERAGE-OFF$
+    override def toString: String = "KeySlots(single)"
+    // $COVERAGE-ON$
+  }
+
+  /** the keys are split by the cluster hash slots */
+  object BySlot extends KeySlots {
+
+    override def group[A](items: Seq[A])(key: A => String): Seq[(Int, Seq[A])] =
+      items.groupBy(item => SlotHash.getSlot(key(item))).toSeq.sortBy(_._1)
+
+    // $COVERAGE-OFF$
+    override def toString: String = "KeySlots(by-slot)"
+    // $COVERAGE-ON$
+  }
+
+}
@@ -0,0 +1,79 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+  * Lock-free log-linear histogram of latencies. Each power of two is split
+  * into 8 linear sub-buckets, thus the reported percentiles are within 12.5 %
+  * of the precise value while the histogram occupies a fixed 4 kB regardless
+  * of the number of recorded values.
+  */
+private[redis] class LatencyHistogram {
+  import LatencyHistogram._
+
+  private val counts = new AtomicLongArray(Buckets)
+
+  /** records a single value, negative values are recorded as zero */
+  def record(value: Long): Unit =
+    counts.incrementAndGet(indexOf(value max 0L))
+
+  /** number of recorded values */
+  def count: Long = snapshot.sum
+
+  /**
+    * estimates the percentile of the recorded values
+    *
+    * @param quantile
+    *   the quantile between 0 and 1, e.g., 0.99
+    * @return
+    *   the upper bound of the bucket containing the percentile, zero when
+    *   nothing was recorded
+    */
+  def percentile(quantile: Double): Long = {
+    val buckets = snapshot
+    val total = buckets.sum
+    if (total === 0L) 0L
+    else {
+      val rank = math.ceil(quantile * total.toDouble).toLong max 1L
+      var index = 0
+      var cumulative = buckets(0)
+      while (cumulative < rank && index < Buckets - 1) {
+        index += 1
+        cumulative += buckets(index)
+      }
+      upperBoundOf(index)
+    }
+  }
+
+  private def snapshot: Array[Long] =
+    Array.tabulate(Buckets)(counts.get)
+
+}
+
+private[redis] object LatencyHistogram {
+
+  /** number of linear sub-buckets of each power of two */
+  private val SubBuckets = 8
+
+  /** values below 8 have exact buckets, each next power of two up to 2^62 has 8 more */
+  private val Buckets = 61 * SubBuckets
+
+  private[connector] def indexOf(value: Long): Int =
+    if (value < SubBuckets) value.toInt
+    else {
+      val exponent = 63 - java.lang.Long.numberOfLeadingZeros(value)
+      val sub = (value >>> (exponent - 3)).toInt & (SubBuckets - 1)
+      (exponent - 2) * SubBuckets + sub
+    }
+
+  private[connector] def upperBoundOf(index: Int): Long =
+    if (index < SubBuckets) index.toLong
+    else {
+      val shift = index / SubBuckets - 1
+      val lower = (SubBuckets + index % SubBuckets).toLong << shift
+      lower + (1L << shift) - 1
+    }
+
+}
@@ -0,0 +1,101 @@
+package play.api.cache.redis.connector
+
+import io.micrometer.core.instrument._
+import play.api.cache.redis._
+
+import java.util.concurrent.{ConcurrentHashMap, TimeUnit}
+import scala.jdk.CollectionConverters._
+import scala.util.Try
+
+/**
+  * Registers the measurements into the Micrometer registry, the global one by
+  * default. It requires 'io.micrometer:micrometer-core' on the classpath. All
+  * meters are tagged by the name of the cache:
+  *
+  *   - `redis.cache.commands` timer tagged by the `command` and its `outcome`,
+  *     it publishes the 50th, 99th, and 99.9th percentile
+  *   - `redis.cache.lookups` counter tagged by the `result`, either `hit` or
+  *     `miss`
+  *   - `redis.cache.payload` distribution of the encoded values in bytes
+  *     tagged by the `operation`, either `read` or `write`
+  *   - `redis.cache.circuit` counter of the transitions of the circuit
+  *     breaker tagged by the `state`, either `closed`, `open`, or `half-open`
+  *   - `redis.cache.hedges` counter of the hedged reads tagged by the
+  *     `outcome`, either `fired` or `won`
+  */
+class MicrometerRedisMetrics(name: String, registry: MeterRegistry) extends RedisMetrics {
+
+  def this(name: String) = this(name, Metrics.globalRegistry)
+
+  private val timers = new ConcurrentHashMap[(String, RedisMetrics.Outcome), Timer]()
+
+  private val payloads = new ConcurrentHashMap[String, DistributionSummary]()
+
+  private val transitions = new ConcurrentHashMap[String, Counter]()
+
+  private val hedges = new ConcurrentHashMap[String, Counter]()
+
+  private val hits = lookups("hit")
+
+  private val misses = lookups("miss")
+
+  private def lookups(result: String): Counter =
+    Counter.builder("redis.cache.lookups").tag("cache", name).tag("result", result).register(registry)
+
+  private def timer(command: String, outcome: RedisMetrics.Outcome): Timer =
+    timers.computeIfAbsent(
+      (command, outcome),
+      _ =>
+        Timer
+          .builder("redis.cache.commands")
+          .tag("cache", name)
+          .tag("command", command)
+          .tag("outcome", outcome.name)
+          .publishPercentiles(0.5, 0.99, 0.999)
+          .register(registry),
+    )
+
+  override def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit =
+    timer(command, outcome).record(nanos, TimeUnit.NANOSECONDS)
+
+  override def recordHits(count: Int): Unit = if (count > 0) hits.increment(count.toDouble)
+
+  override def recordMisses(count: Int): Unit = if (count > 0) misses.increment(count.toDouble)
+
+  override def recordPayload(operation: String, bytes: Long): Unit =
+    payloads
+      .computeIfAbsent(
+        operation,
+        _ => DistributionSummary.builder("redis.cache.payload").baseUnit("bytes").tag("cache", name).tag("operation", operation).register(registry),
+      )
+      .record(bytes.toDouble)
+
+  override def recordCircuitTransition(state: String): Unit =
+    transitions
+      .computeIfAbsent(
+        state,
+        _ => Counter.builder("redis.cache.circuit").tag("cache", name).tag("state", state).register(registry),
+      )
+      .increment()
+
+  override def recordHedge(outcome: String): Unit =
+    hedges
+      .computeIfAbsent(
+        outcome,
+        _ => Counter.builder("redis.cache.hedges").tag("cache", name).tag("outcome", outcome).register(registry),
+      )
+      .increment()
+
+  /** removes the meters from the registry */
+  override def close(): Unit =
+    (Seq[Meter](hits, misses) ++ timers.values.asScala ++ payloads.values.asScala ++ transitions.values.asScala ++ hedges.values.asScala).foreach(meter => registry.remove(meter))
+
+}
+
+private[redis] object MicrometerRedisMetrics {
+
+  /** whether the micrometer library is on the classpath */
+  def available: Boolean =
+    Try(Class.forName("io.micrometer.core.instrument.Metrics", false, getClass.getClassLoader)).isSuccess
+
+}
@@ -0,0 +1,250 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisNearCache
+
+import java.util.concurrent.atomic.{AtomicLong, LongAdder}
+import scala.reflect.ClassTag
+
+/**
+  * In-process near cache (L1) keeping decoded values of recently read keys.
+  * The entries are invalidated by local writes and by redis through the
+  * server-assisted client side caching (CLIENT TRACKING). Until the tracking
+  * is confirmed, the near cache is suspended and all lookups go to redis.
+  */
+private[redis] trait NearCache extends NearCacheStatistics {
+
+  /** looks up the decoded value of the expected type */
+  def get[T: ClassTag](key: String): Option[T]
+
+  /**
+    * Version of the key. The version is captured before the value is
+    * requested from redis and passed into [[put]]. When the key is
+    * invalidated in the meantime, the value is not stored.
+    */
+  def version(key: String): Long
+
+  /** stores the decoded value unless the key was invalidated since `version` */
+  def put[T: ClassTag](key: String, value: T, bytes: Long, version: Long): Unit
+
+  /** invalidates a single key */
+  def invalidate(key: String): Unit
+
+  /** invalidates all keys, e.g., on FLUSHDB */
+  def invalidateAll(): Unit
+
+  /** invalidates all keys and stops caching until resumed */
+  def suspend(): Unit
+
+  /** starts caching, invoked once the tracking is enabled */
+  def resume(): Unit
+}
+
+private[redis] object NearCache {
+
+  def apply(settings: RedisNearCache): NearCache =
+    if (settings.enabled) new BoundedNearCache(settings.maxEntries, settings.maxBytes, settings.ttl.toNanos) else Disabled
+
+  /** no-op near cache used when disabled */
+  object Disabled extends NearCache {
+    override def get[T: ClassTag](key: String): Option[T] = None
+    override def version(key: String): Long = 0L
+    override def put[T: ClassTag](key: String, value: T, bytes: Long, version: Long): Unit = ()
+    override def invalidate(key: String): Unit = ()
+    override def invalidateAll(): Unit = ()
+    override def suspend(): Unit = ()
+    override def resume(): Unit = ()
+    override def hits: Long = 0L
+    override def misses: Long = 0L
+    override def evictions: Long = 0L
+    override def invalidations: Long = 0L
+    override def size: Int = 0
+    override def bytes: Long = 0L
+    // $COVERAGE-OFF$
+    override def toString: String = "NearCache(disabled)"
+    // $COVERAGE-ON$
+  }
+
+}
+
+/**
+  * Near cache bounded by both the number of entries and their total size. It
+  * evicts the least recently used entries first. Each entry expires after the
+  * ttl, thus an entry whose invalidation was lost is not served forever.
+  *
+  * The entries are split into segments by the hash of the key, each segment
+  * with its own lock and its own share of the limits. A hit reorders the
+  * entries, thus the lookups of different segments do not contend. The least
+  * recently used entry is evicted within the segment.
+  *
+  * @param maxEntries
+  *   maximal number of entries
+  * @param maxBytes
+  *   maximal total size of entries in bytes, the size of an entry is
+  *   approximated by the size of its encoded representation
+  * @param ttlNanos
+  *   maximal time an entry is kept in nanoseconds
+  */
+final private[connector] class BoundedNearCache(maxEntries: Int, maxBytes: Long, ttlNanos: Long) extends NearCache {
+  import BoundedNearCache._
+
+  /** number of version stripes, keys are distributed by their hash */
+  private val stripes = 64
+
+  /** versions of keys, incremented on every invalidation */
+  private val versions = Array.fill(stripes)(new AtomicLong(0L))
+
+  /** small caches are kept in a single segment to keep the exact LRU order */
+  private val segments: Array[Segment] = {
+    val count = (maxEntries / MinSegmentEntries).max(1).min(MaxSegments)
+    Array.fill(count)(new Segment(maxEntries / count, maxBytes / count))
+  }
+
+  @volatile private var active = false
+
+  private val hitCounter = new LongAdder
+  private val missCounter = new LongAdder
+  private val evictionCounter = new LongAdder
+  private val invalidationCounter = new LongAdder
+
+  private def versionOf(key: String): AtomicLong =
+    versions(Math.floorMod(key.hashCode, stripes))
+
+  /** the hash is spread, so the segments do not follow the version stripes */
+  private def segmentOf(key: String): Segment = {
+    val hash = key.hashCode
+    segments(Math.floorMod(hash ^ (hash >>> 16), segments.length))
+  }
+
+  @SuppressWarnings(Array("org.wartremover.warts.Null"))
+  override def get[T](key: String)(implicit classTag: ClassTag[T]): Option[T] = {
+    val entry = if (active) segmentOf(key).get(key) else null
+    if (Option(entry).exists(_.runtimeClass eq classTag.runtimeClass)) {
+      hitCounter.increment()
+      Some(entry.value.asInstanceOf[T])
+    } else {
+      missCounter.increment()
+      None
+    }
+  }
+
+  override def version(key: String): Long =
+    versionOf(key).get
+
+  override def put[T](key: String, value: T, bytes: Long, version: Long)(implicit classTag: ClassTag[T]): Unit =
+    if (active) segmentOf(key).put(key, new Entry(classTag.runtimeClass, value, bytes, System.nanoTime() + ttlNanos), versionOf(key), version)
+
+  override def invalidate(key: String): Unit = {
+    versionOf(key).incrementAndGet()
+    segmentOf(key).remove(key)
+  }
+
+  override def invalidateAll(): Unit = {
+    versions.foreach(_.incrementAndGet())
+    segments.foreach(_.clear())
+  }
+
+  override def suspend(): Unit = {
+    active = false
+    invalidateAll()
+  }
+
+  override def resume(): Unit =
+    active = true
+
+  override def hits: Long = hitCounter.sum()
+
+  override def misses: Long = missCounter.sum()
+
+  override def evictions: Long = evictionCounter.sum()
+
+  override def invalidations: Long = invalidationCounter.sum()
+
+  override def size: Int = segments.map(_.size).sum
+
+  override def bytes: Long = segments.map(_.bytes).sum
+
+  // $COVERAGE-OFF$
+  override def toString: String = s"NearCache(entries=$size/$maxEntries, bytes=$bytes/$maxBytes, segments=${segments.length})"
+  // $COVERAGE-ON$
+
+  /**
+    * A part of the entries guarded by its own lock, the segment itself.
+    *
+    * @param maxEntries
+    *   maximal number of entries in the segment
+    * @param maxBytes
+    *   maximal total size of entries in the segment
+    */
+  final private class Segment(maxEntries: Int, maxBytes: Long) {
+
+    /** entries in the access order, i.e., the eldest is the least recently used */
+    private val entries = new java.util.LinkedHashMap[String, Entry](16, 0.75f, true)
+
+    private var totalBytes = 0L
+
+    /** the entry unless it has expired, the expired entry is removed */
+    @SuppressWarnings(Array("org.wartremover.warts.Null"))
+    def get(key: String): Entry = synchronized {
+      val entry = entries.get(key)
+      if ((entry ne null) && entry.expiresAt - System.nanoTime() <= 0) {
+        entries.remove(key)
+        totalBytes -= entry.bytes
+        evictionCounter.increment()
+        null
+      } else entry
+    }
+
+    def put(key: String, entry: Entry, current: AtomicLong, version: Long): Unit =
+      if (entry.bytes <= maxBytes) synchronized {
+        // the version is checked under the lock, thus a concurrent invalidation either
+        // prevents the put or removes the entry right after it
+        if (current.get === version) {
+          Option(entries.put(key, entry)).foreach(previous => totalBytes -= previous.bytes)
+          totalBytes += entry.bytes
+          evict()
+        }
+      }
+
+    /** removes the least recently used entries until the limits are met */
+    private def evict(): Unit = {
+      val iterator = entries.values.iterator
+      while ((entries.size > maxEntries || totalBytes > maxBytes) && iterator.hasNext) {
+        totalBytes -= iterator.next().bytes
+        iterator.remove()
+        evictionCounter.increment()
+      }
+    }
+
+    def remove(key: String): Unit = synchronized {
+      Option(entries.remove(key)).foreach { entry =>
+        totalBytes -= entry.bytes
+        invalidationCounter.increment()
+      }
+    }
+
+    def clear(): Unit = synchronized {
+      invalidationCounter.add(entries.size.toLong)
+      entries.clear()
+      totalBytes = 0L
+    }
+
+    def size: Int = synchronized(entries.size)
+
+    def bytes: Long = synchronized(totalBytes)
+  }
+
+}
+
+private[connector] object BoundedNearCache {
+
+  /** the decoded value of the expected class */
+  final private[connector] class Entry(val runtimeClass: Class[?], val value: Any, val bytes: Long, val expiresAt: Long)
+
+  /** the maximal number of segments */
+  private val MaxSegments: Int = 16
+
+  /** the minimal number of entries per segment, smaller caches use fewer segments */
+  private val MinSegmentEntries: Int = 256
+
+}
@@ -4,6 +4,7 @@ import org.apache.pekko.actor.ActorSystem
 import org.apache.pekko.serialization.{Serialization, SerializationExtension}
 import play.api.cache.redis._
 
+import java.nio.charset.StandardCharsets
 import java.util.Base64
 import javax.inject._
 import scala.reflect.ClassTag
@@ -43,6 +44,16 @@ trait PekkoSerializer {
   def decode[T: ClassTag](value: String): Try[T]
 }
 
+private[redis] object PekkoSerializer {
+
+  /** determines whether the serializer is the built-in Pekko serializer */
+  def isBuiltIn(serializer: PekkoSerializer): Boolean = serializer match {
+    case _: PekkoSerializerImpl => true
+    case _                      => false
+  }
+
+}
+
 /**
   * Pekko encoder provides implementation of serialization using Pekko
   * serializer. The implementation considers all primitives, nulls, and refs.
@@ -56,7 +67,7 @@ private[connector] class PekkoEncoder(serializer: Serialization) {
     // null is special case
     case null                                => unsupported("Null is not supported by the redis cache connector.")
     // AnyVal is not supported by default, have to be implemented manually; also basic types are processed as primitives
-    case primitive if isPrimitive(primitive) => primitive.toString
+    case primitive if isPrimitive(primitive) => primitiveToString(primitive)
     // AnyRef is supported by Pekko serializers, but it does not consider classTag, thus it is done manually
     case anyRef: AnyRef                      => anyRefToString(anyRef)
     // $COVERAGE-OFF$
@@ -69,12 +80,16 @@ private[connector] class PekkoEncoder(serializer: Serialization) {
   private def isPrimitive(candidate: Any): Boolean =
     candidate.getClass.isPrimitive || Primitives.primitives.contains(candidate.getClass)
 
+  /** converts the primitive into its string representation */
+  protected def primitiveToString(primitive: Any): String =
+    primitive.toString
+
   /** unsafe method converting AnyRef into bytes */
   private def anyRefToBinary(anyRef: AnyRef): Array[Byte] =
     serializer.findSerializerFor(anyRef).toBinary(anyRef)
 
   /** Produces BASE64 encoded string from an array of bytes */
-  private def binaryToString(bytes: Array[Byte]): String =
+  protected def binaryToString(bytes: Array[Byte]): String =
     Base64.getEncoder.encodeToString(bytes)
 
   /** unsafe method converting AnyRef into BASE64 string */
@@ -91,10 +106,6 @@ private[connector] class PekkoEncoder(serializer: Serialization) {
   */
 private[connector] class PekkoDecoder(serializer: Serialization) {
 
-  import scala.reflect.{ClassTag => Scala}
-
-  import play.api.cache.redis.connector.{JavaClassTag => Java}
-
   private val Nothing = ClassTag(classOf[Nothing])
 
   /**
@@ -106,39 +117,107 @@ private[connector] class PekkoDecoder(serializer: Serialization) {
 
   /**
     * unsafe method decoding a string into an object. It directly throws
-    * exceptions. It does not perform type cast
+    * exceptions. It does not perform type cast. Primitives are resolved by a
+    * single lookup of the expected class instead of comparing it with each
+    * of them.
     */
   private def untypedDecode[T](value: String)(implicit tag: ClassTag[T]): Any = value match {
     // AnyVal is not supported by default, have to be implemented manually
-    case ""                                                       => null
-    case _ if tag =~= Nothing                                     => throw new IllegalArgumentException("Type Nothing is not supported. You have probably forgot to specify expected data type.")
-    case string if tag =~= Java.String                            => string
-    case boolean if tag =~= Java.Boolean || tag =~= Scala.Boolean => boolean.toBoolean
-    case byte if tag =~= Java.Byte || tag =~= Scala.Byte          => byte.toByte
-    case char if tag =~= Java.Char || tag =~= Scala.Char          => char.charAt(0)
-    case short if tag =~= Java.Short || tag =~= Scala.Short       => short.toShort
-    case int if tag =~= Java.Int || tag =~= Scala.Int             => int.toInt
-    case long if tag =~= Java.Long || tag =~= Scala.Long          => long.toLong
-    case float if tag =~= Java.Float || tag =~= Scala.Float       => float.toFloat
-    case double if tag =~= Java.Double || tag =~= Scala.Double    => double.toDouble
-    case anyRef                                                   => stringToAnyRef[T](anyRef)
+    case ""                   => null
+    case _ if tag =~= Nothing => throw new IllegalArgumentException("Type Nothing is not supported. You have probably forgot to specify expected data type.")
+    case string               =>
+      Primitives.parsers.get(tag.runtimeClass) match {
+        case Some(parse) => parse(stringToText(string))
+        case None        => stringToAnyRef[T](string)
+      }
   }
 
+  /** converts the stored primitive into its string representation */
+  protected def stringToText(value: String): String = value
+
   /** consumes BASE64 string and returns array of bytes */
   private def stringToBinary(base64: String): Array[Byte] =
     Base64.getDecoder.decode(base64)
 
   /** deserializes the binary stream into the object */
   @SuppressWarnings(Array("org.wartremover.warts.RedundantAsInstanceOf"))
-  private def binaryToAnyRef[T](binary: Array[Byte])(implicit classTag: ClassTag[T]): AnyRef =
+  protected def binaryToAnyRef[T](binary: Array[Byte])(implicit classTag: ClassTag[T]): AnyRef =
     serializer.deserialize(binary, classTag.runtimeClass.asInstanceOf[Class[? <: AnyRef]]).get
 
   /** converts BASE64 string directly into the object */
-  private def stringToAnyRef[T: ClassTag](base64: String): AnyRef =
+  protected def stringToAnyRef[T: ClassTag](base64: String): AnyRef =
     (stringToBinary _ andThen binaryToAnyRef[T])(base64)
 
 }
 
+/**
+  * Pekko encoder producing raw bytes instead of BASE64 strings. The bytes are
+  * carried as ISO-8859-1 strings, see [[RedisValueEncoding.Binary]]. Primitives
+  * are stored as their UTF-8 representation, serialized objects are stored as
+  * they are, thus the bytes are copied only once into the string.
+  */
+private[connector] class PekkoBinaryEncoder(serializer: Serialization) extends PekkoEncoder(serializer) {
+
+  override protected def primitiveToString(primitive: Any): String =
+    BinaryValue.fromText(primitive.toString)
+
+  override protected def binaryToString(bytes: Array[Byte]): String =
+    new String(bytes, StandardCharsets.ISO_8859_1)
+
+}
+
+/**
+  * Pekko decoder consuming values produced by [[PekkoBinaryEncoder]]. As with
+  * the BASE64 strings, the expected class determines whether the value is a
+  * primitive or a serialized object. Objects stored as canonical BASE64 are
+  * read as BASE64, which makes the values stored by [[PekkoEncoder]] still
+  * readable, e.g., during the migration. Serialized objects practically never
+  * consist only of BASE64 characters, thus raw bytes are read as BASE64 only
+  * when they fail to deserialize that way.
+  */
+private[connector] class PekkoBinaryDecoder(serializer: Serialization) extends PekkoDecoder(serializer) {
+
+  override protected def stringToText(value: String): String =
+    BinaryValue.toText(value)
+
+  override protected def stringToAnyRef[T: ClassTag](raw: String): AnyRef =
+    if (BinaryValue.isBase64(raw)) Try(super.stringToAnyRef[T](raw)).getOrElse(rawToAnyRef[T](raw))
+    else rawToAnyRef[T](raw)
+
+  /** deserializes the raw bytes carried by the ISO-8859-1 string */
+  private def rawToAnyRef[T: ClassTag](raw: String): AnyRef =
+    binaryToAnyRef[T](raw.getBytes(StandardCharsets.ISO_8859_1))
+
+}
+
+/**
+  * Helper converting between the text and the ISO-8859-1 representation of its
+  * UTF-8 bytes used by the binary value encoding.
+  */
+private[connector] object BinaryValue {
+
+  /** converts the text into the raw representation of its UTF-8 bytes */
+  def fromText(text: String): String =
+    new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1)
+
+  /** converts the raw representation of UTF-8 bytes back into the text */
+  def toText(raw: String): String =
+    new String(raw.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8)
+
+  /**
+    * determines whether the value is a canonical BASE64 string, i.e., a value
+    * stored by the string encoding
+    */
+  def isBase64(value: String): Boolean = {
+    val data = value.reverse.dropWhile(_ === '=')
+    value.nonEmpty && value.length % 4 === 0 && value.length - data.length <= 2 && data.forall(isBase64Char)
+  }
+
+  private def isBase64Char(char: Char): Boolean =
+    (char >= 'A' && char <= 'Z') || (char >= 'a' && char <= 'z') || (char >= '0' && char <= '9') || char === '+' || char === '/'
+
+}
+
 @Singleton
 private[connector] class PekkoSerializerImpl @Inject() (system: ActorSystem) extends PekkoSerializer {
 
@@ -149,10 +228,10 @@ private[connector] class PekkoSerializerImpl @Inject() (system: ActorSystem) ext
   protected val serializer: Serialization = SerializationExtension(system)
 
   /** value serializer based on Pekko serialization */
-  private val encoder = new PekkoEncoder(serializer)
+  protected val encoder: PekkoEncoder = new PekkoEncoder(serializer)
 
   /** value decoder based on Pekko serialization */
-  private val decoder = new PekkoDecoder(serializer)
+  protected val decoder: PekkoDecoder = new PekkoDecoder(serializer)
 
   /**
     * Method accepts a value to be serialized into the string. Based on the
@@ -185,46 +264,52 @@ private[connector] class PekkoSerializerImpl @Inject() (system: ActorSystem) ext
 
 }
 
+/**
+  * Serializer producing raw bytes instead of BASE64 strings. It is supposed to
+  * be used only together with [[RedisValueEncoding.Binary]] codec. Values
+  * stored by [[PekkoSerializerImpl]] remain readable.
+  */
+private[connector] class PekkoBinarySerializerImpl(system: ActorSystem) extends PekkoSerializerImpl(system) {
+
+  override protected val encoder: PekkoEncoder = new PekkoBinaryEncoder(serializer)
+
+  override protected val decoder: PekkoDecoder = new PekkoBinaryDecoder(serializer)
+
+}
+
 /** Registry of known Scala and Java primitives */
 private[connector] object Primitives {
 
-  /** primitive types with simplified encoding */
-  val primitives: Seq[Class[?]] = Seq(
-    classOf[Boolean],
-    classOf[java.lang.Boolean],
-    classOf[Byte],
-    classOf[java.lang.Byte],
-    classOf[Char],
-    classOf[java.lang.Character],
-    classOf[Short],
-    classOf[java.lang.Short],
-    classOf[Int],
-    classOf[java.lang.Integer],
-    classOf[Long],
-    classOf[java.lang.Long],
-    classOf[Float],
-    classOf[java.lang.Float],
-    classOf[Double],
-    classOf[java.lang.Double],
-    classOf[String],
+  /** parsers of primitive types with simplified encoding indexed by the class */
+  val parsers: Map[Class[?], String => Any] = Map(
+    classOf[Boolean]             -> ((_: String).toBoolean),
+    classOf[java.lang.Boolean]   -> ((_: String).toBoolean),
+    classOf[Byte]                -> ((_: String).toByte),
+    classOf[java.lang.Byte]      -> ((_: String).toByte),
+    classOf[Char]                -> ((_: String).charAt(0)),
+    classOf[java.lang.Character] -> ((_: String).charAt(0)),
+    classOf[Short]               -> ((_: String).toShort),
+    classOf[java.lang.Short]     -> ((_: String).toShort),
+    classOf[Int]                 -> ((_: String).toInt),
+    classOf[java.lang.Integer]   -> ((_: String).toInt),
+    classOf[Long]                -> ((_: String).toLong),
+    classOf[java.lang.Long]      -> ((_: String).toLong),
+    classOf[Float]               -> ((_: String).toFloat),
+    classOf[java.lang.Float]     -> ((_: String).toFloat),
+    classOf[Double]              -> ((_: String).toDouble),
+    classOf[java.lang.Double]    -> ((_: String).toDouble),
+    classOf[String]              -> ((string: String) => string),
   )
 
-}
+  /** primitive types with simplified encoding */
+  val primitives: Set[Class[?]] = parsers.keySet
 
-/** Registry of class tags for Java primitives */
-private[connector] object JavaClassTag {
-
-  val Byte: ClassTag[Byte] = ClassTag(classOf[java.lang.Byte])
-  val Short: ClassTag[Short] = ClassTag(classOf[java.lang.Short])
-  val Char: ClassTag[Char] = ClassTag(classOf[java.lang.Character])
-  val Int: ClassTag[Int] = ClassTag(classOf[java.lang.Integer])
-  val Long: ClassTag[Long] = ClassTag(classOf[java.lang.Long])
-  val Float: ClassTag[Float] = ClassTag(classOf[java.lang.Float])
-  val Double: ClassTag[Double] = ClassTag(classOf[java.lang.Double])
-  val Boolean: ClassTag[Boolean] = ClassTag(classOf[java.lang.Boolean])
-  val String: ClassTag[String] = ClassTag(classOf[String])
 }
 
 class PekkoSerializerProvider @Inject() (implicit system: ActorSystem) extends Provider[PekkoSerializer] {
   lazy val get = new PekkoSerializerImpl(system)
 }
+
+class PekkoBinarySerializerProvider @Inject() (implicit system: ActorSystem) extends Provider[PekkoSerializer] {
+  lazy val get = new PekkoBinarySerializerImpl(system)
+}
@@ -0,0 +1,163 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisHedging
+
+import java.util.concurrent.atomic.{AtomicInteger, AtomicLong, AtomicReference, LongAdder}
+import java.util.concurrent.{RejectedExecutionException, ScheduledThreadPoolExecutor, ThreadFactory, TimeUnit}
+import scala.concurrent.{ExecutionContext, Future, Promise}
+import scala.util.{Failure, Success, Try}
+
+/**
+  * Hedges the reads. When the read has not completed within the delay, the
+  * same read is sent to the other node and the first successful response
+  * wins. The delay is the configured percentile of the latencies of the
+  * recent reads, thus only the slowest reads are hedged. The hedges are
+  * further limited by the budget, i.e., the maximal ratio of the hedges to all
+  * reads, so the hedging cannot multiply the load of a slow instance.
+  *
+  * @param settings
+  *   the percentile, the minimal delay, and the budget
+  * @param other
+  *   the node receiving the hedges
+  * @param metrics
+  *   counts the fired and won hedges
+  * @tparam C
+  *   the commands of the node
+  */
+final private[connector] class ReadHedging[C](
+  settings: RedisHedging,
+  other: C,
+  metrics: RedisMetrics = RedisMetrics.Disabled,
+)(implicit
+  ec: ExecutionContext,
+) extends HedgingStatistics {
+  import ReadHedging._
+
+  /** single daemon thread triggering the hedges, the hedge itself runs on the execution context */
+  private lazy val scheduler: ScheduledThreadPoolExecutor = {
+    val threads: ThreadFactory = (runnable: Runnable) => {
+      val thread = new Thread(runnable, "play-redis-hedging")
+      thread.setDaemon(true)
+      thread
+    }
+    val executor = new ScheduledThreadPoolExecutor(1, threads)
+    // most reads complete in time, drop their timers at once
+    executor.setRemoveOnCancelPolicy(true)
+    executor
+  }
+
+  private val minDelayNanos = settings.minDelay.toNanos
+
+  /** credits in thousandths of a hedge, each read earns the budget */
+  private val credits = new AtomicLong(Capacity)
+
+  private val earning = (settings.budget * Hedge.toDouble).toLong
+
+  /** latencies of the reads since the delay was last computed */
+  private val window = new AtomicReference(new Window(System.nanoTime()))
+
+  @volatile private var delay: Long = minDelayNanos
+
+  private val firedHedges = new LongAdder
+
+  private val wonHedges = new LongAdder
+
+  override def fired: Long = firedHedges.sum
+
+  override def won: Long = wonHedges.sum
+
+  override def delayNanos: Long = delay
+
+  /**
+    * @param primary
+    *   the original read, already sent
+    * @param read
+    *   sends the same read to the given node
+    * @return
+    *   the first successful response, or the failure when all attempts fail
+    */
+  def apply[T](primary: Future[T])(read: C => Future[T]): Future[T] = {
+    val start = System.nanoTime()
+    val _ = credits.getAndUpdate(current => (current + earning) min Capacity)
+    val result = Promise[T]()
+    // attempts not completed yet, the failure wins only when it is the last one
+    val pending = new AtomicInteger(1)
+
+    def settle(outcome: Try[T]): Boolean = outcome match {
+      case Success(_) => result.tryComplete(outcome)
+      case Failure(_) => pending.decrementAndGet() === 0 && result.tryComplete(outcome)
+    }
+
+    try {
+      val timer = scheduler.schedule(
+        (() =>
+          if (!result.isCompleted && take()) {
+            val _ = pending.incrementAndGet()
+            firedHedges.increment()
+            metrics.recordHedge("fired")
+            Future.delegate(read(other)).onComplete { outcome =>
+              if (settle(outcome) && outcome.isSuccess) {
+                wonHedges.increment()
+                metrics.recordHedge("won")
+              }
+            }
+          }
+        ): Runnable,
+        delay,
+        TimeUnit.NANOSECONDS,
+      )
+
+      primary.onComplete { outcome =>
+        val _ = timer.cancel(false)
+        record(System.nanoTime() - start)
+        val _ = settle(outcome)
+      }
+      result.future
+    } catch {
+      // the hedging is closed, the read is sent as it is
+      case _: RejectedExecutionException => primary
+    }
+  }
+
+  /** takes the credits of a single hedge unless the budget is exhausted */
+  private def take(): Boolean =
+    credits.getAndUpdate(current => if (current >= Hedge) current - Hedge else current) >= Hedge
+
+  /** records the latency of the original read and periodically updates the delay */
+  private def record(latency: Long): Unit = {
+    val current = window.get
+    current.latencies.record(latency)
+    val now = System.nanoTime()
+    if (now - current.since >= WindowNanos && current.latencies.count >= MinSamples && window.compareAndSet(current, new Window(now)))
+      delay = current.latencies.percentile(settings.percentile) max minDelayNanos
+  }
+
+  /** stops the scheduler, the pending hedges are not sent and the later reads are not hedged */
+  def close(): Unit =
+    scheduler.shutdown()
+
+  // $COVERAGE-OFF$
+  override def toString: String = s"ReadHedging(percentile=${settings.percentile}, budget=${settings.budget})"
+  // $COVERAGE-ON$
+}
+
+private object ReadHedging {
+
+  /** credits of a single hedge */
+  private val Hedge: Long = 1000L
+
+  /** at most 10 hedges may be sent in a burst */
+  private val Capacity: Long = 10 * Hedge
+
+  /** the delay is computed again after this period */
+  private val WindowNanos: Long = 10L * 1000 * 1000 * 1000
+
+  /** the delay is computed only from enough samples, the minimal delay applies until then */
+  private val MinSamples: Long = 100L
+
+  final private class Window(val since: Long) {
+    val latencies = new LatencyHistogram
+  }
+
+}
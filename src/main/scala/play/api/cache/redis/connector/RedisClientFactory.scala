@@ -2,6 +2,7 @@ package play.api.cache.redis.connector
 
 import io.lettuce.core._
 import io.lettuce.core.api.StatefulConnection
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection
 import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection
 import io.lettuce.core.resource.{ClientResources, NettyCustomizer}
 import io.netty.channel.{Channel, ChannelDuplexHandler, ChannelHandlerContext}
@@ -37,6 +38,17 @@ private object RedisClientFactory {
 
   }
 
+  implicit class RichRedisClusterConnection[Connection <: StatefulRedisClusterConnection[String, String]](
+    private val thiz: Connection,
+  ) extends AnyVal {
+
+    def withReadFrom(readFrom: ReadFrom): Connection = {
+      thiz.setReadFrom(readFrom)
+      thiz
+    }
+
+  }
+
   implicit class RichRedisURIBuilder[Builder <: RedisURI.Builder](
     private val thiz: Builder,
   ) extends AnyVal {
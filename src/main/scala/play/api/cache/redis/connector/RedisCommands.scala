@@ -1,19 +1,20 @@
 package play.api.cache.redis.connector
 
 import io.lettuce.core.cluster.ClusterTopologyRefreshOptions.RefreshTrigger
-import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands
 import io.lettuce.core.cluster.{ClusterClientOptions, ClusterTopologyRefreshOptions, RedisClusterClient}
-import io.lettuce.core.codec.StringCodec
+import io.lettuce.core.codec.RedisCodec
 import io.lettuce.core.masterreplica.MasterReplica
 import io.lettuce.core.resource.ClientResources
 import io.lettuce.core.{AbstractRedisClient, ClientOptions, ReadFrom, RedisClient, RedisURI}
 import play.api.Logger
+import play.api.cache.redis.ConnectionStatistics
 import play.api.cache.redis.configuration._
 import play.api.inject.ApplicationLifecycle
 
 import java.time.Duration
 import java.util.concurrent.TimeUnit
 import javax.inject._
+import scala.concurrent.duration.{DurationInt, FiniteDuration}
 import scala.concurrent.{ExecutionContext, Future}
 import scala.jdk.CollectionConverters.SeqHasAsJava
 import scala.jdk.FutureConverters.CompletionStageOps
@@ -24,26 +25,40 @@ import scala.jdk.FutureConverters.CompletionStageOps
   */
 private[connector] class RedisCommandsProvider(
   instance: RedisInstance,
+  nearCache: NearCache = NearCache.Disabled,
 )(implicit
   lifecycle: ApplicationLifecycle,
   executionContext: ExecutionContext,
-) extends Provider[RedisClusterAsyncCommands[String, String]] {
+) extends Provider[CommandRouting] {
 
-  lazy val get: RedisClusterAsyncCommands[String, String] = instance match {
-    case cluster: RedisCluster           => new RedisCommandsCluster(cluster).get
-    case standalone: RedisStandalone     => new RedisCommandsStandalone(standalone).get
-    case sentinel: RedisSentinel         => new RedisCommandsSentinel(sentinel).get
-    case masterSlaves: RedisMasterSlaves => new RedisCommandsMasterSlaves(masterSlaves).get
+  private lazy val commands: AbstractRedisCommands = instance match {
+    case cluster: RedisCluster           => new RedisCommandsCluster(cluster, nearCache)
+    case standalone: RedisStandalone     => new RedisCommandsStandalone(standalone, nearCache)
+    case sentinel: RedisSentinel         => new RedisCommandsSentinel(sentinel, nearCache)
+    case masterSlaves: RedisMasterSlaves => new RedisCommandsMasterSlaves(masterSlaves, nearCache)
   }
 
+  lazy val get: CommandRouting = commands.get
+
+  /** commands serving the reads with relaxed consistency */
+  lazy val relaxed: CommandRouting = commands.relaxed
+
+  /** load of the connections of the instance */
+  def connections: ConnectionStatistics = commands.connections
+
+  /** a new connection dedicated to the blocking commands waiting at most the poll */
+  def blocking(poll: FiniteDuration): RedisConnection = commands.blocking(poll)
+
 }
 
 abstract private[connector] class AbstractRedisCommands(
   protected val name: String,
+  nearCache: NearCache,
 )(implicit
   executionContext: ExecutionContext,
   lifecycle: ApplicationLifecycle,
 ) {
+  import AbstractRedisCommands._
 
   /** logger instance */
   protected def log: Logger = Logger("play.api.cache.redis")
@@ -52,32 +67,104 @@ abstract private[connector] class AbstractRedisCommands(
 
   protected def configuration: RedisSettings
 
-  protected lazy val resources: ClientResources = RedisClientFactory.newClientResources(
-    ioThreadPoolSize = configuration.threadPool.ioSize,
-    computationThreadPoolSize = configuration.threadPool.computationSize,
-  )
+  /** codec applied on keys and values */
+  protected def codec: RedisCodec[String, String] = RedisValueEncoding(configuration.valueEncoding).codec
+
+  /** own resources of the instance unless the shared thread pools are enabled */
+  protected lazy val resources: ClientResources =
+    if (configuration.threadPool.shared) SharedClientResources.acquire(configuration.threadPool)
+    else
+      RedisClientFactory.newClientResources(
+        ioThreadPoolSize = configuration.threadPool.ioSize,
+        computationThreadPoolSize = configuration.threadPool.computationSize,
+      )
 
   protected def client: AbstractRedisClient
 
   /** an implementation of the redis commands */
   protected def newConnection: RedisConnection
 
-  private lazy val connection = newConnection
+  /**
+    * a connection routing the reads per the `read-from` setting, none when the
+    * instance has no replicas
+    */
+  protected def newRelaxedConnection: Option[RedisConnection] = None
+
+  private lazy val connection = RedisConnection.striped(configuration.striping)(() => newConnection)
+
+  /** load of the connections, tracked only with more than one connection */
+  lazy val connections: ConnectionStatistics = {
+    // establishes the connection together with its stop hook
+    val _ = get
+    connection match {
+      case statistics: ConnectionStatistics => statistics
+      case _                                => ConnectionStatistics.Untracked
+    }
+  }
 
-  lazy val get: RedisClusterAsyncCommands[String, String] = {
+  lazy val get: CommandRouting = {
     // start the connector
     start()
     // listen on system stop
     lifecycle.addStopHook(() => stop())
+    // keep the near cache coherent, if enabled
+    if (nearCache ne NearCache.Disabled) enableTracking()
     // make the client
-    connection.api
+    connection.routing
+  }
+
+  /** whether the relaxed connection was established, thus it is to be closed */
+  @volatile private var relaxedConnected: Boolean = false
+
+  private lazy val relaxedConnection: Option[RedisConnection] = {
+    relaxedConnected = true
+    newRelaxedConnection
+  }
+
+  /**
+    * commands serving the reads with relaxed consistency, the connection is
+    * established on the first use
+    */
+  lazy val relaxed: CommandRouting = {
+    // the primary connection starts the client and registers the stop hook
+    val primary = get
+    relaxedConnection.fold(primary)(_.routing)
+  }
+
+  /**
+    * a new connection dedicated to the blocking commands, which would stall
+    * the other commands sharing the connection. The caller closes it, the
+    * client closes it on shutdown anyway.
+    *
+    * The command timeout of the connection exceeds the poll, thus the idle
+    * poll returns empty instead of timing out. The redis timeout applies to
+    * all connections of the client, thus it must exceed the poll as well.
+    */
+  def blocking(poll: FiniteDuration): RedisConnection = {
+    configuration.timeout.redis.filter(_ <= poll).foreach { timeout =>
+      throw new IllegalArgumentException(s"The poll $poll of the blocking commands must be shorter than the redis timeout $timeout of $name.")
+    }
+    // the primary connection starts the client and registers the stop hook
+    val _ = get
+    newConnection.withTimeout(poll + configuration.timeout.connection.getOrElse(BlockingMargin))
   }
 
   // $COVERAGE-OFF$
+  /** enables the tracking, the near cache remains suspended when it fails */
+  private def enableTracking(): Unit =
+    connection.enableTracking(nearCache).failed.foreach { ex =>
+      log.warn(s"Near cache of $name is disabled, the client side caching could not be enabled.", ex)
+    }
+
   /** action invoked on the start of the redis client */
   def start(): Unit =
     log.info(s"Starting $name. It will connect to $connectionString")
 
+  /** shuts down own resources, the shared resources are only released */
+  private def releaseResources(): Future[Unit] =
+    if (configuration.threadPool.shared) SharedClientResources.release(configuration.threadPool)
+    else Future.apply(resources.shutdown().get()).map(_ => ())
+
   /** stops the client */
   final def stop(): Future[Unit] =
     for {
@@ -86,10 +173,13 @@ abstract private[connector] class AbstractRedisCommands(
       _ <- connection.close().recover { case ex =>
              log.warn("Error while closing the redis connection", ex)
            }
+      _ <- (if (relaxedConnected) relaxedConnection.fold(Future.unit)(_.close()) else Future.unit).recover { case ex =>
+             log.warn("Error while closing the redis connection of relaxed reads", ex)
+           }
       _ <- client.shutdownAsync().asScala.map(_ => ()).recover { case ex =>
              log.warn("Error while shutting down the redis client", ex)
            }
-      _ <- Future.apply(resources.shutdown().get()).map(_ => ()).recover { case ex =>
+      _ <- releaseResources().recover { case ex =>
              log.warn("Error while shutting down client resources", ex)
            }
       _ = log.info(s"Stopped $name.")
@@ -98,6 +188,13 @@ abstract private[connector] class AbstractRedisCommands(
 
 }
 
+private object AbstractRedisCommands {
+
+  /** the blocking command may exceed its poll by this margin unless the connection timeout is set */
+  private val BlockingMargin: FiniteDuration = 1.second
+
+}
+
 /**
   * Creates a connection to the single instance of redis
   *
@@ -108,11 +205,12 @@ abstract private[connector] class AbstractRedisCommands(
   */
 private[connector] class RedisCommandsStandalone(
   override val configuration: RedisStandalone,
+  nearCache: NearCache = NearCache.Disabled,
 )(implicit
   executionContext: ExecutionContext,
   lifecycle: ApplicationLifecycle,
-) extends AbstractRedisCommands("standalone redis")
-  with Provider[RedisClusterAsyncCommands[String, String]] {
+) extends AbstractRedisCommands("standalone redis", nearCache)
+  with Provider[CommandRouting] {
 
   import RedisClientFactory._
 
@@ -140,7 +238,7 @@ private[connector] class RedisCommandsStandalone(
 
   override protected def newConnection: RedisConnection =
     RedisConnection.fromStandalone(
-      client.connect().withTimeout(configuration.timeout.connection),
+      client.connect(codec).withTimeout(configuration.timeout.connection),
     )
 
 }
@@ -155,11 +253,12 @@ private[connector] class RedisCommandsStandalone(
   */
 private[connector] class RedisCommandsCluster(
   override val configuration: RedisCluster,
+  nearCache: NearCache = NearCache.Disabled,
 )(implicit
   lifecycle: ApplicationLifecycle,
   executionContext: ExecutionContext,
-) extends AbstractRedisCommands("redis cluster")
-  with Provider[RedisClusterAsyncCommands[String, String]] {
+) extends AbstractRedisCommands("redis cluster", nearCache)
+  with Provider[CommandRouting] {
 
   import RedisClientFactory._
 
@@ -192,9 +291,16 @@ private[connector] class RedisCommandsCluster(
           .build(),
       )
 
-  val newConnection: RedisConnection =
+  override protected def newConnection: RedisConnection =
     RedisConnection.fromCluster(
-      client.connect().withTimeout(configuration.timeout.connection),
+      client.connect(codec).withTimeout(configuration.timeout.connection),
+    )
+
+  override protected def newRelaxedConnection: Option[RedisConnection] =
+    Some(
+      RedisConnection.fromCluster(
+        client.connect(codec).withTimeout(configuration.timeout.connection).withReadFrom(RedisReadFrom(configuration.readFrom)),
+      ),
     )
 
 }
@@ -209,11 +315,12 @@ private[connector] class RedisCommandsCluster(
   */
 private[connector] class RedisCommandsSentinel(
   override val configuration: RedisSentinel,
+  nearCache: NearCache = NearCache.Disabled,
 )(implicit
   lifecycle: ApplicationLifecycle,
   executionContext: ExecutionContext,
-) extends AbstractRedisCommands("redis sentinel")
-  with Provider[RedisClusterAsyncCommands[String, String]] {
+) extends AbstractRedisCommands("redis sentinel", nearCache)
+  with Provider[CommandRouting] {
 
   import RedisClientFactory._
 
@@ -241,12 +348,20 @@ private[connector] class RedisCommandsSentinel(
           .build(),
       )
 
-  val newConnection: RedisConnection =
-    RedisConnection.fromStandalone(
-      MasterReplica.connect(client, StringCodec.UTF8, redisUri)
+  override protected def newConnection: RedisConnection =
+    RedisConnection.fromMasterReplica(
+      MasterReplica.connect(client, codec, redisUri)
         .withReadFrom(ReadFrom.MASTER_PREFERRED),
     )
 
+  override protected def newRelaxedConnection: Option[RedisConnection] =
+    Some(
+      RedisConnection.fromMasterReplica(
+        MasterReplica.connect(client, codec, redisUri)
+          .withReadFrom(RedisReadFrom(configuration.readFrom)),
+      ),
+    )
+
 }
 
 /**
@@ -260,11 +375,12 @@ private[connector] class RedisCommandsSentinel(
 //noinspection DuplicatedCode
 private[connector] class RedisCommandsMasterSlaves(
   override val configuration: RedisMasterSlaves,
+  nearCache: NearCache = NearCache.Disabled,
 )(implicit
   lifecycle: ApplicationLifecycle,
   executionContext: ExecutionContext,
-) extends AbstractRedisCommands("redis master-slaves")
-  with Provider[RedisClusterAsyncCommands[String, String]] {
+) extends AbstractRedisCommands("redis master-slaves", nearCache)
+  with Provider[CommandRouting] {
 
   import RedisClientFactory._
 
@@ -292,10 +408,18 @@ private[connector] class RedisCommandsMasterSlaves(
           .build(),
       )
 
-  val newConnection: RedisConnection =
-    RedisConnection.fromStandalone(
-      MasterReplica.connect(client, StringCodec.UTF8, redisUri)
+  override protected def newConnection: RedisConnection =
+    RedisConnection.fromMasterReplica(
+      MasterReplica.connect(client, codec, redisUri)
         .withReadFrom(ReadFrom.MASTER_PREFERRED),
     )
 
+  override protected def newRelaxedConnection: Option[RedisConnection] =
+    Some(
+      RedisConnection.fromMasterReplica(
+        MasterReplica.connect(client, codec, redisUri)
+          .withReadFrom(RedisReadFrom(configuration.readFrom)),
+      ),
+    )
+
 }
@@ -1,17 +1,44 @@
 package play.api.cache.redis.connector
 
 import io.lettuce.core.api.StatefulRedisConnection
+import io.lettuce.core.api.push.{PushListener, PushMessage}
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection
 import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands
+import io.lettuce.core.codec.StringCodec
+import io.lettuce.core.{RedisChannelHandler, RedisConnectionStateListener, TrackingArgs}
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisStriping
 
+import java.net.SocketAddress
+import java.time.{Duration => JavaDuration}
+import java.util.concurrent.atomic.AtomicLongArray
+import scala.concurrent.duration.FiniteDuration
 import scala.concurrent.{ExecutionContext, Future}
+import scala.jdk.CollectionConverters.ListHasAsScala
 import scala.jdk.FutureConverters.CompletionStageOps
 
 sealed private trait RedisConnection extends Any {
 
   def close()(implicit ec: ExecutionContext): Future[Unit]
 
-  def api: RedisClusterAsyncCommands[String, String]
+  /** chooses the connection of each command */
+  def routing: CommandRouting
+
+  /** sets the timeout of the commands sent by the connection */
+  def withTimeout(timeout: FiniteDuration): RedisConnection
+
+  /**
+    * Enables the server-assisted client side caching (CLIENT TRACKING) and
+    * keeps the near cache coherent with redis. The near cache is resumed once
+    * the tracking is enabled. When the connection is lost, invalidation
+    * messages may be lost as well, thus the near cache is suspended until the
+    * tracking is enabled again after reconnect.
+    */
+  def enableTracking(nearCache: NearCache)(implicit ec: ExecutionContext): Future[Unit] =
+    track(new RedisConnection.TrackingGate(nearCache, members = 1), member = 0)
+
+  /** enables the tracking as the given member of the gate */
+  def track(gate: RedisConnection.TrackingGate, member: Int)(implicit ec: ExecutionContext): Future[Unit]
 }
 
 private object RedisConnection {
@@ -24,8 +51,43 @@ private object RedisConnection {
     override def close()(implicit ec: ExecutionContext): Future[Unit] =
       connection.closeAsync().asScala.map(_ => ())
 
-    override def api: RedisClusterAsyncCommands[String, String] =
-      connection.async()
+    override def routing: CommandRouting =
+      CommandRouting.single(connection.async())
+
+    override def withTimeout(timeout: FiniteDuration): RedisConnection = {
+      connection.setTimeout(JavaDuration.ofNanos(timeout.toNanos))
+      this
+    }
+
+    override def track(gate: TrackingGate, member: Int)(implicit ec: ExecutionContext): Future[Unit] = {
+      def enable(): Future[Unit] =
+        connection.async().clientTracking(TrackingArgs.Builder.enabled()).asScala.map(_ => gate.tracked(member))
+
+      connection.addListener(new InvalidationListener(gate.nearCache))
+      connection.addListener(new ReconnectionListener(() => gate.lost(member), () => enable()))
+      enable()
+    }
+
+  }
+
+  final private class MasterReplicaConnection(
+    private val connection: StatefulRedisConnection[String, String],
+  ) extends AnyVal
+    with RedisConnection {
+
+    override def close()(implicit ec: ExecutionContext): Future[Unit] =
+      connection.closeAsync().asScala.map(_ => ())
+
+    override def routing: CommandRouting =
+      CommandRouting.single(connection.async())
+
+    override def withTimeout(timeout: FiniteDuration): RedisConnection = {
+      connection.setTimeout(JavaDuration.ofNanos(timeout.toNanos))
+      this
+    }
+
+    override def track(gate: TrackingGate, member: Int)(implicit ec: ExecutionContext): Future[Unit] =
+      Future.failed(new UnsupportedOperationException("Near cache is not supported with master-replica connections, reads may be served by nodes not tracking the keys."))
 
   }
 
@@ -37,8 +99,145 @@ private object RedisConnection {
     override def close()(implicit ec: ExecutionContext): Future[Unit] =
       connection.closeAsync().asScala.map(_ => ())
 
-    override def api: RedisClusterAsyncCommands[String, String] =
-      connection.async()
+    override def routing: CommandRouting =
+      CommandRouting.single(connection.async())
+
+    override def withTimeout(timeout: FiniteDuration): RedisConnection = {
+      connection.setTimeout(JavaDuration.ofNanos(timeout.toNanos))
+      this
+    }
+
+    override def track(gate: TrackingGate, member: Int)(implicit ec: ExecutionContext): Future[Unit] =
+      Future.failed(new UnsupportedOperationException("Near cache is not supported with redis cluster, the tracking would have to be enabled on each node."))
+
+  }
+
+  /**
+    * Distributes the commands over several connections. Each command is sent
+    * by the connection chosen by its key or by the number of commands in
+    * flight. Reads of whole collections optionally go to a dedicated bulk
+    * connection, thus large replies do not block the other commands.
+    */
+  final private class StripedConnection(
+    stripes: IndexedSeq[RedisConnection],
+    bulkConnection: Option[RedisConnection],
+    hashed: Boolean,
+  ) extends RedisConnection
+    with CommandRouting
+    with ConnectionStatistics {
+
+    private val connections: IndexedSeq[RedisConnection] = stripes ++ bulkConnection
+
+    /** the commands of each connection, the stripes are single connections */
+    private val apis: IndexedSeq[RedisClusterAsyncCommands[String, String]] =
+      connections.map(_.routing).map(single => single.commands(single.keyless))
+
+    /** number of commands in flight on each connection */
+    private val counters = new AtomicLongArray(connections.size)
+
+    override def inFlight: Seq[Long] = connections.indices.map(counters.get)
+
+    override def close()(implicit ec: ExecutionContext): Future[Unit] =
+      Future.traverse(connections)(_.close()).map(_ => ())
+
+    override def routing: CommandRouting = this
+
+    override def withTimeout(timeout: FiniteDuration): RedisConnection = {
+      connections.foreach(_.withTimeout(timeout))
+      this
+    }
+
+    /** the near cache is resumed only once all connections track the keys */
+    override def enableTracking(nearCache: NearCache)(implicit ec: ExecutionContext): Future[Unit] =
+      track(new TrackingGate(nearCache, connections.size), member = 0)
+
+    override def track(gate: TrackingGate, member: Int)(implicit ec: ExecutionContext): Future[Unit] =
+      Future.traverse(connections.indices)(index => connections(index).track(gate, member + index)).map(_ => ())
+
+    override def byKey(key: String): Int =
+      acquire(if (hashed) Math.floorMod(key.hashCode, stripes.size) else leastOutstanding)
+
+    override def keyless: Int =
+      acquire(leastOutstanding)
+
+    override def bulk(key: String): Int =
+      if (bulkConnection.isDefined) acquire(stripes.size) else byKey(key)
+
+    override def commands(connection: Int): RedisClusterAsyncCommands[String, String] =
+      apis(connection)
+
+    override def release(connection: Int): Unit = {
+      val _ = counters.decrementAndGet(connection)
+    }
+
+    private def acquire(connection: Int): Int = {
+      val _ = counters.incrementAndGet(connection)
+      connection
+    }
+
+    private def leastOutstanding: Int =
+      stripes.indices.minBy(counters.get)
+
+  }
+
+  /** invalidates the near cache based on 'invalidate' push messages */
+  final private class InvalidationListener(nearCache: NearCache) extends PushListener {
+
+    override def onPushMessage(message: PushMessage): Unit =
+      if (message.getType === "invalidate") {
+        message.getContent(StringCodec.UTF8.decodeKey(_)).asScala.drop(1).headOption match {
+          // the list of invalidated keys
+          case Some(keys: java.util.List[?]) => keys.asScala.foreach(key => nearCache.invalidate(key.toString))
+          // null is sent when the database is flushed
+          case _                             => nearCache.invalidateAll()
+        }
+      }
+
+  }
+
+  /**
+    * Resumes the near cache only while all member connections have the
+    * tracking enabled. A key read through a connection without the tracking
+    * would never be invalidated, thus the near cache is suspended as soon as
+    * any member loses its connection.
+    *
+    * @param nearCache
+    *   the near cache shared by the members
+    * @param members
+    *   number of the connections
+    */
+  final private[connector] class TrackingGate(val nearCache: NearCache, members: Int) {
+
+    /** members with the tracking enabled, guarded by the gate */
+    private val tracking = new java.util.BitSet(members)
+
+    /** the tracking of the member was enabled */
+    def tracked(member: Int): Unit = synchronized {
+      tracking.set(member)
+      if (tracking.cardinality === members) nearCache.resume()
+    }
+
+    /** the member lost its connection, the tracking is to be enabled again */
+    def lost(member: Int): Unit = synchronized {
+      tracking.clear(member)
+      nearCache.suspend()
+    }
+
+  }
+
+  /**
+    * suspends the near cache when disconnected and enables the tracking again
+    * after reconnect
+    */
+  final private class ReconnectionListener(lost: () => Unit, track: () => Future[Unit]) extends RedisConnectionStateListener {
+
+    override def onRedisDisconnected(handler: RedisChannelHandler[?, ?]): Unit =
+      lost()
+
+    override def onRedisConnected(handler: RedisChannelHandler[?, ?], address: SocketAddress): Unit = {
+      // when the tracking fails, the near cache remains suspended
+      val _ = track()
+    }
 
   }
 
@@ -47,9 +246,35 @@ private object RedisConnection {
   ): RedisConnection =
     new StandaloneConnection(connection)
 
+  def fromMasterReplica(
+    connection: StatefulRedisConnection[String, String],
+  ): RedisConnection =
+    new MasterReplicaConnection(connection)
+
   def fromCluster(
     connection: StatefulRedisClusterConnection[String, String],
   ): RedisConnection =
     new ClusterConnection(connection)
 
+  /**
+    * Creates the connections according to the striping. A single connection is
+    * used directly without any tracking.
+    */
+  def striped(
+    striping: RedisStriping,
+  )(
+    newConnection: () => RedisConnection,
+  ): RedisConnection =
+    if (striping.connections <= 1 && !striping.bulkConnection) newConnection()
+    else
+      new StripedConnection(
+        stripes = IndexedSeq.fill(striping.connections max 1)(newConnection()),
+        bulkConnection = Option.when(striping.bulkConnection)(newConnection()),
+        hashed = striping.strategy match {
+          case "key-hash"          => true
+          case "least-outstanding" => false
+          case other               => throw new IllegalArgumentException(s"Illegal striping strategy '$other'. Valid values are 'key-hash' and 'least-outstanding'.")
+        },
+      )
+
 }
@@ -1,7 +1,11 @@
 package play.api.cache.redis.connector
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
+import play.api.cache.redis.{ReadConsistency, RedisScript, RedisSortedSet}
+
 import scala.concurrent.Future
-import scala.concurrent.duration.Duration
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 
 /**
@@ -34,6 +38,59 @@ private[redis] trait CoreCommands {
     */
   def mGet[T: ClassTag](keys: String*): Future[Seq[Option[T]]]
 
+  /**
+    * Retrieve a value, which type is described by the class tag stored under
+    * another key. Both keys are retrieved by a single MGET, thus it costs
+    * only one round trip. The class tag is resolved by the given function and
+    * then the value is decoded accordingly.
+    *
+    * @param key
+    *   cache storage key
+    * @param classTagKey
+    *   key storing the name of the class tag
+    * @param classTagOf
+    *   resolves the class tag from its name, [[scala.reflect.ClassTag.Null]]
+    *   represents the stored null
+    * @return
+    *   stored record, Some if both the class tag and the value exist, otherwise
+    *   None
+    */
+  def getWithClassTag[T](key: String, classTagKey: String)(classTagOf: String => ClassTag[T]): Future[Option[T]]
+
+  /**
+    * Retrieve a value along with its metadata stored under another key. Both
+    * keys are retrieved by a single MGET, thus it costs only one round trip.
+    *
+    * @param key
+    *   cache storage key
+    * @param metadataKey
+    *   key storing the metadata of the value
+    * @return
+    *   stored value and its metadata, each Some if exists, otherwise None
+    */
+  def getWithMetadata[T: ClassTag](key: String, metadataKey: String): Future[(Option[T], Option[String])]
+
+  /**
+    * Retrieve a value, which type is described by the class tag, along with
+    * its metadata. All three keys are retrieved by a single MGET, thus it
+    * costs only one round trip. It combines [[getWithClassTag]] and
+    * [[getWithMetadata]].
+    *
+    * @param key
+    *   cache storage key
+    * @param classTagKey
+    *   key storing the name of the class tag
+    * @param metadataKey
+    *   key storing the metadata of the value
+    * @param classTagOf
+    *   resolves the class tag from its name, [[scala.reflect.ClassTag.Null]]
+    *   represents the stored null
+    * @return
+    *   stored value and its metadata, the value is Some if both the class tag
+    *   and the value exist, the metadata is Some if exists
+    */
+  def getWithClassTagAndMetadata[T](key: String, classTagKey: String, metadataKey: String)(classTagOf: String => ClassTag[T]): Future[(Option[T], Option[String])]
+
   /**
     * Determines whether value exists in cache.
     *
@@ -45,18 +102,45 @@ private[redis] trait CoreCommands {
   def exists(key: String): Future[Boolean]
 
   /**
-    * Retrieves all keys matching the given pattern. This method invokes KEYS
-    * command
+    * Retrieves all keys matching the given pattern. The keys are iterated by
+    * SCAN command in pages, thus the server is not blocked. In cluster mode,
+    * all master nodes are iterated.
     *
     * '''Warning:''' complexity is O(n) where n are all keys in the database
     *
     * @param pattern
-    *   valid KEYS pattern with wildcards
+    *   valid SCAN pattern with wildcards
     * @return
     *   list of matching keys
     */
   def matching(pattern: String): Future[Seq[String]]
 
+  /**
+    * Streams all keys matching the given pattern. The keys are iterated by SCAN
+    * command in pages as the stream is consumed. When the keyspace changes
+    * during the iteration, a key may be emitted more than once. In cluster
+    * mode, all master nodes are iterated.
+    *
+    * @param pattern
+    *   valid SCAN pattern with wildcards
+    * @return
+    *   source of matching keys
+    */
+  def scanMatching(pattern: String): Source[String, NotUsed]
+
+  /**
+    * Removes all keys matching the given pattern. The keys are iterated by SCAN
+    * command and removed by UNLINK in bounded batches as they are found, thus
+    * neither the whole key list is loaded into the memory nor the server is
+    * blocked.
+    *
+    * @param pattern
+    *   valid SCAN pattern with wildcards
+    * @return
+    *   promise
+    */
+  def removeMatching(pattern: String): Future[Unit]
+
   /**
     * Set a value into the cache. Expiration time in seconds (0 second means
     * eternity).
@@ -74,6 +158,73 @@ private[redis] trait CoreCommands {
     */
   def set(key: String, value: Any, expiration: Duration = Duration.Inf, ifNotExists: Boolean = false): Future[Boolean]
 
+  /**
+    * Stores the value along with the name of its class under another key
+    * atomically in a single round trip. It is the counterpart of
+    * [[getWithClassTag]]. When the keys belong to different cluster slots,
+    * they are stored by two independent commands.
+    *
+    * @param key
+    *   cache storage key
+    * @param classTagKey
+    *   key storing the name of the class tag
+    * @param value
+    *   value to store, null removes the value
+    * @param classTag
+    *   name of the class tag
+    * @param expiration
+    *   record duration, applies to both keys
+    * @return
+    *   promise
+    */
+  def setWithClassTag(key: String, classTagKey: String, value: Any, classTag: String, expiration: Duration): Future[Unit]
+
+  /**
+    * Stores the value along with its metadata under another key atomically
+    * in a single round trip. It is the counterpart of [[getWithMetadata]].
+    * When the keys belong to different cluster slots, they are stored by two
+    * independent commands.
+    *
+    * @param key
+    *   cache storage key
+    * @param metadataKey
+    *   key storing the metadata of the value
+    * @param value
+    *   value to store, null removes the value
+    * @param metadata
+    *   metadata of the value
+    * @param expiration
+    *   record duration, applies to both keys
+    * @return
+    *   promise
+    */
+  def setWithMetadata(key: String, metadataKey: String, value: Any, metadata: String, expiration: Duration): Future[Unit]
+
+  /**
+    * Stores the value along with the name of its class and its metadata
+    * atomically in a single round trip. It is the counterpart of
+    * [[getWithClassTagAndMetadata]]. When the keys belong to different
+    * cluster slots, they are stored by independent commands.
+    *
+    * @param key
+    *   cache storage key
+    * @param classTagKey
+    *   key storing the name of the class tag
+    * @param metadataKey
+    *   key storing the metadata of the value
+    * @param value
+    *   value to store, null removes the value
+    * @param classTag
+    *   name of the class tag
+    * @param metadata
+    *   metadata of the value
+    * @param expiration
+    *   record duration, applies to all keys
+    * @return
+    *   promise
+    */
+  def setWithClassTagAndMetadata(key: String, classTagKey: String, metadataKey: String, value: Any, classTag: String, metadata: String, expiration: Duration): Future[Unit]
+
   /**
     * Set a value into the cache. Expiration time is the eternity.
     *
@@ -172,6 +323,21 @@ private[redis] trait CoreCommands {
     *   number of characters of current value
     */
   def append(key: String, value: String): Future[Long]
+
+  /**
+    * Appends the value and, if the key did not exist before, sets its
+    * expiration. Both happen atomically in a single round trip.
+    *
+    * @param key
+    *   cache storage key
+    * @param value
+    *   value to be appended
+    * @param expiration
+    *   expiration of the newly created key
+    * @return
+    *   number of characters of current value
+    */
+  def appendAndExpire(key: String, value: String, expiration: Duration): Future[Long]
 }
 
 /**
@@ -316,6 +482,40 @@ private[redis] trait HashCommands {
     */
   def hashSet(key: String, field: String, value: Any): Future[Boolean]
 
+  /**
+    * Sets all fields in the hash stored at key to the values. Large batches
+    * are split into chunks of multi-field HSET commands, which are encoded in
+    * parallel and pipelined.
+    *
+    * Time complexity: O(N) where N is the number of fields being set.
+    *
+    * @param key
+    *   cache storage key
+    * @param fieldValues
+    *   fields and values to be set
+    * @return
+    *   number of newly set fields ignoring the updated ones
+    */
+  def hashSetAll(key: String, fieldValues: Seq[(String, Any)]): Future[Long]
+
+  /**
+    * Sets the expiration of the fields in the hash stored at key, the fields
+    * are removed when they expire. It requires Redis 7.4 or newer, older
+    * servers fail with UnsupportedOperationException.
+    *
+    * Time complexity: O(N) where N is the number of fields.
+    *
+    * @param key
+    *   cache storage key
+    * @param expiration
+    *   expiration of the fields
+    * @param fields
+    *   fields to expire
+    * @return
+    *   number of existing fields the expiration was applied to
+    */
+  def hashExpire(key: String, expiration: FiniteDuration, fields: Seq[String]): Future[Long]
+
   /**
     * Returns all values in the hash stored at key.
     *
@@ -327,6 +527,21 @@ private[redis] trait HashCommands {
     *   all values in the hash object
     */
   def hashValues[T: ClassTag](key: String): Future[Set[T]]
+
+  /**
+    * Streams the fields and values of the hash stored at key. The hash is
+    * iterated by HSCAN command in pages as the stream is consumed, thus at
+    * most a single page is held in the memory and the values are decoded one
+    * by one.
+    *
+    * @param key
+    *   cache storage key
+    * @param count
+    *   hint of the number of fields returned by a single HSCAN iteration
+    * @return
+    *   source of the fields and the values
+    */
+  def hashScan[T: ClassTag](key: String, count: Long): Source[(String, T), NotUsed]
 }
 
 /**
@@ -426,6 +641,22 @@ private[redis] trait ListCommands {
     */
   def listSetAt(key: String, position: Long, value: Any): Future[Unit]
 
+  /**
+    * Removes the list element at index. The element is replaced by a marker
+    * and then the marker is removed, both atomically in a single round trip.
+    * An error is returned for out of range indexes.
+    *
+    * Time complexity: O(N) where N is the length of the list.
+    *
+    * @param key
+    *   cache storage key
+    * @param position
+    *   position to be removed
+    * @return
+    *   promise
+    */
+  def listRemoveAt(key: String, position: Long): Future[Unit]
+
   /**
     * Removes and returns the first element of the list stored at key (LPOP).
     *
@@ -440,6 +671,55 @@ private[redis] trait ListCommands {
     */
   def listHeadPop[T: ClassTag](key: String): Future[Option[T]]
 
+  /**
+    * Removes and returns up to `count` elements from the head (LPOP) or from
+    * the tail (RPOP) of the list stored at key by a single command. It
+    * requires Redis 6.2 or newer.
+    *
+    * Time complexity: O(N) where N is the number of returned elements
+    *
+    * @param key
+    *   cache storage key
+    * @param count
+    *   maximal number of the popped elements
+    * @param fromTail
+    *   whether the elements are popped from the tail
+    * @tparam T
+    *   type of the value
+    * @return
+    *   the popped elements in the order of popping, empty if no list exists
+    */
+  def listPop[T: ClassTag](key: String, count: Long, fromTail: Boolean): Future[Seq[T]]
+
+  /**
+    * Streams the elements popped from the head of the list stored at key, the
+    * list is consumed as a work queue. The elements are popped in batches by
+    * BLMPOP (BLPOP when the batch is a single element), which blocks until the
+    * list is non-empty or the poll timeout expires, thus idle consumers do
+    * not poll. Each of the concurrent consumers holds its own connection, as
+    * the blocking commands would stall any other commands sharing it. The
+    * connections are closed when the stream completes.
+    *
+    * The elements are popped only on the demand. Still, the elements of the
+    * batches in flight are lost when the stream is cancelled.
+    *
+    * @param key
+    *   cache storage key
+    * @param batchSize
+    *   maximal number of elements popped by a single command
+    * @param concurrency
+    *   number of consumers, i.e., the blocking commands in flight
+    * @param poll
+    *   how long a single command blocks on the empty list. The dedicated
+    *   connections wait for the reply longer than the poll, yet the poll
+    *   must be shorter than the `redis-timeout`, if set
+    * @tparam T
+    *   type of the value
+    * @return
+    *   the infinite source of the popped elements
+    */
+  def listConsume[T: ClassTag](key: String, batchSize: Int, concurrency: Int, poll: FiniteDuration): Source[T, NotUsed]
+
   /**
     * Returns the specified elements of the list stored at key (LRANGE). The
     * offsets start and stop are zero-based indexes, with 0 being the first
@@ -528,6 +808,9 @@ private[redis] trait SetCommands {
     *
     * An error is returned when the value stored at key is not a set.
     *
+    * Large batches are split into chunks of SADD commands, which are encoded in
+    * parallel and pipelined.
+    *
     * @note
     *   Time complexity: O(1) for each element added, so O(N) to add N elements
     *   when the command is called with multiple arguments.
@@ -569,6 +852,22 @@ private[redis] trait SetCommands {
     */
   def setMembers[T: ClassTag](key: String): Future[Set[T]]
 
+  /**
+    * Streams the members of the set stored at key. The set is iterated by
+    * SSCAN command in pages as the stream is consumed, thus at most a single
+    * page is held in the memory and the members are decoded one by one.
+    *
+    * @param key
+    *   cache storage key
+    * @param count
+    *   hint of the number of members returned by a single SSCAN iteration
+    * @tparam T
+    *   expected type of the elements
+    * @return
+    *   source of the members
+    */
+  def setScan[T: ClassTag](key: String, count: Long): Source[T, NotUsed]
+
   /**
     * Returns if member is a member of the set stored at key.
     *
@@ -621,7 +920,9 @@ private[redis] trait SortedSetCommands {
     *
     * If key does not exist, a new sorted set with the specified members as sole
     * members is created, like if the sorted set was empty. If the key exists
-    * but does not hold a sorted set, an error is returned.
+    * but does not hold a sorted set, an error is returned. Large batches are
+    * split into chunks of ZADD commands, which are encoded in parallel and
+    * pipelined.
     *
     * @note
     *   Time complexity: O(log(N)) for each item added, where N is the number of
@@ -721,6 +1022,169 @@ private[redis] trait SortedSetCommands {
     *   list of elements in the specified range
     */
   def sortedSetReverseRange[T: ClassTag](key: String, start: Long, stop: Long): Future[Seq[T]]
+
+  /**
+    * Returns the specified range of members in the sorted set stored at key
+    * along with their scores.
+    *
+    * @param key
+    *   cache storage key
+    * @param start
+    *   the start index of the range
+    * @param stop
+    *   the stop index of the range
+    * @param isReverse
+    *   whether the members are ordered from the highest to the lowest score
+    * @return
+    *   scores and members in the specified range
+    */
+  def sortedSetRangeWithScores[T: ClassTag](key: String, start: Long, stop: Long, isReverse: Boolean): Future[Seq[(Double, T)]]
+
+  /**
+    * Returns the members of the sorted set stored at key with the score
+    * within the range. Infinite scores are treated as open bounds.
+    *
+    * @param key
+    *   cache storage key
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @param limit
+    *   offset and count of the returned members, all by default
+    * @param isReverse
+    *   whether the members are ordered from the highest to the lowest score
+    * @return
+    *   members in the specified range
+    */
+  def sortedSetRangeByScore[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[T]]
+
+  /**
+    * Returns the members of the sorted set stored at key with the score
+    * within the range along with their scores.
+    *
+    * @param key
+    *   cache storage key
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @param limit
+    *   offset and count of the returned members, all by default
+    * @param isReverse
+    *   whether the members are ordered from the highest to the lowest score
+    * @return
+    *   scores and members in the specified range
+    */
+  def sortedSetRangeByScoreWithScores[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[(Double, T)]]
+
+  /**
+    * Returns the members of the sorted set stored at key between the bounds
+    * in the lexicographical order of the encoded members. The bounds are
+    * encoded the same way as the members.
+    *
+    * @param key
+    *   cache storage key
+    * @param min
+    *   the lower bound of the members
+    * @param max
+    *   the upper bound of the members
+    * @param limit
+    *   offset and count of the returned members, all by default
+    * @param isReverse
+    *   whether the members are in the descending lexicographical order
+    * @return
+    *   members in the specified range
+    */
+  def sortedSetRangeByLex[T: ClassTag](key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[T]]
+
+  /**
+    * Returns the number of members of the sorted set stored at key with the
+    * score within the range.
+    *
+    * @param key
+    *   cache storage key
+    * @param min
+    *   the lower bound of the scores
+    * @param max
+    *   the upper bound of the scores
+    * @return
+    *   the number of members in the range
+    */
+  def sortedSetCount(key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double]): Future[Long]
+
+  /**
+    * Returns the number of members of the sorted set stored at key between
+    * the bounds in the lexicographical order.
+    *
+    * @param key
+    *   cache storage key
+    * @param min
+    *   the lower bound of the members
+    * @param max
+    *   the upper bound of the members
+    * @return
+    *   the number of members in the range
+    */
+  def sortedSetLexCount(key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any]): Future[Long]
+
+  /**
+    * Streams the members of the sorted set stored at key along with their
+    * scores. The set is iterated by ZSCAN command in pages as the stream is
+    * consumed, thus at most a single page is held in the memory and the
+    * members are decoded one by one. The members are not ordered by score.
+    *
+    * @param key
+    *   cache storage key
+    * @param count
+    *   hint of the number of members returned by a single ZSCAN iteration
+    * @tparam T
+    *   expected type of the elements
+    * @return
+    *   source of the scores and the members
+    */
+  def sortedSetScan[T: ClassTag](key: String, count: Long): Source[(Double, T), NotUsed]
+}
+
+/**
+  * Internal non-blocking Redis API implementing REDIS protocol
+  *
+  * Subset of REDIS commands, Lua scripting.
+  *
+  * @see
+  *   https://redis.io/commands/?group=scripting
+  */
+private[redis] trait ScriptCommands {
+
+  /**
+    * Loads the script into the script cache of the server (SCRIPT LOAD). In
+    * cluster mode, it is loaded on all nodes.
+    *
+    * @param script
+    *   script to be loaded
+    * @return
+    *   promise
+    */
+  def scriptLoad(script: RedisScript): Future[Unit]
+
+  /**
+    * Evaluates the script by its digest (EVALSHA). When the server does not
+    * know the script yet, it is evaluated with its source (EVAL), which also
+    * caches it.
+    *
+    * @param script
+    *   script to be evaluated
+    * @param keys
+    *   keys accessed by the script, all must belong to the same slot in
+    *   cluster mode
+    * @param args
+    *   additional arguments
+    * @tparam T
+    *   type of the reply
+    * @return
+    *   the reply of the script
+    */
+  def eval[T](script: RedisScript, keys: Seq[String], args: Seq[String])(implicit output: RedisScript.Output[T]): Future[T]
 }
 
 /**
@@ -729,4 +1193,16 @@ private[redis] trait SortedSetCommands {
   * @see
   *   https://redis.io/commands
   */
-trait RedisConnector extends AnyRef with CoreCommands with ListCommands with SetCommands with HashCommands with SortedSetCommands
+trait RedisConnector extends AnyRef with CoreCommands with ListCommands with SetCommands with HashCommands with SortedSetCommands with ScriptCommands {
+
+  /**
+    * Connector serving the reads with the given consistency. The writes are
+    * always served by the master.
+    *
+    * @param consistency
+    *   consistency of the reads
+    * @return
+    *   connector with the reads routed accordingly
+    */
+  def withReadConsistency(consistency: ReadConsistency): RedisConnector
+}
@@ -1,17 +1,20 @@
 package play.api.cache.redis.connector
 
-import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands
-import io.lettuce.core.{KeyValue, RedisFuture, ScoredValue, SetArgs}
+import io.lettuce.core.{KeyScanCursor, KeyValue, LMPopArgs, Limit, MapScanCursor, Range, ScanArgs, ScanCursor, ScoredValue, ScoredValueScanCursor, SetArgs, ValueScanCursor}
+import org.apache.pekko.{Done, NotUsed}
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.Logger
 import play.api.cache.redis._
+import play.api.cache.redis.connector.CommandRouting.{Routed, RoutedCommands}
 
 import java.util.concurrent.TimeUnit
-import scala.concurrent.duration.Duration
+import scala.collection.immutable.ArraySeq
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.concurrent.{ExecutionContext, Future}
-import scala.jdk.CollectionConverters.{ListHasAsScala, MapHasAsJava, MapHasAsScala, SetHasAsScala}
-import scala.jdk.FutureConverters.CompletionStageOps
+import scala.jdk.CollectionConverters.{ListHasAsScala, MapHasAsScala, SetHasAsScala}
 import scala.jdk.OptionConverters._
 import scala.reflect.ClassTag
+import scala.util.{Failure, Success, Try}
 
 /**
   * The connector directly connects with the REDIS instance, implements protocol
@@ -22,11 +25,38 @@ import scala.reflect.ClassTag
   * @param serializer
   *   encodes/decodes objects into/from a string
   * @param redis
-  *   implementation of the commands
+  *   chooses the connection of each command
+  * @param nearCache
+  *   in-process cache of decoded values, disabled by default
+  * @param batcher
+  *   coalesces concurrent GET commands into MGET, disabled by default
+  * @param slots
+  *   splits multi-key commands by the cluster hash slots, a single command by
+  *   default
+  * @param metrics
+  *   receives the latencies, hits, misses, and payload sizes, disabled by
+  *   default
+  * @param routes
+  *   connectors by the consistency of the reads, this connector serves all
+  *   reads by default
+  * @param blockingConnection
+  *   opens a new connection dedicated to the blocking commands waiting at
+  *   most the given poll, the blocking commands share the connection of the
+  *   other commands by default
+  * @param hedging
+  *   hedges the slow GET and MGET commands by another node, disabled by
+  *   default
   */
 private[connector] class RedisConnectorImpl(
   serializer: PekkoSerializer,
-  redis: RedisClusterAsyncCommands[String, String],
+  redis: CommandRouting,
+  nearCache: NearCache = NearCache.Disabled,
+  batcher: Option[GetBatcher] = None,
+  slots: KeySlots = KeySlots.Single,
+  metrics: RedisMetrics = RedisMetrics.Disabled,
+  routes: Option[ReadConsistency => RedisConnector] = None,
+  blockingConnection: Option[FiniteDuration => RedisConnection] = None,
+  hedging: Option[ReadHedging[CommandRouting]] = None,
 )(implicit
   runtime: RedisRuntime,
 ) extends RedisConnector {
@@ -38,48 +68,230 @@ private[connector] class RedisConnectorImpl(
   /** logger instance */
   protected val log: Logger = Logger("play.api.cache.redis")
 
+  /** measures the executed commands */
+  implicit private val commandMetrics: RedisMetrics = metrics
+
   override def get[T: ClassTag](key: String): Future[Option[T]] =
-    redis.get(key).toScala[Option[String]] executing "GET" withKey key expects {
-      case Some(response: String) =>
-        log.trace(s"Hit on key '$key'.")
-        Some(decode[T](key, response))
-      case None                   =>
+    nearCache.get[T](key) match {
+      case hit @ Some(_) =>
+        log.trace(s"Near cache hit on key '$key'.")
+        metrics.recordHits(1)
+        Future.successful(hit)
+      case None          =>
+        val version = nearCache.version(key)
+        getValue(key) executing "GET" withKey key expects {
+          case Some(response: String) =>
+            log.trace(s"Hit on key '$key'.")
+            metrics.recordHits(1)
+            Some(decodeAndKeep[T](key, response, version))
+          case None                   =>
+            log.debug(s"Miss on key '$key'.")
+            metrics.recordMisses(1)
+            None
+        }
+    }
+
+  /** requests the encoded value either directly or through the batcher */
+  private def getValue(key: String): Future[Option[String]] =
+    batcher match {
+      case Some(batcher) => batcher.get(key)
+      case None          => hedged(_.on(key)(_.get(key)).toScala[Option[String]])
+    }
+
+  /** sends the read and hedges it when it is slow, if enabled */
+  private def hedged[T](read: CommandRouting => Future[T]): Future[T] =
+    hedging match {
+      case Some(hedging) => hedging(read(redis))(read)
+      case None          => read(redis)
+    }
+
+  override def mGet[T: ClassTag](keys: String*): Future[Seq[Option[T]]] = {
+    val local = keys.map(nearCache.get[T])
+    // request only keys missing in the near cache
+    val missing = keys.zip(local).collect { case (key, None) => key -> nearCache.version(key) }
+    metrics.recordHits(keys.size - missing.size)
+    if (missing.isEmpty) Future.successful(local)
+    else
+      bySlot("MGET", missing)(_._1)(group => mGetEncoded(group.map(_._1))).map { remote =>
+        val found = remote.count(_.isDefined)
+        metrics.recordHits(found)
+        metrics.recordMisses(remote.size - found)
+        val fetched = missing.zip(remote).map {
+          case ((key, version), Some(response)) =>
+            log.trace(s"Hit on key '$key'.")
+            Some(decodeAndKeep[T](key, response, version))
+          case ((key, _), None)                 =>
+            log.debug(s"Miss on key '$key'.")
+            None
+        }.iterator
+        // merge the near cache hits with the fetched values in the original order
+        local.map(_ orElse fetched.next())
+      }
+  }
+
+  /** requests the encoded values of the keys within a single slot */
+  private def mGetEncoded(keys: Seq[String]): Future[Seq[Option[String]]] =
+    hedged(_.onFirst(keys)(_.mget(keys: _*)).toScala[Seq[(String, Option[String])]]) executing "MGET" withKeys keys expects { case remote =>
+      remote.map(_._2)
+    }
+
+  /**
+    * Executes the command separately for each hash slot, the commands are
+    * dispatched in parallel. Each command is atomic, however, the whole
+    * operation is atomic only when all keys belong to a single slot.
+    *
+    * @return
+    *   the results of the commands by the slots
+    */
+  private def perSlot[A, B](command: String, items: Seq[A])(key: A => String)(f: Seq[A] => Future[B]): Future[Seq[(Int, B)]] = {
+    val groups = slots.group(items)(key)
+    if (groups.sizeIs > 1) log.debug(s"$command on ${items.size} keys is split into hash slots ${groups.map(_._1).mkString(",")}, it is atomic only within each slot.")
+    groups match {
+      // the common case of a single slot needs no traversal
+      case Seq((slot, group)) => f(group).map(result => Seq(slot -> result))
+      case _                  => Future.traverse(groups) { case (slot, group) => f(group).map(slot -> _) }
+    }
+  }
+
+  /**
+    * Executes the command separately for each hash slot and reassembles the
+    * results in the original order of the items.
+    */
+  private def bySlot[A, B](command: String, items: Seq[A])(key: A => String)(f: Seq[A] => Future[Seq[B]]): Future[Seq[B]] =
+    perSlot(command, items.zipWithIndex)(item => key(item._1)) { group =>
+      f(group.map(_._1)).map(group.map(_._2).zip(_))
+    }.map(_.flatMap(_._2).sortBy(_._1).map(_._2))
+
+  /** decodes the object and keeps it in the near cache */
+  private def decodeAndKeep[T: ClassTag](key: String, encoded: String, version: Long): T = {
+    val value = decode[T](key, encoded)
+    nearCache.put[T](key, value, encoded.length.toLong, version)
+    value
+  }
+
+  override def getWithClassTag[T](key: String, classTagKey: String)(classTagOf: String => ClassTag[T]): Future[Option[T]] =
+    redis.on(classTagKey)(_.mget(classTagKey, key)).toScala[Seq[(String, Option[String])]] executing "MGET" withKeys Seq(classTagKey, key) expects {
+      case Seq((_, tag), (_, value)) => decodeWithClassTag[T](key, classTagKey, tag, value)(classTagOf)
+    }
+
+  override def getWithClassTagAndMetadata[T](key: String, classTagKey: String, metadataKey: String)(classTagOf: String => ClassTag[T]): Future[(Option[T], Option[String])] =
+    redis.on(classTagKey)(_.mget(classTagKey, key, metadataKey)).toScala[Seq[(String, Option[String])]] executing "MGET" withKeys Seq(classTagKey, key, metadataKey) expects {
+      case Seq((_, tag), (_, value), (_, metadata)) =>
+        decodeWithClassTag[T](key, classTagKey, tag, value)(classTagOf) match {
+          case None  => None -> None
+          case hit  => hit -> metadata.map(decode[String](metadataKey, _))
+        }
+    }
+
+  /** decodes the value by the class tag stored along with it */
+  private def decodeWithClassTag[T](key: String, classTagKey: String, tag: Option[String], value: Option[String])(classTagOf: String => ClassTag[T]): Option[T] =
+    tag match {
+      case Some(tag: String) =>
+        classTagOf(decode[String](classTagKey, tag)) match {
+          case ClassTag.Null =>
+            log.trace(s"Hit on key '$key', the value is null.")
+            Some(null.asInstanceOf[T])
+          case classTag      =>
+            value match {
+              case Some(response: String) =>
+                log.trace(s"Hit on key '$key'.")
+                Some(decode[T](key, response)(classTag))
+              case None                   =>
+                log.debug(s"Miss on key '$key', the class tag is present but the value is not.")
+                None
+            }
+        }
+      case None              =>
         log.debug(s"Miss on key '$key'.")
         None
     }
 
-  override def mGet[T: ClassTag](keys: String*): Future[Seq[Option[T]]] =
-    redis.mget(keys: _*).toScala[Seq[(String, Option[String])]] executing "MGET" withKeys keys expects {
-      _.map {
-        case (key, Some(response: String)) =>
-          log.trace(s"Hit on key '$key'.")
-          Some(decode[T](key, response))
-        case (key, None)                   =>
-          log.debug(s"Miss on key '$key'.")
-          None
-      }
+  override def getWithMetadata[T: ClassTag](key: String, metadataKey: String): Future[(Option[T], Option[String])] =
+    redis.on(key)(_.mget(key, metadataKey)).toScala[Seq[(String, Option[String])]] executing "MGET" withKeys Seq(key, metadataKey) expects {
+      case Seq((_, Some(value: String)), (_, metadata)) =>
+        log.trace(s"Hit on key '$key'.")
+        Some(decode[T](key, value)) -> metadata.map(decode[String](metadataKey, _))
+      case _                                            =>
+        log.debug(s"Miss on key '$key'.")
+        None -> None
     }
 
   /** decodes the object, reports an exception if fails */
-  private def decode[T: ClassTag](key: String, encoded: String): T =
+  private def decode[T: ClassTag](key: String, encoded: String): T = {
+    if (metrics.enabled) metrics.recordPayload("read", encoded.length.toLong)
     serializer
       .decode[T](encoded)
       .recover { case ex =>
         serializationFailed(key, "Deserialization failed", ex)
       }
       .get
+  }
 
   override def set(key: String, value: Any, expiration: Duration, ifNotExists: Boolean): Future[Boolean] =
     // no value to set
     if (Option(value).isEmpty) remove(key).map(_ => true)
     // set the value
-    else encode(key, value) flatMap (doSet(key, _, expiration, ifNotExists))
+    else {
+      nearCache.invalidate(key)
+      encode(key, value) flatMap (doSet(key, _, expiration, ifNotExists))
+    }
+
+  /**
+    * serializer of appended strings, the compression would make the value
+    * unreadable once something is appended
+    */
+  private val appendableSerializer: PekkoSerializer = CompressingSerializer.uncompressed(serializer)
+
+  /**
+    * converts the appended string into the value creating the key, so the
+    * created value is escaped the same way as the set values
+    */
+  private val creatingValue: String => String = CompressingSerializer.creating(serializer)
 
   /** encodes the object, reports an exception if fails */
-  private def encode(key: String, value: Any): Future[String] = Future.fromTry {
-    serializer.encode(value).recover { case ex =>
-      serializationFailed(key, "Serialization failed", ex)
+  private def encode(key: String, value: Any, encoder: PekkoSerializer = serializer): Future[String] =
+    Future.fromTry(Try(encodeNow(key, value, encoder)))
+
+  /** encodes the object synchronously, throws an exception if fails */
+  private def encodeNow(key: String, value: Any, encoder: PekkoSerializer = serializer): String =
+    encoder.encode(value) match {
+      case Success(encoded) =>
+        if (metrics.enabled) metrics.recordPayload("write", encoded.length.toLong)
+        encoded
+      case Failure(ex)      =>
+        serializationFailed(key, "Serialization failed", ex)
     }
+
+  /**
+    * encodes all items synchronously into a single array, the first failure
+    * fails the whole batch. It avoids a future per item.
+    */
+  private def encodeAll[A, B: ClassTag](items: Seq[A])(encodeItem: A => B): Future[Seq[B]] =
+    Future.fromTry(Try {
+      val encoded = new Array[B](items.size)
+      var index = 0
+      items.foreach { item =>
+        encoded(index) = encodeItem(item)
+        index += 1
+      }
+      ArraySeq.unsafeWrapArray(encoded)
+    })
+
+  /**
+    * sends the items by bulk commands in chunks of a bounded size. The chunks
+    * of a large batch are encoded in parallel and each chunk is sent as soon as
+    * it is encoded, thus the commands are pipelined. It sums the results.
+    */
+  private def inChunks[A, B: ClassTag](items: Seq[A])(encodeItem: A => B)(send: Seq[B] => Future[Long]): Future[Long] =
+    if (items.isEmpty) Future.successful(0L)
+    else if (items.sizeIs <= BulkChunkSize) encodeAll(items)(encodeItem).flatMap(send)
+    else Future.traverse(items.grouped(BulkChunkSize).toSeq)(chunk => Future.delegate(encodeAll(chunk)(encodeItem)).flatMap(send)).map(_.sum)
+
+  /** copies the pairs into a Java map without an intermediate Scala map */
+  private def javaMapOf(keyValues: Seq[(String, String)]): java.util.Map[String, String] = {
+    val map = new java.util.LinkedHashMap[String, String](keyValues.size * 2)
+    keyValues.foreach(tuple => map.put(tuple.key, tuple.value))
+    map
   }
 
   /**
@@ -87,13 +299,16 @@ private[connector] class RedisConnectorImpl(
     * the storage
     */
   private def doSet(key: String, value: String, expiration: Duration, ifNotExists: Boolean): Future[Boolean] =
-    redis.set(
-      key,
-      value,
-      new SetArgs()
-        .mapWhen(expiration.isFinite, _.px(expiration.toMillis))
-        .mapWhen(ifNotExists, _.nx()),
-    )
+    redis
+      .on(key)(
+        _.set(
+          key,
+          value,
+          new SetArgs()
+            .mapWhen(expiration.isFinite, _.px(expiration.toMillis))
+            .mapWhen(ifNotExists, _.nx()),
+        ),
+      )
       .toScala[Option[String]]
       .map(_ contains "OK")
       .executing("SET")
@@ -105,6 +320,34 @@ private[connector] class RedisConnectorImpl(
         case false                       => log.debug(s"Set on key '$key' ignored. Condition was not met.")
       }
 
+  override def setWithClassTag(key: String, classTagKey: String, value: Any, classTag: String, expiration: Duration): Future[Unit] =
+    setAlong(key, value, Seq(classTagKey -> classTag), expiration).map { _ =>
+      log.debug(s"Set on key '$key' with its class tag '$classTag'${s" for ${expiration.toMillis} milliseconds" when expiration.isFinite}.")
+    }
+
+  override def setWithMetadata(key: String, metadataKey: String, value: Any, metadata: String, expiration: Duration): Future[Unit] =
+    setAlong(key, value, Seq(metadataKey -> metadata), expiration).map { _ =>
+      log.debug(s"Set on key '$key' with its metadata${s" for ${expiration.toMillis} milliseconds" when expiration.isFinite}.")
+    }
+
+  override def setWithClassTagAndMetadata(key: String, classTagKey: String, metadataKey: String, value: Any, classTag: String, metadata: String, expiration: Duration): Future[Unit] =
+    setAlong(key, value, Seq(classTagKey -> classTag, metadataKey -> metadata), expiration).map { _ =>
+      log.debug(s"Set on key '$key' with its class tag '$classTag' and metadata${s" for ${expiration.toMillis} milliseconds" when expiration.isFinite}.")
+    }
+
+  /** stores the value and the strings describing it under other keys, atomically unless they are split into hash slots */
+  private def setAlong(key: String, value: Any, described: Seq[(String, String)], expiration: Duration): Future[Unit] =
+    if (slots.group(key +: described.map(_._1))(identity).sizeIs > 1) {
+      // the script cannot access keys in different slots
+      log.debug(s"Set on key '$key' along with '${described.map(_._1).mkString("', '")}' is split into hash slots, it is not atomic.")
+      Future.sequence(described.map { case (otherKey, other) => set(otherKey, other, expiration) } :+ set(key, value, expiration)).map(_ => ())
+    } else {
+      val arguments = Future.fromTry(Try {
+        millisOf(expiration) +: (described.map { case (otherKey, other) => encodeNow(otherKey, other) } ++ Option(value).map(encodeNow(key, _)))
+      })
+      arguments.flatMap(eval[Done](RedisScripts.SetAlong, key +: described.map(_._1), _)).map(_ => ())
+    }
+
   override def mSet(keyValues: (String, Any)*): Future[Unit] = mSetUsing(mSetEternally, (), keyValues: _*)
 
   override def mSetIfNotExist(keyValues: (String, Any)*): Future[Boolean] = mSetUsing(mSetEternallyIfNotExist, true, keyValues: _*)
@@ -115,35 +358,48 @@ private[connector] class RedisConnectorImpl(
     */
   private def mSetUsing[T](mSet: Seq[(String, String)] => Future[T], default: T, keyValues: (String, Any)*): Future[T] = {
     val (toBeRemoved, toBeSet) = keyValues.partition(_.isNull)
+    // invalidate the near cache, removed keys are invalidated by the removal
+    toBeSet.foreach(tuple => nearCache.invalidate(tuple.key))
     // remove all keys to be removed
     val toBeRemovedFuture = if (toBeRemoved.isEmpty) Future.successful(()) else remove(toBeRemoved.map(_.key): _*)
     // set all keys to be set
-    val toBeSetFuture = if (toBeSet.isEmpty) Future.successful(default) else Future sequence toBeSet.map(tuple => encode(tuple.key, tuple.value).map(tuple.key -> _)) flatMap mSet
+    val toBeSetFuture = if (toBeSet.isEmpty) Future.successful(default) else encodeAll(toBeSet)(tuple => tuple.key -> encodeNow(tuple.key, tuple.value)) flatMap mSet
     // combine futures ignoring the result of removal
     toBeRemovedFuture.flatMap(_ => toBeSetFuture)
   }
 
   /** eternally stores already encoded values into the storage */
   private def mSetEternally(keyValues: (String, String)*): Future[Unit] =
-    redis.mset(keyValues.toMap.asJava).toScala[String] executing "MSET" withKeys keyValues.map(_._1) asCommand keyValues.map(_.asString).mkString(" ") logging { case _ =>
-      log.debug(s"Set on keys ${keyValues.map(_.key)} for infinite seconds.")
-    }
+    perSlot("MSET", keyValues)(_.key) { keyValues =>
+      redis.on(keyValues.head.key)(_.mset(javaMapOf(keyValues))).toScala[String] executing "MSET" withKeys keyValues.map(_._1) asCommand keyValues.map(_.asString).mkString(" ") logging { case _ =>
+        log.debug(s"Set on keys ${keyValues.map(_.key)} for infinite seconds.")
+      }
+    }.map(_ => ())
 
-  /** eternally stores already encoded values into the storage */
+  /**
+    * eternally stores already encoded values into the storage, the values are
+    * stored only if none of the keys within the same slot exists
+    */
   private def mSetEternallyIfNotExist(keyValues: (String, String)*): Future[Boolean] =
-    redis.msetnx(keyValues.toMap.asJava).toScala[Boolean] executing "MSETNX" withKeys keyValues.map(_._1) asCommand keyValues.map(_.asString).mkString(" ") logging {
-      case true  => log.debug(s"Set if not exists on keys ${keyValues.map(_.key) mkString " "} succeeded.")
-      case false => log.debug(s"Set if not exists on keys ${keyValues.map(_.key) mkString " "} ignored. Some value already exists.")
+    perSlot("MSETNX", keyValues)(_.key) { keyValues =>
+      redis.on(keyValues.head.key)(_.msetnx(javaMapOf(keyValues))).toScala[Boolean] executing "MSETNX" withKeys keyValues.map(_._1) asCommand keyValues.map(_.asString).mkString(" ") logging {
+        case true  => log.debug(s"Set if not exists on keys ${keyValues.map(_.key) mkString " "} succeeded.")
+        case false => log.debug(s"Set if not exists on keys ${keyValues.map(_.key) mkString " "} ignored. Some value already exists.")
+      }
+    }.map { results =>
+      val (set, ignored) = results.partition(_._2)
+      if (set.nonEmpty && ignored.nonEmpty) log.warn(s"Set if not exists on keys ${keyValues.map(_.key) mkString " "} was not atomic. Values in slots ${set.map(_._1).mkString(",")} were set, values in slots ${ignored.map(_._1).mkString(",")} were not.")
+      ignored.isEmpty
     }
 
   override def expire(key: String, expiration: Duration): Future[Unit] =
-    redis.expire(key, expiration.toSeconds).toScala[Boolean] executing "EXPIRE" withKey key andParameter s"$expiration" logging {
+    redis.on(key)(_.expire(key, expiration.toSeconds)).toScala[Boolean] executing "EXPIRE" withKey key andParameter s"$expiration" logging {
       case true  => log.debug(s"Expiration set on key '$key'.")                            // expiration was set
       case false => log.debug(s"Expiration set on key '$key' failed. Key does not exist.") // Nothing was removed
     }
 
   override def expiresIn(key: String): Future[Option[Duration]] =
-    redis.pttl(key).toScala[Long] executing "PTTL" withKey key expects {
+    redis.on(key)(_.pttl(key)).toScala[Long] executing "PTTL" withKey key expects {
       case -2         =>
         log.debug(s"PTTL on key '$key' returns -2, it does not exist.")
         None
@@ -155,23 +411,78 @@ private[connector] class RedisConnectorImpl(
         Some(Duration(expiration, TimeUnit.MILLISECONDS))
     }
 
+  /** a single SCAN iteration returning the next cursor and the found keys */
+  private def scan(pattern: String, cursor: ScanCursor): Future[(ScanCursor, Seq[String])] =
+    redis.onAny(_.scan(cursor, ScanArgs.Builder.matches(pattern).limit(ScanCount))).toScala[KeyScanCursor[String]] executing "SCAN" withKey pattern andParameter cursor.getCursor expects { case result =>
+      log.trace(s"SCAN on '$pattern' found ${result.getKeys.size} keys.")
+      result -> result.getKeys.asScala.toSeq
+    }
+
+  /** folds over all pages of the SCAN iteration, the pages are processed sequentially */
+  private def scanning[A](pattern: String, zero: A)(f: (A, Seq[String]) => Future[A]): Future[A] = {
+    def loop(cursor: ScanCursor, acc: A): Future[A] =
+      scan(pattern, cursor).flatMap { case (next, keys) =>
+        f(acc, keys).flatMap(acc => if (next.isFinished) Future.successful(acc) else loop(next, acc))
+      }
+    loop(ScanCursor.INITIAL, zero)
+  }
+
   override def matching(pattern: String): Future[Seq[String]] =
-    redis.keys(pattern).toScala[Seq[String]] executing "KEYS" withKey pattern logging { case keys =>
-      log.debug(s"KEYS on '$pattern' responded '${keys.mkString(", ")}'.")
+    scanning(pattern, Vector.empty[String])((found, keys) => Future.successful(found ++ keys)).map { found =>
+      // SCAN may return a key multiple times
+      val keys = found.distinct
+      log.debug(s"SCAN on '$pattern' responded '${keys.mkString(", ")}'.")
+      keys
     }
 
+  override def scanMatching(pattern: String): Source[String, NotUsed] =
+    scanPages(scan(pattern, _))
+
+  /**
+    * streams the items of a SCAN-family iteration, the next page is requested
+    * only when the items of the previous page are consumed
+    */
+  private def scanPages[A](page: ScanCursor => Future[(ScanCursor, Seq[A])]): Source[A, NotUsed] =
+    Source
+      .unfoldAsync[Option[ScanCursor], Seq[A]](Some(ScanCursor.INITIAL)) {
+        case Some(cursor) => page(cursor).map { case (next, items) => Some(Some(next).filterNot(_.isFinished) -> items) }
+        case None         => Future.successful(None)
+      }
+      .mapConcat(identity)
+
+  override def removeMatching(pattern: String): Future[Unit] =
+    scanning(pattern, 0L) { (removed, keys) =>
+      keys.grouped(UnlinkBatchSize).foldLeft(Future.successful(removed)) { (previous, batch) =>
+        previous.flatMap(removed => unlink(batch).map(removed + _))
+      }
+    }.map { removed =>
+      log.debug(s"Removed $removed keys matching '$pattern'.")
+    }
+
+  /** removes the keys without blocking the server, the memory is reclaimed in background */
+  private def unlink(keys: Seq[String]): Future[Long] = {
+    keys.foreach(nearCache.invalidate)
+    perSlot("UNLINK", keys)(identity) { keys =>
+      redis.on(keys.head)(_.unlink(keys: _*)).toScala[Long] executing "UNLINK" withKeys keys logging { case removed =>
+        log.trace(s"Unlink on ${keys.size} keys removed $removed values.")
+      }
+    }.map(_.map(_._2).sum)
+  }
+
   // coverage is disabled as testing it would require
   // either a mock or would clear a redis while
   // the tests are in progress
   // $COVERAGE-OFF$
-  override def invalidate(): Future[Unit] =
-    redis.flushdb().toScala[String] executing "FLUSHDB" logging { case _ =>
+  override def invalidate(): Future[Unit] = {
+    nearCache.invalidateAll()
+    redis.onAny(_.flushdb()).toScala[String] executing "FLUSHDB" logging { case _ =>
       log.info("Invalidated.") // cache was invalidated
     }
+  }
   // $COVERAGE-ON$
 
   override def exists(key: String): Future[Boolean] =
-    redis.exists(key).toScala[Long] executing "EXISTS" withKey key logging {
+    redis.on(key)(_.exists(key)).toScala[Long] executing "EXISTS" withKey key logging {
       case 0     => log.debug(s"Key '$key' doesn't exist.")
       case 1     => log.debug(s"Key '$key' exists.")
       case other => throw new IllegalStateException(s"Unexpected response from EXISTS $key got $other, expected is at most one occurrence.")
@@ -179,33 +490,51 @@ private[connector] class RedisConnectorImpl(
 
   override def remove(keys: String*): Future[Unit] =
     if (keys.nonEmpty) { // if any key to remove do it
-      redis.del(keys: _*).toScala[Long] executing "DEL" withKeys keys logging {
-        // Nothing was removed
-        case 0L      => log.debug(s"Remove on keys ${keys.mkString("'", ",", "'")} succeeded but nothing was removed.")
-        // Some entries were removed
-        case removed => log.debug(s"Remove on keys ${keys.mkString("'", ",", "'")} removed $removed values.")
-      }
+      keys.foreach(nearCache.invalidate)
+      perSlot("DEL", keys)(identity) { keys =>
+        redis.on(keys.head)(_.del(keys: _*)).toScala[Long] executing "DEL" withKeys keys logging {
+          // Nothing was removed
+          case 0L      => log.debug(s"Remove on keys ${keys.mkString("'", ",", "'")} succeeded but nothing was removed.")
+          // Some entries were removed
+          case removed => log.debug(s"Remove on keys ${keys.mkString("'", ",", "'")} removed $removed values.")
+        }
+      }.map(_ => ())
     } else {
       Future.successful(()) // otherwise return immediately
     }
 
   override def ping(): Future[Unit] =
-    redis.ping().toScala[String] executing "PING" logging { case "PONG" =>
+    redis.onAny(_.ping()).toScala[String] executing "PING" logging { case "PONG" =>
       ()
     }
 
-  override def increment(key: String, by: Long): Future[Long] =
-    redis.incrby(key, by).toScala[Long] executing "INCRBY" withKey key andParameter s"$by" logging { case value =>
+  override def increment(key: String, by: Long): Future[Long] = {
+    nearCache.invalidate(key)
+    redis.on(key)(_.incrby(key, by)).toScala[Long] executing "INCRBY" withKey key andParameter s"$by" logging { case value =>
       log.debug(s"The value at key '$key' was incremented by $by to $value.")
     }
+  }
 
-  override def append(key: String, value: String): Future[Long] =
-    redis.append(key, value).toScala[Long] executing "APPEND" withKey key andParameter value logging { case _ =>
+  override def append(key: String, value: String): Future[Long] = {
+    nearCache.invalidate(key)
+    encode(key, value, appendableSerializer).flatMap { encoded =>
+      val creating = creatingValue(encoded)
+      // the escaped value is stored only when the append creates the key
+      if (creating === encoded) redis.on(key)(_.append(key, encoded)).toScala[Long]
+      else eval[Long](RedisScripts.AppendAndExpire, Seq(key), Seq(encoded, millisOf(Duration.Inf), creating))
+    } executing "APPEND" withKey key andParameter value logging { case _ =>
       log.debug(s"The value was appended to key '$key'.")
     }
+  }
+
+  override def appendAndExpire(key: String, value: String, expiration: Duration): Future[Long] =
+    encode(key, value, appendableSerializer).flatMap(encoded => eval[Long](RedisScripts.AppendAndExpire, Seq(key), Seq(encoded, millisOf(expiration), creatingValue(encoded)))).map { length =>
+      log.debug(s"The value was appended to key '$key'${s", expiration set to ${expiration.toMillis} milliseconds" when (length === value.length.toLong && expiration.isFinite)}.")
+      length
+    }
 
   override def listPrepend(key: String, values: Any*): Future[Long] =
-    Future.sequence(values.map(encode(key, _))).flatMap(redis.lpush(key, _: _*).toScala[Long]) executing "LPUSH" withKey key andParameters values logging { case length =>
+    encodeAll(values)(encodeNow(key, _)).flatMap(encoded => redis.on(key)(_.lpush(key, encoded: _*)).toScala[Long]) executing "LPUSH" withKey key andParameters values logging { case length =>
       log.debug(s"The $length values was prepended to key '$key'.")
     } recover {
       case ExecutionFailedException(_, _, _, ex) if ex.getMessage startsWith "WRONGTYPE" =>
@@ -214,7 +543,7 @@ private[connector] class RedisConnectorImpl(
     }
 
   override def listAppend(key: String, values: Any*): Future[Long] =
-    Future.sequence(values.map(encode(key, _))).flatMap(redis.rpush(key, _: _*).toScala[Long]) executing "RPUSH" withKey key andParameters values logging { case length =>
+    encodeAll(values)(encodeNow(key, _)).flatMap(encoded => redis.on(key)(_.rpush(key, encoded: _*)).toScala[Long]) executing "RPUSH" withKey key andParameters values logging { case length =>
       log.debug(s"The $length values was appended to key '$key'.")
     } recover {
       case ExecutionFailedException(_, _, _, ex) if ex.getMessage startsWith "WRONGTYPE" =>
@@ -223,12 +552,12 @@ private[connector] class RedisConnectorImpl(
     }
 
   override def listSize(key: String): Future[Long] =
-    redis.llen(key).toScala[Long] executing "LLEN" withKey key logging { case length =>
+    redis.on(key)(_.llen(key)).toScala[Long] executing "LLEN" withKey key logging { case length =>
       log.debug(s"The collection at '$key' has $length items.")
     }
 
   override def listSetAt(key: String, position: Long, value: Any): Future[Unit] =
-    encode(key, value).flatMap(redis.lset(key, position, _).toScala[String]) executing "LSET" withKey key andParameter value logging { case _ =>
+    encode(key, value).flatMap(encoded => redis.on(key)(_.lset(key, position, encoded)).toScala[String]) executing "LSET" withKey key andParameter value logging { case _ =>
       log.debug(s"Updated value at $position in '$key' to $value.")
     } map (_ => ()) recover { case ExecutionFailedException(_, _, _, _) =>
       // todo fix exception detection here
@@ -236,8 +565,17 @@ private[connector] class RedisConnectorImpl(
       throw new IndexOutOfBoundsException("Index out of range")
     }
 
+  override def listRemoveAt(key: String, position: Long): Future[Unit] =
+    encode(key, ListRemovedMarker).flatMap(marker => eval[Long](RedisScripts.ListRemoveAt, Seq(key), Seq(position.toString, marker))) map { _ =>
+      log.debug(s"Removed value at $position in '$key'.")
+    } recover {
+      case ExecutionFailedException(_, _, _, ex) if Option(ex.getMessage).exists(message => message.contains("index out of range") || message.contains("no such key")) =>
+        log.debug(s"Removal of the value at $position in '$key' failed due to index out of range.")
+        throw new IndexOutOfBoundsException("Index out of range")
+    }
+
   override def listHeadPop[T: ClassTag](key: String): Future[Option[T]] =
-    redis.lpop(key).toScala[Option[String]] executing "LPOP" withKey key expects {
+    redis.on(key)(_.lpop(key)).toScala[Option[String]] executing "LPOP" withKey key expects {
       case Some(encoded) =>
         log.trace(s"Hit on head in key '$key'.")
         Some(decode[T](key, encoded))
@@ -246,26 +584,59 @@ private[connector] class RedisConnectorImpl(
         None
     }
 
+  override def listPop[T: ClassTag](key: String, count: Long, fromTail: Boolean): Future[Seq[T]] =
+    (if (fromTail) redis.on(key)(_.rpop(key, count)) else redis.on(key)(_.lpop(key, count))).toScala[Option[Seq[String]]] executing (if (fromTail) "RPOP" else "LPOP") withKey key andParameter count expects { case values =>
+      log.trace(s"Popped ${values.fold(0)(_.size)} elements from '$key'.")
+      values.fold(Seq.empty[T])(_.map(decode[T](key, _)))
+    } recover {
+      case ExecutionFailedException(_, _, _, ex) if ex.getMessage startsWith "WRONGTYPE" =>
+        log.warn(s"Value at '$key' is not a list to be popped.")
+        throw new IllegalArgumentException(s"Value at '$key' is not a list.")
+    }
+
+  override def listConsume[T: ClassTag](key: String, batchSize: Int, concurrency: Int, poll: FiniteDuration): Source[T, NotUsed] = {
+    // a single consumer holding its own connection, if available
+    def consumer: Source[Seq[T], NotUsed] =
+      Source.unfoldResourceAsync[Seq[T], Option[RedisConnection]](
+        () => Future(blockingConnection.map(_(poll))),
+        connection => listBlockingPop[T](connection.fold(redis)(_.routing), key, batchSize, poll).map(Some(_)),
+        connection => connection.fold(Future.unit)(_.close()).map(_ => Done),
+      )
+    Source(1 to (concurrency max 1)).flatMapMerge(concurrency max 1, _ => consumer).mapConcat(identity)
+  }
+
+  /** pops a batch from the head of the list, empty when the timeout expires */
+  private def listBlockingPop[T: ClassTag](routing: CommandRouting, key: String, count: Int, poll: FiniteDuration): Future[Seq[T]] = {
+    val timeout = poll.toMillis.toDouble / 1000
+    val popped: Future[Seq[String]] =
+      if (count <= 1) routing.on(key)(_.blpop(timeout, key)).map(Option(_).filter(_.hasValue).map(_.getValue).toList)
+      else routing.on(key)(_.blmpop(timeout, LMPopArgs.Builder.left().count(count.toLong), key)).map(Option(_).filter(_.hasValue).fold(Seq.empty[String])(_.getValue.asScala.toSeq))
+    popped executing (if (count <= 1) "BLPOP" else "BLMPOP") withKey key andParameters s"$timeout LEFT COUNT $count" expects { case values =>
+      log.trace(s"Popped ${values.size} elements from '$key'.")
+      values.map(decode[T](key, _))
+    }
+  }
+
   override def listSlice[T: ClassTag](key: String, start: Long, end: Long): Future[Seq[T]] =
-    redis.lrange(key, start, end).toScala[Seq[String]] executing "LRANGE" withKey key andParameters s"$start $end" expects { case values =>
+    redis.onBulk(key)(_.lrange(key, start, end)).toScala[Seq[String]] executing "LRANGE" withKey key andParameters s"$start $end" expects { case values =>
       log.debug(s"The range on '$key' from $start to $end included returned ${values.size} values.")
       values.map(decode[T](key, _))
     }
 
   override def listRemove(key: String, value: Any, count: Long): Future[Long] =
-    encode(key, value).flatMap(redis.lrem(key, count, _).toScala[Long]) executing "LREM" withKey key andParameters s"$value $count" logging { case removed =>
+    encode(key, value).flatMap(encoded => redis.on(key)(_.lrem(key, count, encoded)).toScala[Long]) executing "LREM" withKey key andParameters s"$value $count" logging { case removed =>
       log.debug(s"Removed $removed occurrences of $value in '$key'.")
     }
 
   override def listTrim(key: String, start: Long, end: Long): Future[Unit] =
-    redis.ltrim(key, start, end).toScala[String] executing "LTRIM" withKey key andParameter s"$start $end" logging { case _ =>
+    redis.on(key)(_.ltrim(key, start, end)).toScala[String] executing "LTRIM" withKey key andParameter s"$start $end" logging { case _ =>
       log.debug(s"Trimmed collection at '$key' to $start:$end ")
     }
 
   override def listInsert(key: String, pivot: Any, value: Any): Future[Option[Long]] = for {
     pivot  <- encode(key, pivot)
     value  <- encode(key, value)
-    result <- redis.linsert(key, true, pivot, value).toScala[Long] executing "LINSERT" withKey key andParameter s"$pivot $value" expects {
+    result <- redis.on(key)(_.linsert(key, true, pivot, value)).toScala[Long] executing "LINSERT" withKey key andParameter s"$pivot $value" expects {
                 case -1L | 0L =>
                   log.debug(s"Insert into the list at '$key' failed. Pivot not found.")
                   None
@@ -280,9 +651,7 @@ private[connector] class RedisConnectorImpl(
   } yield result
 
   override def setAdd(key: String, values: Any*): Future[Long] = {
-    // encodes the value
-    def toEncoded(value: Any) = encode(key, value)
-    Future.sequence(values map toEncoded).flatMap(redis.sadd(key, _: _*).toScala[Long]) executing "SADD" withKey key andParameters values expects { case inserted =>
+    inChunks(values)(encodeNow(key, _))(encoded => redis.on(key)(_.sadd(key, encoded: _*)).toScala[Long]) executing "SADD" withKey key andParameters values expects { case inserted =>
       log.debug(s"Inserted $inserted elements into the set at '$key'.")
       inserted
     } recover {
@@ -293,37 +662,42 @@ private[connector] class RedisConnectorImpl(
   }
 
   override def setSize(key: String): Future[Long] =
-    redis.scard(key).toScala[Long] executing "SCARD" withKey key logging { case length =>
+    redis.on(key)(_.scard(key)).toScala[Long] executing "SCARD" withKey key logging { case length =>
       log.debug(s"The collection at '$key' has $length items.")
     }
 
   override def setMembers[T: ClassTag](key: String): Future[Set[T]] =
-    redis.smembers(key).toScala[Set[String]] executing "SMEMBERS" withKey key expects { case items =>
+    redis.onBulk(key)(_.smembers(key)).toScala[Set[String]] executing "SMEMBERS" withKey key expects { case items =>
       log.debug(s"Returned ${items.size} items from the collection at '$key'.")
       items.map(decode[T](key, _))
     }
 
+  override def setScan[T: ClassTag](key: String, count: Long): Source[T, NotUsed] =
+    scanPages { cursor =>
+      redis.on(key)(_.sscan(key, cursor, ScanArgs.Builder.limit(count))).toScala[ValueScanCursor[String]] executing "SSCAN" withKey key andParameter cursor.getCursor expects { case result =>
+        log.trace(s"SSCAN on '$key' returned ${result.getValues.size} items.")
+        result -> result.getValues.asScala.toSeq
+      }
+    }.map(decode[T](key, _))
+
   override def setIsMember(key: String, value: Any): Future[Boolean] =
-    encode(key, value).flatMap(redis.sismember(key, _).toScala[Boolean]) executing "SISMEMBER" withKey key andParameter value logging {
+    encode(key, value).flatMap(encoded => redis.on(key)(_.sismember(key, encoded)).toScala[Boolean]) executing "SISMEMBER" withKey key andParameter value logging {
       case true  => log.debug(s"Item $value exists in the collection at '$key'.")
       case false => log.debug(s"Item $value does not exist in the collection at '$key'")
     }
 
   override def setRemove(key: String, values: Any*): Future[Long] = {
-    // encodes the value
-    def toEncoded(value: Any): Future[String] = encode(key, value)
-
-    Future.sequence(values map toEncoded).flatMap(redis.srem(key, _: _*).toScala[Long]) executing "SREM" withKey key andParameters values logging { case removed =>
+    encodeAll(values)(encodeNow(key, _)).flatMap(encoded => redis.on(key)(_.srem(key, encoded: _*)).toScala[Long]) executing "SREM" withKey key andParameters values logging { case removed =>
       log.debug(s"Removed $removed elements from the collection at '$key'.")
     }
   }
 
   override def sortedSetAdd(key: String, scoreValues: (Double, Any)*): Future[Long] = {
     // encodes the value
-    def toEncoded(scoreValue: (Double, Any)): Future[ScoredValue[String]] =
-      encode(key, scoreValue._2).map(encoded => ScoredValue.just(scoreValue._1, encoded))
+    def toEncoded(scoreValue: (Double, Any)): ScoredValue[String] =
+      ScoredValue.just(scoreValue._1, encodeNow(key, scoreValue._2))
 
-    Future.sequence(scoreValues.map(toEncoded)).flatMap(redis.zadd(key, _: _*).toScala[Long]) executing "ZADD" withKey key andParameters scoreValues expects { case inserted =>
+    inChunks(scoreValues)(toEncoded)(encoded => redis.on(key)(_.zadd(key, encoded: _*)).toScala[Long]) executing "ZADD" withKey key andParameters scoreValues expects { case inserted =>
       log.debug(s"Inserted $inserted elements into the zset at '$key'.")
       inserted
     } recover {
@@ -334,55 +708,128 @@ private[connector] class RedisConnectorImpl(
   }
 
   override def sortedSetSize(key: String): Future[Long] =
-    redis.zcard(key).toScala[Long] executing "ZCARD" withKey key logging { case length =>
+    redis.on(key)(_.zcard(key)).toScala[Long] executing "ZCARD" withKey key logging { case length =>
       log.debug(s"The zset at '$key' has $length items.")
     }
 
   override def sortedSetScore(key: String, value: Any): Future[Option[Double]] =
-    encode(key, value) flatMap (redis.zscore(key, _).toScala[Option[Double]]) executing "ZSCORE" withKey key andParameter value logging {
+    encode(key, value) flatMap (encoded => redis.on(key)(_.zscore(key, encoded)).toScala[Option[Double]]) executing "ZSCORE" withKey key andParameter value logging {
       case Some(score) => log.debug(s"The score of item: $value is $score in the collection at '$key'.")
       case None        => log.debug(s"Item $value does not exist in the collection at '$key'")
     }
 
   override def sortedSetRemove(key: String, values: Any*): Future[Long] = {
-    // encodes the value
-    def toEncoded(value: Any) = encode(key, value)
-
-    Future.sequence(values map toEncoded).flatMap(redis.zrem(key, _: _*).toScala[Long]) executing "ZREM" withKey key andParameters values logging { case removed =>
+    encodeAll(values)(encodeNow(key, _)).flatMap(encoded => redis.on(key)(_.zrem(key, encoded: _*)).toScala[Long]) executing "ZREM" withKey key andParameters values logging { case removed =>
       log.debug(s"Removed $removed elements from the zset at '$key'.")
     }
   }
 
   override def sortedSetRange[T: ClassTag](key: String, start: Long, stop: Long): Future[Seq[T]] =
-    redis.zrange(key, start, stop).toScala[Seq[String]] executing "ZRANGE" withKey key andParameter s"$start $stop" expects { case encodedSeq =>
+    redis.onBulk(key)(_.zrange(key, start, stop)).toScala[Seq[String]] executing "ZRANGE" withKey key andParameter s"$start $stop" expects { case encodedSeq =>
       log.debug(s"Got range from $start to $stop in the zset at '$key'.")
       encodedSeq.map(encoded => decode[T](key, encoded))
     }
 
   override def sortedSetReverseRange[T: ClassTag](key: String, start: Long, stop: Long): Future[Seq[T]] =
-    redis.zrevrange(key, start, stop).toScala[Seq[String]] executing "ZREVRANGE" withKey key andParameter s"$start $stop" expects { case encodedSeq =>
+    redis.onBulk(key)(_.zrevrange(key, start, stop)).toScala[Seq[String]] executing "ZREVRANGE" withKey key andParameter s"$start $stop" expects { case encodedSeq =>
       log.debug(s"Got reverse range from $start to $stop in the zset at '$key'.")
       encodedSeq.map(encoded => decode[T](key, encoded))
     }
 
+  override def sortedSetRangeWithScores[T: ClassTag](key: String, start: Long, stop: Long, isReverse: Boolean): Future[Seq[(Double, T)]] = {
+    val result = if (isReverse) redis.onBulk(key)(_.zrevrangeWithScores(key, start, stop)) else redis.onBulk(key)(_.zrangeWithScores(key, start, stop))
+    result.toScala[Seq[(Double, String)]] executing (if (isReverse) "ZREVRANGE" else "ZRANGE") withKey key andParameters s"$start $stop WITHSCORES" expects { case encodedSeq =>
+      log.debug(s"Got range from $start to $stop with scores in the zset at '$key'.")
+      encodedSeq.map { case (score, encoded) => score -> decode[T](key, encoded) }
+    }
+  }
+
+  override def sortedSetRangeByScore[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[T]] = {
+    val range = if (isReverse) redis.on(key)(_.zrevrangebyscore(key, scoreRange(min, max), limitOf(limit))) else redis.on(key)(_.zrangebyscore(key, scoreRange(min, max), limitOf(limit)))
+    range.toScala[Seq[String]] executing (if (isReverse) "ZREVRANGEBYSCORE" else "ZRANGEBYSCORE") withKey key andParameters rangeParameters(min, max, limit) expects { case encodedSeq =>
+      log.debug(s"Got ${encodedSeq.size} items with the score from $min to $max in the zset at '$key'.")
+      encodedSeq.map(encoded => decode[T](key, encoded))
+    }
+  }
+
+  override def sortedSetRangeByScoreWithScores[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[(Double, T)]] = {
+    val result = if (isReverse) redis.on(key)(_.zrevrangebyscoreWithScores(key, scoreRange(min, max), limitOf(limit))) else redis.on(key)(_.zrangebyscoreWithScores(key, scoreRange(min, max), limitOf(limit)))
+    result.toScala[Seq[(Double, String)]] executing (if (isReverse) "ZREVRANGEBYSCORE" else "ZRANGEBYSCORE") withKey key andParameters s"${rangeParameters(min, max, limit)} WITHSCORES" expects { case encodedSeq =>
+      log.debug(s"Got ${encodedSeq.size} items with the score from $min to $max in the zset at '$key'.")
+      encodedSeq.map { case (score, encoded) => score -> decode[T](key, encoded) }
+    }
+  }
+
+  override def sortedSetRangeByLex[T: ClassTag](key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any], limit: Option[RedisSortedSet.Limit], isReverse: Boolean): Future[Seq[T]] =
+    Future.fromTry(Try(lexRange(key, min, max))).flatMap { range =>
+      if (isReverse) redis.on(key)(_.zrevrangebylex(key, range, limitOf(limit))).toScala[Seq[String]] else redis.on(key)(_.zrangebylex(key, range, limitOf(limit))).toScala[Seq[String]]
+    } executing (if (isReverse) "ZREVRANGEBYLEX" else "ZRANGEBYLEX") withKey key andParameters rangeParameters(min, max, limit) expects { case encodedSeq =>
+      log.debug(s"Got ${encodedSeq.size} items from $min to $max in the zset at '$key'.")
+      encodedSeq.map(encoded => decode[T](key, encoded))
+    }
+
+  override def sortedSetCount(key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double]): Future[Long] =
+    redis.on(key)(_.zcount(key, scoreRange(min, max))).toScala[Long] executing "ZCOUNT" withKey key andParameters rangeParameters(min, max, None) logging { case count =>
+      log.debug(s"The zset at '$key' has $count items with the score from $min to $max.")
+    }
+
+  override def sortedSetLexCount(key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any]): Future[Long] =
+    Future.fromTry(Try(lexRange(key, min, max))).flatMap(range => redis.on(key)(_.zlexcount(key, range)).toScala[Long]) executing "ZLEXCOUNT" withKey key andParameters rangeParameters(min, max, None) logging { case count =>
+      log.debug(s"The zset at '$key' has $count items from $min to $max.")
+    }
+
+  /** the range of the scores, the infinite scores are open bounds */
+  private def scoreRange(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double]): Range[java.lang.Double] = {
+    def boundary(bound: RedisSortedSet.Bound[Double]): Range.Boundary[java.lang.Double] = bound match {
+      case RedisSortedSet.Bound.Inclusive(score) if !score.isInfinite => Range.Boundary.including(Double.box(score))
+      case RedisSortedSet.Bound.Exclusive(score) if !score.isInfinite => Range.Boundary.excluding(Double.box(score))
+      case _                                                          => Range.Boundary.unbounded()
+    }
+    Range.from(boundary(min), boundary(max))
+  }
+
+  /** the range of the encoded members, throws an exception if the encoding fails */
+  private def lexRange(key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any]): Range[String] = {
+    def boundary(bound: RedisSortedSet.Bound[Any]): Range.Boundary[String] = bound match {
+      case RedisSortedSet.Bound.Inclusive(value) => Range.Boundary.including(encodeNow(key, value))
+      case RedisSortedSet.Bound.Exclusive(value) => Range.Boundary.excluding(encodeNow(key, value))
+      case RedisSortedSet.Bound.Unbounded        => Range.Boundary.unbounded()
+    }
+    Range.from(boundary(min), boundary(max))
+  }
+
+  private def limitOf(limit: Option[RedisSortedSet.Limit]): Limit =
+    limit.fold(Limit.unlimited())(page => Limit.create(page.offset, page.count))
+
+  private def rangeParameters(min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any], limit: Option[RedisSortedSet.Limit]): String =
+    s"$min $max" + limit.fold("")(page => s" LIMIT ${page.offset} ${page.count}")
+
+  override def sortedSetScan[T: ClassTag](key: String, count: Long): Source[(Double, T), NotUsed] =
+    scanPages { cursor =>
+      redis.on(key)(_.zscan(key, cursor, ScanArgs.Builder.limit(count))).toScala[ScoredValueScanCursor[String]] executing "ZSCAN" withKey key andParameter cursor.getCursor expects { case result =>
+        log.trace(s"ZSCAN on '$key' returned ${result.getValues.size} items.")
+        result -> result.getValues.asScala.toSeq
+      }
+    }.map(scored => scored.getScore -> decode[T](key, scored.getValue))
+
   override def hashRemove(key: String, fields: String*): Future[Long] =
-    redis.hdel(key, fields: _*).toScala[Long] executing "HDEL" withKey key andParameters fields logging { case removed =>
+    redis.on(key)(_.hdel(key, fields: _*)).toScala[Long] executing "HDEL" withKey key andParameters fields logging { case removed =>
       log.debug(s"Removed $removed elements from the collection at '$key'.")
     }
 
   override def hashIncrement(key: String, field: String, incrementBy: Long): Future[Long] =
-    redis.hincrby(key, field, incrementBy).toScala[Long] executing "HINCRBY" withKey key andParameters s"$field $incrementBy" logging { case value =>
+    redis.on(key)(_.hincrby(key, field, incrementBy)).toScala[Long] executing "HINCRBY" withKey key andParameters s"$field $incrementBy" logging { case value =>
       log.debug(s"Field '$field' in '$key' was incremented to $value.")
     }
 
   override def hashExists(key: String, field: String): Future[Boolean] =
-    redis.hexists(key, field).toScala[Boolean] executing "HEXISTS" withKey key andParameter field logging {
+    redis.on(key)(_.hexists(key, field)).toScala[Boolean] executing "HEXISTS" withKey key andParameter field logging {
       case true  => log.debug(s"Item $field exists in the collection at '$key'.")
       case false => log.debug(s"Item $field does not exist in the collection at '$key'")
     }
 
   override def hashGet[T: ClassTag](key: String, field: String): Future[Option[T]] =
-    redis.hget(key, field).toScala[Option[String]] executing "HGET" withKey key andParameter field expects {
+    redis.on(key)(_.hget(key, field)).toScala[Option[String]] executing "HGET" withKey key andParameter field expects {
       case Some(encoded) =>
         log.debug(s"Item $field exists in the collection at '$key'.")
         Some(decode[T](key, encoded))
@@ -392,13 +839,13 @@ private[connector] class RedisConnectorImpl(
     }
 
   override def hashGet[T: ClassTag](key: String, fields: Seq[String]): Future[Seq[Option[T]]] =
-    redis.hmget(key, fields: _*).toScala[Seq[(String, Option[String])]] executing "HMGET" withKey key andParameters fields expects { case encoded =>
+    redis.on(key)(_.hmget(key, fields: _*)).toScala[Seq[(String, Option[String])]] executing "HMGET" withKey key andParameters fields expects { case encoded =>
       log.debug(s"Collection at '$key' with fields '$fields' has returned ${encoded.size} items.")
       encoded.map(_._2.map(decode[T](key, _)))
     }
 
   override def hashGetAll[T: ClassTag](key: String): Future[Map[String, T]] =
-    redis.hgetall(key).toScala[Map[String, String]] executing "HGETALL" withKey key expects {
+    redis.onBulk(key)(_.hgetall(key)).toScala[Map[String, String]] executing "HGETALL" withKey key expects {
       case empty if empty.isEmpty =>
         log.debug(s"Collection at '$key' is empty.")
         Map.empty[String, T]
@@ -408,18 +855,18 @@ private[connector] class RedisConnectorImpl(
     }
 
   override def hashSize(key: String): Future[Long] =
-    redis.hlen(key).toScala[Long] executing "HLEN" withKey key logging { case length =>
+    redis.on(key)(_.hlen(key)).toScala[Long] executing "HLEN" withKey key logging { case length =>
       log.debug(s"The collection at '$key' has $length items.")
     }
 
   override def hashKeys(key: String): Future[Set[String]] =
-    redis.hkeys(key).toScala[Seq[String]] executing "HKEYS" withKey key expects { case keys =>
+    redis.onBulk(key)(_.hkeys(key)).toScala[Seq[String]] executing "HKEYS" withKey key expects { case keys =>
       log.debug(s"The collection at '$key' defines: ${keys mkString " "}.")
       keys.toSet
     }
 
   override def hashSet(key: String, field: String, value: Any): Future[Boolean] =
-    encode(key, value).flatMap(redis.hset(key, field, _).toScala[Boolean]) executing "HSET" withKey key andParameters s"$field $value" logging {
+    encode(key, value).flatMap(encoded => redis.on(key)(_.hset(key, field, encoded)).toScala[Boolean]) executing "HSET" withKey key andParameters s"$field $value" logging {
       case true  => log.debug(s"Item $field in the collection at '$key' was inserted.")
       case false => log.debug(s"Item $field in the collection at '$key' was updated.")
     } recover {
@@ -428,12 +875,68 @@ private[connector] class RedisConnectorImpl(
         throw new IllegalArgumentException(s"Value at '$key' is not a map.")
     }
 
+  override def hashSetAll(key: String, fieldValues: Seq[(String, Any)]): Future[Long] =
+    inChunks(fieldValues)(tuple => tuple.key -> encodeNow(key, tuple.value))(chunk => redis.on(key)(_.hset(key, javaMapOf(chunk))).toScala[Long]) executing "HSET" withKey key andParameters fieldValues.map(tuple => s"${tuple.key} ${tuple.value}").mkString(" ") expects { case inserted =>
+      log.debug(s"Inserted $inserted and updated ${fieldValues.size - inserted} items in the collection at '$key'.")
+      inserted
+    } recover {
+      case ExecutionFailedException(_, _, _, ex) if ex.getMessage startsWith "WRONGTYPE" =>
+        log.warn(s"Value at '$key' is not a map.")
+        throw new IllegalArgumentException(s"Value at '$key' is not a map.")
+    }
+
+  override def hashExpire(key: String, expiration: FiniteDuration, fields: Seq[String]): Future[Long] =
+    inChunks[String, String](fields)(identity) { chunk =>
+      // 1 when the expiration was set, 2 when the field was removed right away, -2 when there is no such field
+      redis.on(key)(_.hpexpire(key, expiration.toMillis max 1L, chunk: _*)).toScala[Seq[Long]].map(_.count(_ > 0).toLong)
+    } executing "HPEXPIRE" withKey key andParameters s"${expiration.toMillis} FIELDS ${fields.size} ${fields.mkString(" ")}" expects { case expiring =>
+      log.debug(s"Expiration set on $expiring of ${fields.size} items in the collection at '$key'.")
+      expiring
+    } recover {
+      case ExecutionFailedException(_, _, _, ex) if ex.getMessage startsWith "ERR unknown command" =>
+        log.warn(s"Expiration of the items in the collection at '$key' requires Redis 7.4 or newer.")
+        throw new UnsupportedOperationException("Expiration of the hash fields requires Redis 7.4 or newer.", ex)
+    }
+
   override def hashValues[T: ClassTag](key: String): Future[Set[T]] =
-    redis.hvals(key).toScala[Seq[String]] executing "HVALS" withKey key expects { case values =>
+    redis.onBulk(key)(_.hvals(key)).toScala[Seq[String]] executing "HVALS" withKey key expects { case values =>
       log.debug(s"The collection at '$key' contains ${values.size} values.")
       values.map(decode[T](key, _)).toSet
     }
 
+  override def hashScan[T: ClassTag](key: String, count: Long): Source[(String, T), NotUsed] =
+    scanPages { cursor =>
+      redis.on(key)(_.hscan(key, cursor, ScanArgs.Builder.limit(count))).toScala[MapScanCursor[String, String]] executing "HSCAN" withKey key andParameter cursor.getCursor expects { case result =>
+        log.trace(s"HSCAN on '$key' returned ${result.getMap.size} items.")
+        result -> result.getMap.asScala.toSeq
+      }
+    }.map { case (field, encoded) => field -> decode[T](key, encoded) }
+
+  override def withReadConsistency(consistency: ReadConsistency): RedisConnector =
+    routes.fold[RedisConnector](this)(_(consistency))
+
+  override def scriptLoad(script: RedisScript): Future[Unit] =
+    redis.onAny(_.scriptLoad(script.source)).asScala executing "SCRIPT LOAD" logging { case sha1 =>
+      log.debug(s"Loaded the script $sha1.")
+    }
+
+  override def eval[T](script: RedisScript, keys: Seq[String], args: Seq[String])(implicit output: RedisScript.Output[T]): Future[T] = {
+    // the script might modify any of the keys
+    keys.foreach(nearCache.invalidate)
+    redis
+      .onFirst(keys)(_.evalsha[AnyRef](script.sha1, output.outputType, keys.toArray, args: _*))
+      .asScala
+      .recoverWith {
+        // the script is not cached by the server, e.g., after restart or failover
+        case ex if Option(ex.getMessage).exists(_ startsWith "NOSCRIPT") =>
+          log.debug(s"Script ${script.sha1} is not loaded, evaluating its source.")
+          redis.onFirst(keys)(_.eval[AnyRef](script.source, output.outputType, keys.toArray, args: _*)).asScala
+      } executing "EVALSHA" withKeys keys asCommand s"${script.sha1} ${keys.size} ${(keys ++ args).mkString(" ")}" expects { case reply =>
+      log.debug(s"Script ${script.sha1} on keys ${keys.mkString("'", ",", "'")} evaluated.")
+      output.convert(reply)
+    }
+  }
+
   // $COVERAGE-OFF$
   override def toString: String = s"RedisConnector(name=$name)"
   // $COVERAGE-ON$
@@ -441,6 +944,22 @@ private[connector] class RedisConnectorImpl(
 
 private[connector] object RedisConnectorImpl {
 
+  /** hint of the number of keys returned by a single SCAN iteration */
+  private val ScanCount = 1000L
+
+  /** maximal number of items sent by a single bulk HSET, SADD, ZADD, or HPEXPIRE */
+  private val BulkChunkSize = 1000
+
+  /** maximal number of keys removed by a single UNLINK */
+  private val UnlinkBatchSize = 1000
+
+  /** replaces the list element to be removed */
+  private val ListRemovedMarker = "play-redis:DELETED"
+
+  /** expiration argument of the scripts in milliseconds, zero means no expiration */
+  private def millisOf(expiration: Duration): String =
+    if (expiration.isFinite) (expiration.toMillis max 1L).toString else "0"
+
   private trait JavaConvertible[From, To] {
     def convert(from: From): To
   }
@@ -477,10 +996,13 @@ private[connector] object RedisConnectorImpl {
     implicit def pair[K, V]: JavaConvertible[KeyValue[K, V], (K, Option[V])] =
       instance(pair => pair.getKey -> pair.optional().toScala)
 
+    implicit def scored[V]: JavaConvertible[ScoredValue[V], (Double, V)] =
+      instance(scored => scored.getScore -> scored.getValue)
+
   }
 
-  implicit private class RichRedisFuture[T](private val thiz: RedisFuture[T]) extends AnyVal {
-    def toScala[U](implicit ev: JavaConvertible[T, U], ec: ExecutionContext): Future[U] = thiz.asScala.map(ev.convert)
+  implicit private class RichRoutedFuture[T](private val thiz: Routed[T]) extends AnyVal {
+    def toScala[U](implicit ev: JavaConvertible[T, U], ec: ExecutionContext): Future[U] = thiz.map(ev.convert)
   }
 
   implicit private class ConditionalCall[T](private val thiz: T) extends AnyVal {
@@ -1,20 +1,95 @@
 package play.api.cache.redis.connector
 
+import play.api.Logger
 import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisStandalone
 import play.api.inject.ApplicationLifecycle
 
 import javax.inject.Provider
+import scala.concurrent.Future
 
 /** Provides an instance of named redis connector */
 private[redis] class RedisConnectorProvider(
   instance: RedisInstance,
   serializer: PekkoSerializer,
+  metrics: RedisMetrics = RedisMetrics.Disabled,
 )(implicit
   lifecycle: ApplicationLifecycle,
   runtime: RedisRuntime,
 ) extends Provider[RedisConnector] {
 
-  private[connector] lazy val commands = new RedisCommandsProvider(instance)(lifecycle, runtime.context).get
+  /** logger instance */
+  private val log: Logger = Logger("play.api.cache.redis")
 
-  lazy val get = new RedisConnectorImpl(serializer, commands)
+  /** near cache of the instance, disabled unless configured */
+  lazy val nearCache: NearCache = NearCache(instance.nearCache)
+
+  private lazy val commandsProvider = new RedisCommandsProvider(instance, nearCache)(lifecycle, runtime.context)
+
+  private[connector] lazy val commands = commandsProvider.get
+
+  /** load of the connections, tracked only when the striping is enabled */
+  def connections: ConnectionStatistics = commandsProvider.connections
+
+  /** coalesces concurrent GET commands, disabled unless configured */
+  private[connector] lazy val batcher: Option[GetBatcher] =
+    if (instance.batching.enabled) {
+      val batcher = GetBatcher(instance.batching, commands)(runtime.context)
+      lifecycle.addStopHook(() => Future.successful(batcher.close()))
+      Some(batcher)
+    } else None
+
+  /**
+    * hedges the slow relaxed reads by the master, disabled unless configured.
+    * It applies only to the instances with replicas, which serve the relaxed
+    * reads by a connection of their own.
+    */
+  private[connector] lazy val hedging: Option[ReadHedging[CommandRouting]] =
+    instance match {
+      case _: RedisStandalone                                                        => None
+      case _ if !instance.hedging.enabled || (commandsProvider.relaxed eq commands) => None
+      case _                                                                         =>
+        val hedging = new ReadHedging(instance.hedging, commands, instanceMetrics)(runtime.context)
+        lifecycle.addStopHook(() => Future.successful(hedging.close()))
+        Some(hedging)
+    }
+
+  /** hedged reads of the instance */
+  def hedgingStatistics: HedgingStatistics = hedging getOrElse HedgingStatistics.Disabled
+
+  /** measurements of the instance, released when the application stops */
+  private lazy val instanceMetrics: RedisMetrics = {
+    if (metrics.enabled) lifecycle.addStopHook(() => Future.successful(metrics.close()))
+    metrics
+  }
+
+  lazy val get: RedisConnectorImpl = {
+    val connector = new RedisConnectorImpl(serializer, commands, nearCache, batcher, KeySlots(instance), instanceMetrics, Some(routes), Some(poll => commandsProvider.blocking(poll)))
+    preload(connector)
+    connector
+  }
+
+  /**
+    * serves the reads with relaxed consistency, the near cache and the batcher
+    * are bound to the primary connection, thus they are not used. The slow
+    * reads are hedged by the primary connection, if enabled.
+    */
+  private[connector] lazy val relaxed: RedisConnectorImpl =
+    new RedisConnectorImpl(serializer, commandsProvider.relaxed, NearCache.Disabled, None, KeySlots(instance), instanceMetrics, Some(routes), Some(poll => commandsProvider.blocking(poll)), hedging)
+
+  private def routes: ReadConsistency => RedisConnector = {
+    case ReadConsistency.Strong  => get
+    case ReadConsistency.Relaxed => relaxed
+  }
+
+  /**
+    * loads the built-in scripts in background, a script not loaded yet is
+    * evaluated with its source on its first use
+    */
+  private def preload(connector: RedisConnectorImpl): Unit =
+    RedisScripts.all.foreach { script =>
+      connector.scriptLoad(script).failed.foreach { ex =>
+        log.warn(s"Preload of the script ${script.sha1} into '${instance.name}' failed, it is loaded on its first use.", ex)
+      }(runtime.context)
+    }
 }
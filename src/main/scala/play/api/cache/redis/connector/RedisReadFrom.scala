@@ -0,0 +1,34 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.ReadFrom
+
+import java.util.regex.{Pattern, PatternSyntaxException}
+
+/**
+  * Resolves the routing of the reads with relaxed consistency, see
+  * [[play.api.cache.redis.ReadConsistency.Relaxed]]. The reads with strong
+  * consistency are always served by the master.
+  */
+private[redis] object RedisReadFrom {
+
+  private val Subnet = "subnet:(.+)".r
+
+  private val Regex = "regex:(.+)".r
+
+  def apply(readFrom: String): ReadFrom = readFrom.trim match {
+    case "master"            => ReadFrom.UPSTREAM
+    case "master-preferred"  => ReadFrom.UPSTREAM_PREFERRED
+    case "replica"           => ReadFrom.REPLICA
+    case "replica-preferred" => ReadFrom.REPLICA_PREFERRED
+    case "lowest-latency"    => ReadFrom.LOWEST_LATENCY
+    case "any"               => ReadFrom.ANY
+    case "any-replica"       => ReadFrom.ANY_REPLICA
+    case Subnet(subnets)     => ReadFrom.subnet(subnets.split(',').map(_.trim).toIndexedSeq: _*)
+    case Regex(pattern)      =>
+      try ReadFrom.regex(Pattern.compile(pattern.trim))
+      catch { case ex: PatternSyntaxException => throw new IllegalArgumentException(s"Illegal read-from pattern '$pattern'.", ex) }
+    case other               =>
+      throw new IllegalArgumentException(s"Illegal read-from '$other'. Valid values are 'master', 'master-preferred', 'replica', 'replica-preferred', 'lowest-latency', 'any', 'any-replica', 'subnet:<cidr>,...', and 'regex:<pattern>'.")
+  }
+
+}
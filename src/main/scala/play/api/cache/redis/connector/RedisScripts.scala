@@ -0,0 +1,73 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+
+/**
+  * Built-in scripts implementing compound operations in a single atomic round
+  * trip. They are preloaded when the connector starts, see
+  * [[ScriptCommands.scriptLoad]].
+  */
+private[connector] object RedisScripts {
+
+  /**
+    * Appends the value and sets the expiration only when the key was created
+    * by the append. The created key stores the creating value instead, e.g.,
+    * the escaped value.
+    *
+    * KEYS[1] key, ARGV[1] appended value, ARGV[2] expiration in milliseconds,
+    * zero means no expiration, ARGV[3] creating value. Returns the length of
+    * the value after the append.
+    */
+  val AppendAndExpire: RedisScript = RedisScript(
+    """local created = redis.call('STRLEN', KEYS[1]) == 0
+      |local length = redis.call('APPEND', KEYS[1], created and ARGV[3] or ARGV[1])
+      |local expiration = tonumber(ARGV[2])
+      |if created and expiration > 0 then
+      |  redis.call('PEXPIRE', KEYS[1], expiration)
+      |end
+      |return length""".stripMargin,
+  )
+
+  /**
+    * Removes the element at the index by replacing it with a marker and
+    * removing all occurrences of the marker.
+    *
+    * KEYS[1] key, ARGV[1] index, ARGV[2] marker. Returns the number of removed
+    * elements.
+    */
+  val ListRemoveAt: RedisScript = RedisScript(
+    """redis.call('LSET', KEYS[1], ARGV[1], ARGV[2])
+      |return redis.call('LREM', KEYS[1], 0, ARGV[2])""".stripMargin,
+  )
+
+  /**
+    * Stores the value along with the strings describing it under other keys,
+    * e.g., the name of its class or its refresh metadata.
+    *
+    * KEYS[1] key of the value, KEYS[2..n] keys of the descriptions, ARGV[1]
+    * expiration in milliseconds, zero means no expiration, ARGV[2..n] the
+    * descriptions, ARGV[n+1] value, when absent, the value is removed.
+    */
+  val SetAlong: RedisScript = RedisScript(
+    """local expiration = tonumber(ARGV[1])
+      |local function store(key, value)
+      |  if expiration > 0 then
+      |    redis.call('SET', key, value, 'PX', expiration)
+      |  else
+      |    redis.call('SET', key, value)
+      |  end
+      |end
+      |for index = 2, #KEYS do
+      |  store(KEYS[index], ARGV[index])
+      |end
+      |if ARGV[#KEYS + 1] then
+      |  store(KEYS[1], ARGV[#KEYS + 1])
+      |else
+      |  redis.call('DEL', KEYS[1])
+      |end
+      |return redis.status_reply('OK')""".stripMargin,
+  )
+
+  /** all built-in scripts */
+  val all: Seq[RedisScript] = Seq(AppendAndExpire, ListRemoveAt, SetAlong)
+}
@@ -0,0 +1,42 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.codec.{RedisCodec, StringCodec}
+
+import java.nio.charset.StandardCharsets
+
+/**
+  * Determines how the values are transferred to and stored in redis. Keys are
+  * always UTF-8 strings, the encoding applies only to values.
+  */
+sealed abstract private[redis] class RedisValueEncoding(val name: String) {
+
+  /** codec the connection is created with */
+  def codec: RedisCodec[String, String]
+}
+
+private[redis] object RedisValueEncoding {
+
+  /**
+    * Values are UTF-8 strings, objects serialized by Pekko are encoded into
+    * BASE64. This is the default and historical behavior.
+    */
+  case object Text extends RedisValueEncoding("string") {
+    override val codec: RedisCodec[String, String] = StringCodec.UTF8
+  }
+
+  /**
+    * Values are raw bytes. They are carried through the connector as
+    * ISO-8859-1 strings, which maps each byte to exactly one char, thus no
+    * BASE64 is necessary. See [[PekkoBinarySerializerImpl]].
+    */
+  case object Binary extends RedisValueEncoding("binary") {
+    override val codec: RedisCodec[String, String] = RedisCodec.of(StringCodec.UTF8, new StringCodec(StandardCharsets.ISO_8859_1))
+  }
+
+  def apply(encoding: String): RedisValueEncoding = encoding.toLowerCase.trim match {
+    case Text.name   => Text
+    case Binary.name => Binary
+    case _           => throw new IllegalArgumentException("Illegal value encoding. Valid values are 'string' and 'binary'. See the documentation for more details.")
+  }
+
+}
@@ -0,0 +1,65 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.resource.ClientResources
+import play.api.Logger
+import play.api.cache.redis.configuration.RedisThreadPools
+
+import scala.concurrent.{ExecutionContext, Future}
+
+/**
+  * Registry of client resources shared by the instances configured with
+  * shared thread pools. Instances with the same sizes of the pools reuse
+  * a single set of event loops and a single timer. The resources are
+  * reference-counted, they are shut down when the last instance releases
+  * them.
+  */
+private[connector] object SharedClientResources {
+
+  /** logger instance */
+  private val log: Logger = Logger("play.api.cache.redis")
+
+  /** shared resources and the number of their users indexed by the sizes of the pools */
+  private var registry: Map[(Int, Int), (ClientResources, Int)] = Map.empty
+
+  private def keyOf(pools: RedisThreadPools): (Int, Int) = pools.ioSize -> pools.computationSize
+
+  /** returns the shared resources, they are created by the first user */
+  def acquire(pools: RedisThreadPools): ClientResources = synchronized {
+    val key = keyOf(pools)
+    val (resources, references) = registry.getOrElse(
+      key, {
+        log.debug(s"Creating shared client resources with ${pools.ioSize} I/O and ${pools.computationSize} computation threads.")
+        RedisClientFactory.newClientResources(ioThreadPoolSize = pools.ioSize, computationThreadPoolSize = pools.computationSize) -> 0
+      },
+    )
+    registry = registry.updated(key, resources -> (references + 1))
+    resources
+  }
+
+  /** releases the shared resources, the last user shuts them down */
+  def release(pools: RedisThreadPools)(implicit ec: ExecutionContext): Future[Unit] = {
+    val key = keyOf(pools)
+    val unused = synchronized {
+      registry.get(key) match {
+        case Some((resources, 1))          =>
+          registry = registry.removed(key)
+          Some(resources)
+        case Some((resources, references)) =>
+          registry = registry.updated(key, resources -> (references - 1))
+          None
+        case None                          =>
+          None
+      }
+    }
+    unused.fold(Future.unit) { resources =>
+      log.debug(s"Shutting down shared client resources with ${pools.ioSize} I/O and ${pools.computationSize} computation threads.")
+      Future(resources.shutdown().get()).map(_ => ())
+    }
+  }
+
+  /** number of users of the shared resources, exposed for tests */
+  private[connector] def references(pools: RedisThreadPools): Int = synchronized {
+    registry.get(keyOf(pools)).fold(0)(_._2)
+  }
+
+}
@@ -0,0 +1,146 @@
+package play.api.cache.redis.connector
+
+import play.api.libs.json.{Format, Json}
+
+import java.nio.charset.StandardCharsets
+import java.util.Base64
+import java.util.concurrent.ConcurrentHashMap
+import scala.reflect.ClassTag
+import scala.util._
+
+/**
+  * Codec of values of a single type. It bypasses the Pekko serialization for
+  * the registered type, which is usually both faster and more compact than
+  * the Java serialization Pekko falls back to.
+  *
+  * @tparam T
+  *   type of the encoded values
+  */
+trait ValueCodec[T] {
+
+  /** class of the values, the codec applies to this class and its subclasses */
+  def runtimeClass: Class[T]
+
+  /**
+    * whether the produced bytes are always a valid UTF-8 text, e.g., JSON.
+    * Textual values are stored as they are with the 'string' value encoding,
+    * the others are encoded into BASE64.
+    */
+  def textual: Boolean
+
+  /** encodes the value into bytes, it may throw an exception */
+  def encode(value: T): Array[Byte]
+
+  /** decodes the value from bytes, it may throw an exception */
+  def decode(bytes: Array[Byte]): T
+}
+
+object ValueCodec {
+
+  /** codec storing the values as JSON written by the given play-json format */
+  def json[T](implicit format: Format[T], classTag: ClassTag[T]): ValueCodec[T] =
+    text[T](value => Json.stringify(format.writes(value)), string => Json.parse(string).as[T])
+
+  /** codec storing the values as UTF-8 text produced by the given functions */
+  @SuppressWarnings(Array("org.wartremover.warts.RedundantAsInstanceOf"))
+  def text[T](toText: T => String, fromText: String => T)(implicit classTag: ClassTag[T]): ValueCodec[T] = new ValueCodec[T] {
+    override val runtimeClass: Class[T] = classTag.runtimeClass.asInstanceOf[Class[T]]
+    override val textual: Boolean = true
+    override def encode(value: T): Array[Byte] = toText(value).getBytes(StandardCharsets.UTF_8)
+    override def decode(bytes: Array[Byte]): T = fromText(new String(bytes, StandardCharsets.UTF_8))
+  }
+
+  /**
+    * codec storing the values as bytes produced by the given functions, e.g.,
+    * by a Kryo or FST serializer
+    */
+  @SuppressWarnings(Array("org.wartremover.warts.RedundantAsInstanceOf"))
+  def binary[T](toBinary: T => Array[Byte], fromBinary: Array[Byte] => T)(implicit classTag: ClassTag[T]): ValueCodec[T] = new ValueCodec[T] {
+    override val runtimeClass: Class[T] = classTag.runtimeClass.asInstanceOf[Class[T]]
+    override val textual: Boolean = false
+    override def encode(value: T): Array[Byte] = toBinary(value)
+    override def decode(bytes: Array[Byte]): T = fromBinary(bytes)
+  }
+
+}
+
+/**
+  * Set of value codecs of a named cache. The implementation is referred in the
+  * `value-codecs` property by its fully qualified name and it must have a
+  * public constructor without arguments.
+  *
+  * {{{
+  *   class MyCodecs extends ValueCodecRegistry {
+  *     override val codecs = Seq(ValueCodec.json[User], ValueCodec.json[Order])
+  *   }
+  * }}}
+  */
+trait ValueCodecRegistry {
+
+  /** registered codecs, the first applicable codec wins */
+  def codecs: Seq[ValueCodec[?]]
+}
+
+private[redis] object ValueCodecRegistry {
+
+  /** instantiates the registry of the given class name */
+  def load(className: String, classLoader: ClassLoader): ValueCodecRegistry =
+    Try(classLoader.loadClass(className).getDeclaredConstructor().newInstance()) match {
+      case Success(registry: ValueCodecRegistry) => registry
+      case Success(_)                            => throw new IllegalArgumentException(s"Class '$className' does not implement ValueCodecRegistry.")
+      case Failure(ex)                           => throw new IllegalArgumentException(s"Value codecs '$className' cannot be instantiated.", ex)
+    }
+
+}
+
+/**
+  * Serializer encoding the values of the registered types by their codecs.
+  * Values of other types as well as nulls fall back to the given serializer.
+  * Values the codec fails to decode, e.g., stored before the codec was
+  * registered, are decoded by the given serializer as well.
+  * The representation of the bytes follows the value encoding of the
+  * instance.
+  */
+private[redis] class ValueCodecSerializer(registry: ValueCodecRegistry, fallback: PekkoSerializer, encoding: RedisValueEncoding) extends PekkoSerializer {
+
+  /** resolved codecs, including the negative results, indexed by the class */
+  private val resolved = new ConcurrentHashMap[Class[?], Option[ValueCodec[Any]]]()
+
+  @SuppressWarnings(Array("org.wartremover.warts.AsInstanceOf"))
+  private def codecOf(clazz: Class[?]): Option[ValueCodec[Any]] =
+    resolved.computeIfAbsent(
+      clazz,
+      _ => registry.codecs.find(_.runtimeClass.isAssignableFrom(clazz)).map(_.asInstanceOf[ValueCodec[Any]]),
+    )
+
+  override def encode(value: Any): Try[String] = value match {
+    case null => fallback.encode(value)
+    case _    =>
+      codecOf(value.getClass) match {
+        case Some(codec) => Try(bytesToString(codec, codec.encode(value)))
+        case None        => fallback.encode(value)
+      }
+  }
+
+  @SuppressWarnings(Array("org.wartremover.warts.RedundantAsInstanceOf"))
+  override def decode[T](value: String)(implicit classTag: ClassTag[T]): Try[T] =
+    codecOf(classTag.runtimeClass) match {
+      case Some(codec) if value.nonEmpty =>
+        // values stored before the codec was registered are read by the fallback
+        Try(codec.decode(stringToBytes(codec, value)).asInstanceOf[T]).recoverWith { case ex => fallback.decode[T](value).orElse(Failure(ex)) }
+      case _                             => fallback.decode[T](value)
+    }
+
+  private def bytesToString(codec: ValueCodec[?], bytes: Array[Byte]): String = encoding match {
+    case RedisValueEncoding.Binary                => new String(bytes, StandardCharsets.ISO_8859_1)
+    case RedisValueEncoding.Text if codec.textual => new String(bytes, StandardCharsets.UTF_8)
+    case RedisValueEncoding.Text                  => Base64.getEncoder.encodeToString(bytes)
+  }
+
+  private def stringToBytes(codec: ValueCodec[?], string: String): Array[Byte] = encoding match {
+    case RedisValueEncoding.Binary                => string.getBytes(StandardCharsets.ISO_8859_1)
+    case RedisValueEncoding.Text if codec.textual => string.getBytes(StandardCharsets.UTF_8)
+    case RedisValueEncoding.Text                  => Base64.getDecoder.decode(string)
+  }
+
+}
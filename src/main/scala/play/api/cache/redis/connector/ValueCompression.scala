@@ -0,0 +1,253 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisCompression
+
+import java.io.{ByteArrayInputStream, ByteArrayOutputStream}
+import java.nio.ByteBuffer
+import java.nio.charset.{Charset, StandardCharsets}
+import java.util.Base64
+import java.util.zip.{DeflaterOutputStream, GZIPInputStream, GZIPOutputStream, InflaterInputStream}
+import scala.reflect.ClassTag
+import scala.util._
+
+/**
+  * Compression algorithm applied to large encoded values. Each algorithm is
+  * identified by a single char stored in the header of the compressed value,
+  * thus values compressed by any algorithm are always readable.
+  */
+sealed abstract private[redis] class ValueCompression(val name: String, val id: Char) {
+
+  def compress(bytes: Array[Byte]): Array[Byte]
+
+  def decompress(bytes: Array[Byte]): Array[Byte]
+}
+
+private[redis] object ValueCompression {
+
+  /** deflate from the JDK, no additional dependency is required */
+  case object Deflate extends ValueCompression("deflate", 'd') {
+
+    override def compress(bytes: Array[Byte]): Array[Byte] = {
+      val output = new ByteArrayOutputStream(bytes.length / 2)
+      Using.resource(new DeflaterOutputStream(output))(_.write(bytes))
+      output.toByteArray
+    }
+
+    override def decompress(bytes: Array[Byte]): Array[Byte] =
+      Using.resource(new InflaterInputStream(new ByteArrayInputStream(bytes)))(_.readAllBytes())
+
+  }
+
+  /** gzip from the JDK, no additional dependency is required */
+  case object Gzip extends ValueCompression("gzip", 'g') {
+
+    override def compress(bytes: Array[Byte]): Array[Byte] = {
+      val output = new ByteArrayOutputStream(bytes.length / 2)
+      Using.resource(new GZIPOutputStream(output))(_.write(bytes))
+      output.toByteArray
+    }
+
+    override def decompress(bytes: Array[Byte]): Array[Byte] =
+      Using.resource(new GZIPInputStream(new ByteArrayInputStream(bytes)))(_.readAllBytes())
+
+  }
+
+  /**
+    * LZ4 block compression, the fastest with the least allocations. It
+    * requires 'org.lz4:lz4-java' on the classpath. The compressed block is
+    * prefixed by the original length, which is validated before the output
+    * is allocated.
+    */
+  case object Lz4 extends ValueCompression("lz4", 'l') {
+
+    private lazy val factory = net.jpountz.lz4.LZ4Factory.fastestInstance()
+
+    override def compress(bytes: Array[Byte]): Array[Byte] = {
+      val compressor = factory.fastCompressor()
+      val output = new Array[Byte](4 + compressor.maxCompressedLength(bytes.length))
+      ByteBuffer.wrap(output).putInt(bytes.length)
+      val length = compressor.compress(bytes, 0, bytes.length, output, 4)
+      java.util.Arrays.copyOf(output, 4 + length)
+    }
+
+    override def decompress(bytes: Array[Byte]): Array[Byte] = {
+      val length = ByteBuffer.wrap(bytes).getInt
+      if (length < 0 || length > MaxLength) throw new IllegalArgumentException(s"Illegal length $length of the lz4 compressed value.")
+      val output = new Array[Byte](length)
+      factory.safeDecompressor().decompress(bytes, 4, bytes.length - 4, output, 0)
+      output
+    }
+
+    /** whether the lz4-java library is on the classpath */
+    def available: Boolean =
+      Try(Class.forName("net.jpountz.lz4.LZ4Factory", false, getClass.getClassLoader)).isSuccess
+
+  }
+
+  private val algorithms: Seq[ValueCompression] = Seq(Deflate, Gzip, Lz4)
+
+  /** the maximal length of the decompressed value, i.e., the maximal size of a redis string */
+  private val MaxLength: Int = 512 * 1024 * 1024
+
+  /** resolves the configured algorithm, 'none' disables the compression */
+  def apply(algorithm: String): Option[ValueCompression] = algorithm.toLowerCase.trim match {
+    case "none"                     => None
+    case Lz4.name if !Lz4.available => throw new IllegalArgumentException("Compression 'lz4' requires 'org.lz4:lz4-java' on the classpath.")
+    case name                       =>
+      algorithms.find(_.name === name) match {
+        case found @ Some(_) => found
+        case None            => throw new IllegalArgumentException("Illegal compression. Valid values are 'none', 'deflate', 'gzip', and 'lz4'. See the documentation for more details.")
+      }
+  }
+
+  /** resolves the algorithm of the compressed value */
+  def byId(id: Char): ValueCompression =
+    algorithms.find(_.id === id).getOrElse(throw new IllegalArgumentException(s"Unknown compression '$id' of the stored value."))
+
+}
+
+/**
+  * Serializer compressing the encoded values exceeding the threshold. The
+  * compressed value starts with a header consisting of a zero char, the id of
+  * the algorithm, the form of the payload, and the length of the compressed
+  * payload terminated by a colon. The payload is followed by an optional
+  * uncompressed tail, which keeps the compressed values appendable. Values
+  * without the header are passed through, thus compressed and uncompressed
+  * values are read side by side. An uncompressed value starting with the zero
+  * char is escaped by another zero char, so it is never mistaken for the
+  * header.
+  *
+  * With the text encoding, the BASE64 values, e.g., objects serialized by
+  * Pekko, are decoded before the compression and encoded again after the
+  * decompression, so the compressed payload is encoded into BASE64 only once.
+  */
+private[redis] class CompressingSerializer(val underlying: PekkoSerializer, compression: ValueCompression, threshold: Long, encoding: RedisValueEncoding) extends PekkoSerializer {
+
+  import CompressingSerializer._
+
+  /** charset mapping the encoded value to bytes and back without a loss */
+  private val charset: Charset = encoding match {
+    case RedisValueEncoding.Text   => StandardCharsets.UTF_8
+    case RedisValueEncoding.Binary => StandardCharsets.ISO_8859_1
+  }
+
+  override def encode(value: Any): Try[String] =
+    underlying.encode(value).map {
+      case large if exceedsThreshold(large) => compress(large)
+      case small                            => escape(small)
+    }
+
+  override def decode[T: ClassTag](value: String): Try[T] =
+    Try(decompress(value)).flatMap(underlying.decode[T])
+
+  /**
+    * whether the size of the encoded value in bytes reaches the threshold.
+    * UTF-8 takes one to three bytes per char, thus the bytes are counted only
+    * when the length of the value does not decide.
+    */
+  private def exceedsThreshold(value: String): Boolean = encoding match {
+    case RedisValueEncoding.Binary                                  => value.length.toLong >= threshold
+    case RedisValueEncoding.Text if value.length.toLong >= threshold => true
+    case RedisValueEncoding.Text if value.length * 3L < threshold    => false
+    case RedisValueEncoding.Text                                    => value.getBytes(charset).length.toLong >= threshold
+  }
+
+  /**
+    * compresses the value unless the compression does not pay off. Both the
+    * header and the BASE64 value consist of single byte chars, thus their
+    * lengths are compared with the bytes of the text value.
+    */
+  private def compress(value: String): String = {
+    val (form, bytes) = base64Bytes(value).fold(Form.Text -> value.getBytes(charset))(Form.Base64 -> _)
+    val size = if (form === Form.Base64) value.length else bytes.length
+    val payload = payloadToString(compression.compress(bytes))
+    val compressed = s"$Marker${compression.id}$form${payload.length}:$payload"
+    if (compressed.length < size) compressed else escape(value)
+  }
+
+  /** prefixes the uncompressed value by the marker when it starts with it */
+  private[connector] def escape(value: String): String =
+    if (value.nonEmpty && value.charAt(0) === Marker) s"$Marker$value" else value
+
+  private def decompress(value: String): String =
+    if (value.length > 1 && value.charAt(0) === Marker) {
+      if (value.charAt(1) === Marker) value.substring(1)
+      else {
+        val algorithm = ValueCompression.byId(value.charAt(1))
+        val form = value.charAt(2)
+        val separator = value.indexOf(':', 3)
+        val end = separator + 1 + value.substring(3, separator).toInt
+        val bytes = algorithm.decompress(stringToPayload(value.substring(separator + 1, end)))
+        val payload = if (form === Form.Base64) Base64.getEncoder.encodeToString(bytes) else new String(bytes, charset)
+        payload + value.substring(end)
+      }
+    } else value
+
+  /**
+    * bytes of the BASE64 value with the text encoding, none when the value is
+    * not a canonical BASE64, i.e., it would not be restored exactly
+    */
+  private def base64Bytes(value: String): Option[Array[Byte]] = encoding match {
+    case RedisValueEncoding.Text if value.length % 4 === 0 && value.forall(isBase64) =>
+      Try(Base64.getDecoder.decode(value)).toOption.filter(Base64.getEncoder.encodeToString(_) === value)
+    case _                                                                           => None
+  }
+
+  private def isBase64(char: Char): Boolean =
+    (char >= 'A' && char <= 'Z') || (char >= 'a' && char <= 'z') || (char >= '0' && char <= '9') || char === '+' || char === '/' || char === '='
+
+  private def payloadToString(bytes: Array[Byte]): String = encoding match {
+    case RedisValueEncoding.Text   => Base64.getEncoder.encodeToString(bytes)
+    case RedisValueEncoding.Binary => new String(bytes, StandardCharsets.ISO_8859_1)
+  }
+
+  private def stringToPayload(string: String): Array[Byte] = encoding match {
+    case RedisValueEncoding.Text   => Base64.getDecoder.decode(string)
+    case RedisValueEncoding.Binary => string.getBytes(StandardCharsets.ISO_8859_1)
+  }
+
+}
+
+private[redis] object CompressingSerializer {
+
+  /** the first char of compressed and escaped values */
+  private val Marker: Char = '\u0000'
+
+  /** form of the compressed payload */
+  private object Form {
+
+    /** the bytes of the value in the charset of the encoding */
+    val Text: Char = 't'
+
+    /** the bytes decoded from the BASE64 value */
+    val Base64: Char = 'b'
+  }
+
+  /** wraps the serializer when the compression is configured */
+  def apply(serializer: PekkoSerializer, compression: RedisCompression, encoding: RedisValueEncoding): PekkoSerializer =
+    ValueCompression(compression.algorithm) match {
+      case Some(algorithm) => new CompressingSerializer(serializer, algorithm, compression.threshold, encoding)
+      case None            => serializer
+    }
+
+  /**
+    * serializer producing values that are safe to be appended, i.e., it never
+    * compresses them
+    */
+  def uncompressed(serializer: PekkoSerializer): PekkoSerializer = serializer match {
+    case compressing: CompressingSerializer => compressing.underlying
+    case other                              => other
+  }
+
+  /**
+    * converts the uncompressed value into the value creating the key, i.e.,
+    * it escapes the value starting with the marker. When appended to an
+    * existing value, the value is appended as it is.
+    */
+  def creating(serializer: PekkoSerializer): String => String = serializer match {
+    case compressing: CompressingSerializer => compressing.escape
+    case _                                  => identity
+  }
+
+}
@@ -4,7 +4,8 @@ import scala.concurrent.Future
 
 package object connector {
 
-  implicit def future2expected[T](future: Future[T]): ExpectedFutureBuilder[T] = new ExpectedFutureBuilder[T](future)
+  /** the future is passed by name, thus the command is issued once its response handling is set up */
+  implicit def future2expected[T](future: => Future[T]): ExpectedFutureBuilder[T] = new ExpectedFutureBuilder[T](future)
 
   implicit class TupleHelper[+A, +B](private val tuple: (A, B)) extends AnyVal {
     @inline def key: A = tuple._1
@@ -17,6 +17,12 @@ final case class UnexpectedResponseException(key: Option[String], command: Strin
 /** Value serialization or deserialization failed. */
 final case class SerializationException(key: String, message: String, cause: Throwable) extends RedisException(s"$message for $key", cause)
 
+/**
+  * Request was rejected without reaching redis as the circuit breaker is open,
+  * the cause is the failure that opened it
+  */
+final case class CircuitOpenException(cause: Throwable) extends RedisException("Circuit breaker is open, the command was rejected", cause)
+
 /**
   * Helper trait providing simplified and unified API to exception handling in
   * play-redis
@@ -13,38 +13,33 @@ import scala.reflect.ClassTag
   *
   * This acts as an adapter to Play Scala CacheApi, because Java Api is slightly
   * different than Scala Api
+  *
+  * @param internal
+  *   the Scala API
+  * @param redis
+  *   coordinates the stampede protection across nodes
   */
-private[impl] class AsyncJavaRedis(internal: CacheAsyncApi)(implicit environment: Environment, runtime: RedisRuntime) extends play.cache.AsyncCacheApi with play.cache.redis.AsyncCacheApi {
+private[impl] class AsyncJavaRedis(internal: AsyncRedis, redis: RedisConnector)(implicit environment: Environment, runtime: RedisRuntime) extends play.cache.AsyncCacheApi with play.cache.redis.AsyncCacheApi {
   import JavaCompatibility._
 
   def set(key: String, value: scala.Any, expiration: Int): CompletionStage[Done] =
-    async { implicit context =>
+    async { _ =>
       set(key, value, expiration.seconds)
     }
 
   def set(key: String, value: scala.Any): CompletionStage[Done] =
-    async { implicit context =>
+    async { _ =>
       set(key, value, Duration.Inf)
     }
 
-  private def set(key: String, value: scala.Any, duration: Duration)(implicit ec: ExecutionContext): Future[Done] =
-    Future
-      .from(
-        // set the value
-        internal.set(key, value, duration),
-        // and set its type to be able to read it
-        internal.set(classTagKey(key), classTagOf(value), duration),
-      )
-      .asDone
+  private def set(key: String, value: scala.Any, duration: Duration): Future[Done] =
+    // set the value and its type to be able to read it, both at once
+    internal.setWithClassTag(key, classTagKey(key), value, classTagOf(value), duration)
 
   def remove(key: String): CompletionStage[Done] =
-    async { implicit context =>
-      Future
-        .from(
-          internal.remove(key),
-          internal.remove(classTagKey(key)),
-        )
-        .asDone
+    async { _ =>
+      // the value and its type are removed by a single command
+      internal.removeAll(key.withClassTag: _*)
     }
 
   def get[T](key: String): CompletionStage[Optional[T]] =
@@ -70,20 +65,15 @@ private[impl] class AsyncJavaRedis(internal: CacheAsyncApi)(implicit environment
     }
 
   private def getOrElseOption[T](key: String, callable: Option[Callable[CompletionStage[T]]], duration: Duration = Duration.Inf)(implicit context: ExecutionContext): Future[Option[T]] = {
-    // get the tag and decode it
-    def getClassTag = internal.get[String](classTagKey(key))
-    def decodedClassTag(tag: Option[String]) = tag.map(classTagFrom[T])
-    // if tag is defined, get Option[ value ] otherwise None
-    def getValue = getClassTag.map(decodedClassTag).flatMap {
-      case Some(ClassTag.Null) => Future.successful(Some(null.asInstanceOf[T]))
-      case Some(tag)           => internal.get[T](key)(tag)
-      case None                => Future.successful(None)
-    }
+    // get the tag and the value at once, the tag determines the type of the value
+    def getValue = internal.getWithClassTag[T](key, classTagKey(key))(classTagFrom[T])
     // compute or else and save it into cache
     def orElse(callable: Callable[CompletionStage[T]]) = callable.call().asScala
     def saveOrElse(value: T) = set(key, value, duration)
-    def savedOrElse(callable: Callable[CompletionStage[T]]) = orElse(callable).flatMap { value =>
-      runtime.invocation.invoke(saveOrElse(value), Some(value))
+    // concurrent misses of the same key may share the computation
+    def savedOrElse(callable: Callable[CompletionStage[T]]) = {
+      implicit val classTag: ClassTag[T] = erasedClassTag[T]
+      runtime.stampedeProtection(runtime.prefix.prefixed(key), redis, getValue)(orElse(callable))(saveOrElse).map(Some(_))
     }
 
     getValue.flatMap {
@@ -92,6 +82,39 @@ private[impl] class AsyncJavaRedis(internal: CacheAsyncApi)(implicit environment
     }
   }
 
+  def getOrElseWithRefresh[T](key: String, block: Callable[T], expiration: Int): CompletionStage[T] =
+    getOrElseUpdateWithRefresh[T](key, (() => Future.successful(block.call()).asJava).asJava, expiration)
+
+  def getOrElseUpdateWithRefresh[T](key: String, block: Callable[CompletionStage[T]], expiration: Int): CompletionStage[T] =
+    async { implicit context =>
+      val metadataKey = EarlyRefresh.metadataKey(key)
+      // get the tag and the value at once, the tag determines the type of the value
+      def getValue = internal.getWithClassTag[T](key, classTagKey(key))(classTagFrom[T])
+      // save the value into cache along with its type and metadata, all at once
+      def saveOrElse(value: T, startedAt: Long) = {
+        val duration = runtime.earlyRefresh.expiration(expiration.seconds)
+        val metadata = runtime.earlyRefresh.metadata(startedAt, expiration.seconds)
+        internal.setWithClassTagAndMetadata(key, classTagKey(key), metadataKey, value, classTagOf(value), metadata, duration)
+      }
+      // compute or else and save it into cache along with its metadata
+      def savedOrElse: Future[T] = {
+        val startedAt = System.nanoTime()
+        block.call().asScala.flatMap(value => runtime.invocation.invoke(saveOrElse(value, startedAt), value))
+      }
+      // concurrent misses of the same key may share the computation
+      def computeOnMiss: Future[T] = {
+        implicit val classTag: ClassTag[T] = erasedClassTag[T]
+        val startedAt = System.nanoTime()
+        runtime.stampedeProtection(runtime.prefix.prefixed(key), redis, getValue)(block.call().asScala)(saveOrElse(_, startedAt))
+      }
+      // get the tag, the value, and its metadata at once, the tag determines the type of the value
+      val cached = internal.getWithClassTagAndMetadata[T](key, classTagKey(key), metadataKey)(classTagFrom[T])
+
+      cached.flatMap { case (value, metadata) =>
+        runtime.earlyRefresh(key, value, metadata)(savedOrElse).fold(computeOnMiss)(Future.successful)
+      }
+    }
+
   def getAll[T](classTag: Class[T], keys: JavaList[String]): CompletionStage[JavaList[Optional[T]]] =
     async { implicit context =>
       internal.getAll(keys.asScala)(classTag).map(_.map(_.asJava).asJava)
@@ -215,4 +238,6 @@ private[impl] class AsyncJavaRedis(internal: CacheAsyncApi)(implicit environment
   def set[T](key: String, classTag: Class[T]): AsyncRedisSet[T] = new RedisSetJavaImpl(internal.set[T](key)(classTag))
 
   def map[T](key: String, classTag: Class[T]): AsyncRedisMap[T] = new RedisMapJavaImpl(internal.map[T](key)(classTag))
+
+  def zset[T](key: String, classTag: Class[T]): AsyncRedisSortedSet[T] = new RedisSortedSetJavaImpl(internal.zset[T](key)(classTag))
 }
@@ -1,5 +1,7 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.cache.redis._
 
 import scala.concurrent.Future
@@ -7,10 +9,83 @@ import scala.concurrent.duration.Duration
 import scala.reflect.ClassTag
 
 /** Implementation of **asynchronous** Redis API */
-private[impl] trait AsyncRedis extends play.api.cache.AsyncCacheApi with CacheAsyncApi
+private[impl] trait AsyncRedis extends play.api.cache.AsyncCacheApi with CacheAsyncApi {
+
+  /**
+    * Retrieve a value, which type is described by the class tag stored under
+    * another key. It costs a single round trip, see
+    * [[play.api.cache.redis.connector.CoreCommands.getWithClassTag]].
+    */
+  def getWithClassTag[T](key: String, classTagKey: String)(classTagOf: String => ClassTag[T]): Future[Option[T]]
+
+  /**
+    * Store a value along with the name of its class under another key. Both
+    * are stored atomically in a single round trip, see
+    * [[play.api.cache.redis.connector.CoreCommands.setWithClassTag]].
+    */
+  def setWithClassTag(key: String, classTagKey: String, value: Any, classTag: String, expiration: Duration): Future[Done]
+
+  /**
+    * Retrieve a value described by the class tag along with its metadata in a
+    * single round trip, see
+    * [[play.api.cache.redis.connector.CoreCommands.getWithClassTagAndMetadata]].
+    */
+  def getWithClassTagAndMetadata[T](key: String, classTagKey: String, metadataKey: String)(classTagOf: String => ClassTag[T]): Future[(Option[T], Option[String])]
+
+  /**
+    * Store a value along with the name of its class and its metadata
+    * atomically in a single round trip, see
+    * [[play.api.cache.redis.connector.CoreCommands.setWithClassTagAndMetadata]].
+    */
+  def setWithClassTagAndMetadata(key: String, classTagKey: String, metadataKey: String, value: Any, classTag: String, metadata: String, expiration: Duration): Future[Done]
+}
 
 private[impl] class AsyncRedisImpl(redis: RedisConnector)(implicit runtime: RedisRuntime) extends RedisCache(redis, Builders.AsynchronousBuilder) with AsyncRedis {
 
+  import dsl._
+
+  def getWithClassTag[T](key: String, classTagKey: String)(classTagOf: String => ClassTag[T]): Future[Option[T]] =
+    key.prefixed { key =>
+      classTagKey.prefixed { classTagKey =>
+        redis.getWithClassTag[T](key, classTagKey)(classTagOf).recoverWithDefault(None)
+      }
+    }
+
+  def setWithClassTag(key: String, classTagKey: String, value: Any, classTag: String, expiration: Duration): Future[Done] =
+    (key, classTagKey).prefixed { (key, classTagKey) =>
+      redis.setWithClassTag(key, classTagKey, value, classTag, expiration).recoverWithDone
+    }
+
+  def getWithClassTagAndMetadata[T](key: String, classTagKey: String, metadataKey: String)(classTagOf: String => ClassTag[T]): Future[(Option[T], Option[String])] =
+    (key, classTagKey).prefixed { (key, classTagKey) =>
+      metadataKey.prefixed { metadataKey =>
+        redis.getWithClassTagAndMetadata[T](key, classTagKey, metadataKey)(classTagOf).recoverWithDefault(None -> None)
+      }
+    }
+
+  def setWithClassTagAndMetadata(key: String, classTagKey: String, metadataKey: String, value: Any, classTag: String, metadata: String, expiration: Duration): Future[Done] =
+    (key, classTagKey).prefixed { (key, classTagKey) =>
+      metadataKey.prefixed { metadataKey =>
+        redis.setWithClassTagAndMetadata(key, classTagKey, metadataKey, value, classTag, metadata, expiration).recoverWithDone
+      }
+    }
+
+  def scanMatching(pattern: String): Source[String, NotUsed] =
+    pattern.prefixed { pattern =>
+      redis.scanMatching(pattern).map(runtime.prefix.unprefixed)
+    }
+
+  def withReadConsistency(consistency: ReadConsistency): CacheAsyncApi =
+    new AsyncRedisImpl(redis.withReadConsistency(consistency))
+
+  def loadScript(script: RedisScript): Future[Done] =
+    redis.scriptLoad(script).recoverWithDone
+
+  def evalScript[T: RedisScript.Output](script: RedisScript, keys: Seq[String], args: Seq[String]): Future[T] =
+    keys.prefixed { keys =>
+      redis.eval[T](script, keys, args)
+    }
+
   def getOrElseUpdate[T: ClassTag](key: String, expiration: Duration)(orElse: => Future[T]): Future[T] =
     getOrFuture[T](key, expiration)(orElse)
 
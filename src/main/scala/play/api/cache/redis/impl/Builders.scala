@@ -36,7 +36,7 @@ private object Builders {
     def name = "AsynchronousBuilder"
 
     override def toResult[T](run: => Future[T], default: => Future[T])(implicit runtime: RedisRuntime): AsynchronousResult[T] =
-      run recoverWith {
+      runtime.policy.invoke(run) recoverWith {
         // recover from known exceptions
         case failure: RedisException => runtime.policy.recoverFrom(run, default, failure)
       }
@@ -46,7 +46,11 @@ private object Builders {
 
   }
 
-  /** converts the future into the value */
+  /**
+    * converts the future into the value. The thread waits for the result by
+    * parking, it holds no monitor, thus a virtual thread waiting for the
+    * result unmounts from its carrier thread.
+    */
   object SynchronousBuilder extends ResultBuilder[SynchronousResult] {
 
     import scala.concurrent.Await
@@ -55,17 +59,24 @@ private object Builders {
     def name = "SynchronousBuilder"
 
     override def toResult[T](run: => Future[T], default: => Future[T])(implicit runtime: RedisRuntime): SynchronousResult[T] =
-      Try {
-        // wait for the result
-        Await.result(run, runtime.timeout.duration)
-      }.recover[T] {
-        // it timed out, produce an expected exception
-        case cause: AskTimeoutException                   => timedOut(cause)
-        case cause: java.util.concurrent.TimeoutException => timedOut(cause)
-      }.recover {
+      await(runtime.policy.invoke(run)) match {
+        case Success(value)                   => value
         // apply recovery policy to recover from expected exceptions
-        case failure: RedisException => Await.result(runtime.policy.recoverFrom(run, default, failure), runtime.timeout.duration)
-      }.get // finally, regardless the recovery status, get the synchronous result
+        case Failure(failure: RedisException) => await(runtime.policy.recoverFrom(run, default, failure)).get
+        case Failure(cause)                   => throw cause
+      }
+
+    /**
+      * returns the value of already completed future immediately, otherwise
+      * waits for it at most the sync timeout
+      */
+    private def await[T](future: Future[T])(implicit runtime: RedisRuntime): Try[T] =
+      future.value.getOrElse(Try(Await.ready(future, runtime.timeout.duration)).flatMap(_.value.get)) match {
+        // it timed out, produce an expected exception
+        case Failure(cause: AskTimeoutException)                   => Failure(TimeoutException(cause))
+        case Failure(cause: java.util.concurrent.TimeoutException) => Failure(TimeoutException(cause))
+        case other                                                 => other
+      }
 
     override def map[T, U](result: SynchronousResult[T])(f: T => U)(implicit runtime: RedisRuntime): SynchronousResult[U] =
       f(result)
@@ -0,0 +1,120 @@
+package play.api.cache.redis.impl
+
+import play.api.Logger
+import play.api.cache.redis.configuration.RedisEarlyRefresh
+
+import java.util.concurrent.{ConcurrentHashMap, ThreadLocalRandom}
+import scala.concurrent.duration.FiniteDuration
+import scala.concurrent.{ExecutionContext, Future}
+import scala.util.{Failure, Success, Try}
+
+/**
+  * Probabilistic early refresh (XFetch) used by `getOrElseWithRefresh` and
+  * `getOrFutureWithRefresh`. Next to the value, it stores how long its
+  * computation took and when the value logically expires. Each hit refreshes
+  * the value in the background with a probability growing as the logical
+  * expiration approaches and with the duration of the computation, thus the
+  * value is usually recomputed by a single request before it expires.
+  *
+  * The value is physically kept for the grace period after its logical
+  * expiration, the stale value is served while it is being refreshed.
+  *
+  * @param beta
+  *   scales the probability of the early refresh
+  * @param grace
+  *   how long the value is kept after its logical expiration
+  * @param clock
+  *   current time in milliseconds
+  * @param random
+  *   uniformly distributed random number in the interval (0, 1]
+  */
+private[redis] class EarlyRefresh(beta: Double, grace: FiniteDuration, clock: () => Long, random: () => Double) {
+  import EarlyRefresh._
+
+  private val log = Logger("play.api.cache.redis")
+
+  /** prefixed keys being refreshed, at most one refresh per key within the JVM */
+  private val refreshing = ConcurrentHashMap.newKeySet[String]()
+
+  /** physical expiration of the value and its metadata */
+  def expiration(logical: FiniteDuration): FiniteDuration = logical + grace
+
+  /**
+    * Encodes the metadata of the value computed just now.
+    *
+    * @param startedAt
+    *   `System.nanoTime` when the computation started
+    * @param expiration
+    *   logical expiration of the value
+    */
+  def metadata(startedAt: Long, expiration: FiniteDuration): String =
+    Metadata((System.nanoTime() - startedAt) / 1000000, clock() + expiration.toMillis).encode
+
+  /**
+    * Returns the cached value, if any. On hit, it decides whether to refresh
+    * the value in the background. The refresh is started by the calling
+    * thread, however, it is not awaited and its failure is only logged.
+    *
+    * @param key
+    *   prefixed cache storage key
+    * @param value
+    *   cached value
+    * @param metadata
+    *   encoded metadata of the cached value, if any
+    * @param refresh
+    *   computes the value and stores it along with new metadata
+    */
+  def apply[T](key: String, value: Option[T], metadata: Option[String])(refresh: => Future[Any])(implicit context: ExecutionContext): Option[T] = {
+    if (value.isDefined && metadata.flatMap(Metadata.decode).exists(isDue)) refreshInBackground(key)(refresh)
+    value
+  }
+
+  /** XFetch: `now - delta * beta * ln(random) >= expiry` */
+  private def isDue(metadata: Metadata): Boolean =
+    clock() - metadata.delta * beta * math.log(random()) >= metadata.expiry.toDouble
+
+  private def refreshInBackground(key: String)(refresh: => Future[Any])(implicit context: ExecutionContext): Unit =
+    if (refreshing.add(key)) {
+      log.debug(s"Refreshing the key '$key' ahead of its expiration.")
+      Try(refresh).fold(Future.failed, identity).onComplete { result =>
+        refreshing.remove(key)
+        result match {
+          case Success(_)     => ()
+          case Failure(cause) => log.warn(s"Refresh of the key '$key' failed, the stale value is served until it expires.", cause)
+        }
+      }
+    }
+
+  // $COVERAGE-OFF$
+  override def toString: String = s"EarlyRefresh(beta=$beta, grace=$grace)"
+  // $COVERAGE-ON$
+}
+
+private[redis] object EarlyRefresh {
+
+  def apply(settings: RedisEarlyRefresh): EarlyRefresh =
+    new EarlyRefresh(settings.beta, settings.grace, () => System.currentTimeMillis(), () => 1.0 - ThreadLocalRandom.current().nextDouble())
+
+  /** key of the metadata stored next to the value */
+  @inline def metadataKey(key: String): String = s"refresh::$key"
+
+  /**
+    * @param delta
+    *   duration of the computation in milliseconds
+    * @param expiry
+    *   logical expiration of the value in epoch milliseconds
+    */
+  final private case class Metadata(delta: Long, expiry: Long) {
+    def encode: String = s"$delta:$expiry"
+  }
+
+  private object Metadata {
+
+    def decode(encoded: String): Option[Metadata] = encoded.split(':') match {
+      case Array(delta, expiry) => delta.toLongOption.zip(expiry.toLongOption).map { case (delta, expiry) => Metadata(delta, expiry) }
+      case _                    => None
+    }
+
+  }
+
+}
@@ -50,6 +50,9 @@ private[impl] object JavaCompatibility extends JavaCompatibilityBase {
 
   @inline implicit def class2tag[T](classOf: Class[T]): ClassTag[T] = ClassTag(classOf)
 
+  /** the Java API erases the type of the value, its class is resolved from the stored class tag */
+  @inline def erasedClassTag[T]: ClassTag[T] = ClassTag.AnyRef.asInstanceOf[ClassTag[T]]
+
   @inline def async[T](doAsync: ExecutionContext => Future[T])(implicit runtime: RedisRuntime): CompletionStage[T] =
     doAsync {
       // save the HTTP context if any and restore it later for orElse clause
@@ -3,7 +3,7 @@ package play.api.cache.redis.impl
 import play.api.cache.redis._
 
 import scala.concurrent._
-import scala.concurrent.duration.Duration
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 
 /**
@@ -49,14 +49,9 @@ private[impl] class RedisCache[Result[_]](redis: RedisConnector, builder: Builde
 
   override def append(key: String, value: String, expiration: Duration): Result[Done] =
     key.prefixed { key =>
-      redis
-        .append(key, value)
-        .flatMap { result =>
-          // if the new string length is equal to the appended string, it means they should equal
-          // when the finite duration is required, set it
-          if (result === value.length.toLong && expiration.isFinite) redis.expire(key, expiration) else Future.successful[Unit](())
-        }
-        .recoverWithDone
+      // the expiration is set only when the key was created, atomically with the append
+      def appended = if (expiration.isFinite) redis.appendAndExpire(key, value, expiration) else redis.append(key, value)
+      appended.map(_ => ()).recoverWithDone
     }
 
   override def expire(key: String, expiration: Duration): Result[Done] =
@@ -91,11 +86,46 @@ private[impl] class RedisCache[Result[_]](redis: RedisConnector, builder: Builde
           // cache hit, return the unwrapped value
           case Some(value) => value.toFuture
           // cache miss, compute the value, store it into the cache but do not wait for the result and ignore it, directly return the value
-          case None        => orElse flatMap { value => runtime.invocation.invoke(redis.set(key, value, expiration), thenReturn = value) }
+          // concurrent misses of the same key may share the computation
+          case None        =>
+            runtime.stampedeProtection(key, redis)(orElse)(redis.set(key, _, expiration))
         }
         .recoverWithFuture(orElse)
     }
 
+  override def getOrElseWithRefresh[T: ClassTag](key: String, expiration: FiniteDuration)(orElse: => T): Result[T] =
+    getOrFutureWithRefresh(key, expiration)(orElse.toFuture).recoverWithDefault(orElse)
+
+  override def getOrFutureWithRefresh[T: ClassTag](key: String, expiration: FiniteDuration)(orElse: => Future[T]): Future[T] =
+    (key, EarlyRefresh.metadataKey(key)).prefixed { (key, metadataKey) =>
+      // compute the value, store it along with its metadata but do not wait for the result, directly return the value
+      def computeAndSet: Future[T] = {
+        val startedAt = System.nanoTime()
+        orElse flatMap { value => runtime.invocation.invoke(setWithRefresh(key, metadataKey, value, startedAt, expiration), thenReturn = value) }
+      }
+      getWithRefresh[T](key, metadataKey)
+        .flatMap { case (value, metadata) =>
+          // cache hit, return the possibly stale value and refresh it in the background when due
+          runtime.earlyRefresh(key, value, metadata)(computeAndSet).fold {
+            // cache miss, concurrent misses of the same key may share the computation
+            val startedAt = System.nanoTime()
+            runtime.stampedeProtection(key, redis)(orElse)(setWithRefresh(key, metadataKey, _, startedAt, expiration))
+          }(_.toFuture)
+        }
+        .recoverWithFuture(orElse)
+    }
+
+  /** retrieves the value and its refresh metadata by a single command */
+  protected def getWithRefresh[T: ClassTag](key: String, metadataKey: String): Future[(Option[T], Option[String])] =
+    redis.getWithMetadata[T](key, metadataKey)
+
+  /** stores the value and its refresh metadata, both are kept for the grace period after the logical expiration */
+  protected def setWithRefresh(key: String, metadataKey: String, value: Any, startedAt: Long, expiration: FiniteDuration): Future[Unit] = {
+    val metadata = runtime.earlyRefresh.metadata(startedAt, expiration)
+    val physical = runtime.earlyRefresh.expiration(expiration)
+    redis.setWithMetadata(key, metadataKey, value, metadata, physical)
+  }
+
   override def remove(key: String): Result[Done] =
     key.prefixed { key =>
       redis.remove(key).recoverWithDone
@@ -111,7 +141,7 @@ private[impl] class RedisCache[Result[_]](redis: RedisConnector, builder: Builde
     }
 
   override def removeMatching(pattern: String): Result[Done] = pattern.prefixed { pattern =>
-    redis.matching(pattern).flatMap(keys => redis.remove(keys: _*)).recoverWithDone
+    redis.removeMatching(pattern).recoverWithDone
   }
 
   override def invalidate(): Result[Done] =
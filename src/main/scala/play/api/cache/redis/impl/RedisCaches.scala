@@ -1,7 +1,7 @@
 package play.api.cache.redis.impl
 
 import org.apache.pekko.actor.ActorSystem
-import play.api.Environment
+import play.api.{Environment, Logger}
 import play.api.cache.redis._
 import play.api.inject.ApplicationLifecycle
 
@@ -19,6 +19,9 @@ trait RedisCaches {
   def scalaSync: play.api.cache.SyncCacheApi
   def javaSync: play.cache.SyncCacheApi
   def javaAsync: play.cache.redis.AsyncCacheApi
+  def nearCache: NearCacheStatistics
+  def connections: ConnectionStatistics
+  def hedging: HedgingStatistics
 }
 
 private[redis] class RedisCachesProvider(instance: RedisInstance, serializer: connector.PekkoSerializer, environment: Environment)(implicit system: ActorSystem, lifecycle: ApplicationLifecycle, recovery: RecoveryPolicyResolver) extends Provider[RedisCaches] {
@@ -28,15 +31,55 @@ private[redis] class RedisCachesProvider(instance: RedisInstance, serializer: co
 
   implicit private def implicitEnvironment: Environment = environment
 
+  private lazy val valueEncoding: connector.RedisValueEncoding = connector.RedisValueEncoding(instance.valueEncoding)
+
+  /**
+    * binary encoding requires raw bytes, thus it always uses the Pekko
+    * serializer and a custom bound serializer is not used
+    */
+  private lazy val pekkoSerializer: connector.PekkoSerializer = valueEncoding match {
+    case connector.RedisValueEncoding.Text   => serializer
+    case connector.RedisValueEncoding.Binary =>
+      if (!connector.PekkoSerializer.isBuiltIn(serializer)) {
+        Logger("play.api.cache.redis").warn(s"Redis cache '${instance.name}' uses the binary value encoding, the custom bound ${serializer.getClass.getName} is not used.")
+      }
+      new connector.PekkoBinarySerializerProvider().get
+  }
+
+  /** registered value codecs take precedence over the Pekko serializer */
+  private lazy val codecSerializer: connector.PekkoSerializer = instance.valueCodecs match {
+    case Some(registry) => new connector.ValueCodecSerializer(connector.ValueCodecRegistry.load(registry, environment.classLoader), pekkoSerializer, valueEncoding)
+    case None           => pekkoSerializer
+  }
+
+  /** large values are optionally compressed after they are encoded */
+  private lazy val valueSerializer: connector.PekkoSerializer = connector.CompressingSerializer(codecSerializer, instance.compression, valueEncoding)
+
+  /** latencies and hit ratio, disabled unless configured */
+  private lazy val metrics: RedisMetrics = RedisMetrics(instance.metrics, instance.name, environment.classLoader)
+
+  private lazy val connectorProvider = new connector.RedisConnectorProvider(instance, valueSerializer, metrics)
+
   lazy val get: RedisCaches = new RedisCaches {
-    lazy val redisConnector: RedisConnector = new connector.RedisConnectorProvider(instance, serializer).get
+    lazy val redisConnector: RedisConnector = {
+      val connector = connectorProvider.get
+      // the circuit breaker probes the instance by PING
+      runtime.policy match {
+        case breaker: CircuitBreaking => breaker.attach(instance.name, () => connector.ping(), metrics)
+        case _                        => ()
+      }
+      connector
+    }
     lazy val async: AsyncRedis = new AsyncRedisImpl(redisConnector)
     lazy val sync: CacheApi = new SyncRedis(redisConnector)
     lazy val scalaSync: play.api.cache.SyncCacheApi = new play.api.cache.DefaultSyncCacheApi(async)
     lazy val scalaAsync: play.api.cache.AsyncCacheApi = async
-    lazy val java: AsyncJavaRedis = new AsyncJavaRedis(async)
+    lazy val java: AsyncJavaRedis = new AsyncJavaRedis(async, redisConnector)
     lazy val javaAsync: play.cache.redis.AsyncCacheApi = java
     lazy val javaSync: play.cache.SyncCacheApi = new play.cache.DefaultSyncCacheApi(java)
+    lazy val nearCache: NearCacheStatistics = connectorProvider.nearCache
+    def connections: ConnectionStatistics = connectorProvider.connections
+    def hedging: HedgingStatistics = connectorProvider.hedgingStatistics
   }
 
 }
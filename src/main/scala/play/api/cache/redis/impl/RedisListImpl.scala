@@ -1,7 +1,10 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.cache.redis._
 
+import scala.concurrent.duration.FiniteDuration
 import scala.reflect.ClassTag
 
 /**
@@ -47,6 +50,13 @@ private[impl] class RedisListImpl[Elem: ClassTag, Result[_]](key: String, redis:
 
   override def headPop: Result[Option[Elem]] = redis.listHeadPop[Elem](key).recoverWithDefault(None)
 
+  override def headPop(count: Long): Result[Seq[Elem]] = redis.listPop[Elem](key, count, fromTail = false).recoverWithDefault(Seq.empty)
+
+  override def lastPop(count: Long): Result[Seq[Elem]] = redis.listPop[Elem](key, count, fromTail = true).recoverWithDefault(Seq.empty)
+
+  override def consume(batchSize: Int, concurrency: Int, poll: FiniteDuration): Source[Elem, NotUsed] =
+    redis.listConsume[Elem](key, batchSize, concurrency, poll)
+
   override def size: Result[Long] = redis.listSize(key).recoverWithDefault(0)
 
   override def insertBefore(pivot: Elem, element: Elem): Result[Option[Long]] =
@@ -95,12 +105,6 @@ private[impl] class RedisListImpl[Elem: ClassTag, Result[_]](key: String, redis:
     redis.listRemove(key, element, count).map(_ => This).recoverWithDefault(This)
 
   override def removeAt(position: Long): Result[This] =
-    redis
-      .listSetAt(key, position, "play-redis:DELETED")
-      .flatMap { _ =>
-        redis.listRemove(key, "play-redis:DELETED", count = 0)
-      }
-      .map(_ => This)
-      .recoverWithDefault(This)
+    redis.listRemoveAt(key, position).map(_ => This).recoverWithDefault(This)
 
 }
@@ -1,5 +1,7 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.javadsl.Source
 import play.api.cache.redis.RedisList
 import play.cache.redis.AsyncRedisList
 
@@ -44,6 +46,19 @@ class RedisListJavaImpl[Elem](internal: RedisList[Elem, Future])(implicit runtim
       internal.headPop.map(_.asJava)
     }
 
+  override def headPop(count: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.headPop(count).map(_.asJava)
+    }
+
+  override def lastPop(count: Long): CompletionStage[JavaList[Elem]] =
+    async { implicit context =>
+      internal.lastPop(count).map(_.asJava)
+    }
+
+  override def consume(batchSize: Int, concurrency: Int): Source[Elem, NotUsed] =
+    internal.consume(batchSize, concurrency).asJava
+
   override def insertBefore(pivot: Elem, element: Elem): CompletionStage[Optional[java.lang.Long]] =
     async { implicit context =>
       internal.insertBefore(pivot, element).map(_.map(Long.box).asJava)
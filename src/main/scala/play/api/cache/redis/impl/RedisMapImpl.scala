@@ -1,7 +1,10 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.cache.redis._
 
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 
 /** <p>Implementation of Set API using redis-server cache implementation.</p> */
@@ -16,6 +19,17 @@ private[impl] class RedisMapImpl[Elem: ClassTag, Result[_]](key: String, redis:
   override def add(field: String, value: Elem): Result[This] =
     redis.hashSet(key, field, value).map(_ => This).recoverWithDefault(This)
 
+  override def addAll(fieldValues: Iterable[(String, Elem)], expiration: Duration): Result[This] =
+    expiration match {
+      case finite: FiniteDuration =>
+        redis.hashSetAll(key, fieldValues.toSeq).flatMap(_ => redis.hashExpire(key, finite, fieldValues.map(_._1).toSeq)).map(_ => This).recoverWithDefault(This)
+      case _                      =>
+        redis.hashSetAll(key, fieldValues.toSeq).map(_ => This).recoverWithDefault(This)
+    }
+
+  override def expireFields(expiration: FiniteDuration, fields: String*): Result[This] =
+    redis.hashExpire(key, expiration, fields).map(_ => This).recoverWithDefault(This)
+
   override def get(field: String): Result[Option[Elem]] =
     redis.hashGet[Elem](key, field).recoverWithDefault(None)
 
@@ -40,6 +54,9 @@ private[impl] class RedisMapImpl[Elem: ClassTag, Result[_]](key: String, redis:
   override def values: Result[Set[Elem]] =
     redis.hashValues[Elem](key).recoverWithDefault(Set.empty)
 
+  override def scan(count: Long): Source[(String, Elem), NotUsed] =
+    redis.hashScan[Elem](key, count)
+
   override def size: Result[Long] =
     redis.hashSize(key).recoverWithDefault(0)
 
@@ -1,9 +1,12 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.javadsl.Source
 import play.api.cache.redis.RedisMap
 import play.cache.redis.AsyncRedisMap
 
 import scala.concurrent.Future
+import scala.concurrent.duration._
 
 class RedisMapJavaImpl[Elem](internal: RedisMap[Elem, Future])(implicit runtime: RedisRuntime) extends AsyncRedisMap[Elem] {
   import JavaCompatibility._
@@ -13,6 +16,21 @@ class RedisMapJavaImpl[Elem](internal: RedisMap[Elem, Future])(implicit runtime:
       internal.add(field, value).map(_ => this)
     }
 
+  def addAll(fieldValues: JavaMap[String, Elem]): CompletionStage[AsyncRedisMap[Elem]] =
+    async { implicit context =>
+      internal.addAll(fieldValues.asScala).map(_ => this)
+    }
+
+  def addAll(fieldValues: JavaMap[String, Elem], expiration: Int): CompletionStage[AsyncRedisMap[Elem]] =
+    async { implicit context =>
+      internal.addAll(fieldValues.asScala, expiration.seconds).map(_ => this)
+    }
+
+  def expireFields(expiration: Int, fields: String*): CompletionStage[AsyncRedisMap[Elem]] =
+    async { implicit context =>
+      internal.expireFields(expiration.seconds, fields: _*).map(_ => this)
+    }
+
   def get(field: String): CompletionStage[Optional[Elem]] =
     async { implicit context =>
       internal.get(field).map(_.asJava)
@@ -53,4 +71,7 @@ class RedisMapJavaImpl[Elem](internal: RedisMap[Elem, Future])(implicit runtime:
       internal.values.map(_.asJava)
     }
 
+  def scan(count: Long): Source[java.util.Map.Entry[String, Elem], NotUsed] =
+    internal.scan(count).map[java.util.Map.Entry[String, Elem]] { case (field, value) => new java.util.AbstractMap.SimpleImmutableEntry(field, value) }.asJava
+
 }
@@ -24,3 +24,35 @@ object RedisEmptyPrefix extends RedisPrefix {
   @inline override def prefixed(keys: Seq[String]): Seq[String] = keys
   @inline override def unprefixed(keys: Seq[String]): Seq[String] = keys
 }
+
+object RedisPrefix {
+
+  /**
+    * Builds a key with the hash tag. In cluster mode, only the hash tag
+    * determines the slot of the key, thus all keys with the same tag are
+    * stored in the same slot and multi-key operations over them are atomic.
+    * Beware that too many keys sharing the tag overload a single node.
+    *
+    * @param tag
+    *   hash tag shared by the related keys, e.g., `user:1`
+    * @param key
+    *   the key itself, e.g., `profile`
+    * @return
+    *   the key with the hash tag, e.g., `{user:1}:profile`
+    */
+  def tagged(tag: String, key: String): String = s"${hashTag(tag)}:$key"
+
+  /**
+    * Wraps the tag into braces. When used as a prefix of the instance, all its
+    * keys are stored in the same slot.
+    */
+  def hashTag(tag: String): String = s"{$tag}"
+
+  /** extracts the hash tag of the key, i.e., the non-empty content of the first braces */
+  def hashTagOf(key: String): Option[String] = {
+    val start = key.indexOf('{')
+    val end = if (start < 0) -1 else key.indexOf('}', start + 1)
+    if (end > start + 1) Some(key.substring(start + 1, end)) else None
+  }
+
+}
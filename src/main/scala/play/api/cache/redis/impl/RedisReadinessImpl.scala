@@ -0,0 +1,73 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.pattern.after
+import play.api.Logger
+import play.api.cache.redis.{Done, ReadConsistency, RedisInstance, RedisReadiness}
+import play.api.cache.redis.configuration.{RedisCluster, RedisHost, RedisMasterSlaves, RedisSentinel, RedisStandalone, RedisWarmUp}
+
+import java.net.InetAddress
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicReference
+import scala.concurrent.{blocking, ExecutionContext, Future, Promise}
+
+/**
+  * Connects all named caches in parallel. The connections are established
+  * synchronously, thus each cache is warmed up on its own thread. Once
+  * connected, each connection of the cache answers a PING, so does the
+  * connection serving the reads with relaxed consistency.
+  */
+private[redis] class RedisReadinessImpl(caches: Seq[(RedisInstance, RedisCaches)], settings: RedisWarmUp)(implicit system: ActorSystem) extends RedisReadiness {
+
+  /** logger instance */
+  private val log: Logger = Logger("play.api.cache.redis")
+
+  implicit private def context: ExecutionContext = system.dispatcher
+
+  /** the current attempt, a failed one is replaced by a new attempt */
+  private val attempt: AtomicReference[Future[Done]] =
+    new AtomicReference(Future.failed(new IllegalStateException("The warm-up has not started yet.")))
+
+  override def ready: Future[Done] = {
+    val current = attempt.get
+    if (!current.value.exists(_.isFailure)) current
+    else {
+      val next = Promise[Done]()
+      // when a concurrent call already started a new attempt, it is joined
+      if (attempt.compareAndSet(current, next.future)) next.completeWith(warmUp()).future
+      else attempt.get
+    }
+  }
+
+  private def warmUp(): Future[Done] = {
+    val start = System.nanoTime()
+    val warmed = Future.traverse(caches) { case (instance, cache) => warmUp(instance, cache) }
+    val timeout = after(settings.timeout, system.scheduler)(Future.failed(new TimeoutException(s"The warm-up of the caches did not complete within ${settings.timeout}.")))
+    val result = Future.firstCompletedOf(Seq(warmed.map(_ => Done), timeout))
+    result.foreach(_ => log.info(s"Caches ${caches.map(_._1.name).mkString("'", "', '", "'")} are ready, the warm-up took ${(System.nanoTime() - start) / 1000000} ms."))
+    result.failed.foreach(ex => log.warn("Warm-up of the caches failed, it is attempted again on the next readiness check.", ex))
+    result
+  }
+
+  private def warmUp(instance: RedisInstance, cache: RedisCaches): Future[Unit] =
+    Future {
+      blocking {
+        // pre-resolves the hostnames, the lookups are cached by the JVM
+        if (settings.resolveHosts) hostsOf(instance).foreach(host => InetAddress.getAllByName(host.host))
+        // establishes all striped connections and the relaxed one at once
+        (cache.redisConnector, cache.redisConnector.withReadConsistency(ReadConsistency.Relaxed))
+      }
+    }.flatMap { case (strong, relaxed) =>
+      // concurrent pings are spread over the striped connections
+      val pings = Seq.fill(cache.connections.inFlight.size max 1)(strong.ping()) :+ relaxed.ping()
+      Future.sequence(pings).map(_ => log.debug(s"Cache '${instance.name}' is ready."))
+    }
+
+  private def hostsOf(instance: RedisInstance): Seq[RedisHost] = instance match {
+    case cluster: RedisCluster           => cluster.nodes
+    case standalone: RedisStandalone     => Seq(standalone)
+    case sentinel: RedisSentinel         => sentinel.sentinels
+    case masterSlaves: RedisMasterSlaves => masterSlaves.master +: masterSlaves.slaves
+  }
+
+}
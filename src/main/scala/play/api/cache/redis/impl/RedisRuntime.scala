@@ -2,6 +2,7 @@ package play.api.cache.redis.impl
 
 import org.apache.pekko.actor.ActorSystem
 import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisEarlyRefresh
 
 import scala.concurrent.ExecutionContext
 import scala.concurrent.duration.FiniteDuration
@@ -15,6 +16,8 @@ private[redis] trait RedisRuntime extends connector.RedisRuntime {
   implicit def invocation: InvocationPolicy
   implicit def prefix: RedisPrefix
   implicit def timeout: org.apache.pekko.util.Timeout
+  def stampedeProtection: StampedeProtection
+  def earlyRefresh: EarlyRefresh
 }
 
 final private[redis] case class RedisRuntimeImpl(
@@ -24,6 +27,8 @@ final private[redis] case class RedisRuntimeImpl(
   invocation: InvocationPolicy,
   prefix: RedisPrefix,
   timeout: org.apache.pekko.util.Timeout,
+  stampedeProtection: StampedeProtection = StampedeProtection.Disabled,
+  earlyRefresh: EarlyRefresh = EarlyRefresh(RedisEarlyRefresh.requiredDefault),
 ) extends RedisRuntime
 
 private[redis] object RedisRuntime {
@@ -41,9 +46,17 @@ private[redis] object RedisRuntime {
   }
 
   def apply(instance: RedisInstance, recovery: RecoveryPolicy, invocation: InvocationPolicy, prefix: RedisPrefix)(implicit system: ActorSystem): RedisRuntime =
-    apply(instance.name, instance.timeout.sync, system.dispatchers.lookup(instance.invocationContext), recovery, invocation, prefix)
-
-  def apply(name: String, syncTimeout: FiniteDuration, context: ExecutionContext, recovery: RecoveryPolicy, invocation: InvocationPolicy, prefix: RedisPrefix = RedisEmptyPrefix): RedisRuntime =
-    RedisRuntimeImpl(name, context, recovery, invocation, prefix, org.apache.pekko.util.Timeout(syncTimeout))
+    apply(instance.name, instance.timeout.sync, dispatcher(instance.invocationContext), recovery, invocation, prefix, StampedeProtection(instance.stampedeProtection, system.scheduler), EarlyRefresh(instance.earlyRefresh))
+
+  /**
+    * resolves the execution context of the callbacks, it is either a Pekko
+    * dispatcher or virtual threads, see [[VirtualThreads]]
+    */
+  private def dispatcher(name: String)(implicit system: ActorSystem): ExecutionContext =
+    if (name.trim === VirtualThreads.Dispatcher) VirtualThreads.executionContext
+    else system.dispatchers.lookup(name)
+
+  def apply(name: String, syncTimeout: FiniteDuration, context: ExecutionContext, recovery: RecoveryPolicy, invocation: InvocationPolicy, prefix: RedisPrefix = RedisEmptyPrefix, stampedeProtection: StampedeProtection = StampedeProtection.Disabled, earlyRefresh: EarlyRefresh = EarlyRefresh(RedisEarlyRefresh.requiredDefault)): RedisRuntime =
+    RedisRuntimeImpl(name, context, recovery, invocation, prefix, org.apache.pekko.util.Timeout(syncTimeout), stampedeProtection, earlyRefresh)
 
 }
@@ -1,5 +1,7 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.cache.redis._
 
 import scala.reflect.ClassTag
@@ -16,6 +18,9 @@ private[impl] class RedisSetImpl[Elem: ClassTag, Result[_]](key: String, redis:
   override def add(elements: Elem*): Result[RedisSet[Elem, Result]] =
     redis.setAdd(key, elements: _*).map(_ => This).recoverWithDefault(This)
 
+  override def addAll(elements: Iterable[Elem]): Result[RedisSet[Elem, Result]] =
+    redis.setAdd(key, elements.toSeq: _*).map(_ => This).recoverWithDefault(This)
+
   override def contains(element: Elem): Result[Boolean] =
     redis.setIsMember(key, element).recoverWithDefault(false)
 
@@ -25,6 +30,9 @@ private[impl] class RedisSetImpl[Elem: ClassTag, Result[_]](key: String, redis:
   override def toSet: Result[Set[Elem]] =
     redis.setMembers[Elem](key).recoverWithDefault(Set.empty)
 
+  override def scan(count: Long): Source[Elem, NotUsed] =
+    redis.setScan[Elem](key, count)
+
   override def size: Result[Long] =
     redis.setSize(key).recoverWithDefault(0)
 
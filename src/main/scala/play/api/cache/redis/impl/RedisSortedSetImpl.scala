@@ -1,5 +1,7 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import play.api.cache.redis._
 
 import scala.reflect.ClassTag
@@ -22,6 +24,9 @@ private[impl] class RedisSortedSetImpl[Elem: ClassTag, Result[_]](
   override def add(scoreValues: (Double, Elem)*): Result[RedisSortedSet[Elem, Result]] =
     redis.sortedSetAdd(key, scoreValues: _*).map(_ => This).recoverWithDefault(This)
 
+  override def addAll(scoreValues: Iterable[(Double, Elem)]): Result[RedisSortedSet[Elem, Result]] =
+    redis.sortedSetAdd(key, scoreValues.toSeq: _*).map(_ => This).recoverWithDefault(This)
+
   override def contains(element: Elem): Result[Boolean] =
     redis.sortedSetScore(key, element).map(_.isDefined).recoverWithDefault(false)
 
@@ -35,6 +40,27 @@ private[impl] class RedisSortedSetImpl[Elem: ClassTag, Result[_]](
       redis.sortedSetRange[Elem](key, start, stop).recoverWithDefault(Seq.empty)
     }
 
+  override def rangeWithScores(start: Long, stop: Long, isReverse: Boolean = false): Result[Seq[(Double, Elem)]] =
+    redis.sortedSetRangeWithScores[Elem](key, start, stop, isReverse).recoverWithDefault(Seq.empty)
+
+  override def rangeByScore(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[Elem]] =
+    redis.sortedSetRangeByScore[Elem](key, min, max, limit, isReverse).recoverWithDefault(Seq.empty)
+
+  override def rangeByScoreWithScores(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[(Double, Elem)]] =
+    redis.sortedSetRangeByScoreWithScores[Elem](key, min, max, limit, isReverse).recoverWithDefault(Seq.empty)
+
+  override def rangeByLex(min: RedisSortedSet.Bound[Elem], max: RedisSortedSet.Bound[Elem], limit: Option[RedisSortedSet.Limit] = None, isReverse: Boolean = false): Result[Seq[Elem]] =
+    redis.sortedSetRangeByLex[Elem](key, min, max, limit, isReverse).recoverWithDefault(Seq.empty)
+
+  override def countByScore(min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double]): Result[Long] =
+    redis.sortedSetCount(key, min, max).recoverWithDefault(0)
+
+  override def countByLex(min: RedisSortedSet.Bound[Elem], max: RedisSortedSet.Bound[Elem]): Result[Long] =
+    redis.sortedSetLexCount(key, min, max).recoverWithDefault(0)
+
+  override def scan(count: Long): Source[(Double, Elem), NotUsed] =
+    redis.sortedSetScan[Elem](key, count)
+
   override def size: Result[Long] =
     redis.sortedSetSize(key).recoverWithDefault(0)
 
@@ -0,0 +1,219 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.Scheduler
+import org.apache.pekko.pattern.after
+import play.api.cache.redis._
+import play.api.cache.redis.configuration.RedisStampedeProtection
+
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import scala.concurrent.duration.{Deadline, FiniteDuration}
+import scala.concurrent.{Future, Promise}
+import scala.reflect.ClassTag
+import scala.util.{Failure, Success, Try}
+
+/**
+  * Protects `getOrElse` and `getOrFuture` against cache stampedes. When a hot
+  * key expires, many concurrent requests miss it at once and all of them
+  * would compute the same value and race to store it. The protection lets
+  * only one of them compute the value, the others share the result.
+  *
+  * Storing the value follows the [[InvocationPolicy]].
+  */
+private[redis] trait StampedeProtection {
+  import dsl._
+
+  /**
+    * Computes and stores the value of the missed key, concurrent computations
+    * of the same key share the result.
+    *
+    * @param key
+    *   prefixed cache storage key
+    * @param redis
+    *   connector used to coordinate the computation across nodes
+    * @param read
+    *   reads the value stored by other node
+    * @param compute
+    *   computes the value
+    * @param set
+    *   stores the computed value into the cache
+    */
+  def apply[T: ClassTag](key: String, redis: RedisConnector, read: => Future[Option[T]])(compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T]
+
+  /** the value stored by other node is read from the key */
+  final def apply[T: ClassTag](key: String, redis: RedisConnector)(compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T] =
+    apply(key, redis, redis.get[T](key))(compute)(set)
+
+  /**
+    * Blocking variant of [[apply]] used by the synchronous API. The requests
+    * wait for the shared result at most the sync timeout. Once it times out,
+    * the recovery policy applies and the default recovery computes the value
+    * by the waiting thread.
+    */
+  def blocking[T: ClassTag](key: String, redis: RedisConnector)(compute: => T)(set: T => Future[Any])(implicit runtime: RedisRuntime): T =
+    Builders.SynchronousBuilder.toResult(
+      apply(key, redis)(Future.fromTry(Try(compute)))(set),
+      computeAndSet(Future.fromTry(Try(compute)))(set),
+    )
+
+  /** computes the value and stores it, the result follows the invocation policy */
+  final protected def computeAndSet[T](compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T] =
+    compute.flatMap(value => runtime.invocation.invoke(set(value), thenReturn = value))
+
+}
+
+private[redis] object StampedeProtection {
+
+  def apply(settings: RedisStampedeProtection, scheduler: => Scheduler): StampedeProtection = settings.mode.toLowerCase.trim match {
+    case "none"        => Disabled
+    case "local"       => new SingleFlight
+    case "distributed" => new DistributedSingleFlight(settings.lockTimeout, settings.retryInterval, scheduler)
+    case _             => throw new IllegalArgumentException("Illegal stampede protection. Valid values are 'none', 'local', and 'distributed'. See the documentation for more details.")
+  }
+
+  /** every miss computes the value, this is the historical behavior */
+  object Disabled extends StampedeProtection {
+
+    override def apply[T: ClassTag](key: String, redis: RedisConnector, read: => Future[Option[T]])(compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T] =
+      computeAndSet(compute)(set)
+
+    // $COVERAGE-OFF$
+    override def toString: String = "StampedeProtection(none)"
+    // $COVERAGE-ON$
+  }
+
+}
+
+/**
+  * Concurrent misses of the same key within the JVM share a single in-flight
+  * computation. Once it completes, the next miss computes the value again.
+  * The misses expecting different classes do not share the computation.
+  */
+private[impl] class SingleFlight extends StampedeProtection {
+  import dsl._
+
+  /** in-flight computations by the prefixed keys and the expected classes */
+  private val inFlight = new ConcurrentHashMap[(String, Class[?]), Future[Any]]
+
+  override def apply[T: ClassTag](key: String, redis: RedisConnector, read: => Future[Option[T]])(compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T] =
+    share(key)(computeAndSet(compute)(set))
+
+  /** shares the computation among concurrent requests of the same key and class */
+  final protected def share[T: ClassTag](key: String)(compute: => Future[T])(implicit runtime: RedisRuntime): Future[T] = {
+    val flight = key -> implicitly[ClassTag[T]].runtimeClass
+    val promise = Promise[Any]()
+    Option(inFlight.putIfAbsent(flight, promise.future)) match {
+      // other computation of the same class is in progress, share its result
+      case Some(computation) =>
+        computation.asInstanceOf[Future[T]]
+      // compute the value by the calling thread and release the key once done
+      case None              =>
+        promise.completeWith(Try(compute).fold(Future.failed, identity))
+        promise.future.onComplete(_ => inFlight.remove(flight, promise.future))
+        promise.future.asInstanceOf[Future[T]]
+    }
+  }
+
+  // $COVERAGE-OFF$
+  override def toString: String = "StampedeProtection(local)"
+  // $COVERAGE-ON$
+}
+
+/**
+  * In addition to the local single flight, the computation is guarded by a
+  * short-lived lock key `SET key:lock token NX PX`, thus only one node
+  * computes the value. The lock is released once the value is stored, and
+  * only when it still holds the token of this node, i.e., an expired lock
+  * acquired by another node is kept. The other nodes poll the key until
+  * either the value is stored, the lock is released, or it expires. Then they
+  * compute the value themselves.
+  *
+  * @param lockTimeout
+  *   expiration of the lock key and the maximal waiting time
+  * @param retryInterval
+  *   interval of polling the value
+  * @param token
+  *   generates the unique token of the lock
+  */
+private[impl] class DistributedSingleFlight(
+  lockTimeout: FiniteDuration,
+  retryInterval: FiniteDuration,
+  scheduler: => Scheduler,
+  token: () => String = () => UUID.randomUUID().toString,
+) extends SingleFlight {
+  import DistributedSingleFlight._
+  import dsl._
+
+  override def apply[T: ClassTag](key: String, redis: RedisConnector, read: => Future[Option[T]])(compute: => Future[T])(set: T => Future[Any])(implicit runtime: RedisRuntime): Future[T] =
+    share(key) {
+      val lock = s"$key:lock"
+      val owner = token()
+      redis.eval[Boolean](Acquire, Seq(lock), Seq(owner, lockTimeout.toMillis.toString)).flatMap {
+        // the lock is acquired, compute the value and release the lock once it is stored
+        case true  =>
+          Future.delegate(compute).transformWith {
+            case Success(value) =>
+              val stored = Future.delegate(set(value))
+              stored.onComplete(_ => release(lock, owner, redis))
+              runtime.invocation.invoke(stored, thenReturn = value)
+            case Failure(cause) =>
+              release(lock, owner, redis)
+              Future.failed(cause)
+          }
+        // other node computes the value, wait for it
+        case false => await(lock, redis, lockTimeout.fromNow)(read)(computeAndSet(compute)(set))
+      }
+    }
+
+  /** releases the lock unless it expired in the meantime, the failure is ignored as the lock expires anyway */
+  private def release(lock: String, owner: String, redis: RedisConnector): Unit = {
+    val _ = redis.eval[Boolean](Release, Seq(lock), Seq(owner))
+  }
+
+  private def await[T](lock: String, redis: RedisConnector, deadline: Deadline)(read: => Future[Option[T]])(computeAndSet: => Future[T])(implicit runtime: RedisRuntime): Future[T] =
+    after(retryInterval, scheduler)(redis.exists(lock)).flatMap {
+      // still locked, wait unless the deadline is over
+      case true if deadline.hasTimeLeft() => await(lock, redis, deadline)(read)(computeAndSet)
+      // the value is stored before the lock is released, thus it is either available now or the computation failed
+      case _                              =>
+        read.flatMap {
+          case Some(value) => Future.successful(value)
+          case None        => computeAndSet
+        }
+    }
+
+  // $COVERAGE-OFF$
+  override def toString: String = s"StampedeProtection(distributed, lockTimeout=$lockTimeout)"
+  // $COVERAGE-ON$
+}
+
+private[impl] object DistributedSingleFlight {
+
+  /**
+    * Acquires the lock unless it is held by other node. The token is passed
+    * as is, unlike the values stored by `SET`, thus the release compares it
+    * verbatim.
+    *
+    * KEYS[1] lock, ARGV[1] token, ARGV[2] expiration in milliseconds.
+    * Returns true when the lock is acquired.
+    */
+  val Acquire: RedisScript = RedisScript(
+    """if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+      |  return 1
+      |end
+      |return 0""".stripMargin,
+  )
+
+  /**
+    * Removes the lock only when it still holds the token.
+    *
+    * KEYS[1] lock, ARGV[1] token. Returns true when the lock is removed.
+    */
+  val Release: RedisScript = RedisScript(
+    """if redis.call('GET', KEYS[1]) == ARGV[1] then
+      |  return redis.call('DEL', KEYS[1])
+      |end
+      |return 0""".stripMargin,
+  )
+
+}
@@ -2,7 +2,8 @@ package play.api.cache.redis.impl
 
 import play.api.cache.redis._
 
-import scala.concurrent.duration.Duration
+import scala.concurrent.Future
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 
 /**
@@ -23,8 +24,38 @@ private[impl] class SyncRedis(redis: RedisConnector)(implicit runtime: RedisRunt
         // set the value and finally return the computed value regardless the result of set
         runtime.invocation.invoke(redis.set(key, value, expiration), thenReturn = value).recoverWithDefault(value)
       }
+      // concurrent misses of the same key may share the computation, the failure of set is recovered as the value is already computed
+      def computeOnMiss: T = runtime.stampedeProtection.blocking(key, redis)(orElse) { value =>
+        redis.set(key, value, expiration).recoverWithFuture(false.toFuture)
+      }
       // try to hit the cache, return on hit, set and return orElse on miss or failure
-      redis.get[T](key).recoverWithDefault(Some(computeAndSet)).getOrElse(computeAndSet)
+      redis.get[T](key).recoverWithDefault(Some(computeAndSet)).getOrElse(computeOnMiss)
     }
 
+  override def getOrElseWithRefresh[T: ClassTag](key: String, expiration: FiniteDuration)(orElse: => T): T =
+    (key, EarlyRefresh.metadataKey(key)).prefixed { (key, metadataKey) =>
+      // note: this method is overridden so the `orElse` won't be included in the timeout
+      // compute orElse and try to set it into the cache along with its metadata
+      def computeAndSet: SynchronousResult[T] = {
+        val startedAt = System.nanoTime()
+        val value = orElse
+        runtime.invocation.invoke(setWithRefresh(key, metadataKey, value, startedAt, expiration), thenReturn = value).recoverWithDefault(value)
+      }
+      // the background refresh computes the value by the invocation context
+      def refresh: Future[T] = Future(computeAndSet)
+      // concurrent misses of the same key may share the computation, the failure of set is recovered as the value is already computed
+      def computeOnMiss: T = {
+        val startedAt = System.nanoTime()
+        runtime.stampedeProtection.blocking(key, redis)(orElse) { value =>
+          setWithRefresh(key, metadataKey, value, startedAt, expiration).recoverWithFuture(().toFuture)
+        }
+      }
+      // try to hit the cache, return on hit and possibly refresh it, set and return orElse on miss or failure
+      val (value, metadata) = getWithRefresh[T](key, metadataKey).recoverWithDefault(Some(computeAndSet) -> None)
+      runtime.earlyRefresh(key, value, metadata)(refresh).getOrElse(computeOnMiss)
+    }
+
+  override def withReadConsistency(consistency: ReadConsistency): CacheApi =
+    new SyncRedis(redis.withReadConsistency(consistency))
+
 }
@@ -0,0 +1,45 @@
+package play.api.cache.redis.impl
+
+import java.util.concurrent.{ExecutorService, Executors}
+import scala.concurrent.ExecutionContext
+import scala.util.Try
+
+/**
+  * Virtual threads introduced by JDK 21. The library is compiled for older
+  * JDKs, thus the virtual threads are resolved reflectively and they are
+  * available only when the application runs on JDK 21 or newer.
+  */
+private[redis] object VirtualThreads {
+
+  /**
+    * name of the dispatcher (`invocationContext`) running the callbacks of the
+    * cache calls on virtual threads instead of a Pekko dispatcher
+    */
+  val Dispatcher: String = "virtual-threads"
+
+  /**
+    * the executor starting a new virtual thread per task, there is a single
+    * one as it holds no threads when idle and needs no shutdown
+    */
+  private lazy val executor: Option[ExecutorService] =
+    Try(classOf[Executors].getMethod("newVirtualThreadPerTaskExecutor").invoke(null).asInstanceOf[ExecutorService]).toOption
+
+  private lazy val isVirtualMethod: Option[java.lang.reflect.Method] =
+    Try(classOf[Thread].getMethod("isVirtual")).toOption
+
+  /** whether the JVM supports virtual threads */
+  def available: Boolean = executor.isDefined
+
+  /** whether the current thread is a virtual thread */
+  def isCurrent: Boolean =
+    isVirtualMethod.exists(_.invoke(Thread.currentThread()).asInstanceOf[java.lang.Boolean].booleanValue)
+
+  /** execution context running each task on a new virtual thread */
+  lazy val executionContext: ExecutionContext =
+    ExecutionContext.fromExecutorService(
+      executor getOrElse {
+        throw new IllegalArgumentException(s"Illegal dispatcher '$Dispatcher'. Virtual threads require JDK 21 or newer, the current JDK is ${System.getProperty("java.version")}.")
+      },
+    )
+
+}
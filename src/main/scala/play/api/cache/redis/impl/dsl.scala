@@ -18,7 +18,11 @@ private[impl] object dsl {
     @inline def toFuture: Future[T] = Future.successful(any)
   }
 
-  /** helper function enabling us to recover from command execution */
+  /**
+    * helper function enabling us to recover from command execution. The
+    * command is taken by name, thus the policy decides whether it is sent at
+    * all, e.g., the open circuit rejects it without reaching redis.
+    */
   implicit class RecoveryFuture[T](future: => Future[T]) {
 
     /**
@@ -30,15 +34,15 @@ private[impl] object dsl {
 
     /** recovers from the execution but returns future, not Result */
     @inline def recoverWithFuture(default: => Future[T])(implicit runtime: RedisRuntime): Future[T] =
-      future recoverWith {
+      runtime.policy.invoke(future) recoverWith {
         // recover from known exceptions
         case failure: RedisException => runtime.policy.recoverFrom(future, default, failure)
       }
 
   }
 
-  /** helper function enabling us to recover from command execution */
-  implicit class RecoveryUnitFuture(private val future: Future[Unit]) extends AnyVal {
+  /** helper function enabling us to recover from command execution, the command is taken by name as well */
+  implicit class RecoveryUnitFuture(future: => Future[Unit]) {
 
     /**
       * Transforms the promise into desired builder results, possibly recovers
@@ -57,6 +61,11 @@ private[impl] object dsl {
     def prefixed[T](f: String => T)(implicit prefixer: RedisPrefix): T = f(prefixer prefixed key)
   }
 
+  /** applies prefixer to produce final cache keys */
+  implicit class CacheKeyPair(private val keys: (String, String)) extends AnyVal {
+    def prefixed[T](f: (String, String) => T)(implicit prefixer: RedisPrefix): T = f(prefixer prefixed keys._1, prefixer prefixed keys._2)
+  }
+
   /** applies prefixer to produce final cache key */
   implicit class CacheKeys(private val keys: Seq[String]) extends AnyVal {
     def prefixed[T](f: Seq[String] => T)(implicit prefixer: RedisPrefix): T = f(prefixer prefixed keys)
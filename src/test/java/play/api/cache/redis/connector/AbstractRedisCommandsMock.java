@@ -112,4 +112,20 @@ public abstract class AbstractRedisCommandsMock implements RedisClusterAsyncComm
     }
 
     public abstract RedisFuture<List<String>> zrevrangeMock(String key, long start, long stop);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    final public <T> RedisFuture<T> evalsha(String digest, ScriptOutputType type, String[] keys, String... values) {
+        return (RedisFuture<T>) evalshaMock(digest, type, keys, values);
+    }
+
+    public abstract RedisFuture<Object> evalshaMock(String digest, ScriptOutputType type, String[] keys, String[] values);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    final public <T> RedisFuture<T> eval(String script, ScriptOutputType type, String[] keys, String... values) {
+        return (RedisFuture<T>) evalMock(script, type, keys, values);
+    }
+
+    public abstract RedisFuture<Object> evalMock(String script, ScriptOutputType type, String[] keys, String[] values);
 }
@@ -3,7 +3,9 @@ package play.api.cache.redis
 import play.api.Logger
 import play.api.cache.redis.test._
 
+import scala.collection.mutable
 import scala.concurrent.Future
+import scala.concurrent.duration._
 import scala.util.control.NoStackTrace
 
 class RecoveryPolicySpec extends AsyncUnitSpec {
@@ -61,6 +63,90 @@ class RecoveryPolicySpec extends AsyncUnitSpec {
       val policy = new RecoverWithDefault {}
       policy.recoverFrom(rerun, default, ex.any) mustEqual default
     }
+
+    "invoke the request" in {
+      val policy = new RecoverWithDefault {}
+      policy.invoke(rerun) mustEqual rerun
+    }
+  }
+
+  "Circuit breaking" should {
+
+    "remain closed below the threshold" in {
+      val policy = new Breaker(1.minute)
+      policy.invoke(rerun)
+      policy.invoke(rerun)
+      policy.invoke(rerun)
+      policy.invoke(Future.failed(ex.timeout))
+      policy.circuitState mustEqual "closed"
+      policy.invoke(rerun).assertingEqual(10)
+    }
+
+    "not count the other failures" in {
+      val policy = new Breaker(1.minute)
+      policy.invoke(Future.failed(ex.serialization))
+      policy.invoke(Future.failed(ex.unexpectedAny))
+      policy.circuitState mustEqual "closed"
+      policy.invoke(rerun).assertingEqual(10)
+    }
+
+    "open on failures and timeouts and reject the requests" in {
+      val policy = new Breaker(1.minute)
+      policy.invoke(Future.failed(ex.timeout))
+      policy.invoke(Future.failed(ex.failedKey))
+      policy.circuitState mustEqual "open"
+      policy.invoke[Int](fail("The request must not be invoked.")).assertingFailure[CircuitOpenException]
+    }
+
+    "close when the probe succeeds" in {
+      val policy = new Breaker(Duration.Zero)
+      val metrics = new Transitions
+      policy.attach("breaker", () => Future.unit, metrics)
+      policy.invoke(Future.failed(ex.timeout))
+      policy.invoke(Future.failed(ex.timeout))
+      val probed = policy.invoke[Int](fail("The request must not be invoked."))
+      policy.circuitState mustEqual "closed"
+      metrics.states.toSeq mustEqual Seq("open", "half-open", "closed")
+      probed.assertingFailure[CircuitOpenException]
+    }
+
+    "open again when the probe fails" in {
+      val policy = new Breaker(Duration.Zero)
+      policy.attach("breaker", () => Future.failed(ex.timeout), RedisMetrics.Disabled)
+      policy.invoke(Future.failed(ex.timeout))
+      policy.invoke(Future.failed(ex.timeout))
+      val probed = policy.invoke(rerun)
+      policy.circuitState mustEqual "open"
+      probed.assertingFailure[CircuitOpenException]
+    }
+
+    "probe by the request without the ping" in {
+      val policy = new Breaker(Duration.Zero)
+      policy.invoke(Future.failed(ex.timeout))
+      policy.invoke(Future.failed(ex.timeout))
+      val probed = policy.invoke(rerun)
+      policy.circuitState mustEqual "closed"
+      probed.assertingEqual(10)
+    }
+
+    "recover from rejections with the policy" in {
+      val policy = new Breaker(1.minute)
+      policy.recoverFrom(rerun, default, CircuitOpenException(ex.timeout)) mustEqual default
+    }
+  }
+
+  private class Breaker(timeout: FiniteDuration) extends RecoverWithDefault with CondensedReports with CircuitBreaking {
+    override protected def minimumRequests: Int = 2
+    override protected def openTimeout: FiniteDuration = timeout
+  }
+
+  private class Transitions extends RedisMetrics {
+    val states: mutable.ListBuffer[String] = mutable.ListBuffer.empty
+    override def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit = ()
+    override def recordHits(count: Int): Unit = ()
+    override def recordMisses(count: Int): Unit = ()
+    override def recordPayload(operation: String, bytes: Long): Unit = ()
+    override def recordCircuitTransition(state: String): Unit = states += state
   }
 
 }
@@ -6,6 +6,7 @@ import play.api.inject._
 import play.api.inject.guice.GuiceApplicationBuilder
 import play.cache.NamedCacheImpl
 
+import scala.concurrent.Await
 import scala.concurrent.duration.DurationInt
 import scala.reflect.ClassTag
 
@@ -121,6 +122,16 @@ class RedisCacheModuleSpec extends IntegrationSpec with RedisStandaloneContainer
     injector.checkBinding[CacheAsyncApi]
   }
 
+  test("warm up caches when started") {
+    _.bindings(new RedisCacheModule)
+      .configure("play.cache.redis.warm-up.enabled" -> true)
+      .configure("play.cache.redis.port" -> container.mappedPort(defaultPort))
+  } { injector =>
+    injector.checkBinding[RedisReadiness]
+    Await.result(injector.instanceOf[RedisReadiness].ready, 3.seconds) mustEqual Done
+    injector.instanceOf[RedisReadiness].isReady mustEqual true
+  }
+
   private lazy val MyRedisInstance: RedisStandalone =
     RedisStandalone(
       name = defaultCacheName,
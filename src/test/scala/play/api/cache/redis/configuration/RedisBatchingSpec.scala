@@ -0,0 +1,60 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisBatchingSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisBatching(enabled = false, window = 1.millis, maxBatch = 16)
+
+  "load defined batching" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  batching {
+        |    enabled:   true
+        |    window:    250us
+        |    max-batch: 64
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisBatching(enabled = true, window = 250.micros, maxBatch = 64)
+    val actual = RedisBatching.load(configuration.underlying, "play.cache.redis")(RedisBatching.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined batching" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  batching.enabled: true
+        |  batching.window:  0
+        |}
+      """.stripMargin
+    }
+    val expected = RedisBatching(enabled = true, window = Duration.Zero, maxBatch = 128)
+    val actual = RedisBatching.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default batching" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisBatching(enabled = false, window = 100.micros, maxBatch = 128)
+    val actual = RedisBatching.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisBatching.requiredDefault.enabled mustEqual false
+    RedisBatching.requiredDefault.window mustEqual 100.micros
+    RedisBatching.requiredDefault.maxBatch mustEqual 128
+  }
+
+}
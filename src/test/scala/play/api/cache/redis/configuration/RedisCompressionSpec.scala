@@ -0,0 +1,55 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+class RedisCompressionSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisCompression(algorithm = "gzip", threshold = 1024L)
+
+  "load defined compression" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  compression {
+        |    algorithm: lz4
+        |    threshold: 64k
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisCompression(algorithm = "lz4", threshold = 64L * 1024)
+    val actual = RedisCompression.load(configuration.underlying, "play.cache.redis")(RedisCompression.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined compression" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  compression.algorithm: deflate
+        |}
+      """.stripMargin
+    }
+    val expected = RedisCompression(algorithm = "deflate", threshold = 16L * 1024)
+    val actual = RedisCompression.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default compression" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisCompression(algorithm = "none", threshold = 16L * 1024)
+    val actual = RedisCompression.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisCompression.requiredDefault.algorithm mustEqual "none"
+    RedisCompression.requiredDefault.threshold mustEqual 16L * 1024
+  }
+
+}
@@ -0,0 +1,45 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisEarlyRefreshSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisEarlyRefresh(beta = 2.0, grace = 1.minute)
+
+  "load defined early refresh" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  early-refresh {
+        |    beta:  1.5
+        |    grace: 30s
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisEarlyRefresh(beta = 1.5, grace = 30.seconds)
+    val actual = RedisEarlyRefresh.load(configuration.underlying, "play.cache.redis")(RedisEarlyRefresh.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined early refresh" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  early-refresh.beta: 0.5
+        |}
+      """.stripMargin
+    }
+    val expected = RedisEarlyRefresh(beta = 0.5, grace = 10.seconds)
+    val actual = RedisEarlyRefresh.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisEarlyRefresh.requiredDefault.beta mustEqual 1.0
+    RedisEarlyRefresh.requiredDefault.grace mustEqual 10.seconds
+  }
+
+}
@@ -0,0 +1,62 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisHedgingSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisHedging(enabled = false, percentile = 0.5, minDelay = 5.millis, budget = 0.1)
+
+  "load defined hedging" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  hedging {
+        |    enabled:    true
+        |    percentile: 0.99
+        |    min-delay:  500us
+        |    budget:     0.01
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisHedging(enabled = true, percentile = 0.99, minDelay = 500.micros, budget = 0.01)
+    val actual = RedisHedging.load(configuration.underlying, "play.cache.redis")(RedisHedging.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined hedging" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  hedging.enabled: true
+        |  hedging.budget:  0.2
+        |}
+      """.stripMargin
+    }
+    val expected = RedisHedging(enabled = true, percentile = 0.95, minDelay = 1.millis, budget = 0.2)
+    val actual = RedisHedging.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default hedging" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisHedging(enabled = false, percentile = 0.95, minDelay = 1.millis, budget = 0.05)
+    val actual = RedisHedging.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisHedging.requiredDefault.enabled mustEqual false
+    RedisHedging.requiredDefault.percentile mustEqual 0.95
+    RedisHedging.requiredDefault.minDelay mustEqual 1.millis
+    RedisHedging.requiredDefault.budget mustEqual 0.05
+  }
+
+}
@@ -0,0 +1,61 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisNearCacheSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisNearCache(enabled = false, maxEntries = 100, maxBytes = 1024L)
+
+  "load defined near cache" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  near-cache {
+        |    enabled:     true
+        |    max-entries: 500
+        |    max-bytes:   2m
+        |    ttl:         30s
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisNearCache(enabled = true, maxEntries = 500, maxBytes = 2L * 1024 * 1024, ttl = 30.seconds)
+    val actual = RedisNearCache.load(configuration.underlying, "play.cache.redis")(RedisNearCache.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined near cache" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  near-cache.enabled: true
+        |}
+      """.stripMargin
+    }
+    val expected = RedisNearCache(enabled = true, maxEntries = 10000, maxBytes = 16L * 1024 * 1024)
+    val actual = RedisNearCache.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default near cache" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisNearCache(enabled = false, maxEntries = 10000, maxBytes = 16L * 1024 * 1024)
+    val actual = RedisNearCache.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisNearCache.requiredDefault.enabled mustEqual false
+    RedisNearCache.requiredDefault.maxEntries mustEqual 10000
+    RedisNearCache.requiredDefault.maxBytes mustEqual 16L * 1024 * 1024
+    RedisNearCache.requiredDefault.ttl mustEqual 1.minute
+  }
+
+}
@@ -0,0 +1,47 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisStampedeProtectionSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisStampedeProtection(mode = "local", lockTimeout = 1.second, retryInterval = 10.millis)
+
+  "load defined stampede protection" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  stampede-protection {
+        |    mode:           distributed
+        |    lock-timeout:   3s
+        |    retry-interval: 20ms
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisStampedeProtection(mode = "distributed", lockTimeout = 3.seconds, retryInterval = 20.millis)
+    val actual = RedisStampedeProtection.load(configuration.underlying, "play.cache.redis")(RedisStampedeProtection.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined stampede protection" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  stampede-protection.mode: local
+        |}
+      """.stripMargin
+    }
+    val expected = RedisStampedeProtection(mode = "local", lockTimeout = 5.seconds, retryInterval = 50.millis)
+    val actual = RedisStampedeProtection.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisStampedeProtection.requiredDefault.mode mustEqual "none"
+    RedisStampedeProtection.requiredDefault.lockTimeout mustEqual 5.seconds
+    RedisStampedeProtection.requiredDefault.retryInterval mustEqual 50.millis
+  }
+
+}
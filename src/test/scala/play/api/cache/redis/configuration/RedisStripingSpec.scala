@@ -0,0 +1,57 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+class RedisStripingSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisStriping(connections = 2, strategy = "least-outstanding", bulkConnection = true)
+
+  "load defined striping" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  striping {
+        |    connections:     4
+        |    strategy:        least-outstanding
+        |    bulk-connection: true
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisStriping(connections = 4, strategy = "least-outstanding", bulkConnection = true)
+    val actual = RedisStriping.load(configuration.underlying, "play.cache.redis")(RedisStriping.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined striping" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  striping.connections: 3
+        |}
+      """.stripMargin
+    }
+    val expected = RedisStriping(connections = 3, strategy = "key-hash", bulkConnection = false)
+    val actual = RedisStriping.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default striping" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisStriping(connections = 1, strategy = "key-hash", bulkConnection = false)
+    val actual = RedisStriping.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisStriping.requiredDefault.connections mustEqual 1
+    RedisStriping.requiredDefault.strategy mustEqual "key-hash"
+    RedisStriping.requiredDefault.bulkConnection mustEqual false
+  }
+
+}
@@ -33,4 +33,19 @@ class RedisThreadPoolsSpec extends UnitSpec with ImplicitOptionMaterialization {
     actual mustEqual expected
   }
 
+  "load shared thread pools" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |
+        |  io-thread-pool-size:  4
+        |  shared-thread-pools:  true
+        |}
+      """.stripMargin
+    }
+    val expected = RedisThreadPools(4, 8, shared = true)
+    val actual = RedisThreadPools.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
 }
@@ -0,0 +1,59 @@
+package play.api.cache.redis.configuration
+
+import play.api.cache.redis.test.{Helpers, ImplicitOptionMaterialization, UnitSpec}
+
+import scala.concurrent.duration._
+
+class RedisWarmUpSpec extends UnitSpec with ImplicitOptionMaterialization {
+
+  private def orDefault = RedisWarmUp(enabled = true, resolveHosts = false, timeout = 5.seconds)
+
+  "load defined warm-up" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  warm-up {
+        |    enabled:       true
+        |    resolve-hosts: false
+        |    timeout:       10s
+        |  }
+        |}
+      """.stripMargin
+    }
+    val expected = RedisWarmUp(enabled = true, resolveHosts = false, timeout = 10.seconds)
+    val actual = RedisWarmUp.load(configuration.underlying, "play.cache.redis")(RedisWarmUp.requiredDefault)
+    actual mustEqual expected
+  }
+
+  "load partially defined warm-up" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |  warm-up.enabled: true
+        |}
+      """.stripMargin
+    }
+    val expected = RedisWarmUp(enabled = true, resolveHosts = true, timeout = 30.seconds)
+    val actual = RedisWarmUp.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load with default warm-up" in {
+    val configuration = Helpers.configuration.fromHocon {
+      """
+        |play.cache.redis {
+        |}
+      """.stripMargin
+    }
+    val expected = RedisWarmUp(enabled = false, resolveHosts = true, timeout = 30.seconds)
+    val actual = RedisWarmUp.load(configuration.underlying, "play.cache.redis")(orDefault)
+    actual mustEqual expected
+  }
+
+  "load defaults" in {
+    RedisWarmUp.requiredDefault.enabled mustEqual false
+    RedisWarmUp.requiredDefault.resolveHosts mustEqual true
+    RedisWarmUp.requiredDefault.timeout mustEqual 30.seconds
+  }
+
+}
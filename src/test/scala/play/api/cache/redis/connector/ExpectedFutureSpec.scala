@@ -3,7 +3,7 @@ package play.api.cache.redis.connector
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 
-import scala.concurrent.{ExecutionContext, Future}
+import scala.concurrent.{ExecutionContext, Future, Promise}
 
 class ExpectedFutureSpec extends AsyncUnitSpec {
   import ExpectedFutureSpec._
@@ -47,6 +47,47 @@ class ExpectedFutureSpec extends AsyncUnitSpec {
     Future.successful("expected").executing(cmd).withKey("key").asCommand("other 2").toString mustEqual "ExpectedFuture(TEST CMD other 2)"
   }
 
+  "building the statement only on failure" in {
+    var evaluated = false
+    def keys: Seq[String] = {
+      evaluated = true
+      Seq("key1", "key2")
+    }
+    for {
+      _ <- Future.successful("expected").executing(cmd).withKeys(keys).andParameters(Seq[Any]("SET", 1)).expects(expectation)
+      _ = evaluated mustEqual false
+      _ <- Future.successful("unexpected").executing(cmd).withKeys(keys).expects(expectation).assertingFailure[UnexpectedResponseException]
+    } yield evaluated mustEqual true
+  }
+
+  "ignoring failures of logging statements" in {
+    Future.successful("expected").executing(cmd).logging { case _ => throw SimulatedException }.assertingEqual("expected")
+  }
+
+  "measuring the command" in {
+    val recorded = Promise[(String, RedisMetrics.Outcome)]()
+    implicit val metrics: RedisMetrics = new RecordingMetrics(recorded)
+    Future.failed[String](TimeoutException(SimulatedException)).executing(cmd).withKey("key").expects(expectation)
+    recorded.future.assertingEqual(cmd -> RedisMetrics.Outcome.Timeout)
+  }
+
+  "measuring the logged command" in {
+    val recorded = Promise[(String, RedisMetrics.Outcome)]()
+    implicit val metrics: RedisMetrics = new RecordingMetrics(recorded)
+    Future.successful("expected").executing(cmd).logging { case _ => () }
+    recorded.future.assertingEqual(cmd -> RedisMetrics.Outcome.Success)
+  }
+
+  "issuing the command once the handling is set up" in {
+    var issued = 0
+    val command = { issued += 1; Future.successful("expected") }.executing(cmd).withKey("key").andParameter(1)
+    issued mustEqual 0
+    command.expects(expectation).map { result =>
+      issued mustEqual 1
+      result mustEqual "ok"
+    }
+  }
+
 }
 
 object ExpectedFutureSpec {
@@ -58,6 +99,13 @@ object ExpectedFutureSpec {
     case "expected" => "ok"
   }
 
+  private class RecordingMetrics(recorded: Promise[(String, RedisMetrics.Outcome)]) extends RedisMetrics {
+    override def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit = recorded.trySuccess(command -> outcome)
+    override def recordHits(count: Int): Unit = ()
+    override def recordMisses(count: Int): Unit = ()
+    override def recordPayload(operation: String, bytes: Long): Unit = ()
+  }
+
   private type ExpectationBuilder[T] = Future[T] => ExpectedFuture[String]
 
   implicit private class FutureBuilder[T](private val future: Future[T]) extends AnyVal {
@@ -0,0 +1,100 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis.test._
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import scala.concurrent.duration._
+import scala.concurrent.Future
+import scala.jdk.CollectionConverters.IterableHasAsScala
+
+class GetBatcherSpec extends AsyncUnitSpec {
+
+  "coalesce concurrent gets into a single mget" in {
+    val redis = new RecordingMGet
+    val batcher = new WindowedGetBatcher(windowNanos = 50.millis.toNanos, maxBatch = 10, redis.mget)
+    val results = Future.sequence(Seq(batcher.get("a"), batcher.get("b"), batcher.get("c")))
+    results.map { values =>
+      values mustEqual Seq(Some("value-a"), None, Some("value-c"))
+      redis.batches mustEqual Seq(Seq("a", "b", "c"))
+    }
+  }
+
+  "share the response for the same key" in {
+    val redis = new RecordingMGet
+    val batcher = new WindowedGetBatcher(windowNanos = 50.millis.toNanos, maxBatch = 10, redis.mget)
+    val results = Future.sequence(Seq(batcher.get("a"), batcher.get("a")))
+    results.map { values =>
+      values mustEqual Seq(Some("value-a"), Some("value-a"))
+      redis.batches mustEqual Seq(Seq("a"))
+    }
+  }
+
+  "flush the full batch immediately" in {
+    val redis = new RecordingMGet
+    // the window is long, only the size triggers the flush
+    val batcher = new WindowedGetBatcher(windowNanos = 1.minute.toNanos, maxBatch = 2, redis.mget)
+    val results = Future.sequence(Seq(batcher.get("a"), batcher.get("c")))
+    results.map { values =>
+      values mustEqual Seq(Some("value-a"), Some("value-c"))
+      redis.batches mustEqual Seq(Seq("a", "c"))
+    }
+  }
+
+  "flush with zero window" in {
+    val redis = new RecordingMGet
+    val batcher = new WindowedGetBatcher(windowNanos = 0L, maxBatch = 10, redis.mget)
+    batcher.get("a").map { value =>
+      value mustEqual Some("value-a")
+      redis.batches mustEqual Seq(Seq("a"))
+    }
+  }
+
+  "start a new batch after the flush" in {
+    val redis = new RecordingMGet
+    val batcher = new WindowedGetBatcher(windowNanos = 1.millis.toNanos, maxBatch = 10, redis.mget)
+    for {
+      _ <- batcher.get("a").assertingEqual(Some("value-a"))
+      _ <- batcher.get("c").assertingEqual(Some("value-c"))
+    } yield redis.batches mustEqual Seq(Seq("a"), Seq("c"))
+  }
+
+  "fail all keys of the failed batch" in {
+    val batcher = new WindowedGetBatcher(windowNanos = 1.millis.toNanos, maxBatch = 10, _ => Future.failed(SimulatedException))
+    for {
+      _ <- batcher.get("a").assertingFailure(SimulatedException)
+      _ <- batcher.get("b").assertingFailure(SimulatedException)
+    } yield Passed
+  }
+
+  "fail when the mget throws" in {
+    val batcher = new WindowedGetBatcher(windowNanos = 0L, maxBatch = 10, _ => throw SimulatedException)
+    batcher.get("a").assertingFailure(SimulatedException)
+  }
+
+  "flush at once after close" in {
+    val redis = new RecordingMGet
+    val batcher = new WindowedGetBatcher(windowNanos = 1.minute.toNanos, maxBatch = 10, redis.mget)
+    batcher.close()
+    for {
+      _ <- batcher.get("a").assertingEqual(Some("value-a"))
+      _ <- batcher.get("b").assertingEqual(None)
+    } yield redis.batches mustEqual Seq(Seq("a"), Seq("b"))
+  }
+
+  /** stores 'a' and 'c', records the requested batches */
+  private class RecordingMGet {
+    private val requested = new ConcurrentLinkedQueue[Seq[String]]
+
+    def batches: Seq[Seq[String]] = requested.asScala.toSeq
+
+    val mget: Seq[String] => Future[Seq[Option[String]]] = { keys =>
+      requested.add(keys)
+      Future.successful(keys.map {
+        case key @ ("a" | "c") => Some(s"value-$key")
+        case _                 => None
+      })
+    }
+
+  }
+
+}
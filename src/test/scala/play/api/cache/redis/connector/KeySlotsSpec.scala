@@ -0,0 +1,36 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.cluster.SlotHash
+import play.api.cache.redis.impl.RedisPrefix
+import play.api.cache.redis.test._
+
+class KeySlotsSpec extends UnitSpec {
+
+  private val keys = (1 to 20).map(i => s"key-$i")
+
+  "single group keeps all keys at once" in {
+    KeySlots.Single.group(keys)(identity).map(_._2) mustEqual Seq(keys)
+  }
+
+  "single group does not inspect the keys" in {
+    KeySlots.Single.group(keys)(_ => throw new IllegalStateException("the key is not expected to be read")) mustEqual Seq(0 -> keys)
+  }
+
+  "single group of no keys is empty" in {
+    KeySlots.Single.group(Seq.empty[String])(identity) mustEqual Seq.empty
+  }
+
+  "keys are grouped by slots" in {
+    val groups = KeySlots.BySlot.group(keys)(identity)
+    groups.sizeIs > 1 mustEqual true
+    groups.map(_._1) mustEqual groups.map(_._1).sorted
+    groups.foreach { case (slot, group) => group.foreach(key => SlotHash.getSlot(key) mustEqual slot) }
+    groups.flatMap(_._2).sorted mustEqual keys.sorted
+  }
+
+  "order within the slot is preserved" in {
+    val tagged = keys.map(RedisPrefix.tagged("tag", _))
+    KeySlots.BySlot.group(tagged.map(_ -> "value"))(_._1) mustEqual Seq(SlotHash.getSlot("tag") -> tagged.map(_ -> "value"))
+  }
+
+}
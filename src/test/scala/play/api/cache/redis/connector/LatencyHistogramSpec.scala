@@ -0,0 +1,45 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis.test._
+
+class LatencyHistogramSpec extends UnitSpec {
+
+  "small values have exact buckets" in {
+    (0L until 8L).foreach(value => LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value)) mustEqual value)
+  }
+
+  "buckets are contiguous" in {
+    (8L to 4096L).foreach { value =>
+      val index = LatencyHistogram.indexOf(value)
+      LatencyHistogram.upperBoundOf(index) must be >= value
+      LatencyHistogram.upperBoundOf(index - 1) must be < value
+    }
+  }
+
+  "the largest value fits into the last bucket" in {
+    LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(Long.MaxValue)) mustEqual Long.MaxValue
+  }
+
+  "percentiles are within the precision" in {
+    val histogram = new LatencyHistogram
+    (1L to 1000L).foreach(value => histogram.record(value * 1000))
+    histogram.count mustEqual 1000L
+    histogram.percentile(0.5) must (be >= 500000L and be <= 562500L)
+    histogram.percentile(0.99) must (be >= 990000L and be <= 1113750L)
+    histogram.percentile(1.0) must (be >= 1000000L and be <= 1125000L)
+  }
+
+  "empty histogram reports zeros" in {
+    val histogram = new LatencyHistogram
+    histogram.count mustEqual 0L
+    histogram.percentile(0.99) mustEqual 0L
+  }
+
+  "negative values are recorded as zero" in {
+    val histogram = new LatencyHistogram
+    histogram.record(-5L)
+    histogram.count mustEqual 1L
+    histogram.percentile(0.5) mustEqual 0L
+  }
+
+}
@@ -0,0 +1,190 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis.configuration.RedisNearCache
+import play.api.cache.redis.test._
+
+import scala.concurrent.duration._
+
+class NearCacheSpec extends UnitSpec {
+
+  "disabled near cache" should {
+
+    "never hit" in {
+      val cache = NearCache(RedisNearCache.requiredDefault)
+      cache mustEqual NearCache.Disabled
+      cache.resume()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+      cache.hits mustEqual 0L
+      cache.misses mustEqual 0L
+    }
+  }
+
+  "bounded near cache" should {
+
+    "miss until resumed" in {
+      val cache = newCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+      cache.size mustEqual 0
+      cache.misses mustEqual 1L
+    }
+
+    "hit after put" in {
+      val cache = resumedCache()
+      cache.get[String](cacheKey) mustEqual None
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual Some(cacheValue)
+      cache.hits mustEqual 1L
+      cache.misses mustEqual 1L
+      cache.size mustEqual 1
+      cache.bytes mustEqual 10L
+    }
+
+    "miss on a different type" in {
+      val cache = resumedCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[Int](cacheKey) mustEqual None
+      cache.get[String](cacheKey) mustEqual Some(cacheValue)
+    }
+
+    "replace the entry" in {
+      val cache = resumedCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.put[String](cacheKey, otherValue, 20L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual Some(otherValue)
+      cache.size mustEqual 1
+      cache.bytes mustEqual 20L
+    }
+
+    "ignore stale value when invalidated in the meantime" in {
+      val cache = resumedCache()
+      val version = cache.version(cacheKey)
+      cache.invalidate(cacheKey)
+      cache.put[String](cacheKey, cacheValue, 10L, version)
+      cache.get[String](cacheKey) mustEqual None
+    }
+
+    "invalidate the key" in {
+      val cache = resumedCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.put[String](otherKey, otherValue, 10L, cache.version(otherKey))
+      cache.invalidate(cacheKey)
+      cache.get[String](cacheKey) mustEqual None
+      cache.get[String](otherKey) mustEqual Some(otherValue)
+      cache.invalidations mustEqual 1L
+      cache.bytes mustEqual 10L
+    }
+
+    "invalidate all keys" in {
+      val cache = resumedCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.put[String](otherKey, otherValue, 10L, cache.version(otherKey))
+      cache.invalidateAll()
+      cache.size mustEqual 0
+      cache.bytes mustEqual 0L
+      cache.invalidations mustEqual 2L
+    }
+
+    "evict the least recently used entry over max entries" in {
+      val cache = resumedCache(maxEntries = 2)
+      cache.put[String]("a", "A", 1L, cache.version("a"))
+      cache.put[String]("b", "B", 1L, cache.version("b"))
+      cache.get[String]("a") mustEqual Some("A")
+      cache.put[String]("c", "C", 1L, cache.version("c"))
+      cache.get[String]("b") mustEqual None
+      cache.get[String]("a") mustEqual Some("A")
+      cache.get[String]("c") mustEqual Some("C")
+      cache.evictions mustEqual 1L
+    }
+
+    "evict entries over max bytes" in {
+      val cache = resumedCache(maxBytes = 25L)
+      cache.put[String]("a", "A", 10L, cache.version("a"))
+      cache.put[String]("b", "B", 10L, cache.version("b"))
+      cache.put[String]("c", "C", 10L, cache.version("c"))
+      cache.get[String]("a") mustEqual None
+      cache.size mustEqual 2
+      cache.bytes mustEqual 20L
+      cache.evictions mustEqual 1L
+    }
+
+    "not keep entries larger than max bytes" in {
+      val cache = resumedCache(maxBytes = 25L)
+      cache.put[String](cacheKey, cacheValue, 26L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+      cache.evictions mustEqual 0L
+    }
+
+    "expire the entry after the ttl" in {
+      val cache = resumedCache(ttl = 1.millis)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      Thread.sleep(10)
+      cache.get[String](cacheKey) mustEqual None
+      cache.size mustEqual 0
+      cache.bytes mustEqual 0L
+      cache.evictions mustEqual 1L
+    }
+
+    "split a large cache into segments" in {
+      val cache = resumedCache(maxEntries = 4096, maxBytes = 4096L)
+      (1 to 5000).foreach(index => cache.put[String](s"key-$index", "A", 1L, cache.version(s"key-$index")))
+      cache.size must be <= 4096
+      cache.bytes mustEqual cache.size.toLong
+      cache.get[String]("key-5000") mustEqual Some("A")
+      // each of 16 segments holds 256 bytes
+      cache.put[String](cacheKey, cacheValue, 1024L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+    }
+
+    "drop all entries when suspended" in {
+      val cache = resumedCache()
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.suspend()
+      cache.get[String](cacheKey) mustEqual None
+      cache.resume()
+      cache.get[String](cacheKey) mustEqual None
+    }
+  }
+
+  "tracking gate" should {
+
+    "resume once all connections track the keys" in {
+      val cache = newCache()
+      val gate = new RedisConnection.TrackingGate(cache, members = 2)
+      gate.tracked(0)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+      gate.tracked(1)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual Some(cacheValue)
+    }
+
+    "suspend until the lost connection tracks the keys again" in {
+      val cache = newCache()
+      val gate = new RedisConnection.TrackingGate(cache, members = 2)
+      gate.tracked(0)
+      gate.tracked(1)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      gate.lost(1)
+      cache.get[String](cacheKey) mustEqual None
+      // the other connection reconnects first, the lost one still does not track
+      gate.tracked(0)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual None
+      gate.tracked(1)
+      cache.put[String](cacheKey, cacheValue, 10L, cache.version(cacheKey))
+      cache.get[String](cacheKey) mustEqual Some(cacheValue)
+    }
+  }
+
+  private def newCache(maxEntries: Int = 100, maxBytes: Long = 1024L, ttl: FiniteDuration = 1.minute): NearCache =
+    NearCache(RedisNearCache(enabled = true, maxEntries = maxEntries, maxBytes = maxBytes, ttl = ttl))
+
+  private def resumedCache(maxEntries: Int = 100, maxBytes: Long = 1024L, ttl: FiniteDuration = 1.minute): NearCache = {
+    val cache = newCache(maxEntries, maxBytes, ttl)
+    cache.resume()
+    cache
+  }
+
+}
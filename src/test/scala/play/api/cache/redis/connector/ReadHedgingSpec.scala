@@ -0,0 +1,84 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis.configuration.RedisHedging
+import play.api.cache.redis.test._
+
+import scala.concurrent.duration._
+import scala.concurrent.{Future, Promise}
+
+class ReadHedgingSpec extends AsyncUnitSpec {
+
+  private def hedging(minDelay: FiniteDuration, budget: Double = 0.05) =
+    new ReadHedging(RedisHedging(enabled = true, percentile = 0.95, minDelay = minDelay, budget = budget), "master")
+
+  private def read(node: String): Future[String] = Future.successful(s"value-$node")
+
+  "hedge the slow read by the other node" in {
+    val hedged = hedging(minDelay = 10.millis)
+    hedged(Future.never)(read).map { value =>
+      value mustEqual "value-master"
+      hedged.fired mustEqual 1L
+      hedged.won mustEqual 1L
+    }
+  }
+
+  "not hedge the fast read" in {
+    val hedged = hedging(minDelay = 1.minute)
+    hedged(read("replica"))(read).map { value =>
+      value mustEqual "value-replica"
+      hedged.fired mustEqual 0L
+    }
+  }
+
+  "prefer the slow read when the hedge fails" in {
+    val hedged = hedging(minDelay = 10.millis)
+    val primary = Promise[String]()
+    val result = hedged(primary.future)(_ => Future.failed(SimulatedException))
+    for {
+      _ <- Future.waitFor(100.millis)
+      _ = primary.success("value-replica")
+      value <- result
+    } yield {
+      value mustEqual "value-replica"
+      hedged.fired mustEqual 1L
+      hedged.won mustEqual 0L
+    }
+  }
+
+  "fail when no hedge is pending" in {
+    val hedged = hedging(minDelay = 1.minute)
+    hedged(Future.failed[String](SimulatedException))(read).assertingFailure(SimulatedException)
+  }
+
+  "not exceed the budget" in {
+    // no credits are earned, only the initial burst is hedged
+    val hedged = hedging(minDelay = 1.millis, budget = 0.0)
+    val primary = Promise[String]()
+    val results = Seq.fill(12)(hedged(primary.future)(read))
+    for {
+      _ <- Future.waitFor(100.millis)
+      _ = primary.success("value-replica")
+      values <- Future.sequence(results)
+    } yield {
+      values.count(_ === "value-master") mustEqual 10
+      values.count(_ === "value-replica") mustEqual 2
+      hedged.fired mustEqual 10L
+    }
+  }
+
+  "not hedge the read once closed" in {
+    val hedged = hedging(minDelay = 1.millis)
+    hedged.close()
+    val primary = Promise[String]()
+    val result = hedged(primary.future)(read)
+    for {
+      _ <- Future.waitFor(100.millis)
+      _ = primary.success("value-replica")
+      value <- result
+    } yield {
+      value mustEqual "value-replica"
+      hedged.fired mustEqual 0L
+    }
+  }
+
+}
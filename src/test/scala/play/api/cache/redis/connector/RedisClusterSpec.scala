@@ -58,6 +58,35 @@ class RedisClusterSpec extends IntegrationSpec with RedisClusterContainer with D
     } yield Passed
   }
 
+  test("get and set multiple keys across slots") { connector =>
+    val keys = (1 to 20).map(i => s"multi-key-$i")
+    for {
+      _ <- connector.mSet(keys.map(key => key -> key): _*).assertingSuccess
+      _ <- connector.mGet[String](keys: _*).assertingEqual(keys.map(Some(_)))
+      _ <- connector.remove(keys: _*).assertingSuccess
+      _ <- connector.mGet[String](keys: _*).assertingEqual(keys.map(_ => None))
+    } yield Passed
+  }
+
+  test("set if not exists multiple keys across slots") { connector =>
+    for {
+      _ <- connector.mSetIfNotExist("multi-nx-1" -> "value", "multi-nx-2" -> "value", "multi-nx-3" -> "value").assertingEqual(true)
+      // some slots are set, the slot of the existing key is not
+      _ <- connector.mSetIfNotExist("multi-nx-3" -> "other", "multi-nx-4" -> "other").assertingEqual(false)
+      _ <- connector.mGet[String]("multi-nx-1", "multi-nx-2", "multi-nx-3").assertingEqual(Seq(Some("value"), Some("value"), Some("value")))
+    } yield Passed
+  }
+
+  test("set if not exists multiple keys with a hash tag atomically") { connector =>
+    val first = RedisPrefix.tagged("user", "first")
+    val second = RedisPrefix.tagged("user", "second")
+    for {
+      _ <- connector.set(second, "previous").assertingEqual(true)
+      _ <- connector.mSetIfNotExist(first -> "value", second -> "value").assertingEqual(false)
+      _ <- connector.mGet[String](first, second).assertingEqual(Seq(None, Some("previous")))
+    } yield Passed
+  }
+
   def test(name: String)(f: RedisConnector => Future[Assertion]): Unit =
     name in {
 
@@ -2,7 +2,7 @@ package play.api.cache.redis.connector
 
 import io.lettuce.core.codec.StringCodec
 import io.lettuce.core.protocol.CommandArgs
-import io.lettuce.core.{RedisFuture, ScoredValue, SetArgs}
+import io.lettuce.core.{RedisCommandExecutionException, RedisFuture, ScoredValue, ScriptOutputType, SetArgs}
 import org.scalamock.handlers.CallHandler
 import org.scalamock.matchers.MatcherBase
 import play.api.cache.redis._
@@ -61,6 +61,20 @@ class RedisConnectorFailureSpec extends AsyncUnitSpec with ImplicitFutureMateria
       } yield Passed
     }
 
+
+    test("EVALSHA of unknown script falls back to EVAL") { (_, commands, connector) =>
+      val script = RedisScript("return 1")
+      for {
+        _ <- (commands.evalshaMock(_: String, _: ScriptOutputType, _: Array[String], _: Array[String]))
+               .expects(script.sha1, ScriptOutputType.INTEGER, Matcher.array(cacheKey), *)
+               .fails(new RedisCommandExecutionException("NOSCRIPT No matching script. Please use EVAL."))
+        _ <- (commands.evalMock(_: String, _: ScriptOutputType, _: Array[String], _: Array[String]))
+               .expects(script.source, ScriptOutputType.INTEGER, Matcher.array(cacheKey), *)
+               .returnsFuture(java.lang.Long.valueOf(1L))
+        _ <- connector.eval[Long](script, Seq(cacheKey), Seq.empty).assertingEqual(1L)
+      } yield Passed
+    }
+
   }
 
   "Connector fails" when {
@@ -235,7 +249,7 @@ class RedisConnectorFailureSpec extends AsyncUnitSpec with ImplicitFutureMateria
 
       @nowarn("cat=deprecation")
       val mockedCommands: RedisCommandsMock = mock[RedisCommandsMock]
-      val connector: RedisConnector = new RedisConnectorImpl(serializer, mockedCommands)
+      val connector: RedisConnector = new RedisConnectorImpl(serializer, CommandRouting.single(mockedCommands))
 
       (() => runtime.context).expects().returns(ExecutionContext.global).anyNumberOfTimes()
 
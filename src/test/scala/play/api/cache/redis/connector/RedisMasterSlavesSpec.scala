@@ -4,7 +4,7 @@ import org.apache.pekko.actor.ActorSystem
 import play.api.cache.redis.configuration.{RedisHost, RedisMasterSlaves, RedisSettings}
 import play.api.cache.redis.impl.{LazyInvocation, RedisRuntime}
 import play.api.cache.redis.test._
-import play.api.cache.redis.{LogAndFailPolicy, RedisConnector}
+import play.api.cache.redis.{LogAndFailPolicy, ReadConsistency, RedisConnector}
 import play.api.inject.{ApplicationLifecycle, Injector}
 
 import scala.concurrent.duration.{DurationInt, FiniteDuration}
@@ -62,6 +62,16 @@ class RedisMasterSlavesSpec extends IntegrationSpec with RedisMasterSlaveContain
     } yield Passed
   }
 
+  test("relaxed reads observe the replicated writes") { connector =>
+    for {
+      _ <- connector.set("relaxed-read", "value").assertingEqual(true)
+      // wait until the value is replicated
+      _ <- Future.after(300.millis, ())
+      _ <- connector.withReadConsistency(ReadConsistency.Relaxed).get[String]("relaxed-read").assertingEqual(Some("value"))
+      _ <- connector.withReadConsistency(ReadConsistency.Relaxed).withReadConsistency(ReadConsistency.Strong).get[String]("relaxed-read").assertingEqual(Some("value"))
+    } yield Passed
+  }
+
   def test(name: String)(f: RedisConnector => Future[Assertion]): Unit =
     name in {
       val injector: Injector = newInjector.build()
@@ -0,0 +1,131 @@
+package play.api.cache.redis.connector
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import play.api.cache.redis._
+import play.api.cache.redis.test._
+
+import java.lang.management.ManagementFactory
+import scala.util.{Failure, Success}
+
+class RedisMetricsSpec extends UnitSpec {
+
+  private val classLoader = getClass.getClassLoader
+
+  "outcome" should {
+
+    "success" in {
+      RedisMetrics.Outcome.of(Success("value")) mustEqual RedisMetrics.Outcome.Success
+    }
+
+    "failure" in {
+      RedisMetrics.Outcome.of(Failure(ExecutionFailedException(None, "GET", "GET key", SimulatedException))) mustEqual RedisMetrics.Outcome.Failure
+    }
+
+    "timeout" in {
+      RedisMetrics.Outcome.of(Failure(TimeoutException(SimulatedException))) mustEqual RedisMetrics.Outcome.Timeout
+    }
+
+    "wrapped timeout" in {
+      val timeout = new io.lettuce.core.RedisCommandTimeoutException("Command timed out")
+      RedisMetrics.Outcome.of(Failure(ExecutionFailedException(None, "GET", "GET key", timeout))) mustEqual RedisMetrics.Outcome.Timeout
+    }
+  }
+
+  "resolve" should {
+
+    "none" in {
+      RedisMetrics("none", "play", classLoader) mustEqual RedisMetrics.Disabled
+    }
+
+    "jmx" in {
+      val metrics = RedisMetrics("jmx", "resolved", classLoader)
+      metrics mustBe a[JmxRedisMetrics]
+      metrics.close()
+    }
+
+    "micrometer" in {
+      val metrics = RedisMetrics("micrometer", "resolved", classLoader)
+      metrics mustBe a[MicrometerRedisMetrics]
+      metrics.close()
+    }
+
+    "custom class" in {
+      RedisMetrics(classOf[RedisMetricsSpec.CustomMetrics].getName, "play", classLoader) mustBe a[RedisMetricsSpec.CustomMetrics]
+    }
+
+    "invalid class" in {
+      an[IllegalArgumentException] must be thrownBy RedisMetrics(classOf[String].getName, "play", classLoader)
+      an[IllegalArgumentException] must be thrownBy RedisMetrics("org.example.Missing", "play", classLoader)
+    }
+  }
+
+  "jmx" should {
+
+    "expose the measurements" in {
+      val metrics = new JmxRedisMetrics("jmx-test")
+      val server = ManagementFactory.getPlatformMBeanServer
+      metrics.recordCommand("GET", 1000L, RedisMetrics.Outcome.Success)
+      metrics.recordCommand("GET", 2000L, RedisMetrics.Outcome.Timeout)
+      metrics.recordHits(3)
+      metrics.recordMisses(1)
+      metrics.recordPayload("write", 100L)
+      metrics.recordCircuitTransition("open")
+      metrics.recordHedge("won")
+      server.getAttribute(metrics.objectName, "GET.count") mustEqual 2L
+      server.getAttribute(metrics.objectName, "GET.timeouts") mustEqual 1L
+      server.getAttribute(metrics.objectName, "GET.failures") mustEqual 0L
+      server.getAttribute(metrics.objectName, "hitRatio") mustEqual 0.75d
+      server.getAttribute(metrics.objectName, "payload.write.bytes") mustEqual 100L
+      server.getAttribute(metrics.objectName, "circuit.open.transitions") mustEqual 1L
+      server.getAttribute(metrics.objectName, "hedge.won") mustEqual 1L
+      server.getMBeanInfo(metrics.objectName).getAttributes.map(_.getName) must contain("GET.p99")
+      metrics.close()
+      server.isRegistered(metrics.objectName) mustEqual false
+    }
+
+    "replace the previous registration" in {
+      val first = new JmxRedisMetrics("jmx-replaced")
+      val second = new JmxRedisMetrics("jmx-replaced")
+      ManagementFactory.getPlatformMBeanServer.isRegistered(second.objectName) mustEqual true
+      second.close()
+      first.close()
+    }
+  }
+
+  "micrometer" should {
+
+    "register the meters" in {
+      val registry = new SimpleMeterRegistry()
+      val metrics = new MicrometerRedisMetrics("micrometer-test", registry)
+      metrics.recordCommand("GET", 1000L, RedisMetrics.Outcome.Success)
+      metrics.recordCommand("GET", 2000L, RedisMetrics.Outcome.Failure)
+      metrics.recordHits(2)
+      metrics.recordMisses(1)
+      metrics.recordPayload("read", 100L)
+      metrics.recordCircuitTransition("half-open")
+      metrics.recordHedge("fired")
+      registry.get("redis.cache.commands").tags("cache", "micrometer-test", "command", "GET", "outcome", "success").timer().count() mustEqual 1L
+      registry.get("redis.cache.commands").tags("command", "GET", "outcome", "failure").timer().count() mustEqual 1L
+      registry.get("redis.cache.lookups").tag("result", "hit").counter().count() mustEqual 2d
+      registry.get("redis.cache.lookups").tag("result", "miss").counter().count() mustEqual 1d
+      registry.get("redis.cache.payload").tag("operation", "read").summary().totalAmount() mustEqual 100d
+      registry.get("redis.cache.circuit").tag("state", "half-open").counter().count() mustEqual 1d
+      registry.get("redis.cache.hedges").tag("outcome", "fired").counter().count() mustEqual 1d
+      metrics.close()
+      registry.getMeters.isEmpty mustEqual true
+    }
+  }
+
+}
+
+object RedisMetricsSpec {
+
+  class CustomMetrics(name: String) extends RedisMetrics {
+    override def recordCommand(command: String, nanos: Long, outcome: RedisMetrics.Outcome): Unit = ()
+    override def recordHits(count: Int): Unit = ()
+    override def recordMisses(count: Int): Unit = ()
+    override def recordPayload(operation: String, bytes: Long): Unit = ()
+    override def toString: String = s"CustomMetrics($name)"
+  }
+
+}
@@ -0,0 +1,34 @@
+package play.api.cache.redis.connector
+
+import io.lettuce.core.ReadFrom
+import play.api.cache.redis.test._
+
+class RedisReadFromSpec extends UnitSpec {
+
+  "resolve predefined routings" in {
+    RedisReadFrom("master") mustEqual ReadFrom.UPSTREAM
+    RedisReadFrom("master-preferred") mustEqual ReadFrom.UPSTREAM_PREFERRED
+    RedisReadFrom("replica") mustEqual ReadFrom.REPLICA
+    RedisReadFrom(" replica-preferred ") mustEqual ReadFrom.REPLICA_PREFERRED
+    RedisReadFrom("lowest-latency") mustEqual ReadFrom.LOWEST_LATENCY
+    RedisReadFrom("any") mustEqual ReadFrom.ANY
+    RedisReadFrom("any-replica") mustEqual ReadFrom.ANY_REPLICA
+  }
+
+  "resolve subnets" in {
+    RedisReadFrom("subnet:192.168.0.0/16, 2001:db8:abcd:0000::/52") mustBe a[ReadFrom]
+  }
+
+  "resolve regex" in {
+    RedisReadFrom("regex:.*region-1.*") mustBe a[ReadFrom]
+  }
+
+  "reject illegal pattern" in {
+    an[IllegalArgumentException] must be thrownBy RedisReadFrom("regex:[unclosed")
+  }
+
+  "reject unknown routing" in {
+    an[IllegalArgumentException] must be thrownBy RedisReadFrom("nearest-replica")
+  }
+
+}
@@ -1,6 +1,8 @@
 package play.api.cache.redis.connector
 
 import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.Sink
 import play.api.cache.redis._
 import play.api.cache.redis.configuration._
 import play.api.cache.redis.impl._
@@ -9,6 +11,7 @@ import play.api.inject.{ApplicationLifecycle, Injector}
 
 import scala.concurrent.duration._
 import scala.concurrent.{ExecutionContext, Future}
+import scala.util.Random
 
 class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer with DefaultInjector {
 
@@ -31,6 +34,80 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("get with class tag") { (cacheKey, connector) =>
+    val classTagOf: String => scala.reflect.ClassTag[Any] = {
+      case "null"  => scala.reflect.ClassTag.Null.asInstanceOf[scala.reflect.ClassTag[Any]]
+      case "Int"   => scala.reflect.ClassTag.Int.asInstanceOf[scala.reflect.ClassTag[Any]]
+      case unknown => throw new IllegalArgumentException(unknown)
+    }
+    for {
+      _ <- connector.getWithClassTag[Any](cacheKey, s"tag::$cacheKey")(classTagOf).assertingEqual(None)
+      _ <- connector.set(cacheKey, 15).assertingEqual(true)
+      _ <- connector.getWithClassTag[Any](cacheKey, s"tag::$cacheKey")(classTagOf).assertingEqual(None)
+      _ <- connector.set(s"tag::$cacheKey", "Int").assertingEqual(true)
+      _ <- connector.getWithClassTag[Any](cacheKey, s"tag::$cacheKey")(classTagOf).assertingEqual(Some(15))
+      _ <- connector.set(s"tag::$cacheKey", "null").assertingEqual(true)
+      _ <- connector.getWithClassTag[Any](cacheKey, s"tag::$cacheKey")(classTagOf).assertingEqual(Some(null))
+    } yield Passed
+  }
+
+  test("get with metadata") { (cacheKey, connector) =>
+    for {
+      _ <- connector.getWithMetadata[Int](cacheKey, s"refresh::$cacheKey").assertingEqual(None -> None)
+      _ <- connector.set(s"refresh::$cacheKey", "10:5").assertingEqual(true)
+      _ <- connector.getWithMetadata[Int](cacheKey, s"refresh::$cacheKey").assertingEqual(None -> None)
+      _ <- connector.set(cacheKey, 15).assertingEqual(true)
+      _ <- connector.getWithMetadata[Int](cacheKey, s"refresh::$cacheKey").assertingEqual(Some(15) -> Some("10:5"))
+    } yield Passed
+  }
+
+  test("set with metadata") { (cacheKey, connector) =>
+    for {
+      _ <- connector.setWithMetadata(cacheKey, s"refresh::$cacheKey", 15, "10:5", 2.seconds)
+      _ <- connector.get[Int](cacheKey).assertingEqual(Some(15))
+      _ <- connector.get[String](s"refresh::$cacheKey").assertingEqual(Some("10:5"))
+      _ <- connector.expiresIn(cacheKey).map(_.exists(_.isFinite)).assertingEqual(true)
+      _ <- connector.expiresIn(s"refresh::$cacheKey").map(_.exists(_.isFinite)).assertingEqual(true)
+    } yield Passed
+  }
+
+  test("get with class tag and metadata") { (cacheKey, connector) =>
+    val classTagOf: String => scala.reflect.ClassTag[Any] = {
+      case "Int"   => scala.reflect.ClassTag.Int.asInstanceOf[scala.reflect.ClassTag[Any]]
+      case unknown => throw new IllegalArgumentException(unknown)
+    }
+    for {
+      _ <- connector.set(s"refresh::$cacheKey", "10:5").assertingEqual(true)
+      _ <- connector.getWithClassTagAndMetadata[Any](cacheKey, s"tag::$cacheKey", s"refresh::$cacheKey")(classTagOf).assertingEqual(None -> None)
+      _ <- connector.set(cacheKey, 15).assertingEqual(true)
+      _ <- connector.set(s"tag::$cacheKey", "Int").assertingEqual(true)
+      _ <- connector.getWithClassTagAndMetadata[Any](cacheKey, s"tag::$cacheKey", s"refresh::$cacheKey")(classTagOf).assertingEqual(Some(15) -> Some("10:5"))
+    } yield Passed
+  }
+
+  test("set with class tag and metadata") { (cacheKey, connector) =>
+    for {
+      _ <- connector.setWithClassTagAndMetadata(cacheKey, s"tag::$cacheKey", s"refresh::$cacheKey", 15, "Int", "10:5", 2.seconds)
+      _ <- connector.get[Int](cacheKey).assertingEqual(Some(15))
+      _ <- connector.get[String](s"tag::$cacheKey").assertingEqual(Some("Int"))
+      _ <- connector.get[String](s"refresh::$cacheKey").assertingEqual(Some("10:5"))
+      _ <- connector.expiresIn(s"refresh::$cacheKey").map(_.exists(_.isFinite)).assertingEqual(true)
+    } yield Passed
+  }
+
+  test("set with class tag") { (cacheKey, connector) =>
+    for {
+      _ <- connector.setWithClassTag(cacheKey, s"tag::$cacheKey", 15, "Int", 2.seconds)
+      _ <- connector.get[Int](cacheKey).assertingEqual(Some(15))
+      _ <- connector.get[String](s"tag::$cacheKey").assertingEqual(Some("Int"))
+      _ <- connector.expiresIn(s"tag::$cacheKey").map(_.exists(_.isFinite)).assertingEqual(true)
+      _ <- connector.setWithClassTag(cacheKey, s"tag::$cacheKey", null, "null", Duration.Inf)
+      _ <- connector.get[Int](cacheKey).assertingEqual(None)
+      _ <- connector.get[String](s"tag::$cacheKey").assertingEqual(Some("null"))
+      _ <- connector.expiresIn(s"tag::$cacheKey").assertingEqual(Some(Duration.Inf))
+    } yield Passed
+  }
+
   test("ignore set if not exists when already defined") { (cacheKey, connector) =>
     for {
       _ <- connector.set(cacheKey, "previous").assertingEqual(true)
@@ -187,6 +264,26 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("find all matching keys over multiple scan pages") { (cacheKey, connector) =>
+    val keys = (1 to 2500).map(i => s"$cacheKey-$i")
+    for {
+      _ <- connector.mSet(keys.map(_ -> "value"): _*)
+      _ <- connector.set(s"other-$cacheKey", "value")
+      _ <- connector.matching(s"$cacheKey-*").map(_.toSet).assertingEqual(keys.toSet)
+    } yield Passed
+  }
+
+  test("remove matching keys over multiple scan pages") { (cacheKey, connector) =>
+    val keys = (1 to 2500).map(i => s"$cacheKey-$i")
+    for {
+      _ <- connector.mSet(keys.map(_ -> "value"): _*)
+      _ <- connector.set(s"other-$cacheKey", "value")
+      _ <- connector.removeMatching(s"$cacheKey-*")
+      _ <- connector.matching(s"$cacheKey-*").assertingEqual(Seq.empty)
+      _ <- connector.get[String](s"other-$cacheKey").assertingEqual(Some("value"))
+    } yield Passed
+  }
+
   test("remove multiple keys at once") { (cacheKey, connector) =>
     for {
       _ <- connector.set(s"$cacheKey-1", "value")
@@ -286,6 +383,29 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("append and expire only a new key") { (cacheKey, connector) =>
+    for {
+      _ <- connector.appendAndExpire(cacheKey, "some", 2.seconds).assertingEqual(4)
+      _ <- connector.expiresIn(cacheKey).map(_.exists(_.isFinite)).assertingEqual(true)
+      _ <- connector.set(s"$cacheKey-other", "some")
+      _ <- connector.appendAndExpire(s"$cacheKey-other", " value", 2.seconds).assertingEqual(10)
+      _ <- connector.get[String](s"$cacheKey-other").assertingEqual(Some("some value"))
+      _ <- connector.expiresIn(s"$cacheKey-other").assertingEqual(Some(Duration.Inf))
+    } yield Passed
+  }
+
+  test("append creating a key starting with the marker", compression = Some(ValueCompression.Gzip)) { (cacheKey, connector) =>
+    for {
+      _ <- connector.append(cacheKey, "\u0000some")
+      _ <- connector.get[String](cacheKey).assertingEqual(Some("\u0000some"))
+      _ <- connector.append(cacheKey, "\u0000 value")
+      _ <- connector.get[String](cacheKey).assertingEqual(Some("\u0000some\u0000 value"))
+      _ <- connector.appendAndExpire(s"$cacheKey-other", "\u0000some", 2.seconds)
+      _ <- connector.get[String](s"$cacheKey-other").assertingEqual(Some("\u0000some"))
+      _ <- connector.expiresIn(s"$cacheKey-other").map(_.exists(_.isFinite)).assertingEqual(true)
+    } yield Passed
+  }
+
   test("list push left") { (cacheKey, connector) =>
     for {
       _ <- connector.listPrepend(cacheKey, "A", "B", "C").assertingEqual(3)
@@ -349,6 +469,16 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("list remove at index") { (cacheKey, connector) =>
+    for {
+      _ <- connector.listRemoveAt(cacheKey, 0).assertingFailure[IndexOutOfBoundsException]
+      _ <- connector.listPrepend(cacheKey, "C", "B", "A").assertingEqual(3)
+      _ <- connector.listRemoveAt(cacheKey, 1)
+      _ <- connector.listSlice[String](cacheKey, 0, -1).assertingEqual(List("A", "C"))
+      _ <- connector.listRemoveAt(cacheKey, 2).assertingFailure[IndexOutOfBoundsException]
+    } yield Passed
+  }
+
   test("list trim") { (cacheKey, connector) =>
     for {
       _ <- connector.listPrepend(cacheKey, "C", "B", "A").assertingEqual(3)
@@ -369,6 +499,54 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("list pop in batches") { (cacheKey, connector) =>
+    for {
+      _ <- connector.listPop[String](cacheKey, 10, fromTail = false).assertingEqual(Seq.empty)
+      _ <- connector.listAppend(cacheKey, "A", "B", "C", "D", "E").assertingEqual(5)
+      _ <- connector.listPop[String](cacheKey, 2, fromTail = false).assertingEqual(Seq("A", "B"))
+      _ <- connector.listPop[String](cacheKey, 2, fromTail = true).assertingEqual(Seq("E", "D"))
+      _ <- connector.listPop[String](cacheKey, 10, fromTail = false).assertingEqual(Seq("C"))
+      _ <- connector.listSize(cacheKey).assertingEqual(0)
+    } yield Passed
+  }
+
+  test("list consume by blocking pops") { (cacheKey, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    implicit val materializer: Materializer = Materializer(system)
+    val values = (1 to 250).map(index => s"value-$index")
+    // the consumers block on the empty list until the values are appended
+    val consumed = connector.listConsume[String](cacheKey, batchSize = 20, concurrency = 3, poll = 1.second).take(values.size.toLong).runWith(Sink.seq)
+    for {
+      _      <- connector.listAppend(cacheKey, values: _*).assertingEqual(values.size.toLong)
+      result <- consumed
+      _      <- connector.listSize(cacheKey).assertingEqual(0)
+      _      <- system.terminate()
+    } yield result must contain theSameElementsAs values
+  }
+
+  test("list consume polls longer than the command timeout", hocon = Some(ShortConnectionTimeout)) { (cacheKey, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    implicit val materializer: Materializer = Materializer(system)
+    val values = (1 to 10).map(index => s"value-$index")
+    // the idle polls take longer than the connection timeout and return empty
+    val consumed = connector.listConsume[String](cacheKey, batchSize = 5, concurrency = 1, poll = 500.millis).take(values.size.toLong).runWith(Sink.seq)
+    for {
+      _      <- Future.waitFor(1200.millis)
+      _      <- connector.listAppend(cacheKey, values: _*).assertingEqual(values.size.toLong)
+      result <- consumed
+      _      <- system.terminate()
+    } yield result mustEqual values
+  }
+
+  test("list consume rejects the poll exceeding the redis timeout", hocon = Some(ShortRedisTimeout)) { (cacheKey, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    implicit val materializer: Materializer = Materializer(system)
+    for {
+      _ <- connector.listConsume[String](cacheKey, batchSize = 5, concurrency = 1, poll = 500.millis).runWith(Sink.seq).assertingFailure[IllegalArgumentException]
+      _ <- system.terminate()
+    } yield Passed
+  }
+
   test("list set to invalid type") { (cacheKey, connector) =>
     for {
       _ <- connector.set(cacheKey, "value").assertingSuccess
@@ -488,6 +666,21 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
+  test("hash set all in chunks with field expiration") { (cacheKey, connector) =>
+    // spans multiple chunks of the bulk commands
+    val values = (1 to 2500).map(index => s"field-$index" -> s"value-$index")
+    for {
+      _ <- connector.hashSet(cacheKey, "field-1", "previous").assertingEqual(true)
+      _ <- connector.hashSetAll(cacheKey, values).assertingEqual(2499)
+      _ <- connector.hashSize(cacheKey).assertingEqual(2500)
+      _ <- connector.hashGet[String](cacheKey, Seq("field-1", "field-2500")).assertingEqual(Seq(Some("value-1"), Some("value-2500")))
+      _ <- connector.hashExpire(cacheKey, 1.minute, Seq("field-1", "field-2", "field-missing")).assertingEqual(2)
+      _ <- connector.hashExpire(cacheKey, 1.millisecond, values.map(_._1)).assertingEqual(2500)
+      _ <- connector.setAdd(s"$cacheKey-set", values.map(_._2): _*).assertingEqual(2500)
+      _ <- connector.setSize(s"$cacheKey-set").assertingEqual(2500)
+    } yield Passed
+  }
+
   test("hash set into invalid type") { (cacheKey, connector) =>
     for {
       _ <- connector.set(cacheKey, "value").assertingSuccess
@@ -583,19 +776,98 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
     } yield Passed
   }
 
-  def test(name: String)(f: (String, RedisConnector) => Future[Assertion]): Unit =
+  test("sorted set range by score") { (cacheKey, connector) =>
+    import RedisSortedSet.Bound.{Exclusive, Inclusive, Unbounded}
+    for {
+      _ <- connector.sortedSetAdd(cacheKey, 1d -> "A", 2d -> "B", 4d -> "C", 8d -> "D").assertingEqual(4)
+
+      _ <- connector.sortedSetRangeByScore[String](cacheKey, Inclusive(2d), Inclusive(4d), None, isReverse = false).assertingEqual(Vector("B", "C"))
+      _ <- connector.sortedSetRangeByScore[String](cacheKey, Exclusive(2d), Unbounded, None, isReverse = false).assertingEqual(Vector("C", "D"))
+      _ <- connector.sortedSetRangeByScore[String](cacheKey, Inclusive(Double.NegativeInfinity), Inclusive(Double.PositiveInfinity), Some(RedisSortedSet.Limit(1, 2)), isReverse = false).assertingEqual(Vector("B", "C"))
+      _ <- connector.sortedSetRangeByScore[String](cacheKey, Unbounded, Exclusive(8d), Some(RedisSortedSet.Limit(0, 2)), isReverse = true).assertingEqual(Vector("C", "B"))
+      _ <- connector.sortedSetRangeByScoreWithScores[String](cacheKey, Inclusive(4d), Unbounded, None, isReverse = false).assertingEqual(Vector(4d -> "C", 8d -> "D"))
+      _ <- connector.sortedSetRangeWithScores[String](cacheKey, 0, 1, isReverse = true).assertingEqual(Vector(8d -> "D", 4d -> "C"))
+
+      _ <- connector.sortedSetCount(cacheKey, Inclusive(2d), Inclusive(8d)).assertingEqual(3)
+      _ <- connector.sortedSetCount(cacheKey, Exclusive(8d), Unbounded).assertingEqual(0)
+    } yield Passed
+  }
+
+  test("sorted set range by lex") { (cacheKey, connector) =>
+    import RedisSortedSet.Bound.{Exclusive, Inclusive, Unbounded}
+    for {
+      _ <- connector.sortedSetAdd(cacheKey, 0d -> "alpha", 0d -> "beta", 0d -> "delta", 0d -> "gamma").assertingEqual(4)
+
+      _ <- connector.sortedSetRangeByLex[String](cacheKey, Inclusive("beta"), Exclusive("gamma"), None, isReverse = false).assertingEqual(Vector("beta", "delta"))
+      _ <- connector.sortedSetRangeByLex[String](cacheKey, Unbounded, Unbounded, Some(RedisSortedSet.Limit(1, 2)), isReverse = true).assertingEqual(Vector("delta", "beta"))
+      _ <- connector.sortedSetLexCount(cacheKey, Exclusive("alpha"), Unbounded).assertingEqual(3)
+    } yield Passed
+  }
+
+  test("sorted set range by score of other type") { (cacheKey, connector) =>
+    import RedisSortedSet.Bound.Unbounded
+    for {
+      _ <- connector.set(cacheKey, "value").assertingEqual(true)
+      _ <- connector.sortedSetRangeByScore[String](cacheKey, Unbounded, Unbounded, None, isReverse = false).assertingFailure[ExecutionFailedException]
+    } yield Passed
+  }
+
+  test("scan collections in pages") { (cacheKey, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    implicit val materializer: Materializer = Materializer(system)
+    // large enough to be stored as hash tables iterated in multiple pages
+    val values = (1 to 300).map(index => s"field-$index" -> s"value-$index")
+    for {
+      _       <- Future.traverse(values) { case (field, value) => connector.hashSet(s"$cacheKey-hash", field, value) }
+      _       <- connector.setAdd(s"$cacheKey-set", values.map(_._2): _*).assertingEqual(300)
+      _       <- connector.sortedSetAdd(s"$cacheKey-zset", values.map { case (field, value) => field.stripPrefix("field-").toDouble -> value }: _*).assertingEqual(300)
+      hash    <- connector.hashScan[String](s"$cacheKey-hash", count = 20).runWith(Sink.seq)
+      set     <- connector.setScan[String](s"$cacheKey-set", count = 20).runWith(Sink.seq)
+      zset    <- connector.sortedSetScan[String](s"$cacheKey-zset", count = 20).runWith(Sink.seq)
+      missing <- connector.hashScan[String](s"$cacheKey-missing", count = 20).runWith(Sink.seq)
+      _       <- system.terminate()
+    } yield {
+      hash.toMap mustEqual values.toMap
+      set.toSet mustEqual values.map(_._2).toSet
+      zset.toSet mustEqual values.map { case (field, value) => field.stripPrefix("field-").toDouble -> value }.toSet
+      missing mustEqual Seq.empty
+    }
+  }
+
+  test("evaluate a script not loaded yet") { (cacheKey, connector) =>
+    val script = RedisScript(s"return redis.call('INCRBY', KEYS[1], ARGV[1]) -- $cacheKey")
+    for {
+      _ <- connector.eval[Long](script, Seq(cacheKey), Seq("2")).assertingEqual(2)
+      _ <- connector.scriptLoad(script)
+      _ <- connector.eval[Long](script, Seq(cacheKey), Seq("3")).assertingEqual(5)
+      _ <- connector.eval[Option[String]](RedisScript("return redis.call('GET', KEYS[1])"), Seq(cacheKey), Seq.empty).assertingEqual(Some("5"))
+    } yield Passed
+  }
+
+  test("striped connections", hocon = Some(StripedConfiguration)) { (cacheKey, connector) =>
+    for {
+      _ <- Future.traverse(1 to 20)(index => connector.set(s"$cacheKey-$index", index, Duration.Inf, ifNotExists = false))
+      _ <- Future.traverse(1 to 20)(index => connector.get[Int](s"$cacheKey-$index").assertingEqual(Some(index)))
+      _ <- connector.mGet[Int](s"$cacheKey-1", s"$cacheKey-2", s"$cacheKey-3").assertingEqual(Seq(Some(1), Some(2), Some(3)))
+      _ <- connector.hashSet(cacheKey, "field", "value").assertingEqual(true)
+      _ <- connector.hashGetAll[String](cacheKey).assertingEqual(Map("field" -> "value"))
+    } yield Passed
+  }
+
+  def test(name: String, hocon: Option[String] = None, compression: Option[ValueCompression] = None)(f: (String, RedisConnector) => Future[Assertion]): Unit =
     name in {
       val injector: Injector = newInjector.build()
       implicit val system: ActorSystem = injector.instanceOf[ActorSystem]
       implicit val lifecycle: ApplicationLifecycle = injector.instanceOf[ApplicationLifecycle]
       implicit val runtime: RedisRuntime = RedisRuntime("standalone", syncTimeout = 5.seconds, ExecutionContext.global, new LogAndFailPolicy, LazyInvocation)
-      val serializer = new PekkoSerializerImpl(system)
+      val pekko: PekkoSerializer = new PekkoSerializerImpl(system)
+      val serializer: PekkoSerializer = compression.fold(pekko)(new CompressingSerializer(pekko, _, 1024L, RedisValueEncoding.Text))
 
       lazy val instance = RedisStandalone(
         name = "play",
         host = RedisHost(container.containerIpAddress, container.mappedPort(defaultPort)),
         settings = RedisSettings.load(
-          config = Helpers.configuration.default.underlying,
+          config = hocon.fold(Helpers.configuration.default)(Helpers.configuration.fromHocon).underlying,
           path = "play.cache.redis",
         ),
       )
@@ -613,4 +885,23 @@ class RedisStandaloneSpec extends IntegrationSpec with RedisStandaloneContainer
       }
     }
 
+  private val ShortConnectionTimeout: String =
+    """
+      |play.cache.redis.connection-timeout: 100ms
+    """.stripMargin
+
+  private val ShortRedisTimeout: String =
+    """
+      |play.cache.redis.redis-timeout: 200ms
+    """.stripMargin
+
+  private val StripedConfiguration: String =
+    """
+      |play.cache.redis.striping {
+      |  connections:     3
+      |  strategy:        key-hash
+      |  bulk-connection: true
+      |}
+    """.stripMargin
+
 }
@@ -3,7 +3,9 @@ package play.api.cache.redis.connector
 import org.apache.pekko.actor.ActorSystem
 import play.api.cache.redis._
 import play.api.cache.redis.test._
+import play.api.libs.json.{Format, Json}
 
+import java.nio.ByteBuffer
 import java.util.Date
 import scala.reflect.ClassTag
 import scala.util.Random
@@ -171,10 +173,158 @@ class SerializerSpec extends AsyncUnitSpec {
     }
   }
 
-  private def test(name: String)(f: PekkoSerializer => Unit): Unit =
+  "binary" when {
+
+    test("ascii primitives", binary = true) { implicit serializer =>
+      15.encoded mustEqual "15"
+      "15".decoded[Int] mustEqual 15
+      "some string".encoded mustEqual "some string"
+      "some string".decoded[String] mustEqual "some string"
+    }
+
+    test("unicode primitives", binary = true) { implicit serializer =>
+      'š'.encoded mustEqual "\u00c5\u00a1"
+      "\u00c5\u00a1".decoded[Char] mustEqual 'š'
+      "žluťoučký".encoded.decoded[String] mustEqual "žluťoučký"
+    }
+
+    test("custom classes", binary = true) { implicit serializer =>
+      val encoded = SimpleObject("B", 3).encoded
+      encoded.head mustEqual '\u00ac' // the raw java serialization header
+      encoded.length mustEqual 122 // compared to 164 chars in BASE64
+      encoded.decoded[SimpleObject] mustEqual SimpleObject("B", 3)
+    }
+
+    test("list", binary = true) { implicit serializer =>
+      List("A", "B", "C").encoded.decoded[List[String]] mustEqual List("A", "B", "C")
+    }
+
+    test("legacy string encoding", binary = true) { implicit serializer =>
+      "rO0ABXNyAA5qYXZhLnV0aWwuRGF0ZWhqgQFLWXQZAwAAeHB3CAAAAAAAAAB7eA==".decoded[Date] mustEqual new Date(123)
+      "".decoded[String] mustEqual null
+    }
+
+    test("legacy base64 detection", binary = true) { implicit serializer =>
+      BinaryValue.isBase64("rO0ABXNy") mustEqual true
+      BinaryValue.isBase64("rO0=ABXN") mustEqual false
+      BinaryValue.isBase64("rO0ABX==") mustEqual true
+      BinaryValue.isBase64("rO0AB===") mustEqual false
+      BinaryValue.isBase64("") mustEqual false
+      new Date(123).encoded.decoded[Date] mustEqual new Date(123)
+    }
+  }
+
+  "codecs" when {
+
+    test("json", codecs = true) { implicit serializer =>
+      JsonObject("B", 3).encoded mustEqual """{"key":"B","value":3}"""
+      """{"key":"B","value":3}""".decoded[JsonObject] mustEqual JsonObject("B", 3)
+    }
+
+    test("binary codec", codecs = true) { implicit serializer =>
+      new Date(123).encoded mustEqual "AAAAAAAAAHs="
+      "AAAAAAAAAHs=".decoded[Date] mustEqual new Date(123)
+    }
+
+    test("binary codec with binary encoding", binary = true, codecs = true) { implicit serializer =>
+      new Date(123).encoded mustEqual "\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u007b"
+      "\u0000\u0000\u0000\u0000\u0000\u0000\u0000\u007b".decoded[Date] mustEqual new Date(123)
+    }
+
+    test("unregistered types", codecs = true) { implicit serializer =>
+      15.encoded mustEqual "15"
+      "15".decoded[Int] mustEqual 15
+      SimpleObject("B", 3).encoded.decoded[SimpleObject] mustEqual SimpleObject("B", 3)
+      "".decoded[JsonObject] mustEqual null
+    }
+
+    "values stored before the registration" in {
+      val system = ActorSystem.apply(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+      val pekko: PekkoSerializer = new PekkoSerializerImpl(system)
+      val serializer: PekkoSerializer = new ValueCodecSerializer(Codecs, pekko, RedisValueEncoding.Text)
+      val legacy = pekko.encode(JsonObject("B", 3)).get
+      serializer.decode[JsonObject](legacy).get mustEqual JsonObject("B", 3)
+      system.terminate().map(_ => Passed)
+    }
+
+    test("malformed value", codecs = true) { implicit serializer =>
+      serializer.decode[JsonObject]("""{"key":"B"}""").isFailure mustEqual true
+    }
+  }
+
+  "compression" when {
+
+    Seq(ValueCompression.Deflate, ValueCompression.Gzip, ValueCompression.Lz4).foreach { algorithm =>
+      test(s"large value with ${algorithm.name}", compression = Some(algorithm)) { implicit serializer =>
+        val encoded = LargeText.encoded
+        encoded.head mustEqual '\u0000'
+        encoded.charAt(1) mustEqual algorithm.id
+        encoded.length must be < LargeText.length
+        encoded.decoded[String] mustEqual LargeText
+      }
+
+      test(s"large value with ${algorithm.name} and binary encoding", binary = true, compression = Some(algorithm)) { implicit serializer =>
+        val encoded = List.fill(500)(SimpleObject("B", 3)).encoded
+        encoded.head mustEqual '\u0000'
+        encoded.decoded[List[SimpleObject]] mustEqual List.fill(500)(SimpleObject("B", 3))
+      }
+    }
+
+    test("small value", compression = Some(ValueCompression.Gzip)) { implicit serializer =>
+      "some string".encoded mustEqual "some string"
+      "some string".decoded[String] mustEqual "some string"
+      15.encoded mustEqual "15"
+    }
+
+    test("incompressible value", compression = Some(ValueCompression.Deflate)) { implicit serializer =>
+      val random = Random.alphanumeric.take(2048).mkString
+      random.encoded mustEqual random
+    }
+
+    test("appended tail", compression = Some(ValueCompression.Lz4)) { implicit serializer =>
+      (LargeText.encoded + " tail").decoded[String] mustEqual s"$LargeText tail"
+    }
+
+    test("value starting with the marker", compression = Some(ValueCompression.Gzip)) { implicit serializer =>
+      "\u0000small".encoded mustEqual "\u0000\u0000small"
+      "\u0000small".encoded.decoded[String] mustEqual "\u0000small"
+      ("\u0000" + LargeText).encoded.decoded[String] mustEqual "\u0000" + LargeText
+    }
+
+    test("threshold in bytes", compression = Some(ValueCompression.Deflate)) { implicit serializer =>
+      // 400 chars taking 1200 bytes in UTF-8 exceed the threshold of 1024 bytes
+      val text = "\u20ac" * 400
+      text.encoded.head mustEqual '\u0000'
+      text.encoded.decoded[String] mustEqual text
+    }
+
+    test("appended value starting with the marker", compression = Some(ValueCompression.Gzip)) { implicit serializer =>
+      val appended = CompressingSerializer.uncompressed(serializer).encode("\u0000some").get
+      appended mustEqual "\u0000some"
+      CompressingSerializer.creating(serializer)(appended) mustEqual "\u0000\u0000some"
+      CompressingSerializer.creating(serializer)(appended).decoded[String] mustEqual "\u0000some"
+      (CompressingSerializer.creating(serializer)(appended) + appended).decoded[String] mustEqual "\u0000some\u0000some"
+    }
+
+    test("serialized object encoded into BASE64 once", compression = Some(ValueCompression.Deflate)) { implicit serializer =>
+      val encoded = List.fill(500)(SimpleObject("B", 3)).encoded
+      encoded.charAt(2) mustEqual 'b'
+      encoded.decoded[List[SimpleObject]] mustEqual List.fill(500)(SimpleObject("B", 3))
+    }
+
+    test("illegal lz4 length", compression = Some(ValueCompression.Lz4)) { _ =>
+      an[IllegalArgumentException] must be thrownBy ValueCompression.Lz4.decompress(ByteBuffer.allocate(8).putInt(Int.MaxValue).array())
+      an[IllegalArgumentException] must be thrownBy ValueCompression.Lz4.decompress(ByteBuffer.allocate(8).putInt(-1).array())
+    }
+  }
+
+  private def test(name: String, binary: Boolean = false, codecs: Boolean = false, compression: Option[ValueCompression] = None)(f: PekkoSerializer => Unit): Unit =
     name in {
       val system = ActorSystem.apply(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
-      val serializer: PekkoSerializer = new PekkoSerializerImpl(system)
+      val pekko: PekkoSerializer = if (binary) new PekkoBinarySerializerImpl(system) else new PekkoSerializerImpl(system)
+      val encoding = if (binary) RedisValueEncoding.Binary else RedisValueEncoding.Text
+      val withCodecs: PekkoSerializer = if (codecs) new ValueCodecSerializer(Codecs, pekko, encoding) else pekko
+      val serializer: PekkoSerializer = compression.fold(withCodecs)(new CompressingSerializer(withCodecs, _, 1024L, encoding))
       f(serializer)
       system.terminate().map(_ => Passed)
     }
@@ -199,4 +349,22 @@ object SerializerSpec {
   @SerialVersionUID(3363306882840417725L)
   final private case class SimpleObject(key: String, value: Int)
 
+  /** repetitive text compressed well by all algorithms */
+  private val LargeText: String = "lorem ipsum dolor sit amet " * 200
+
+  final case class JsonObject(key: String, value: Int)
+
+  object JsonObject {
+    implicit val format: Format[JsonObject] = Json.format[JsonObject]
+  }
+
+  private object Codecs extends ValueCodecRegistry {
+
+    override val codecs: Seq[ValueCodec[?]] = Seq(
+      ValueCodec.json[JsonObject],
+      ValueCodec.binary[Date](date => ByteBuffer.allocate(8).putLong(date.getTime).array(), bytes => new Date(ByteBuffer.wrap(bytes).getLong)),
+    )
+
+  }
+
 }
@@ -0,0 +1,48 @@
+package play.api.cache.redis.connector
+
+import play.api.cache.redis.configuration.RedisThreadPools
+import play.api.cache.redis.test._
+
+import scala.concurrent.duration._
+
+class SharedClientResourcesSpec extends AsyncUnitSpec {
+
+  override protected def testTimeout: FiniteDuration = 5.seconds
+
+  "share resources of instances with the same pools" in {
+    val pools = RedisThreadPools(3, 3, shared = true)
+    val first = SharedClientResources.acquire(pools)
+    val second = SharedClientResources.acquire(pools)
+    first mustBe theSameInstanceAs(second)
+    SharedClientResources.references(pools) mustEqual 2
+    for {
+      _ <- SharedClientResources.release(pools)
+      _ = first.eventExecutorGroup().isShuttingDown mustEqual false
+      _ = SharedClientResources.references(pools) mustEqual 1
+      _ <- SharedClientResources.release(pools)
+    } yield {
+      first.eventExecutorGroup().isShuttingDown mustEqual true
+      SharedClientResources.references(pools) mustEqual 0
+    }
+  }
+
+  "not share resources of instances with different pools" in {
+    val pools = RedisThreadPools(3, 4, shared = true)
+    val other = RedisThreadPools(4, 3, shared = true)
+    val first = SharedClientResources.acquire(pools)
+    val second = SharedClientResources.acquire(other)
+    first must not be theSameInstanceAs(second)
+    for {
+      _ <- SharedClientResources.release(pools)
+      _ <- SharedClientResources.release(other)
+    } yield {
+      first.eventExecutorGroup().isShuttingDown mustEqual true
+      second.eventExecutorGroup().isShuttingDown mustEqual true
+    }
+  }
+
+  "ignore release of unknown resources" in {
+    SharedClientResources.release(RedisThreadPools(5, 5, shared = true)).map(_ => Passed)
+  }
+
+}
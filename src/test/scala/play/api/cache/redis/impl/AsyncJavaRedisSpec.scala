@@ -6,11 +6,12 @@ import play.api.{Environment, Mode}
 import play.cache.redis._
 
 import java.util.Optional
-import scala.concurrent.Future
 import scala.concurrent.duration._
+import scala.concurrent.{Future, Promise}
 import scala.jdk.CollectionConverters.IterableHasAsScala
+import scala.jdk.FutureConverters.FutureOps
 
-class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisRuntimeMock {
+class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisConnectorMock with RedisRuntimeMock {
   import Helpers._
 
   private val expiration = 5.seconds
@@ -20,22 +21,21 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
 
   test("get and miss") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, None)
+      _ <- async.expect.getWithClassTag[String](cacheKey, None, None)
       _ <- cache.get[String](cacheKey).assertingEqual(Optional.empty)
     } yield Passed
   }
 
   test("get and hit") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, Some(classTag))
-      _ <- async.expect.get[String](cacheKey, Some(cacheValue))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some(classTag), Some(cacheValue))
       _ <- cache.get[String](cacheKey).assertingEqual(Optional.of(cacheValue))
     } yield Passed
   }
 
   test("get null") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, Some("null"))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some("null"), None)
       _ <- cache.get[String](cacheKey).assertingEqual(Optional.empty)
     } yield Passed
   }
@@ -63,10 +63,9 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
 
   test("get or else (sync)") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, None)
+      _ <- async.expect.getWithClassTag[String](cacheKey, None, None)
       _ <- async.expect.set(cacheKey, cacheValue, Duration.Inf)
-      _ <- async.expect.getClassTag(cacheKey, Some(classTag))
-      _ <- async.expect.get[String](cacheKey, Some(cacheValue))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some(classTag), Some(cacheValue))
       orElse = probe.orElse.const(cacheValue)
       _ <- cache.getOrElse(cacheKey, orElse.execute _).assertingEqual(cacheValue)
       _ <- cache.getOrElse(cacheKey, orElse.execute _).assertingEqual(cacheValue)
@@ -76,10 +75,9 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
 
   test("get or else (async)") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, None)
+      _ <- async.expect.getWithClassTag[String](cacheKey, None, None)
       _ <- async.expect.set(cacheKey, cacheValue, Duration.Inf)
-      _ <- async.expect.getClassTag(cacheKey, Some(classTag))
-      _ <- async.expect.get[String](cacheKey, Some(cacheValue))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some(classTag), Some(cacheValue))
       orElse = probe.orElse.asyncJava(cacheValue)
       _ <- cache.getOrElseUpdate(cacheKey, orElse.execute _).assertingEqual(cacheValue)
       _ <- cache.getOrElseUpdate(cacheKey, orElse.execute _).assertingEqual(cacheValue)
@@ -87,12 +85,51 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
     } yield Passed
   }
 
+  test("get or else with refresh (sync)") { (async, cache) =>
+    for {
+      _ <- async.expect.getWithClassTagAndMetadata[String](cacheKey, None, None, None)
+      _ <- async.expect.setWithClassTagAndMetadata(cacheKey, cacheValue, expiration + 10.seconds)
+      orElse = probe.orElse.const(cacheValue)
+      _ <- cache.getOrElseWithRefresh(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or else with refresh (async)") { (async, cache) =>
+    for {
+      _ <- async.expect.getWithClassTagAndMetadata[String](cacheKey, None, None, None)
+      _ <- async.expect.setWithClassTagAndMetadata(cacheKey, cacheValue, expiration + 10.seconds)
+      _ <- async.expect.getWithClassTagAndMetadata[String](cacheKey, Some(classTag), Some(cacheValue), Some(s"0:${Long.MaxValue}"))
+      orElse = probe.orElse.asyncJava(cacheValue)
+      _ <- cache.getOrElseUpdateWithRefresh(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
+      _ <- cache.getOrElseUpdateWithRefresh(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or else with refresh (concurrent misses)", stampedeProtection = new SingleFlight) { (async, cache) =>
+    val computation = Promise[String]()
+    for {
+      _     <- async.expect.getWithClassTagAndMetadata[String](cacheKey, None, None, None)
+      _     <- async.expect.getWithClassTagAndMetadata[String](cacheKey, None, None, None)
+      _     <- async.expect.setWithClassTagAndMetadata(cacheKey, cacheValue, expiration + 10.seconds)
+      orElse = probe.orElse.generic(computation.future.asJava, Future.successful(otherValue).asJava)
+      first  = cache.getOrElseUpdateWithRefresh(cacheKey, orElse.execute _, expiration.toSeconds.toInt)
+      second = cache.getOrElseUpdateWithRefresh(cacheKey, orElse.execute _, expiration.toSeconds.toInt)
+      // complete the computation once both requests missed
+      _     <- Future.waitFor(50.millis)
+      _      = computation.success(cacheValue)
+      _     <- first.assertingEqual(cacheValue)
+      _     <- second.assertingEqual(cacheValue)
+      _      = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
   test("get or else with expiration (sync)") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, None)
+      _ <- async.expect.getWithClassTag[String](cacheKey, None, None)
       _ <- async.expect.set(cacheKey, cacheValue, expiration)
-      _ <- async.expect.getClassTag(cacheKey, Some(classTag))
-      _ <- async.expect.get[String](cacheKey, Some(cacheValue))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some(classTag), Some(cacheValue))
       orElse = probe.orElse.const(cacheValue)
       _ <- cache.getOrElse(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
       _ <- cache.getOrElse(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
@@ -102,10 +139,9 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
 
   test("get or else with expiration (async)") { (async, cache) =>
     for {
-      _ <- async.expect.getClassTag(cacheKey, None)
+      _ <- async.expect.getWithClassTag[String](cacheKey, None, None)
       _ <- async.expect.set(cacheKey, cacheValue, expiration)
-      _ <- async.expect.getClassTag(cacheKey, Some(classTag))
-      _ <- async.expect.get[String](cacheKey, Some(cacheValue))
+      _ <- async.expect.getWithClassTag[String](cacheKey, Some(classTag), Some(cacheValue))
       orElse = probe.orElse.asyncJava(cacheValue)
       _ <- cache.getOrElseUpdate(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
       _ <- cache.getOrElseUpdate(cacheKey, orElse.execute _, expiration.toSeconds.toInt).assertingEqual(cacheValue)
@@ -125,12 +161,10 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
     for {
       // set a cacheValue
       // note: there should be hit on "byte" but the cacheValue is wrapped instead
-      _ <- async.expect.setValue(cacheKey, byte, Duration.Inf)
-      _ <- async.expect.setClassTag(cacheKey, "java.lang.Byte", Duration.Inf)
+      _ <- async.expect.setWithClassTag(cacheKey, byte, "java.lang.Byte", Duration.Inf)
       _ <- cache.set(cacheKey, byte).assertingDone
       // hit on GET
-      _ <- async.expect.getClassTag(cacheKey, Some("java.lang.Byte"))
-      _ <- async.expect.get[java.lang.Byte](cacheKey, Some(byte))
+      _ <- async.expect.getWithClassTag[java.lang.Byte](cacheKey, Some("java.lang.Byte"), Some(byte))
       _ <- cache.get[Byte](cacheKey).assertingEqual(Optional.ofNullable(byte))
     } yield Passed
   }
@@ -140,12 +174,10 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
     val javaBytes = scalaBytes.map[java.lang.Byte](x => x)
     for {
       // set a cacheValue
-      _ <- async.expect.setValue(cacheKey, scalaBytes, Duration.Inf)
-      _ <- async.expect.setClassTag(cacheKey, "byte[]", Duration.Inf)
+      _ <- async.expect.setWithClassTag(cacheKey, scalaBytes, "byte[]", Duration.Inf)
       _ <- cache.set(cacheKey, scalaBytes).assertingDone
       // hit on GET
-      _ <- async.expect.getClassTag(cacheKey, Some("byte[]"))
-      _ <- async.expect.get[Array[java.lang.Byte]](cacheKey, Some(javaBytes))
+      _ <- async.expect.getWithClassTag[Array[java.lang.Byte]](cacheKey, Some("byte[]"), Some(javaBytes))
       _ <- cache.get[Array[java.lang.Byte]](cacheKey).assertingEqual(Optional.ofNullable(javaBytes))
     } yield Passed
   }
@@ -348,11 +380,12 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
     } yield Passed
   }
 
-  private def test(name: String)(f: (AsyncRedisMock, play.cache.redis.AsyncCacheApi) => Future[Assertion]): Unit =
+  private def test(name: String, stampedeProtection: StampedeProtection = StampedeProtection.Disabled)(f: (AsyncRedisMock, play.cache.redis.AsyncCacheApi) => Future[Assertion]): Unit =
     name in {
       implicit val runtime: RedisRuntime = redisRuntime(
         invocationPolicy = LazyInvocation,
         recoveryPolicy = recoveryPolicy.default,
+        stampedeProtection = stampedeProtection,
       )
       implicit val environment: Environment = Environment(
         rootPath = new java.io.File("."),
@@ -360,7 +393,9 @@ class AsyncJavaRedisSpec extends AsyncUnitSpec with MockedAsyncRedis with RedisR
         mode = Mode.Test,
       )
       val (async: AsyncRedis, asyncMock: AsyncRedisMock) = AsyncRedisMock.mock(this)
-      val cache: play.cache.redis.AsyncCacheApi = new AsyncJavaRedis(async)
+      // the connector coordinates only the distributed stampede protection
+      val connector: RedisConnectorMock = mock[RedisConnectorMock]
+      val cache: play.cache.redis.AsyncCacheApi = new AsyncJavaRedis(async, connector)
 
       f(asyncMock, cache)
     }
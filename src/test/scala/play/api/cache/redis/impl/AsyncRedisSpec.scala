@@ -1,10 +1,14 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.{Sink, Source}
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
 import scala.concurrent.duration._
+import scala.util.Random
 
 class AsyncRedisSpec extends AsyncUnitSpec with RedisConnectorMock with RedisRuntimeMock with ImplicitFutureMaterialization {
   import Helpers._
@@ -69,11 +73,75 @@ class AsyncRedisSpec extends AsyncUnitSpec with RedisConnectorMock with RedisRun
     } yield Passed
   }
 
-  private def test(name: String, policy: RecoveryPolicy = recoveryPolicy.default)(f: (RedisConnectorMock, AsyncRedis) => Future[Assertion]): Unit =
+  test("scanMatching with a prefix", prefix = new RedisPrefixImpl("the-prefix")) { (connector, cache) =>
+    val system = ActorSystem.apply(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _    <- connector.expect.scanMatching("the-prefix:pattern", result = Source(List("the-prefix:key-A", "the-prefix:key-B")))
+      keys <- cache.scanMatching("pattern").runWith(Sink.seq)(Materializer(system))
+      _    <- system.terminate()
+    } yield keys mustEqual Seq("key-A", "key-B")
+  }
+
+  test("relaxed reads are served by the relaxed connector", prefix = new RedisPrefixImpl("the-prefix")) { (connector, cache) =>
+    val relaxed = mock[RedisConnectorMock]
+    for {
+      _ <- connector.expect.withReadConsistency(ReadConsistency.Relaxed, relaxed)
+      _ <- relaxed.expect.get[String]("the-prefix:key", Some(cacheValue))
+      _ <- cache.withReadConsistency(ReadConsistency.Relaxed).get[String]("key").assertingEqual(Some(cacheValue))
+    } yield Passed
+  }
+
+  test("relaxed reads of collections are served by the relaxed connector") { (connector, cache) =>
+    val relaxed = mock[RedisConnectorMock]
+    for {
+      _ <- connector.expect.withReadConsistency(ReadConsistency.Relaxed, relaxed)
+      _ <- relaxed.expect.listSize(cacheKey, result = 3L)
+      _ <- cache.withReadConsistency(ReadConsistency.Relaxed).list[String](cacheKey).size.assertingEqual(3L)
+    } yield Passed
+  }
+
+  test("loadScript") { (connector, cache) =>
+    for {
+      _ <- connector.expect.scriptLoad(script)
+      _ <- cache.loadScript(script).assertingDone
+    } yield Passed
+  }
+
+  test("loadScript recover with default") { (connector, cache) =>
+    for {
+      _ <- connector.expect.scriptLoad(script, result = failure)
+      _ <- cache.loadScript(script).assertingDone
+    } yield Passed
+  }
+
+  test("evalScript with a prefix", prefix = new RedisPrefixImpl("the-prefix")) { (connector, cache) =>
+    for {
+      _ <- connector.expect.eval[Long](script, Seq("the-prefix:key-A", "the-prefix:key-B"), Seq("5"), result = 2L)
+      _ <- cache.evalScript[Long](script, Seq("key-A", "key-B"), Seq("5")).assertingEqual(2L)
+    } yield Passed
+  }
+
+  test("evalScript fails through") { (connector, cache) =>
+    for {
+      _ <- connector.expect.eval[Long](script, Seq(cacheKey), Seq.empty, result = failure)
+      _ <- cache.evalScript[Long](script, Seq(cacheKey)).assertingFailure[TimeoutException]
+    } yield Passed
+  }
+
+  private val script = RedisScript("return redis.call('EXISTS', KEYS[1], KEYS[2])")
+
+  private def test(
+    name: String,
+    policy: RecoveryPolicy = recoveryPolicy.default,
+    prefix: RedisPrefix = RedisEmptyPrefix,
+  )(
+    f: (RedisConnectorMock, AsyncRedis) => Future[Assertion],
+  ): Unit =
     name in {
       implicit val runtime: RedisRuntime = redisRuntime(
         invocationPolicy = LazyInvocation,
         recoveryPolicy = policy,
+        prefix = prefix,
       )
       val connector = mock[RedisConnectorMock]
       val cache: AsyncRedis = new AsyncRedisImpl(connector)
@@ -53,6 +53,11 @@ class BuildersSpec extends AsyncUnitSpec with RedisRuntimeMock {
       AsynchronousBuilder.toResult(Task.failing(), Task.resolved()).assertingFailure[TimeoutException]
     }
 
+    "recover from rejection by the policy" in {
+      implicit val runtime: RedisRuntime = redisRuntime(recoveryPolicy = recoveryPolicy.rejecting)
+      AsynchronousBuilder.toResult(Task.infinite(), Task.resolved()).assertingEqual(Task.resolved.response)
+    }
+
     "map value" in {
       implicit val runtime: RedisRuntime = redisRuntime(recoveryPolicy = recoveryPolicy.failThrough)
       AsynchronousBuilder.map(Future(5))(_ + 5).assertingEqual(10)
@@ -105,6 +110,11 @@ class BuildersSpec extends AsyncUnitSpec with RedisRuntimeMock {
       SynchronousBuilder.toResult(Task.infinite(), Task.resolved()) mustEqual Task.resolved.response
     }
 
+    "recover from rejection by the policy" in {
+      implicit val runtime: RedisRuntime = redisRuntime(recoveryPolicy = recoveryPolicy.rejecting)
+      SynchronousBuilder.toResult(Task.infinite(), Task.resolved()) mustEqual Task.resolved.response
+    }
+
     "map value" in {
       implicit val runtime: RedisRuntime = redisRuntime()
       SynchronousBuilder.map(5)(_ + 5) mustEqual 10
@@ -0,0 +1,85 @@
+package play.api.cache.redis.impl
+
+import play.api.cache.redis.test._
+
+import scala.concurrent.duration._
+import scala.concurrent.{Future, Promise}
+
+class EarlyRefreshSpec extends AsyncUnitSpec {
+
+  private def earlyRefresh(now: Long = 0L, random: Double = 0.5) =
+    new EarlyRefresh(beta = 1.0, grace = 10.seconds, clock = () => now, random = () => random)
+
+  "miss is not refreshed" in {
+    val orElse = OrElseProbe.async(cacheValue)
+    earlyRefresh()(cacheKey, Option.empty[String], Some("10:0"))(orElse.execute()) mustEqual None
+    orElse.calls mustEqual 0
+  }
+
+  "hit without metadata is not refreshed" in {
+    val orElse = OrElseProbe.async(otherValue)
+    earlyRefresh()(cacheKey, Some(cacheValue), None)(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 0
+  }
+
+  "hit with malformed metadata is not refreshed" in {
+    val orElse = OrElseProbe.async(otherValue)
+    earlyRefresh()(cacheKey, Some(cacheValue), Some("malformed"))(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 0
+  }
+
+  "fresh hit is not refreshed" in {
+    val orElse = OrElseProbe.async(otherValue)
+    // 0 - 10 * ln(0.5) = 6.9 < 1000
+    earlyRefresh()(cacheKey, Some(cacheValue), Some("10:1000"))(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 0
+  }
+
+  "hit close to the expiration is refreshed" in {
+    val orElse = OrElseProbe.async(otherValue)
+    // 0 - 10 * ln(0.5) = 6.9 >= 5
+    earlyRefresh()(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 1
+  }
+
+  "logically expired hit is always refreshed" in {
+    val orElse = OrElseProbe.async(otherValue)
+    earlyRefresh(now = 1000L, random = 1.0)(cacheKey, Some(cacheValue), Some("0:1000"))(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 1
+  }
+
+  "concurrent refreshes of the same key are deduplicated" in {
+    val refresh = earlyRefresh()
+    val computation = Promise[String]()
+    val orElse = OrElseProbe.generic(computation.future, Future.successful(otherValue))
+    refresh(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    refresh(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    orElse.calls mustEqual 1
+    computation.success(otherValue)
+    for {
+      _ <- Future.waitFor(50.millis)
+      // once completed, the next hit may refresh the value again
+      _  = refresh(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    } yield orElse.calls mustEqual 2
+  }
+
+  "failed refresh is ignored" in {
+    val refresh = earlyRefresh()
+    val orElse = OrElseProbe.generic[Future[String]](Future.failed(SimulatedException), Future.successful(otherValue))
+    refresh(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    for {
+      _ <- Future.waitFor(50.millis)
+      // the failed refresh released the key
+      _  = refresh(cacheKey, Some(cacheValue), Some("10:5"))(orElse.execute()) mustEqual Some(cacheValue)
+    } yield orElse.calls mustEqual 2
+  }
+
+  "value is kept for the grace period" in {
+    earlyRefresh().expiration(1.minute) mustEqual 70.seconds
+  }
+
+  "metadata contain the logical expiration" in {
+    earlyRefresh(now = 1000L).metadata(System.nanoTime(), 1.minute) must endWith(":61000")
+  }
+
+}
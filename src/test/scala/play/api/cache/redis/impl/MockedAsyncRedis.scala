@@ -39,6 +39,41 @@ private[impl] trait MockedAsyncRedis { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def getWithClassTag[T](key: String, classTag: Option[String], value: Option[T]): Future[Unit] =
+      Future.successful {
+        (async
+          .getWithClassTag[T](_: String, _: String)(_: String => ClassTag[T]))
+          .expects(key, classTagKey(key), *)
+          .onCall { (_: String, _: String, classTagOf: String => ClassTag[T]) =>
+            // mimics the connector, null class tag means the stored null
+            Future.successful {
+              classTag.map(classTagOf).flatMap {
+                case ClassTag.Null => Some(null.asInstanceOf[T])
+                case _             => value
+              }
+            }
+          }
+          .once()
+      }
+
+    def getWithClassTagAndMetadata[T](key: String, classTag: Option[String], value: Option[T], metadata: Option[String]): Future[Unit] =
+      Future.successful {
+        (async
+          .getWithClassTagAndMetadata[T](_: String, _: String, _: String)(_: String => ClassTag[T]))
+          .expects(key, classTagKey(key), s"refresh::$key", *)
+          .onCall { (_: String, _: String, _: String, classTagOf: String => ClassTag[T]) =>
+            // mimics the connector, the metadata are returned only along with the value
+            Future.successful {
+              val stored = classTag.map(classTagOf).flatMap {
+                case ClassTag.Null => Some(null.asInstanceOf[T])
+                case _             => value
+              }
+              stored -> stored.flatMap(_ => metadata)
+            }
+          }
+          .once()
+      }
+
     def getAllKeys[T](keys: Iterable[String], values: Seq[Option[T]]): Future[Unit] =
       Future.successful {
         (async
@@ -57,14 +92,26 @@ private[impl] trait MockedAsyncRedis { this: AsyncMockFactoryBase =>
           .once()
       }
 
-    def setClassTag[T](key: String, value: T, duration: Duration): Future[Unit] =
-      setValue(classTagKey(key), value, duration)
+    def setWithClassTag[T](key: String, value: T, classTag: String, duration: Duration): Future[Unit] =
+      Future.successful {
+        (async
+          .setWithClassTag(_: String, _: String, _: Any, _: String, _: Duration))
+          .expects(key, classTagKey(key), if (Option(value).isEmpty) * else value, classTag, duration)
+          .returning(Future.successful(Done))
+          .once()
+      }
+
+    def setWithClassTagAndMetadata[T](key: String, value: T, duration: Duration): Future[Unit] =
+      Future.successful {
+        (async
+          .setWithClassTagAndMetadata(_: String, _: String, _: String, _: Any, _: String, _: String, _: Duration))
+          .expects(key, classTagKey(key), s"refresh::$key", if (Option(value).isEmpty) * else value, classTagValue(value), *, duration)
+          .returning(Future.successful(Done))
+          .once()
+      }
 
     def set[T](key: String, value: T, duration: Duration): Future[Unit] =
-      for {
-        _ <- setValue(key, value, duration)
-        _ <- setClassTag(key, classTagValue(value), duration)
-      } yield ()
+      setWithClassTag(key, value, classTagValue(value), duration)
 
     def setValueIfNotExists[T](key: String, value: T, duration: Duration, exists: Boolean): Future[Unit] =
       Future.successful {
@@ -180,18 +227,7 @@ private[impl] trait MockedAsyncRedis { this: AsyncMockFactoryBase =>
       }
 
     def remove(key: String): Future[Unit] =
-      Future.successful {
-        (async
-          .remove(_: String))
-          .expects(classTagKey(key))
-          .returning(Future.successful(Done))
-          .once()
-        (async
-          .remove(_: String))
-          .expects(key)
-          .returning(Future.successful(Done))
-          .once()
-      }
+      removeAll(key)
 
     def removeAll(keys: String*): Future[Unit] =
       Future.successful {
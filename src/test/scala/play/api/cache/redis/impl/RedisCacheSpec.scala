@@ -3,8 +3,8 @@ package play.api.cache.redis.impl
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 
-import scala.concurrent.Future
-import scala.concurrent.duration.Duration
+import scala.concurrent.{Future, Promise}
+import scala.concurrent.duration._
 
 class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
   import Helpers._
@@ -142,17 +142,16 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
     } yield Passed
   }
 
-  test("append with expiration (newly set key)") { (cache, connector) =>
+  test("append with expiration") { (cache, connector) =>
     for {
-      _ <- connector.expect.append(cacheKey, cacheValue, result = cacheValue.length.toLong)
-      _ <- connector.expect.expire(cacheKey, cacheExpiration)
+      _ <- connector.expect.appendAndExpire(cacheKey, cacheValue, cacheExpiration, result = cacheValue.length.toLong)
       _ <- cache.append(cacheKey, cacheValue, cacheExpiration).assertingDone
     } yield Passed
   }
 
-  test("append with expiration (already existing key)") { (cache, connector) =>
+  test("append with expiration recover with default") { (cache, connector) =>
     for {
-      _ <- connector.expect.append(cacheKey, cacheValue, result = cacheValue.length.toLong + 10)
+      _ <- connector.expect.appendAndExpire(cacheKey, cacheValue, cacheExpiration, result = failure)
       _ <- cache.append(cacheKey, cacheValue, cacheExpiration).assertingDone
     } yield Passed
   }
@@ -270,6 +269,24 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
     } yield Passed
   }
 
+  test("get or future (concurrent misses)", stampedeProtection = new SingleFlight) { (cache, connector) =>
+    val computation = Promise[String]()
+    for {
+      _     <- connector.expect.get[String](cacheKey, result = None)
+      _     <- connector.expect.get[String](cacheKey, result = None)
+      _     <- connector.expect.set(cacheKey, cacheValue, result = true)
+      orElse = probe.orElse.generic(computation.future, Future.successful(otherValue))
+      first  = cache.getOrFuture(cacheKey)(orElse.execute())
+      second = cache.getOrFuture(cacheKey)(orElse.execute())
+      // complete the computation once both requests missed
+      _     <- Future.waitFor(50.millis)
+      _      = computation.success(cacheValue)
+      _     <- first.assertingEqual(cacheValue)
+      _     <- second.assertingEqual(cacheValue)
+      _      = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
   test("get or future (failure)") { (cache, connector) =>
     for {
       _ <- connector.expect.get[String](cacheKey, result = failure)
@@ -299,6 +316,83 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
     } yield Passed
   }
 
+  test("get or future with refresh (miss)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(None -> None))
+      _ <- connector.expect.setWithMetadata(cacheKey, s"refresh::$cacheKey", cacheValue, 70.seconds)
+      orElse = probe.orElse.async(cacheValue)
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or future with refresh (concurrent misses)", stampedeProtection = new SingleFlight) { (cache, connector) =>
+    val computation = Promise[String]()
+    for {
+      _     <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(None -> None))
+      _     <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(None -> None))
+      _     <- connector.expect.setWithMetadata(cacheKey, s"refresh::$cacheKey", cacheValue, 70.seconds)
+      orElse = probe.orElse.generic(computation.future, Future.successful(otherValue))
+      first  = cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute())
+      second = cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute())
+      // complete the computation once both requests missed
+      _     <- Future.waitFor(50.millis)
+      _      = computation.success(cacheValue)
+      _     <- first.assertingEqual(cacheValue)
+      _     <- second.assertingEqual(cacheValue)
+      _      = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or future with refresh (hit)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(Some(cacheValue) -> Some("10:60000")))
+      orElse = probe.orElse.async(otherValue)
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 0
+    } yield Passed
+  }
+
+  test("get or future with refresh (hit without metadata)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(Some(cacheValue) -> None))
+      orElse = probe.orElse.async(otherValue)
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 0
+    } yield Passed
+  }
+
+  test("get or future with refresh (hit, refresh due)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(Some(cacheValue) -> Some("10:5")))
+      _ <- connector.expect.setWithMetadata(cacheKey, s"refresh::$cacheKey", otherValue, 70.seconds)
+      orElse = probe.orElse.async(otherValue)
+      // the stale value is served, the refresh runs in the background
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ <- Future.waitFor(50.millis)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or future with refresh (prefixed,miss)", prefix = Some("the-prefix")) { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](s"the-prefix:$cacheKey", s"the-prefix:refresh::$cacheKey", result = Future.successful(None -> None))
+      _ <- connector.expect.setWithMetadata(s"the-prefix:$cacheKey", s"the-prefix:refresh::$cacheKey", cacheValue, 70.seconds)
+      orElse = probe.orElse.async(cacheValue)
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or future with refresh (failure)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.failed(failure))
+      orElse = probe.orElse.async(cacheValue)
+      _ <- cache.getOrFutureWithRefresh(cacheKey, 1.minute)(orElse.execute()).assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
   test("remove") { (cache, connector) =>
     for {
       _ <- connector.expect.remove(cacheKey)
@@ -343,15 +437,21 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
 
   test("remove matching") { (cache, connector) =>
     for {
-      _ <- connector.expect.matching("pattern", result = Seq(cacheKey, cacheKey))
-      _ <- connector.expect.remove(cacheKey, cacheKey)
+      _ <- connector.expect.removeMatching("pattern")
       _ <- cache.removeMatching("pattern").assertingDone
     } yield Passed
   }
 
   test("remove matching recover with default") { (cache, connector) =>
     for {
-      _ <- connector.expect.matching("pattern", result = failure)
+      _ <- connector.expect.removeMatching("pattern", result = failure)
+      _ <- cache.removeMatching("pattern").assertingDone
+    } yield Passed
+  }
+
+  test("remove matching with a prefix", prefix = Some("the-prefix")) { (cache, connector) =>
+    for {
+      _ <- connector.expect.removeMatching("the-prefix:pattern")
       _ <- cache.removeMatching("pattern").assertingDone
     } yield Passed
   }
@@ -412,10 +512,31 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
     } yield Passed
   }
 
+  test("open circuit sends no writes", policy = recoveryPolicy.rejecting) { (cache, _) =>
+    // the connector expects no command, any call reaching it fails the test
+    for {
+      _ <- cache.set(cacheKey, cacheValue).assertingDone
+      _ <- cache.setAll(cacheKey -> cacheValue).assertingDone
+      _ <- cache.append(cacheKey, cacheValue, cacheExpiration).assertingDone
+      _ <- cache.expire(cacheKey, cacheExpiration).assertingDone
+      _ <- cache.remove(cacheKey).assertingDone
+      _ <- cache.removeAll(cacheKey, otherKey).assertingDone
+      _ <- cache.invalidate().assertingDone
+    } yield Passed
+  }
+
+  test("open circuit sends no read of get or future", policy = recoveryPolicy.rejecting) { (cache, _) =>
+    val orElse = probe.orElse.async(cacheValue)
+    cache.getOrFuture(cacheKey)(orElse.execute()).assertingEqual(cacheValue).map { _ =>
+      orElse.calls mustEqual 1
+    }
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
     prefix: Option[String] = None,
+    stampedeProtection: StampedeProtection = StampedeProtection.Disabled,
   )(
     f: (RedisCache[AsynchronousResult], RedisConnectorMock) => Future[Assertion],
   ): Unit =
@@ -424,6 +545,8 @@ class RedisCacheSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConne
         invocationPolicy = LazyInvocation,
         recoveryPolicy = policy,
         prefix = prefix.fold[RedisPrefix](RedisEmptyPrefix)(new RedisPrefixImpl(_)),
+        stampedeProtection = stampedeProtection,
+        earlyRefresh = new EarlyRefresh(beta = 1.0, grace = 10.seconds, clock = () => 0L, random = () => 0.5),
       )
       val connector: RedisConnectorMock = mock[RedisConnectorMock]
       val cache: RedisCache[AsynchronousResult] = new RedisCache[AsynchronousResult](connector, Builders.AsynchronousBuilder)
@@ -1,11 +1,13 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.NotUsed
+import org.apache.pekko.stream.scaladsl.Source
 import org.scalamock.scalatest.AsyncMockFactoryBase
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
-import scala.concurrent.duration.Duration
+import scala.concurrent.duration.{Duration, FiniteDuration}
 import scala.reflect.ClassTag
 import scala.util.{Failure, Try}
 
@@ -117,6 +119,24 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def getWithMetadata[T: ClassTag](key: String, metadataKey: String, result: Future[(Option[T], Option[String])]): Future[Unit] =
+      Future.successful {
+        (connector
+          .getWithMetadata(_: String, _: String)(_: ClassTag[T]))
+          .expects(key, metadataKey, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def setWithMetadata[T](key: String, metadataKey: String, value: T, duration: Duration, result: Future[Unit] = Future.unit): Future[Unit] =
+      Future.successful {
+        (connector
+          .setWithMetadata(_: String, _: String, _: Any, _: String, _: Duration))
+          .expects(key, metadataKey, value, *, duration)
+          .returning(result)
+          .once()
+      }
+
     def set[T](key: String, value: T, duration: Duration = Duration.Inf, setIfNotExists: Boolean = false, result: Future[Boolean]): Future[Unit] =
       Future.successful {
         (connector
@@ -209,6 +229,42 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def appendAndExpire(key: String, value: String, expiration: Duration, result: Future[Long]): Future[Unit] =
+      Future.successful {
+        (connector
+          .appendAndExpire(_: String, _: String, _: Duration))
+          .expects(key, value, expiration)
+          .returning(result)
+          .once()
+      }
+
+    def withReadConsistency(consistency: ReadConsistency, result: RedisConnector): Future[Unit] =
+      Future.successful {
+        (connector
+          .withReadConsistency(_: ReadConsistency))
+          .expects(consistency)
+          .returning(result)
+          .once()
+      }
+
+    def scriptLoad(script: RedisScript, result: Future[Unit] = Future.unit): Future[Unit] =
+      Future.successful {
+        (connector
+          .scriptLoad(_: RedisScript))
+          .expects(script)
+          .returning(result)
+          .once()
+      }
+
+    def eval[T](script: RedisScript, keys: Seq[String], args: Seq[String], result: Future[T]): Future[Unit] =
+      Future.successful {
+        (connector
+          .eval[T](_: RedisScript, _: Seq[String], _: Seq[String])(_: RedisScript.Output[T]))
+          .expects(script, keys, args, *)
+          .returning(result)
+          .once()
+      }
+
     def matching(pattern: String, result: Future[Seq[String]]): Future[Unit] =
       Future.successful {
         (connector
@@ -218,6 +274,24 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def scanMatching(pattern: String, result: Source[String, NotUsed]): Future[Unit] =
+      Future.successful {
+        (connector
+          .scanMatching(_: String))
+          .expects(pattern)
+          .returning(result)
+          .once()
+      }
+
+    def removeMatching(pattern: String, result: Future[Unit] = Future.unit): Future[Unit] =
+      Future.successful {
+        (connector
+          .removeMatching(_: String))
+          .expects(pattern)
+          .returning(result)
+          .once()
+      }
+
     def listPrepend(key: String, values: Seq[String], result: Future[Long] = Future.successful(5L)): Future[Unit] =
       Future.successful {
         (connector
@@ -254,6 +328,24 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def listPop[T: ClassTag](key: String, count: Long, fromTail: Boolean, result: Future[Seq[T]]): Future[Unit] =
+      Future.successful {
+        (connector
+          .listPop(_: String, _: Long, _: Boolean)(_: ClassTag[T]))
+          .expects(key, count, fromTail, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def listConsume[T: ClassTag](key: String, batchSize: Int, concurrency: Int, poll: FiniteDuration, result: Source[T, NotUsed]): Future[Unit] =
+      Future.successful {
+        (connector
+          .listConsume(_: String, _: Int, _: Int, _: FiniteDuration)(_: ClassTag[T]))
+          .expects(key, batchSize, concurrency, poll, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
     def listSize(key: String, result: Future[Long]): Future[Unit] =
       Future.successful {
         (connector
@@ -290,16 +382,11 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
-    def listRemoveAt(key: String, index: Long, result: Future[Long]): Future[Unit] =
+    def listRemoveAt(key: String, index: Long, result: Future[Unit]): Future[Unit] =
       Future.successful {
         (connector
-          .listSetAt(_: String, _: Long, _: Any))
-          .expects(key, index, "play-redis:DELETED")
-          .returning(Future.unit)
-          .once()
-        (connector
-          .listRemove(_: String, _: Any, _: Long))
-          .expects(key, "play-redis:DELETED", 0)
+          .listRemoveAt(_: String, _: Long))
+          .expects(key, index)
           .returning(result)
           .once()
       }
@@ -349,6 +436,15 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def setScan[T: ClassTag](key: String, count: Long, result: Source[T, NotUsed]): Future[Unit] =
+      Future.successful {
+        (connector
+          .setScan(_: String, _: Long)(_: ClassTag[T]))
+          .expects(key, count, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
     def setSize(key: String, result: Future[Long]): Future[Unit] =
       Future.successful {
         (connector
@@ -394,6 +490,15 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def sortedSetScan[T: ClassTag](key: String, count: Long, result: Source[(Double, T), NotUsed]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetScan(_: String, _: Long)(_: ClassTag[T]))
+          .expects(key, count, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
     def sortedSetReverseRange[T: ClassTag](key: String, start: Long, end: Long, result: Future[Seq[T]]): Future[Unit] =
       Future.successful {
         (connector
@@ -403,6 +508,60 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def sortedSetRangeWithScores[T: ClassTag](key: String, start: Long, end: Long, isReverse: Boolean, result: Future[Seq[(Double, T)]]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetRangeWithScores(_: String, _: Long, _: Long, _: Boolean)(_: ClassTag[T]))
+          .expects(key, start, end, isReverse, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def sortedSetRangeByScore[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean, result: Future[Seq[T]]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetRangeByScore(_: String, _: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double], _: Option[RedisSortedSet.Limit], _: Boolean)(_: ClassTag[T]))
+          .expects(key, min, max, limit, isReverse, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def sortedSetRangeByScoreWithScores[T: ClassTag](key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], limit: Option[RedisSortedSet.Limit], isReverse: Boolean, result: Future[Seq[(Double, T)]]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetRangeByScoreWithScores(_: String, _: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double], _: Option[RedisSortedSet.Limit], _: Boolean)(_: ClassTag[T]))
+          .expects(key, min, max, limit, isReverse, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def sortedSetRangeByLex[T: ClassTag](key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any], limit: Option[RedisSortedSet.Limit], isReverse: Boolean, result: Future[Seq[T]]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetRangeByLex(_: String, _: RedisSortedSet.Bound[Any], _: RedisSortedSet.Bound[Any], _: Option[RedisSortedSet.Limit], _: Boolean)(_: ClassTag[T]))
+          .expects(key, min, max, limit, isReverse, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
+    def sortedSetCount(key: String, min: RedisSortedSet.Bound[Double], max: RedisSortedSet.Bound[Double], result: Future[Long]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetCount(_: String, _: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double]))
+          .expects(key, min, max)
+          .returning(result)
+          .once()
+      }
+
+    def sortedSetLexCount(key: String, min: RedisSortedSet.Bound[Any], max: RedisSortedSet.Bound[Any], result: Future[Long]): Future[Unit] =
+      Future.successful {
+        (connector
+          .sortedSetLexCount(_: String, _: RedisSortedSet.Bound[Any], _: RedisSortedSet.Bound[Any]))
+          .expects(key, min, max)
+          .returning(result)
+          .once()
+      }
+
     def sortedSetSize(key: String, result: Future[Long]): Future[Unit] =
       Future.successful {
         (connector
@@ -421,6 +580,24 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def hashSetAll(key: String, fieldValues: Seq[(String, String)], result: Future[Long]): Future[Unit] =
+      Future.successful {
+        (connector
+          .hashSetAll(_: String, _: Seq[(String, Any)]))
+          .expects(key, fieldValues)
+          .returning(result)
+          .once()
+      }
+
+    def hashExpire(key: String, expiration: FiniteDuration, fields: Seq[String], result: Future[Long]): Future[Unit] =
+      Future.successful {
+        (connector
+          .hashExpire(_: String, _: FiniteDuration, _: Seq[String]))
+          .expects(key, expiration, fields)
+          .returning(result)
+          .once()
+      }
+
     def hashGet[T: ClassTag](key: String, field: String, result: Future[Option[T]]): Future[Unit] =
       Future.successful {
         (connector
@@ -493,6 +670,15 @@ private[impl] trait RedisConnectorMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def hashScan[T: ClassTag](key: String, count: Long, result: Source[(String, T), NotUsed]): Future[Unit] =
+      Future.successful {
+        (connector
+          .hashScan[T](_: String, _: Long)(_: ClassTag[T]))
+          .expects(key, count, implicitly[ClassTag[T]])
+          .returning(result)
+          .once()
+      }
+
     def hashSize(key: String, result: Future[Long]): Future[Unit] =
       Future.successful {
         (connector
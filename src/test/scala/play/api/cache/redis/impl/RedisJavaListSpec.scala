@@ -1,12 +1,17 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.javadsl.Sink
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 import play.cache.redis.AsyncRedisList
 
 import scala.concurrent.Future
 import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
 import scala.jdk.OptionConverters._
+import scala.util.Random
 
 class RedisJavaListSpec extends AsyncUnitSpec with RedisListJavaMock with RedisRuntimeMock {
 
@@ -87,6 +92,29 @@ class RedisJavaListSpec extends AsyncUnitSpec with RedisListJavaMock with RedisR
     } yield Passed
   }
 
+  test("head pop many") { (list, internal) =>
+    for {
+      _ <- internal.expect.headPop(10, cacheKey, cacheValue)
+      _ <- list.headPop(10).assertingEqual(List(cacheKey, cacheValue).asJava)
+    } yield Passed
+  }
+
+  test("last pop many") { (list, internal) =>
+    for {
+      _ <- internal.expect.lastPop(10, cacheValue)
+      _ <- list.lastPop(10).assertingEqual(List(cacheValue).asJava)
+    } yield Passed
+  }
+
+  test("consume") { (list, internal) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- internal.expect.consume(100, 1, cacheKey, cacheValue)
+      values <- list.consume().runWith(Sink.seq[String], Materializer(system)).asScala
+      _      <- system.terminate()
+    } yield values.asScala mustEqual Seq(cacheKey, cacheValue)
+  }
+
   test("last (non-empty)") { (list, internal) =>
     for {
       _ <- internal.expect.apply(-1, Some(cacheValue))
@@ -1,12 +1,18 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.javadsl.Sink
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 import play.cache.redis.AsyncRedisMap
 
 import scala.concurrent.Future
+import scala.concurrent.duration._
 import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
 import scala.jdk.OptionConverters._
+import scala.util.Random
 
 class RedisJavaMapSpec extends AsyncUnitSpec with RedisMapJavaMock with RedisRuntimeMock {
 
@@ -52,6 +58,27 @@ class RedisJavaMapSpec extends AsyncUnitSpec with RedisMapJavaMock with RedisRun
     } yield Passed
   }
 
+  test("addAll") { (cache, internal) =>
+    for {
+      _ <- internal.expect.addAll(Map(cacheKey -> cacheValue), Duration.Inf)
+      _ <- cache.addAll(Map(cacheKey -> cacheValue).asJava).assertingEqual(cache)
+    } yield Passed
+  }
+
+  test("addAll with expiration") { (cache, internal) =>
+    for {
+      _ <- internal.expect.addAll(Map(cacheKey -> cacheValue), 1.minute)
+      _ <- cache.addAll(Map(cacheKey -> cacheValue).asJava, 60).assertingEqual(cache)
+    } yield Passed
+  }
+
+  test("expireFields") { (cache, internal) =>
+    for {
+      _ <- internal.expect.expireFields(1.minute, cacheKey, otherKey)
+      _ <- cache.expireFields(60, cacheKey, otherKey).assertingEqual(cache)
+    } yield Passed
+  }
+
   test("toMap") { (cache, internal) =>
     for {
       _ <- internal.expect.toMap(cacheKey -> cacheValue)
@@ -73,6 +100,15 @@ class RedisJavaMapSpec extends AsyncUnitSpec with RedisMapJavaMock with RedisRun
     } yield Passed
   }
 
+  test("scan") { (cache, internal) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- internal.expect.scan(100, cacheKey -> cacheValue)
+      values <- cache.scan().runWith(Sink.seq[java.util.Map.Entry[String, String]], Materializer(system)).asScala
+      _      <- system.terminate()
+    } yield values.asScala.map(entry => entry.getKey -> entry.getValue) mustEqual Seq(cacheKey -> cacheValue)
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
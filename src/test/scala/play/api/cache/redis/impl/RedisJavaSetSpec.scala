@@ -1,11 +1,16 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.javadsl.Sink
 import play.api.cache.redis._
 import play.api.cache.redis.test._
 import play.cache.redis.AsyncRedisSet
 
 import scala.concurrent.Future
 import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+import scala.util.Random
 
 class RedisJavaSetSpec extends AsyncUnitSpec with RedisSetJavaMock with RedisRuntimeMock {
 
@@ -16,6 +21,13 @@ class RedisJavaSetSpec extends AsyncUnitSpec with RedisSetJavaMock with RedisRun
     } yield Passed
   }
 
+  test("addAll") { (set, internal) =>
+    for {
+      _ <- internal.expect.addAll(cacheKey, cacheValue)
+      _ <- set.addAll(List(cacheKey, cacheValue).asJava).assertingEqual(set)
+    } yield Passed
+  }
+
   test("contains") { (set, internal) =>
     for {
       _ <- internal.expect.contains(cacheKey, result = true)
@@ -37,6 +49,15 @@ class RedisJavaSetSpec extends AsyncUnitSpec with RedisSetJavaMock with RedisRun
     } yield Passed
   }
 
+  test("scan") { (set, internal) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- internal.expect.scan(20, cacheKey, cacheValue)
+      values <- set.scan(20).runWith(Sink.seq[String], Materializer(system)).asScala
+      _      <- system.terminate()
+    } yield values.asScala mustEqual Seq(cacheKey, cacheValue)
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
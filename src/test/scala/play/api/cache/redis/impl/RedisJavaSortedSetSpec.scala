@@ -0,0 +1,119 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.javadsl.Sink
+import play.api.cache.redis.RedisSortedSet.Bound.{Inclusive, Unbounded}
+import play.api.cache.redis.RedisSortedSet.Limit
+import play.api.cache.redis._
+import play.api.cache.redis.test._
+import play.cache.redis.AsyncRedisSortedSet
+
+import scala.concurrent.Future
+import scala.jdk.CollectionConverters._
+import scala.jdk.FutureConverters._
+import scala.util.Random
+
+class RedisJavaSortedSetSpec extends AsyncUnitSpec with RedisSortedSetJavaMock with RedisRuntimeMock {
+
+  test("add") { (set, internal) =>
+    for {
+      _ <- internal.expect.add(1.0 -> cacheValue)
+      _ <- set.add(1.0, cacheValue).assertingEqual(set)
+    } yield Passed
+  }
+
+  test("contains") { (set, internal) =>
+    for {
+      _ <- internal.expect.contains(cacheValue, result = true)
+      _ <- set.contains(cacheValue).assertingEqual(true)
+    } yield Passed
+  }
+
+  test("remove") { (set, internal) =>
+    for {
+      _ <- internal.expect.remove(cacheKey, cacheValue)
+      _ <- set.remove(cacheKey, cacheValue).assertingEqual(set)
+    } yield Passed
+  }
+
+  test("range") { (set, internal) =>
+    for {
+      _ <- internal.expect.range(0, 1, isReverse = false, cacheKey, cacheValue)
+      _ <- internal.expect.range(0, 1, isReverse = true, cacheValue, cacheKey)
+      _ <- set.range(0, 1).assertingEqual(List(cacheKey, cacheValue).asJava)
+      _ <- set.reverseRange(0, 1).assertingEqual(List(cacheValue, cacheKey).asJava)
+    } yield Passed
+  }
+
+  test("rangeByScore") { (set, internal) =>
+    for {
+      _ <- internal.expect.rangeByScore(1.0, 5.0, Limit(0, -1), isReverse = false, cacheKey, cacheValue)
+      _ <- internal.expect.rangeByScore(1.0, Double.PositiveInfinity, Limit(10, 2), isReverse = true, cacheValue)
+      _ <- set.rangeByScore(1.0, 5.0).assertingEqual(List(cacheKey, cacheValue).asJava)
+      _ <- set.reverseRangeByScore(1.0, Double.PositiveInfinity, 10, 2).assertingEqual(List(cacheValue).asJava)
+    } yield Passed
+  }
+
+  test("rangeByScoreWithScores") { (set, internal) =>
+    for {
+      _      <- internal.expect.rangeByScoreWithScores(1.0, 5.0, Limit(0, 10), 1.0 -> cacheKey, 2.0 -> cacheValue)
+      values <- set.rangeByScoreWithScores(1.0, 5.0, 0, 10).asScala
+    } yield values.asScala.map(entry => entry.getKey -> entry.getValue.doubleValue) mustEqual Seq(cacheKey -> 1.0, cacheValue -> 2.0)
+  }
+
+  test("rangeByLex") { (set, internal) =>
+    for {
+      _ <- internal.expect.rangeByLex(Inclusive(cacheKey), Unbounded, Limit(0, 5), cacheKey, cacheValue)
+      _ <- set.rangeByLex(cacheKey, null, 0, 5).assertingEqual(List(cacheKey, cacheValue).asJava)
+    } yield Passed
+  }
+
+  test("countByScore") { (set, internal) =>
+    for {
+      _ <- internal.expect.countByScore(1.0, 5.0, result = 3L)
+      _ <- set.countByScore(1.0, 5.0).assertingEqual(3L)
+    } yield Passed
+  }
+
+  test("countByLex") { (set, internal) =>
+    for {
+      _ <- internal.expect.countByLex(Unbounded, Inclusive(cacheValue), result = 2L)
+      _ <- set.countByLex(null, cacheValue).assertingEqual(2L)
+    } yield Passed
+  }
+
+  test("size") { (set, internal) =>
+    for {
+      _ <- internal.expect.size(result = 4L)
+      _ <- set.size().assertingEqual(4L)
+    } yield Passed
+  }
+
+  test("scan") { (set, internal) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- internal.expect.scan(20, 1.0 -> cacheKey, 2.0 -> cacheValue)
+      values <- set.scan(20).runWith(Sink.seq[java.util.Map.Entry[String, java.lang.Double]], Materializer(system)).asScala
+      _      <- system.terminate()
+    } yield values.asScala.map(entry => entry.getKey -> entry.getValue.doubleValue) mustEqual Seq(cacheKey -> 1.0, cacheValue -> 2.0)
+  }
+
+  private def test(
+    name: String,
+    policy: RecoveryPolicy = recoveryPolicy.default,
+  )(
+    f: (AsyncRedisSortedSet[String], RedisSortedSetMock) => Future[Assertion],
+  ): Unit =
+    name in {
+      implicit val runtime: RedisRuntime = redisRuntime(
+        invocationPolicy = LazyInvocation,
+        recoveryPolicy = policy,
+      )
+      val internal: RedisSortedSetMock = mock[RedisSortedSetMock]
+      val set: AsyncRedisSortedSet[String] = new RedisSortedSetJavaImpl(internal)
+
+      f(set, internal)
+    }
+
+}
@@ -1,9 +1,11 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.stream.scaladsl.Source
 import org.scalamock.scalatest.AsyncMockFactoryBase
 import play.api.cache.redis._
 
 import scala.concurrent.Future
+import scala.concurrent.duration._
 
 private[impl] trait RedisListJavaMock { this: AsyncMockFactoryBase =>
 
@@ -68,6 +70,33 @@ private[impl] trait RedisListJavaMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def headPop(count: Long, values: String*): Future[Unit] =
+      Future.successful {
+        (list
+          .headPop(_: Long))
+          .expects(count)
+          .returning(Future.successful(values))
+          .once()
+      }
+
+    def lastPop(count: Long, values: String*): Future[Unit] =
+      Future.successful {
+        (list
+          .lastPop(_: Long))
+          .expects(count)
+          .returning(Future.successful(values))
+          .once()
+      }
+
+    def consume(batchSize: Int, concurrency: Int, values: String*): Future[Unit] =
+      Future.successful {
+        (list
+          .consume(_: Int, _: Int, _: FiniteDuration))
+          .expects(batchSize, concurrency, 1.second)
+          .returning(Source(values.toList))
+          .once()
+      }
+
     def insertBefore(pivot: String, value: String, newSize: Option[Long]): Future[Unit] =
       Future.successful {
         (list
@@ -1,10 +1,15 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.{Sink, Source}
 import play.api.cache.redis._
 import play.api.cache.redis.impl.Builders.AsynchronousBuilder
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
+import scala.concurrent.duration._
+import scala.util.Random
 
 class RedisListSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
 
@@ -100,6 +105,36 @@ class RedisListSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnec
     } yield Passed
   }
 
+  test("head pop many") { (list, connector) =>
+    for {
+      _ <- connector.expect.listPop[String](otherKey, 10, fromTail = false, result = Seq(cacheValue, otherValue))
+      _ <- list.headPop(10).assertingEqual(Seq(cacheValue, otherValue))
+    } yield Passed
+  }
+
+  test("head pop many (failing)") { (list, connector) =>
+    for {
+      _ <- connector.expect.listPop[String](otherKey, 10, fromTail = false, result = failure)
+      _ <- list.headPop(10).assertingEqual(Seq.empty)
+    } yield Passed
+  }
+
+  test("last pop many") { (list, connector) =>
+    for {
+      _ <- connector.expect.listPop[String](otherKey, 2, fromTail = true, result = Seq(otherValue, cacheValue))
+      _ <- list.lastPop(2).assertingEqual(Seq(otherValue, cacheValue))
+    } yield Passed
+  }
+
+  test("consume") { (list, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- connector.expect.listConsume[String](otherKey, batchSize = 50, concurrency = 2, poll = 1.second, result = Source(List(cacheValue, otherValue)))
+      values <- list.consume(batchSize = 50, concurrency = 2).runWith(Sink.seq)(Materializer(system))
+      _      <- system.terminate()
+    } yield values mustEqual Seq(cacheValue, otherValue)
+  }
+
   test("size") { (list, connector) =>
     for {
       _ <- connector.expect.listSize(otherKey, 2L)
@@ -185,7 +220,7 @@ class RedisListSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnec
 
   test("remove at position") { (list, connector) =>
     for {
-      _ <- connector.expect.listRemoveAt(otherKey, 1, result = 1L)
+      _ <- connector.expect.listRemoveAt(otherKey, 1, result = ())
       _ <- list.removeAt(1).assertingEqual(list)
     } yield Passed
   }
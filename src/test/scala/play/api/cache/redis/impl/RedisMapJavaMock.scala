@@ -1,9 +1,11 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.stream.scaladsl.Source
 import org.scalamock.scalatest.AsyncMockFactoryBase
 import play.api.cache.redis._
 
 import scala.concurrent.Future
+import scala.concurrent.duration.{Duration, FiniteDuration}
 
 private[impl] trait RedisMapJavaMock { this: AsyncMockFactoryBase =>
 
@@ -13,6 +15,11 @@ private[impl] trait RedisMapJavaMock { this: AsyncMockFactoryBase =>
       removeValues(field)
 
     def removeValues(field: Seq[String]): Future[RedisMap[String, Future]]
+
+    final override def expireFields(expiration: FiniteDuration, fields: String*): Future[RedisMap[String, Future]] =
+      expireFieldValues(expiration, fields)
+
+    def expireFieldValues(expiration: FiniteDuration, fields: Seq[String]): Future[RedisMap[String, Future]]
   }
 
   implicit final protected class RedisMapOps(map: RedisMapMock) {
@@ -33,6 +40,24 @@ private[impl] trait RedisMapJavaMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def addAll(fieldValues: Map[String, String], expiration: Duration): Future[Unit] =
+      Future.successful {
+        (map
+          .addAll(_: Iterable[(String, String)], _: Duration))
+          .expects(fieldValues, expiration)
+          .returning(Future.successful(map))
+          .once()
+      }
+
+    def expireFields(expiration: FiniteDuration, fields: String*): Future[Unit] =
+      Future.successful {
+        (map
+          .expireFieldValues(_: FiniteDuration, _: Seq[String]))
+          .expects(expiration, fields)
+          .returning(Future.successful(map))
+          .once()
+      }
+
     def get(key: String, value: Option[String]): Future[Unit] =
       Future.successful {
         (map
@@ -93,6 +118,15 @@ private[impl] trait RedisMapJavaMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def scan(count: Long, fieldValues: (String, String)*): Future[Unit] =
+      Future.successful {
+        (map
+          .scan(_: Long))
+          .expects(count)
+          .returning(Source(fieldValues.toList))
+          .once()
+      }
+
   }
 
 }
@@ -1,10 +1,14 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.{Sink, Source}
 import play.api.cache.redis._
 import play.api.cache.redis.impl.Builders.AsynchronousBuilder
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
+import scala.util.Random
 
 class RedisMapSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
 
@@ -22,6 +26,42 @@ class RedisMapSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnect
     } yield Passed
   }
 
+  test("add all") { (map, connector) =>
+    for {
+      _ <- connector.expect.hashSetAll(cacheKey, Seq(field -> cacheValue, otherKey -> otherValue), result = 2L)
+      _ <- map.addAll(Seq(field -> cacheValue, otherKey -> otherValue)).assertingEqual(map)
+    } yield Passed
+  }
+
+  test("add all with expiration") { (map, connector) =>
+    for {
+      _ <- connector.expect.hashSetAll(cacheKey, Seq(field -> cacheValue, otherKey -> otherValue), result = 2L)
+      _ <- connector.expect.hashExpire(cacheKey, cacheExpiration, Seq(field, otherKey), result = 2L)
+      _ <- map.addAll(Seq(field -> cacheValue, otherKey -> otherValue), cacheExpiration).assertingEqual(map)
+    } yield Passed
+  }
+
+  test("add all (failing)") { (map, connector) =>
+    for {
+      _ <- connector.expect.hashSetAll(cacheKey, Seq(field -> cacheValue), result = failure)
+      _ <- map.addAll(Seq(field -> cacheValue), cacheExpiration).assertingEqual(map)
+    } yield Passed
+  }
+
+  test("expire fields") { (map, connector) =>
+    for {
+      _ <- connector.expect.hashExpire(cacheKey, cacheExpiration, Seq(field, otherKey), result = 1L)
+      _ <- map.expireFields(cacheExpiration, field, otherKey).assertingEqual(map)
+    } yield Passed
+  }
+
+  test("expire fields (unsupported)") { (map, connector) =>
+    for {
+      _ <- connector.expect.hashExpire(cacheKey, cacheExpiration, Seq(field), result = new UnsupportedOperationException("HPEXPIRE"))
+      _ <- map.expireFields(cacheExpiration, field).assertingFailure[UnsupportedOperationException]
+    } yield Passed
+  }
+
   test("get") { (map, connector) =>
     for {
       _ <- connector.expect.hashGet[String](cacheKey, field, result = Some(cacheValue))
@@ -185,6 +225,15 @@ class RedisMapSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnect
     } yield Passed
   }
 
+  test("scan") { (map, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- connector.expect.hashScan[String](cacheKey, count = 50, result = Source(List(field -> cacheValue, otherKey -> otherValue)))
+      values <- map.scan(count = 50).runWith(Sink.seq)(Materializer(system))
+      _      <- system.terminate()
+    } yield values mustEqual Seq(field -> cacheValue, otherKey -> otherValue)
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
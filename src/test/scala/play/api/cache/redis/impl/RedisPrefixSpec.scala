@@ -28,6 +28,19 @@ class RedisPrefixSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConn
     } yield Passed
   }
 
+  "build tagged keys" in {
+    RedisPrefix.tagged("user:1", "profile") mustEqual "{user:1}:profile"
+    RedisPrefix.hashTag("user:1") mustEqual "{user:1}"
+  }
+
+  "extract hash tags" in {
+    RedisPrefix.hashTagOf("{user:1}:profile") mustEqual Some("user:1")
+    RedisPrefix.hashTagOf("prefix:{user:1}:{other}") mustEqual Some("user:1")
+    RedisPrefix.hashTagOf("{}:profile") mustEqual None
+    RedisPrefix.hashTagOf("user:1:{profile") mustEqual None
+    RedisPrefix.hashTagOf("user:1:profile") mustEqual None
+  }
+
   private def test(
     name: String,
     prefix: RedisPrefix,
@@ -2,7 +2,9 @@ package play.api.cache.redis.impl
 
 import org.apache.pekko.util.Timeout
 import org.scalamock.scalatest.AsyncMockFactoryBase
-import play.api.cache.redis.{FailThrough, RecoverWithDefault, RecoveryPolicy, RedisException}
+import play.api.cache.redis.configuration.RedisEarlyRefresh
+import play.api.cache.redis.{CircuitOpenException, FailThrough, RecoverWithDefault, RecoveryPolicy, RedisException}
+import play.api.cache.redis.test.SimulatedException
 
 import scala.concurrent.duration._
 import scala.concurrent.{ExecutionContext, Future}
@@ -21,9 +23,14 @@ private[impl] trait RedisRuntimeMock { outer: AsyncMockFactoryBase =>
 
     }
 
+    private class RejectingPolicy extends RecoverWithDefault {
+      override def invoke[T](request: => Future[T]): Future[T] = Future.failed(CircuitOpenException(SimulatedException))
+    }
+
     val failThrough: RecoveryPolicy = new FailThrough {}
     val default: RecoveryPolicy = new RecoverWithDefault {}
     val rerun: RecoveryPolicy = new RerunPolicy
+    val rejecting: RecoveryPolicy = new RejectingPolicy
   }
 
   protected def redisRuntime(
@@ -31,6 +38,8 @@ private[impl] trait RedisRuntimeMock { outer: AsyncMockFactoryBase =>
     recoveryPolicy: RecoveryPolicy = outer.recoveryPolicy.failThrough,
     timeout: FiniteDuration = 200.millis,
     prefix: RedisPrefix = RedisEmptyPrefix,
+    stampedeProtection: StampedeProtection = StampedeProtection.Disabled,
+    earlyRefresh: EarlyRefresh = EarlyRefresh(RedisEarlyRefresh.requiredDefault),
   ): RedisRuntime = {
     val runtime = mock[RedisRuntime]
     (() => runtime.context).expects().returns(ExecutionContext.global).anyNumberOfTimes()
@@ -38,6 +47,8 @@ private[impl] trait RedisRuntimeMock { outer: AsyncMockFactoryBase =>
     (() => runtime.prefix).expects().returns(prefix).anyNumberOfTimes()
     (() => runtime.policy).expects().returns(recoveryPolicy).anyNumberOfTimes()
     (() => runtime.timeout).expects().returns(Timeout(timeout)).anyNumberOfTimes()
+    (() => runtime.stampedeProtection).expects().returns(stampedeProtection).anyNumberOfTimes()
+    (() => runtime.earlyRefresh).expects().returns(earlyRefresh).anyNumberOfTimes()
     runtime
   }
 
@@ -6,6 +6,9 @@ import play.api.cache.redis._
 import play.api.cache.redis.configuration.{RedisHost, RedisStandalone}
 import play.api.cache.redis.test._
 
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future}
+
 class RedisRuntimeSpec extends UnitSpec {
   import RedisRuntime._
 
@@ -65,4 +68,23 @@ class RedisRuntimeSpec extends UnitSpec {
     }
   }
 
+  "be build with virtual threads" in {
+    val instance = RedisStandalone(
+      name = "standalone",
+      host = RedisHost(localhost, defaultPort),
+      settings = defaultsSettings.copy(invocationContext = "virtual-threads"),
+    )
+    def runtime = RedisRuntime(
+      instance = instance,
+      recovery = "log-and-default",
+      invocation = "lazy",
+      prefix = None,
+    )
+    if (VirtualThreads.available) {
+      Await.result(Future(VirtualThreads.isCurrent)(runtime.context), 1.second) mustEqual true
+    } else {
+      assertThrows[IllegalArgumentException](runtime)
+    }
+  }
+
 }
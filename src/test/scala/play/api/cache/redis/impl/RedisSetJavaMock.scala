@@ -1,5 +1,6 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.stream.scaladsl.Source
 import org.scalamock.scalatest.AsyncMockFactoryBase
 import play.api.cache.redis._
 
@@ -29,6 +30,15 @@ private[impl] trait RedisSetJavaMock { this: AsyncMockFactoryBase =>
 
   final protected class RedisSetExpectation(set: RedisSetMock) {
 
+    def addAll(values: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .addAll(_: Iterable[String]))
+          .expects(values)
+          .returning(Future.successful(set))
+          .once()
+      }
+
     def add(value: String*): Future[Unit] =
       Future.successful {
         (set
@@ -64,6 +74,15 @@ private[impl] trait RedisSetJavaMock { this: AsyncMockFactoryBase =>
           .once()
       }
 
+    def scan(count: Long, values: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .scan(_: Long))
+          .expects(count)
+          .returning(Source(values.toList))
+          .once()
+      }
+
   }
 
 }
@@ -1,10 +1,14 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.{Sink, Source}
 import play.api.cache.redis._
 import play.api.cache.redis.impl.Builders.AsynchronousBuilder
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
+import scala.util.Random
 
 class RedisSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
 
@@ -24,6 +28,13 @@ class RedisSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnect
     } yield Passed
   }
 
+  test("add all") { (set, connector) =>
+    for {
+      _ <- connector.expect.setAdd(cacheKey, Seq(cacheValue, otherValue))
+      _ <- set.addAll(List(cacheValue, otherValue)).assertingEqual(set)
+    } yield Passed
+  }
+
   test("contains") { (set, connector) =>
     for {
       _ <- connector.expect.setIsMember(cacheKey, cacheValue, result = true)
@@ -111,6 +122,15 @@ class RedisSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnect
     } yield Passed
   }
 
+  test("scan") { (set, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- connector.expect.setScan[String](cacheKey, count = 100, result = Source(List(cacheValue, otherValue)))
+      values <- set.scan().runWith(Sink.seq)(Materializer(system))
+      _      <- system.terminate()
+    } yield values mustEqual Seq(cacheValue, otherValue)
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
@@ -0,0 +1,133 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.stream.scaladsl.Source
+import org.scalamock.scalatest.AsyncMockFactoryBase
+import play.api.cache.redis._
+
+import scala.concurrent.Future
+
+private[impl] trait RedisSortedSetJavaMock { this: AsyncMockFactoryBase =>
+
+  protected[impl] trait RedisSortedSetMock extends RedisSortedSet[String, Future] {
+
+    final override def add(scoreValues: (Double, String)*): Future[RedisSortedSet[String, Future]] =
+      addValues(scoreValues)
+
+    def addValues(scoreValues: Seq[(Double, String)]): Future[RedisSortedSet[String, Future]]
+
+    final override def remove(values: String*): Future[RedisSortedSet[String, Future]] =
+      removeValues(values)
+
+    def removeValues(value: Seq[String]): Future[RedisSortedSet[String, Future]]
+  }
+
+  implicit final protected class RedisSortedSetOps(set: RedisSortedSetMock) {
+
+    def expect: RedisSortedSetExpectation =
+      new RedisSortedSetExpectation(set)
+
+  }
+
+  final protected class RedisSortedSetExpectation(set: RedisSortedSetMock) {
+
+    def add(scoreValues: (Double, String)*): Future[Unit] =
+      Future.successful {
+        (set
+          .addValues(_: Seq[(Double, String)]))
+          .expects(scoreValues)
+          .returning(Future.successful(set))
+          .once()
+      }
+
+    def contains(value: String, result: Boolean): Future[Unit] =
+      Future.successful {
+        (set
+          .contains(_: String))
+          .expects(value)
+          .returning(Future.successful(result))
+          .once()
+      }
+
+    def remove(value: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .removeValues(_: Seq[String]))
+          .expects(value)
+          .returning(Future.successful(set))
+          .once()
+      }
+
+    def range(start: Long, stop: Long, isReverse: Boolean, values: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .range(_: Long, _: Long, _: Boolean))
+          .expects(start, stop, isReverse)
+          .returning(Future.successful(values))
+          .once()
+      }
+
+    def rangeByScore(min: Double, max: Double, limit: RedisSortedSet.Limit, isReverse: Boolean, values: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .rangeByScore(_: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double], _: Option[RedisSortedSet.Limit], _: Boolean))
+          .expects(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max), Some(limit), isReverse)
+          .returning(Future.successful(values))
+          .once()
+      }
+
+    def rangeByScoreWithScores(min: Double, max: Double, limit: RedisSortedSet.Limit, scoreValues: (Double, String)*): Future[Unit] =
+      Future.successful {
+        (set
+          .rangeByScoreWithScores(_: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double], _: Option[RedisSortedSet.Limit], _: Boolean))
+          .expects(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max), Some(limit), false)
+          .returning(Future.successful(scoreValues))
+          .once()
+      }
+
+    def rangeByLex(min: RedisSortedSet.Bound[String], max: RedisSortedSet.Bound[String], limit: RedisSortedSet.Limit, values: String*): Future[Unit] =
+      Future.successful {
+        (set
+          .rangeByLex(_: RedisSortedSet.Bound[String], _: RedisSortedSet.Bound[String], _: Option[RedisSortedSet.Limit], _: Boolean))
+          .expects(min, max, Some(limit), false)
+          .returning(Future.successful(values))
+          .once()
+      }
+
+    def countByScore(min: Double, max: Double, result: Long): Future[Unit] =
+      Future.successful {
+        (set
+          .countByScore(_: RedisSortedSet.Bound[Double], _: RedisSortedSet.Bound[Double]))
+          .expects(RedisSortedSet.Bound.Inclusive(min), RedisSortedSet.Bound.Inclusive(max))
+          .returning(Future.successful(result))
+          .once()
+      }
+
+    def countByLex(min: RedisSortedSet.Bound[String], max: RedisSortedSet.Bound[String], result: Long): Future[Unit] =
+      Future.successful {
+        (set
+          .countByLex(_: RedisSortedSet.Bound[String], _: RedisSortedSet.Bound[String]))
+          .expects(min, max)
+          .returning(Future.successful(result))
+          .once()
+      }
+
+    def size(result: Long): Future[Unit] =
+      Future.successful {
+        (() => set.size)
+          .expects()
+          .returning(Future.successful(result))
+          .once()
+      }
+
+    def scan(count: Long, scoreValues: (Double, String)*): Future[Unit] =
+      Future.successful {
+        (set
+          .scan(_: Long))
+          .expects(count)
+          .returning(Source(scoreValues.toList))
+          .once()
+      }
+
+  }
+
+}
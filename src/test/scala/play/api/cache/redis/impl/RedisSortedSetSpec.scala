@@ -1,10 +1,16 @@
 package play.api.cache.redis.impl
 
+import org.apache.pekko.actor.ActorSystem
+import org.apache.pekko.stream.Materializer
+import org.apache.pekko.stream.scaladsl.{Sink, Source}
+import play.api.cache.redis.RedisSortedSet.Bound.{Exclusive, Inclusive, Unbounded}
+import play.api.cache.redis.RedisSortedSet.Limit
 import play.api.cache.redis._
 import play.api.cache.redis.impl.Builders.AsynchronousBuilder
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
+import scala.util.Random
 
 class RedisSortedSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
 
@@ -27,6 +33,13 @@ class RedisSortedSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisC
     } yield Passed
   }
 
+  test("add all") { (set, connector) =>
+    for {
+      _ <- connector.expect.sortedSetAdd(cacheKey, Seq(scoreValue, otherScoreValue))
+      _ <- set.addAll(List(scoreValue, otherScoreValue)).assertingEqual(set)
+    } yield Passed
+  }
+
   test("contains (hit)") { (set, connector) =>
     for {
       _ <- connector.expect.sortedSetScore(cacheKey, otherValue, result = Some(1d))
@@ -73,6 +86,70 @@ class RedisSortedSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisC
     } yield Passed
   }
 
+  test("range with scores") { (set, connector) =>
+    val data = Seq(scoreValue, otherScoreValue)
+    for {
+      _ <- connector.expect.sortedSetRangeWithScores[String](cacheKey, 0, -1, isReverse = false, result = data)
+      _ <- connector.expect.sortedSetRangeWithScores[String](cacheKey, 0, -1, isReverse = true, result = data.reverse)
+      _ <- set.rangeWithScores(0, -1).assertingEqual(data)
+      _ <- set.rangeWithScores(0, -1, isReverse = true).assertingEqual(data.reverse)
+    } yield Passed
+  }
+
+  test("range by score") { (set, connector) =>
+    val data = Seq(cacheValue, otherValue)
+    for {
+      _ <- connector.expect.sortedSetRangeByScore[String](cacheKey, Inclusive(1.0), Exclusive(5.0), None, isReverse = false, result = data)
+      _ <- connector.expect.sortedSetRangeByScore[String](cacheKey, Unbounded, Inclusive(5.0), Some(Limit(10, 2)), isReverse = true, result = data.reverse)
+      _ <- set.rangeByScore(Inclusive(1.0), Exclusive(5.0)).assertingEqual(data)
+      _ <- set.rangeByScore(Unbounded, Inclusive(5.0), Some(Limit(10, 2)), isReverse = true).assertingEqual(data.reverse)
+    } yield Passed
+  }
+
+  test("range by score (failing)") { (set, connector) =>
+    for {
+      _ <- connector.expect.sortedSetRangeByScore[String](cacheKey, Inclusive(1.0), Unbounded, None, isReverse = false, result = failure)
+      _ <- set.rangeByScore(Inclusive(1.0), Unbounded).assertingEqual(Seq.empty)
+    } yield Passed
+  }
+
+  test("range by score with scores") { (set, connector) =>
+    val data = Seq(scoreValue, otherScoreValue)
+    for {
+      _ <- connector.expect.sortedSetRangeByScoreWithScores[String](cacheKey, Inclusive(1.0), Inclusive(2.0), Some(Limit(0, 10)), isReverse = false, result = data)
+      _ <- set.rangeByScoreWithScores(Inclusive(1.0), Inclusive(2.0), Some(Limit(0, 10))).assertingEqual(data)
+    } yield Passed
+  }
+
+  test("range by lex") { (set, connector) =>
+    val data = Seq(cacheValue, otherValue)
+    for {
+      _ <- connector.expect.sortedSetRangeByLex[String](cacheKey, Inclusive(cacheValue), Exclusive(otherValue), None, isReverse = false, result = data)
+      _ <- set.rangeByLex(Inclusive(cacheValue), Exclusive(otherValue)).assertingEqual(data)
+    } yield Passed
+  }
+
+  test("count by score") { (set, connector) =>
+    for {
+      _ <- connector.expect.sortedSetCount(cacheKey, Exclusive(1.0), Unbounded, result = 5L)
+      _ <- set.countByScore(Exclusive(1.0), Unbounded).assertingEqual(5L)
+    } yield Passed
+  }
+
+  test("count by score (failing)") { (set, connector) =>
+    for {
+      _ <- connector.expect.sortedSetCount(cacheKey, Exclusive(1.0), Unbounded, result = failure)
+      _ <- set.countByScore(Exclusive(1.0), Unbounded).assertingEqual(0L)
+    } yield Passed
+  }
+
+  test("count by lex") { (set, connector) =>
+    for {
+      _ <- connector.expect.sortedSetLexCount(cacheKey, Unbounded, Inclusive(otherValue), result = 3L)
+      _ <- set.countByLex(Unbounded, Inclusive(otherValue)).assertingEqual(3L)
+    } yield Passed
+  }
+
   test("size") { (set, connector) =>
     for {
       _ <- connector.expect.sortedSetSize(cacheKey, result = 2L)
@@ -114,6 +191,15 @@ class RedisSortedSetSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisC
     } yield Passed
   }
 
+  test("scan") { (set, connector) =>
+    val system = ActorSystem(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    for {
+      _      <- connector.expect.sortedSetScan[String](cacheKey, count = 50, result = Source(List(scoreValue, otherScoreValue)))
+      values <- set.scan(count = 50).runWith(Sink.seq)(Materializer(system))
+      _      <- system.terminate()
+    } yield values mustEqual Seq(scoreValue, otherScoreValue)
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
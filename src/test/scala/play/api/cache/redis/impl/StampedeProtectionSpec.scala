@@ -0,0 +1,178 @@
+package play.api.cache.redis.impl
+
+import org.apache.pekko.actor.ActorSystem
+import play.api.cache.redis.configuration.RedisStampedeProtection
+import play.api.cache.redis.test._
+
+import scala.concurrent.duration._
+import scala.concurrent.{Future, Promise}
+import scala.util.Random
+
+class StampedeProtectionSpec extends AsyncUnitSpec with RedisConnectorMock with RedisRuntimeMock {
+
+  private val lock = s"$cacheKey:lock"
+
+  private val stored: Any => Future[Any] = _ => Future.successful(true)
+
+  "disabled protection computes every miss" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = StampedeProtection(RedisStampedeProtection.requiredDefault, throw new IllegalStateException("unused"))
+    val orElse = OrElseProbe.async(cacheValue)
+    for {
+      _ <- Future.sequence(Seq.fill(3)(protection[String](cacheKey, connector)(orElse.execute())(stored))).assertingEqual(Seq.fill(3)(cacheValue))
+    } yield orElse.calls mustEqual 3
+  }
+
+  "local protection shares the in-flight computation" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val computation = Promise[String]()
+    val orElse = OrElseProbe.generic(computation.future, Future.successful(otherValue))
+    val first = protection[String](cacheKey, connector)(orElse.execute())(stored)
+    val second = protection[String](cacheKey, connector)(orElse.execute())(stored)
+    computation.success(cacheValue)
+    for {
+      _ <- first.assertingEqual(cacheValue)
+      _ <- second.assertingEqual(cacheValue)
+      _ = orElse.calls mustEqual 1
+      // once completed, the next miss computes the value again
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(stored).assertingEqual(otherValue)
+    } yield orElse.calls mustEqual 2
+  }
+
+  "local protection does not share computations of different keys" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val computation = Promise[String]()
+    val orElse = OrElseProbe.generic(computation.future, Future.successful(otherValue))
+    val first = protection[String](cacheKey, connector)(orElse.execute())(stored)
+    val second = protection[String](s"other-$cacheKey", connector)(orElse.execute())(stored)
+    computation.success(cacheValue)
+    for {
+      _ <- first.assertingEqual(cacheValue)
+      _ <- second.assertingEqual(otherValue)
+    } yield orElse.calls mustEqual 2
+  }
+
+  "local protection does not share computations of different classes" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val computation = Promise[String]()
+    val first = protection[String](cacheKey, connector)(computation.future)(stored)
+    val second = protection[Int](cacheKey, connector)(Future.successful(1))(stored)
+    computation.success(cacheValue)
+    for {
+      _ <- first.assertingEqual(cacheValue)
+      _ <- second.assertingEqual(1)
+    } yield Passed
+  }
+
+  "local protection shares the failure" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val computation = Promise[String]()
+    val orElse = OrElseProbe.generic(computation.future)
+    val first = protection[String](cacheKey, connector)(orElse.execute())(stored)
+    val second = protection[String](cacheKey, connector)(orElse.execute())(stored)
+    computation.failure(SimulatedException)
+    for {
+      _ <- first.assertingFailure(SimulatedException)
+      _ <- second.assertingFailure(SimulatedException)
+    } yield orElse.calls mustEqual 1
+  }
+
+  "local protection blocks the synchronous followers" in {
+    implicit val runtime: RedisRuntime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val orElse = OrElseProbe.const(cacheValue)
+    protection.blocking[String](cacheKey, connector)(orElse.execute())(stored) mustEqual cacheValue
+    orElse.calls mustEqual 1
+  }
+
+  "local protection bounds the synchronous wait by the timeout" in {
+    implicit val runtime: RedisRuntime = redisRuntime(recoveryPolicy = recoveryPolicy.default, timeout = 50.millis)
+    val connector = mock[RedisConnectorMock]
+    val protection = new SingleFlight
+    val orElse = OrElseProbe.const(otherValue)
+    // the computation in flight never completes
+    val first = protection[String](cacheKey, connector)(Promise[String]().future)(stored)
+    // the follower times out and the default recovery computes the value
+    protection.blocking[String](cacheKey, connector)(orElse.execute())(stored) mustEqual otherValue
+    first.isCompleted mustEqual false
+    orElse.calls mustEqual 1
+  }
+
+  "distributed protection computes the value under the lock" in distributed { implicit runtime => (connector, protection) =>
+    val orElse = OrElseProbe.async(cacheValue)
+    for {
+      _ <- connector.expect.eval(DistributedSingleFlight.Acquire, Seq(lock), Seq("token", "1000"), result = Future.successful(true))
+      _ <- connector.expect.eval(DistributedSingleFlight.Release, Seq(lock), Seq("token"), result = Future.successful(true))
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(stored).assertingEqual(cacheValue)
+      // the lock is released once the value is stored
+      _ <- Future.waitFor(50.millis)
+    } yield orElse.calls mustEqual 1
+  }
+
+  "distributed protection releases the lock once the value is stored" in distributed { implicit runtime => (connector, protection) =>
+    val orElse = OrElseProbe.async(cacheValue)
+    val storing = Promise[Any]()
+    for {
+      _ <- connector.expect.eval(DistributedSingleFlight.Acquire, Seq(lock), Seq("token", "1000"), result = Future.successful(true))
+      // the eager invocation does not wait for the value to be stored
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(_ => storing.future).assertingEqual(cacheValue)
+      _ <- connector.expect.eval(DistributedSingleFlight.Release, Seq(lock), Seq("token"), result = Future.successful(true))
+      _  = storing.success(true)
+      _ <- Future.waitFor(50.millis)
+    } yield orElse.calls mustEqual 1
+  }
+
+  "distributed protection releases the lock when the computation fails" in distributed { implicit runtime => (connector, protection) =>
+    val orElse = OrElseProbe.failing[String](SimulatedException)
+    for {
+      _ <- connector.expect.eval(DistributedSingleFlight.Acquire, Seq(lock), Seq("token", "1000"), result = Future.successful(true))
+      _ <- connector.expect.eval(DistributedSingleFlight.Release, Seq(lock), Seq("token"), result = Future.successful(true))
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(stored).assertingFailure(SimulatedException)
+    } yield orElse.calls mustEqual 1
+  }
+
+  "distributed protection waits for the value computed by other node" in distributed { implicit runtime => (connector, protection) =>
+    val orElse = OrElseProbe.async(otherValue)
+    for {
+      _ <- connector.expect.eval(DistributedSingleFlight.Acquire, Seq(lock), Seq("token", "1000"), result = Future.successful(false))
+      _ <- connector.expect.exists(lock, result = Future.successful(true))
+      _ <- connector.expect.exists(lock, result = Future.successful(false))
+      _ <- connector.expect.get[String](cacheKey, result = Some(cacheValue))
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(stored).assertingEqual(cacheValue)
+    } yield orElse.calls mustEqual 0
+  }
+
+  "distributed protection computes the value when other node fails" in distributed { implicit runtime => (connector, protection) =>
+    val orElse = OrElseProbe.async(cacheValue)
+    for {
+      _ <- connector.expect.eval(DistributedSingleFlight.Acquire, Seq(lock), Seq("token", "1000"), result = Future.successful(false))
+      _ <- connector.expect.exists(lock, result = Future.successful(false))
+      _ <- connector.expect.get[String](cacheKey, result = None)
+      _ <- protection[String](cacheKey, connector)(orElse.execute())(stored).assertingEqual(cacheValue)
+    } yield orElse.calls mustEqual 1
+  }
+
+  "reject unknown mode" in {
+    val settings = RedisStampedeProtection(mode = "unknown", lockTimeout = 1.second, retryInterval = 10.millis)
+    assertThrows[IllegalArgumentException](StampedeProtection(settings, throw new IllegalStateException("unused")))
+  }
+
+  private def distributed(f: RedisRuntime => (RedisConnectorMock, StampedeProtection) => Future[Assertion]): Future[Assertion] = {
+    val system = ActorSystem.apply(s"test-${Random.nextInt()}", classLoader = Some(getClass.getClassLoader))
+    val runtime = redisRuntime()
+    val connector = mock[RedisConnectorMock]
+    val protection = new DistributedSingleFlight(lockTimeout = 1.second, retryInterval = 10.millis, system.scheduler, token = () => "token")
+    f(runtime)(connector, protection).flatMap(result => system.terminate().map(_ => result))
+  }
+
+}
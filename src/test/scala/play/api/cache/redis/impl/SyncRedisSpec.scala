@@ -4,6 +4,7 @@ import play.api.cache.redis._
 import play.api.cache.redis.test._
 
 import scala.concurrent.Future
+import scala.concurrent.duration._
 
 class SyncRedisSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnectorMock with ImplicitFutureMaterialization {
   import Helpers._
@@ -67,6 +68,28 @@ class SyncRedisSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnec
     } yield Passed
   }
 
+  test("get or else with refresh (miss)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(None -> None))
+      _ <- connector.expect.setWithMetadata(cacheKey, s"refresh::$cacheKey", cacheValue, 70.seconds)
+      orElse = probe.orElse.const(cacheValue)
+      _      = cache.getOrElseWithRefresh(cacheKey, 1.minute)(orElse.execute()) mustEqual cacheValue
+      _      = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
+  test("get or else with refresh (hit, refresh due)") { (cache, connector) =>
+    for {
+      _ <- connector.expect.getWithMetadata[String](cacheKey, s"refresh::$cacheKey", result = Future.successful(Some(cacheValue) -> Some("10:5")))
+      _ <- connector.expect.setWithMetadata(cacheKey, s"refresh::$cacheKey", otherValue, 70.seconds)
+      orElse = probe.orElse.const(otherValue)
+      // the stale value is served, the refresh runs in the background
+      _      = cache.getOrElseWithRefresh(cacheKey, 1.minute)(orElse.execute()) mustEqual cacheValue
+      _     <- Future.waitFor(50.millis)
+      _      = orElse.calls mustEqual 1
+    } yield Passed
+  }
+
   private def test(
     name: String,
     policy: RecoveryPolicy = recoveryPolicy.default,
@@ -79,6 +102,7 @@ class SyncRedisSpec extends AsyncUnitSpec with RedisRuntimeMock with RedisConnec
         invocationPolicy = LazyInvocation,
         recoveryPolicy = policy,
         prefix = prefix.fold[RedisPrefix](RedisEmptyPrefix)(new RedisPrefixImpl(_)),
+        earlyRefresh = new EarlyRefresh(beta = 1.0, grace = 10.seconds, clock = () => 0L, random = () => 0.5),
       )
       val connector: RedisConnectorMock = mock[RedisConnectorMock]
       val cache: RedisCache[SynchronousResult] = new SyncRedis(connector)
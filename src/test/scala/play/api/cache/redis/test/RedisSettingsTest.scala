@@ -12,4 +12,15 @@ final case class RedisSettingsTest(
   threadPool: RedisThreadPools,
   sslSettings: Option[RedisSslSettings] = None,
   sslUriSettings: RedisUriSslSettings = RedisUriSslSettings.requiredDefault,
+  valueEncoding: String = "string",
+  valueCodecs: Option[String] = None,
+  compression: RedisCompression = RedisCompression.requiredDefault,
+  striping: RedisStriping = RedisStriping.requiredDefault,
+  metrics: String = "none",
+  readFrom: String = "replica-preferred",
+  nearCache: RedisNearCache = RedisNearCache.requiredDefault,
+  batching: RedisBatching = RedisBatching.requiredDefault,
+  stampedeProtection: RedisStampedeProtection = RedisStampedeProtection.requiredDefault,
+  earlyRefresh: RedisEarlyRefresh = RedisEarlyRefresh.requiredDefault,
+  hedging: RedisHedging = RedisHedging.requiredDefault,
 ) extends RedisSettings